@@ -0,0 +1,70 @@
+package com.snakegame.bench;
+
+import com.snakegame.ai.AiMode;
+import com.snakegame.controller.input.AiDirectionProvider;
+import com.snakegame.model.Direction;
+import com.snakegame.model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one {@link AiDirectionProvider#nextDirection(GameState)} decision on a fixture board.
+ *
+ * <p>The provider's loop-avoidance history is cleared before every decision so each invocation
+ * scores the same position.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dsnakegame.appDir=target/bench-appdata"})
+public class AiDecisionBenchmark {
+
+    @Param({"CHASE", "SAFE", "SURVIVAL"})
+    public AiMode aiMode;
+
+    @Param({"6", "60", "200"})
+    public int snakeLength;
+
+    @Param({"0", "40"})
+    public int obstacleCount;
+
+    @Param({"0", "3"})
+    public int movingObstacleCount;
+
+    @Param({"0", "1"})
+    public int mapId;
+
+    private GameState state;
+    private AiDirectionProvider provider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        state = BenchFixtures.scenario(snakeLength, obstacleCount, movingObstacleCount, mapId).state;
+        provider = new AiDirectionProvider(aiMode);
+    }
+
+    /**
+     * One AI decision for the fixture position.
+     *
+     * @return chosen direction (returned to defeat dead-code elimination)
+     */
+    @Benchmark
+    public Direction nextDirection() {
+        provider.reset();
+        return provider.nextDirection(state);
+    }
+}
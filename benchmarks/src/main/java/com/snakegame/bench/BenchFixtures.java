@@ -0,0 +1,220 @@
+package com.snakegame.bench;
+
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.mode.GameMode;
+import com.snakegame.model.AppleType;
+import com.snakegame.model.Direction;
+import com.snakegame.model.GameConfig;
+import com.snakegame.model.GameSnapshot;
+import com.snakegame.model.GameState;
+import com.snakegame.model.MovingObstacleSnapshot;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Builds reproducible game states for the benchmarks from the shared parameters: snake length,
+ * static obstacle count, moving obstacle count and map id.
+ *
+ * <p>The snake is laid out on a Hamiltonian cycle covering the top rows of the board (the "lane")
+ * and {@link Scenario#steer()} keeps it on that cycle, so a run does not end on its own however
+ * long the snake is. Everything else lives below the lane: static obstacles are placed with a fixed
+ * seed, moving obstacles are horizontal so they never leave their row, and map obstacles that fall
+ * inside the lane or on a reserved row are dropped. The apple starts on the bottom row.</p>
+ */
+final class BenchFixtures {
+    static final int COLS = GameConfig.SCREEN_WIDTH / GameConfig.UNIT_SIZE;
+    static final int ROWS = GameConfig.SCREEN_HEIGHT / GameConfig.UNIT_SIZE;
+
+    /** Rows kept free of the lane so obstacles, moving obstacles and the apple have room. */
+    private static final int MIN_FREE_ROWS = 8;
+    private static final int MOVING_OBSTACLE_LENGTH = 3;
+    private static final long SEED = 42L;
+
+    private BenchFixtures() {}
+
+    /**
+     * Returns the frozen settings for a scenario.
+     *
+     * @param mapId map to load ({@code 0} for the standard mode without a map)
+     * @param movingObstacleCount number of moving obstacles
+     * @return settings snapshot
+     */
+    static SettingsSnapshot settings(int mapId, int movingObstacleCount) {
+        return SettingsSnapshot.builder()
+                .currentMode(mapId > 0 ? GameMode.MAP_SELECT : GameMode.STANDARD)
+                .selectedMapId(Math.max(1, mapId))
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .playerName("Bench")
+                .playerId(new UUID(0L, 1L))
+                .movingObstaclesEnabled(movingObstacleCount > 0)
+                .movingObstacleCount(movingObstacleCount)
+                .build();
+    }
+
+    /**
+     * Builds a scenario; the state is ready to tick.
+     *
+     * @param snakeLength snake length in cells
+     * @param obstacleCount number of static obstacles added below the lane
+     * @param movingObstacleCount number of moving obstacles
+     * @param mapId map to load ({@code 0} for the standard mode without a map)
+     * @return scenario
+     */
+    static Scenario scenario(int snakeLength, int obstacleCount, int movingObstacleCount, int mapId) {
+        int laneRows = Math.max(2, (snakeLength + 2 + COLS - 1) / COLS);
+        if ((laneRows & 1) == 1) laneRows++;
+        if (snakeLength < 2 || laneRows > ROWS - MIN_FREE_ROWS) {
+            throw new IllegalArgumentException("Unsupported snake length: " + snakeLength);
+        }
+        int appleRow = ROWS - 1;
+        int firstMovingRow = appleRow - movingObstacleCount;
+        if (movingObstacleCount < 0 || firstMovingRow <= laneRows) {
+            throw new IllegalArgumentException("Too many moving obstacles: " + movingObstacleCount);
+        }
+
+        SettingsSnapshot settings = settings(mapId, movingObstacleCount);
+        GameState state = new GameState(SEED, false, settings);
+        state.setTickMs(100);
+
+        Direction[] route = laneRoute(laneRows);
+        int[] order = new int[laneRows * COLS];
+        for (int i = 1; i < order.length; i++) {
+            order[i] = step(order[i - 1], route[order[i - 1]]);
+        }
+
+        GameSnapshot snap = GameSnapshot.captureFrom(state);
+        snap.settingsSnapshot = settings;
+        snap.mode = settings.currentMode();
+        snap.selectedMapId = settings.selectedMapId();
+
+        // Head-first body along the cycle; the head is heading the way the cycle enters it.
+        snap.snakeBody = new ArrayList<>(snakeLength);
+        for (int i = snakeLength - 1; i >= 0; i--) snap.snakeBody.add(pixel(order[i]));
+        snap.direction = route[order[snakeLength - 2]];
+
+        snap.applePos = pixel(appleRow * COLS + COLS / 2);
+        snap.appleType = AppleType.NORMAL;
+
+        boolean[] taken = new boolean[COLS * ROWS];
+        for (int id = 0; id < laneRows * COLS; id++) taken[id] = true;
+        for (int id = firstMovingRow * COLS; id < taken.length; id++) taken[id] = true;
+
+        List<Point> obstacles = new ArrayList<>();
+        for (Point p : snap.obstacles) {
+            int id = cellOf(p);
+            if (!taken[id]) {
+                taken[id] = true;
+                obstacles.add(new Point(p));
+            }
+        }
+        int free = 0;
+        for (boolean t : taken) if (!t) free++;
+        if (obstacleCount > free) throw new IllegalArgumentException("Too many obstacles: " + obstacleCount);
+        Random rng = new Random(SEED);
+        for (int placed = 0; placed < obstacleCount; ) {
+            int id = (laneRows + rng.nextInt(firstMovingRow - laneRows)) * COLS + rng.nextInt(COLS);
+            if (taken[id]) continue;
+            taken[id] = true;
+            obstacles.add(pixel(id));
+            placed++;
+        }
+        snap.obstacles = obstacles;
+
+        snap.movingObstacles = new ArrayList<>(movingObstacleCount);
+        for (int i = 0; i < movingObstacleCount; i++) {
+            int row = firstMovingRow + i;
+            List<Point> segments = new ArrayList<>();
+            for (int s = 0; s < MOVING_OBSTACLE_LENGTH; s++) {
+                segments.add(pixel(row * COLS + (3 * i + s) % COLS));
+            }
+            int dx = (i % 2 == 0 ? 1 : -1) * GameConfig.MOVING_OBSTACLE_SPEED;
+            snap.movingObstacles.add(new MovingObstacleSnapshot(segments, dx, 0));
+        }
+
+        // The captured free-cell order is the fresh layout's; keep the rebuilt one for resets.
+        snap.freeCells = null;
+        state.restore(snap);
+        snap.freeCells = GameSnapshot.captureFrom(state).freeCells;
+        return new Scenario(state, snap, route);
+    }
+
+    /**
+     * Builds the per-cell direction table of a Hamiltonian cycle over the first {@code laneRows}
+     * rows: even rows run right, odd rows run left, and column 0 is the way back up.
+     */
+    private static Direction[] laneRoute(int laneRows) {
+        Direction[] route = new Direction[COLS * ROWS];
+        for (int y = 0; y < laneRows; y++) {
+            for (int x = 0; x < COLS; x++) {
+                Direction d;
+                if (x == 0) {
+                    d = y == 0 ? Direction.RIGHT : Direction.UP;
+                } else if ((y & 1) == 0) {
+                    d = x < COLS - 1 ? Direction.RIGHT : Direction.DOWN;
+                } else if (x > 1) {
+                    d = Direction.LEFT;
+                } else {
+                    d = y == laneRows - 1 ? Direction.LEFT : Direction.DOWN;
+                }
+                route[y * COLS + x] = d;
+            }
+        }
+        return route;
+    }
+
+    private static int step(int id, Direction d) {
+        int x = id % COLS;
+        int y = id / COLS;
+        return switch (d) {
+            case RIGHT -> y * COLS + x + 1;
+            case LEFT -> y * COLS + x - 1;
+            case DOWN -> (y + 1) * COLS + x;
+            case UP -> (y - 1) * COLS + x;
+        };
+    }
+
+    private static Point pixel(int id) {
+        return new Point((id % COLS) * GameConfig.UNIT_SIZE, (id / COLS) * GameConfig.UNIT_SIZE);
+    }
+
+    private static int cellOf(Point p) {
+        return (p.y / GameConfig.UNIT_SIZE) * COLS + p.x / GameConfig.UNIT_SIZE;
+    }
+
+    /**
+     * A prepared game state plus the snapshot and route needed to keep it running.
+     */
+    static final class Scenario {
+        final GameState state;
+        final GameSnapshot start;
+        private final Direction[] route;
+
+        private Scenario(GameState state, GameSnapshot start, Direction[] route) {
+            this.state = state;
+            this.start = start;
+            this.route = route;
+        }
+
+        /**
+         * Points the snake along the lane cycle for the next tick.
+         */
+        void steer() {
+            int head = state.getSnake().getHeadCell();
+            Direction d = route[head];
+            if (d != null) state.setDirection(d);
+        }
+
+        /**
+         * Restores the initial layout (used when the run ended, e.g. after a respawned apple in
+         * the lane made the snake outgrow it).
+         */
+        void reset() {
+            state.restore(start);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.snakegame.bench;
+
+import com.snakegame.model.GameEvent;
+import com.snakegame.model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a steady-state {@link GameState#update()} tick: the snake follows its lane without
+ * eating and no events are emitted.
+ *
+ * <p>Run with {@code -prof gc}; {@code gc.alloc.rate.norm} should stay at ~0 B/op.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dsnakegame.appDir=target/bench-appdata"})
+public class GameStateUpdateBenchmark {
+
+    @Param({"6", "60", "200"})
+    public int snakeLength;
+
+    @Param({"0", "40"})
+    public int obstacleCount;
+
+    @Param({"0", "3"})
+    public int movingObstacleCount;
+
+    @Param({"0", "1"})
+    public int mapId;
+
+    private BenchFixtures.Scenario scenario;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        scenario = BenchFixtures.scenario(snakeLength, obstacleCount, movingObstacleCount, mapId);
+    }
+
+    /**
+     * One simulation tick followed by event consumption, as done by the game loop.
+     *
+     * @return consumed events (returned to defeat dead-code elimination)
+     */
+    @Benchmark
+    public List<GameEvent> tick() {
+        scenario.steer();
+        GameState state = scenario.state;
+        state.update();
+        if (!state.isRunning()) scenario.reset();
+        return state.consumeEvents();
+    }
+}
@@ -0,0 +1,101 @@
+package com.snakegame.bench;
+
+import com.snakegame.ai.AStarPathfinder;
+import com.snakegame.ai.Cell;
+import com.snakegame.model.GameState;
+import com.snakegame.model.MovingObstacle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a head-to-apple {@link AStarPathfinder} search on a fixture board.
+ *
+ * <p>{@link #findPath()} goes through the {@link Cell}-based API used by tests and tools (set
+ * conversion plus path list), {@link #search()} through the primitive API used by the AI.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dsnakegame.appDir=target/bench-appdata"})
+public class PathfindingBenchmark {
+
+    @Param({"6", "60", "200"})
+    public int snakeLength;
+
+    @Param({"0", "40"})
+    public int obstacleCount;
+
+    @Param({"0", "3"})
+    public int movingObstacleCount;
+
+    @Param({"0", "1"})
+    public int mapId;
+
+    private final AStarPathfinder pathfinder = new AStarPathfinder();
+    private Cell head;
+    private Cell apple;
+    private Set<Cell> blocked;
+    private boolean[] blockedGrid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameState state = BenchFixtures.scenario(snakeLength, obstacleCount, movingObstacleCount, mapId).state;
+        head = Cell.fromPixel(state.getSnake().getHead());
+        apple = Cell.fromPixel(state.getApple().getPosition());
+
+        blocked = new HashSet<>();
+        List<Point> body = state.getSnake().getBody();
+        for (int i = 1; i < body.size(); i++) blocked.add(Cell.fromPixel(body.get(i)));
+        for (Point p : state.getObstacles()) blocked.add(Cell.fromPixel(p));
+        for (MovingObstacle mo : state.getMovingObstacles()) {
+            for (Point p : mo.getSegments()) blocked.add(Cell.fromPixel(p));
+        }
+
+        blockedGrid = new boolean[BenchFixtures.COLS * BenchFixtures.ROWS];
+        for (Cell c : blocked) {
+            if (c.x >= 0 && c.x < BenchFixtures.COLS && c.y >= 0 && c.y < BenchFixtures.ROWS) {
+                blockedGrid[c.y * BenchFixtures.COLS + c.x] = true;
+            }
+        }
+    }
+
+    /**
+     * Path search through the {@link Cell}-based adapter.
+     *
+     * @return path (returned to defeat dead-code elimination)
+     */
+    @Benchmark
+    public List<Cell> findPath() {
+        return pathfinder.findPath(head, apple, blocked, BenchFixtures.COLS, BenchFixtures.ROWS);
+    }
+
+    /**
+     * Path search on cell ids and a prebuilt blocked grid.
+     *
+     * @return path length, or {@code -1}
+     */
+    @Benchmark
+    public int search() {
+        int cols = BenchFixtures.COLS;
+        return pathfinder.search(head.y * cols + head.x, apple.y * cols + apple.x, blockedGrid,
+                cols, BenchFixtures.ROWS);
+    }
+}
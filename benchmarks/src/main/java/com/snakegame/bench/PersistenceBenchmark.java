@@ -0,0 +1,239 @@
+package com.snakegame.bench;
+
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.Direction;
+import com.snakegame.model.GameSnapshot;
+import com.snakegame.model.GameState;
+import com.snakegame.replay.ReplayData;
+import com.snakegame.replay.ReplayEvent;
+import com.snakegame.replay.ReplayManager;
+import com.snakegame.util.GameSaveManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures encoding and decoding of replays ({@link ReplayManager}) and saved games
+ * ({@link GameSaveManager}), including the file I/O they perform.
+ *
+ * <p>Files go to a temporary directory. Replay benchmarks are parameterized by the number of
+ * recorded direction changes, save benchmarks by the board parameters. The large-board save benchmarks
+ * use a 1024x1024 board, where the free-cell order dominates the file.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dsnakegame.appDir=target/bench-appdata"})
+public class PersistenceBenchmark {
+
+    /**
+     * A replay with {@code eventCount} direction changes, written once per iteration so it can also be
+     * loaded. Every save also appends to the replay library, so each iteration gets a fresh directory
+     * to keep the library from growing across the trial.
+     */
+    @State(Scope.Thread)
+    public static class ReplayFile {
+        @Param({"100", "10000"})
+        public int eventCount;
+
+        Path dir;
+        Path iterationDir;
+        ReplayData data;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dir = Files.createTempDirectory("snake-bench-replay");
+
+            GameState state = BenchFixtures.scenario(6, 0, 0, 0).state;
+            data = new ReplayData();
+            data.seed = state.getSeed();
+            data.finalScore = eventCount / 10;
+            data.runSettingsSnapshot = state.getRunSettingsSnapshot();
+            data.startMapId = state.getCurrentMapId();
+            data.events = new ArrayList<>(eventCount);
+            Direction[] turns = {Direction.DOWN, Direction.RIGHT, Direction.UP, Direction.RIGHT};
+            for (int i = 0; i < eventCount; i++) {
+                data.events.add(new ReplayEvent(3L * i + 1, turns[i & 3]));
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void setUpIteration() throws IOException {
+            iterationDir = Files.createTempDirectory(dir, "iteration");
+            ReplayManager.setLastPath(iterationDir.resolve("replay_last.bin").toString());
+            ReplayManager.setBestPath(iterationDir.resolve("replay_best.bin").toString());
+            ReplayManager.saveRun(data, -1);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDownIteration() throws IOException {
+            deleteRecursively(iterationDir);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            ReplayManager.setLastPath(null);
+            ReplayManager.setBestPath(null);
+            deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * A saved game captured from a fixture board, written once so it can also be loaded.
+     */
+    @State(Scope.Thread)
+    public static class SaveFile {
+        @Param({"6", "200"})
+        public int snakeLength;
+
+        @Param({"0", "40"})
+        public int obstacleCount;
+
+        @Param({"0", "3"})
+        public int movingObstacleCount;
+
+        Path dir;
+        GameSnapshot snapshot;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dir = Files.createTempDirectory("snake-bench-save");
+            GameSaveManager.setFilePath(dir.resolve("savegame.txt").toString());
+
+            snapshot = BenchFixtures.scenario(snakeLength, obstacleCount, movingObstacleCount, 0).start;
+            GameSaveManager.save(snapshot);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            GameSaveManager.setFilePath(null);
+            deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * A saved game on a 1024x1024 board, a few hundred ticks into the run so the free-cell order has
+     * moved away from its initial layout.
+     */
+    @State(Scope.Thread)
+    public static class LargeSaveFile {
+        Path dir;
+        GameSnapshot snapshot;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dir = Files.createTempDirectory("snake-bench-save-large");
+            GameSaveManager.setFilePath(dir.resolve("savegame.txt").toString());
+
+            GameState state = new GameState(42L, false,
+                    BenchFixtures.settings(0, 0).withBoard(new BoardGeometry(1024, 1024)));
+            state.setTickMs(100);
+            Direction[] turns = {Direction.DOWN, Direction.RIGHT, Direction.UP, Direction.RIGHT};
+            for (int i = 0; i < 300 && state.isRunning(); i++) {
+                if (i % 25 == 0) state.setDirection(turns[(i / 25) & 3]);
+                state.update();
+                state.consumeEvents();
+            }
+            snapshot = GameSnapshot.captureFrom(state);
+            snapshot.settingsSnapshot = state.getRunSettingsSnapshot();
+            GameSaveManager.save(snapshot);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            GameSaveManager.setFilePath(null);
+            deleteRecursively(dir);
+        }
+    }
+
+    /**
+     * Encodes and writes a finished run: the "last run" replay and its library entry.
+     *
+     * @param f replay fixture
+     */
+    @Benchmark
+    public void replaySave(ReplayFile f) {
+        ReplayManager.saveRun(f.data, -1);
+    }
+
+    /**
+     * Reads and decodes a replay.
+     *
+     * @param f replay fixture
+     * @return decoded replay
+     */
+    @Benchmark
+    public Optional<ReplayData> replayLoad(ReplayFile f) {
+        return ReplayManager.loadLast();
+    }
+
+    /**
+     * Encodes and writes a saved game.
+     *
+     * @param f save fixture
+     */
+    @Benchmark
+    public void gameSave(SaveFile f) {
+        GameSaveManager.save(f.snapshot);
+    }
+
+    /**
+     * Reads and decodes a saved game.
+     *
+     * @param f save fixture
+     * @return decoded snapshot
+     */
+    @Benchmark
+    public Optional<GameSnapshot> gameLoad(SaveFile f) {
+        return GameSaveManager.load();
+    }
+
+    /**
+     * Encodes and writes a saved game on a large board.
+     *
+     * @param f save fixture
+     */
+    @Benchmark
+    public void gameSaveLargeBoard(LargeSaveFile f) {
+        GameSaveManager.save(f.snapshot);
+    }
+
+    /**
+     * Reads and decodes a saved game on a large board.
+     *
+     * @param f save fixture
+     * @return decoded snapshot
+     */
+    @Benchmark
+    public Optional<GameSnapshot> gameLoadLargeBoard(LargeSaveFile f) {
+        return GameSaveManager.load();
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
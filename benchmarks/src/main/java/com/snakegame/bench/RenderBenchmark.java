@@ -0,0 +1,82 @@
+package com.snakegame.bench;
+
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.model.FrameSnapshot;
+import com.snakegame.model.GameConfig;
+import com.snakegame.model.GameState;
+import com.snakegame.view.GameRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures drawing one frame of the world into an off-screen {@link BufferedImage}.
+ *
+ * <p>The image has the world's size, so {@link GameRenderer#renderFixed} draws the world at the
+ * origin exactly like {@code GamePanel} does, plus the background fill. The frame is captured once,
+ * as the simulation thread would publish it, so only drawing is measured.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dsnakegame.appDir=target/bench-appdata"})
+public class RenderBenchmark {
+
+    @Param({"6", "60", "200"})
+    public int snakeLength;
+
+    @Param({"0", "40"})
+    public int obstacleCount;
+
+    @Param({"0", "3"})
+    public int movingObstacleCount;
+
+    @Param({"0", "1"})
+    public int mapId;
+
+    private FrameSnapshot frame;
+    private SettingsSnapshot settings;
+    private BufferedImage image;
+    private Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameState state = BenchFixtures.scenario(snakeLength, obstacleCount, movingObstacleCount, mapId).state;
+        frame = FrameSnapshot.captureFrom(state);
+        settings = state.getRunSettingsSnapshot();
+        image = new BufferedImage(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+    }
+
+    /**
+     * Renders one frame.
+     *
+     * @return target image (returned to defeat dead-code elimination)
+     */
+    @Benchmark
+    public BufferedImage renderFrame() {
+        GameRenderer.renderFixed(g, frame, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, settings);
+        return image;
+    }
+}
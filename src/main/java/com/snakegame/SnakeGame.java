@@ -1,6 +1,7 @@
 package com.snakegame;
 
 import com.snakegame.config.GameSettingsManager;
+import com.snakegame.replay.ReplayManager;
 import com.snakegame.ui.GameFrame;
 
 import javax.swing.*;
@@ -8,7 +9,8 @@ import javax.swing.*;
 /**
  * Application entry point for the Snake game.
  *
- * <p>Loads persisted settings and launches the Swing UI on the Event Dispatch Thread (EDT).</p>
+ * <p>Loads persisted settings, starts recovering the replay of a run the previous session did not
+ * finish in the background, and launches the Swing UI on the Event Dispatch Thread (EDT).</p>
  */
 public class SnakeGame {
     /**
@@ -18,6 +20,7 @@ public class SnakeGame {
      */
     public static void main(String[] args) {
         GameSettingsManager.load();
+        ReplayManager.recoverInterruptedRun();
         SwingUtilities.invokeLater(GameFrame::new);
     }
 }
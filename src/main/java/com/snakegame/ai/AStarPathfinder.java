@@ -1,15 +1,42 @@
 package com.snakegame.ai;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 /**
  * A* pathfinder for a 4-neighbor grid with wrap-around (toroidal) edges.
  *
  * <p>This implementation is used by the AI to route from the snake head to a target cell while
  * treating body segments and obstacles as blocked cells.</p>
+ *
+ * <p>Cells are addressed by primitive ids ({@code y * cols + x}) and expanded through a shared
+ * {@link GridTopology} neighbor table. All search state lives in arrays sized to
+ * {@code cols * rows} that are reused across calls: g-scores and parent links are invalidated by
+ * bumping a generation stamp rather than clearing, and the open set is a binary heap of cell ids.
+ * A search therefore allocates nothing once the buffers exist. Instances are not thread-safe; use
+ * one per thread (e.g., one per {@code AiDirectionProvider}).</p>
  */
 public class AStarPathfinder {
 
+    private GridTopology topology;
+
+    private int[] gScore = new int[0];
+    private int[] cameFrom = new int[0];
+    private int[] gStamp = new int[0];      // gScore/cameFrom valid when == generation
+    private int[] closedStamp = new int[0]; // closed when == generation
+    private int generation;
+
+    // Open set: binary min-heap on f. Entries are never decreased in place; a cell may be queued
+    // more than once and stale entries are skipped when popped (bounded by 4 pushes per cell).
+    private int[] heapCell = new int[0];
+    private int[] heapF = new int[0];
+    private int heapSize;
+
+    private boolean[] blockedScratch = new boolean[0];
+
     /**
      * Finds a shortest path between two cells on a toroidal grid.
      *
@@ -31,75 +58,152 @@ public class AStarPathfinder {
 
         if (start.equals(goal)) return List.of(start);
 
-        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingInt(n -> n.f));
-        Map<Cell, Integer> gScore = new HashMap<>();
-        Map<Cell, Cell> cameFrom = new HashMap<>();
-        Set<Cell> closed = new HashSet<>();
+        ensureCapacity(cols, rows);
+        boolean[] grid = blockedScratch;
+        Arrays.fill(grid, false);
+        for (Cell c : blocked) {
+            if (c.x >= 0 && c.x < cols && c.y >= 0 && c.y < rows) grid[c.y * cols + c.x] = true;
+        }
 
-        gScore.put(start, 0);
-        open.add(new Node(start, heuristic(start, goal, cols, rows), 0));
+        int goalId = goal.y * cols + goal.x;
+        int length = search(start.y * cols + start.x, goalId, grid, cols, rows);
+        if (length < 0) return null;
 
-        while (!open.isEmpty()) {
-            Node current = open.poll();
-            Cell c = current.cell;
+        ArrayList<Cell> path = new ArrayList<>(length);
+        for (int c = goalId; c >= 0; c = cameFrom[c]) {
+            path.add(topology.cell(c));
+        }
+        Collections.reverse(path);
+        return path;
+    }
 
-            if (c.equals(goal)) {
-                return reconstruct(cameFrom, c);
-            }
-            if (!closed.add(c)) continue;
+    /**
+     * Runs A* between two cell ids without building a path.
+     *
+     * <p>After a successful search, the path can be walked backwards from {@code goal} with
+     * {@link #parentOf(int)} until it returns {@code -1}, as long as no other search runs in between.</p>
+     *
+     * @param start start cell id ({@code y * cols + x})
+     * @param goal goal cell id
+     * @param blocked blocked flags indexed by cell id (length at least {@code cols * rows})
+     * @param cols total number of columns in the grid
+     * @param rows total number of rows in the grid
+     * @return path length in cells including both ends ({@code 1} if {@code start == goal}),
+     *         or {@code -1} if the goal is unreachable
+     */
+    public int search(int start, int goal, boolean[] blocked, int cols, int rows) {
+        ensureCapacity(cols, rows);
+        int gen = nextGeneration();
 
-            for (Cell nb : neighbors(c, cols, rows)) {
-                if (blocked.contains(nb) || closed.contains(nb)) continue;
+        gStamp[start] = gen;
+        gScore[start] = 0;
+        cameFrom[start] = -1;
+        if (start == goal) return 1;
 
-                int tentativeG = gScore.getOrDefault(c, Integer.MAX_VALUE) + 1;
-                if (tentativeG < gScore.getOrDefault(nb, Integer.MAX_VALUE)) {
-                    cameFrom.put(nb, c);
-                    gScore.put(nb, tentativeG);
-                    int f = tentativeG + heuristic(nb, goal, cols, rows);
-                    open.add(new Node(nb, f, tentativeG));
+        GridTopology topo = topology;
+
+        heapSize = 0;
+        push(start, topo.distance(start, goal));
+
+        while (heapSize > 0) {
+            int c = pop();
+
+            if (c == goal) return gScore[c] + 1;
+            if (closedStamp[c] == gen) continue;
+            closedStamp[c] = gen;
+
+            int tentativeG = gScore[c] + 1;
+
+            // 4-neighborhood with wrap-around (precomputed)
+            for (int k = 0; k < 4; k++) {
+                int nb = topo.neighbor(c, k);
+                if (blocked[nb] || closedStamp[nb] == gen) continue;
+
+                if (gStamp[nb] != gen || tentativeG < gScore[nb]) {
+                    gStamp[nb] = gen;
+                    gScore[nb] = tentativeG;
+                    cameFrom[nb] = c;
+                    push(nb, tentativeG + topo.distance(nb, goal));
                 }
             }
         }
-        return null;
+        return -1;
+    }
+
+    /**
+     * Returns the predecessor of a cell on the path found by the last successful {@link #search}.
+     *
+     * @param cell cell id on the last path
+     * @return predecessor cell id, or {@code -1} for the start cell
+     */
+    public int parentOf(int cell) {
+        return cameFrom[cell];
     }
 
-    private List<Cell> neighbors(Cell c, int cols, int rows) {
-        // 4-neighborhood with wrap-around
-        return List.of(
-                new Cell((c.x + 1) % cols, c.y),
-                new Cell((c.x - 1 + cols) % cols, c.y),
-                new Cell(c.x, (c.y + 1) % rows),
-                new Cell(c.x, (c.y - 1 + rows) % rows)
-        );
+    private void ensureCapacity(int cols, int rows) {
+        if (topology != null && topology.cols() == cols && topology.rows() == rows) return;
+        topology = GridTopology.of(cols, rows);
+        int n = topology.cellCount();
+        gScore = new int[n];
+        cameFrom = new int[n];
+        gStamp = new int[n];
+        closedStamp = new int[n];
+        // Stale duplicates can push the heap past n entries; push() grows it on demand instead of
+        // reserving the worst case up front, which matters on large boards.
+        heapCell = new int[n + 1];
+        heapF = new int[n + 1];
+        blockedScratch = new boolean[n];
+        generation = 0;
     }
 
-    private int heuristic(Cell a, Cell b, int cols, int rows) {
-        // Manhattan distance with wrap-around (toroidal)
-        int dx = Math.abs(a.x - b.x);
-        int dy = Math.abs(a.y - b.y);
-        dx = Math.min(dx, cols - dx);
-        dy = Math.min(dy, rows - dy);
-        return dx + dy;
+    private int nextGeneration() {
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(gStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+        return generation;
     }
 
-    private List<Cell> reconstruct(Map<Cell, Cell> cameFrom, Cell current) {
-        LinkedList<Cell> path = new LinkedList<>();
-        path.addFirst(current);
-        while (cameFrom.containsKey(current)) {
-            current = cameFrom.get(current);
-            path.addFirst(current);
+    // Sift order mirrors java.util.PriorityQueue so ties between equal f values resolve as before.
+
+    private void push(int cell, int f) {
+        if (heapSize == heapCell.length) {
+            heapCell = Arrays.copyOf(heapCell, heapSize * 2);
+            heapF = Arrays.copyOf(heapF, heapSize * 2);
         }
-        return path;
+        int k = heapSize++;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (f >= heapF[parent]) break;
+            heapCell[k] = heapCell[parent];
+            heapF[k] = heapF[parent];
+            k = parent;
+        }
+        heapCell[k] = cell;
+        heapF[k] = f;
     }
 
-    private static class Node {
-        final Cell cell;
-        final int f;
-        final int g;
-        Node(Cell cell, int f, int g) {
-            this.cell = cell;
-            this.f = f;
-            this.g = g;
+    private int pop() {
+        int result = heapCell[0];
+        int n = --heapSize;
+        if (n > 0) {
+            int cell = heapCell[n];
+            int f = heapF[n];
+            int k = 0;
+            int half = n >>> 1;
+            while (k < half) {
+                int child = (k << 1) + 1;
+                int right = child + 1;
+                if (right < n && heapF[child] > heapF[right]) child = right;
+                if (f <= heapF[child]) break;
+                heapCell[k] = heapCell[child];
+                heapF[k] = heapF[child];
+                k = child;
+            }
+            heapCell[k] = cell;
+            heapF[k] = f;
         }
+        return result;
     }
 }
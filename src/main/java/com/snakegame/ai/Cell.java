@@ -4,17 +4,21 @@ import com.snakegame.model.Direction;
 import com.snakegame.model.GameConfig;
 
 import java.awt.Point;
-import java.util.Objects;
 
 /**
  * Immutable grid coordinate used by AI/pathfinding logic.
  *
  * <p>A {@code Cell} is expressed in grid units (not pixels). Conversion helpers translate between
  * grid coordinates and pixel-space positions used by the simulation and renderer.</p>
+ *
+ * <p>Cells are interned per board: {@link GridTopology#cell(int)} keeps one canonical instance per
+ * cell of its grid, so hot AI code reuses instances on boards of any size and most equality checks
+ * hit the identity fast path. The hash code is precomputed.</p>
  */
 public final class Cell {
     public final int x; // grid coord
     public final int y;
+    private final int hash;
 
     /**
      * Creates a new grid cell coordinate.
@@ -25,6 +29,20 @@ public final class Cell {
     public Cell(int x, int y) {
         this.x = x;
         this.y = y;
+        this.hash = 31 * x + y;
+    }
+
+    /**
+     * Returns the cell for the given coordinates.
+     *
+     * <p>Not interned; code that knows its board should use {@link GridTopology#cell(int)}.</p>
+     *
+     * @param x column index (0-based)
+     * @param y row index (0-based)
+     * @return grid cell
+     */
+    public static Cell of(int x, int y) {
+        return new Cell(x, y);
     }
 
     /**
@@ -34,7 +52,7 @@ public final class Cell {
      * @return the corresponding grid cell
      */
     public static Cell fromPixel(Point p) {
-        return new Cell(p.x / GameConfig.UNIT_SIZE, p.y / GameConfig.UNIT_SIZE);
+        return of(p.x / GameConfig.UNIT_SIZE, p.y / GameConfig.UNIT_SIZE);
     }
 
     /**
@@ -48,6 +66,7 @@ public final class Cell {
 
     /**
      * Returns the adjacent cell after moving one step in the given direction, applying wrap-around.
+     * The result is the grid's interned instance.
      *
      * @param d movement direction
      * @param cols total number of columns in the grid
@@ -67,17 +86,16 @@ public final class Cell {
         else if (nx >= cols) nx = 0;
         if (ny < 0) ny = rows - 1;
         else if (ny >= rows) ny = 0;
-        return new Cell(nx, ny);
+        return GridTopology.of(cols, rows).cell(ny * cols + nx);
     }
 
     @Override public boolean equals(Object o) {
         if (this == o) return true;
-        if (!(o instanceof Cell)) return false;
-        Cell cell = (Cell) o;
+        if (!(o instanceof Cell cell)) return false;
         return x == cell.x && y == cell.y;
     }
 
     @Override public int hashCode() {
-        return Objects.hash(x, y);
+        return hash;
     }
 }
@@ -0,0 +1,184 @@
+package com.snakegame.ai;
+
+import com.snakegame.model.Direction;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed adjacency for a {@code cols x rows} grid with wrap-around (toroidal) edges.
+ *
+ * <p>Cells are addressed by id ({@code y * cols + x}). The four neighbors of every cell are stored
+ * in a flat {@code int[cellCount * 4]} table, so a lookup is a single array read with no modulo
+ * arithmetic or allocation. Instances are immutable and shared per grid size via {@link #of}.</p>
+ *
+ * <p>Neighbor slots are ordered {@code RIGHT, LEFT, DOWN, UP}; searches iterate slots in this order,
+ * which keeps their tie-breaking stable.</p>
+ */
+public final class GridTopology {
+    /** Neighbor slot for {@link Direction#RIGHT} ({@code x + 1}). */
+    public static final int RIGHT = 0;
+    /** Neighbor slot for {@link Direction#LEFT} ({@code x - 1}). */
+    public static final int LEFT = 1;
+    /** Neighbor slot for {@link Direction#DOWN} ({@code y + 1}). */
+    public static final int DOWN = 2;
+    /** Neighbor slot for {@link Direction#UP} ({@code y - 1}). */
+    public static final int UP = 3;
+
+    private static final Map<Long, GridTopology> CACHE = new ConcurrentHashMap<>();
+
+    private final int cols;
+    private final int rows;
+    private final int[] neighbors;
+    private final int[] xOf;
+    private final int[] yOf;
+    /** Interned cells by id, created on first use. */
+    private final Cell[] cells;
+
+    private GridTopology(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        int n = cols * rows;
+        this.neighbors = new int[n * 4];
+        this.xOf = new int[n];
+        this.yOf = new int[n];
+        this.cells = new Cell[n];
+
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                int id = y * cols + x;
+                xOf[id] = x;
+                yOf[id] = y;
+                neighbors[id * 4 + RIGHT] = y * cols + (x + 1) % cols;
+                neighbors[id * 4 + LEFT] = y * cols + (x - 1 + cols) % cols;
+                neighbors[id * 4 + DOWN] = ((y + 1) % rows) * cols + x;
+                neighbors[id * 4 + UP] = ((y - 1 + rows) % rows) * cols + x;
+            }
+        }
+    }
+
+    /**
+     * Returns the shared topology for a grid size, building it on first use.
+     *
+     * @param cols number of columns (must be positive)
+     * @param rows number of rows (must be positive)
+     * @return grid topology
+     */
+    public static GridTopology of(int cols, int rows) {
+        if (cols <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive: " + cols + "x" + rows);
+        }
+        return CACHE.computeIfAbsent(((long) cols << 32) | rows, k -> new GridTopology(cols, rows));
+    }
+
+    /**
+     * Returns the neighbor slot used for a movement direction.
+     *
+     * @param d movement direction
+     * @return slot index in {@code [0, 4)}
+     */
+    public static int slot(Direction d) {
+        return switch (d) {
+            case RIGHT -> RIGHT;
+            case LEFT -> LEFT;
+            case DOWN -> DOWN;
+            case UP -> UP;
+        };
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return column count
+     */
+    public int cols() { return cols; }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return row count
+     */
+    public int rows() { return rows; }
+
+    /**
+     * Returns the number of cells.
+     *
+     * @return {@code cols * rows}
+     */
+    public int cellCount() { return xOf.length; }
+
+    /**
+     * Returns the id of a cell given in grid coordinates.
+     *
+     * @param x column (0-based)
+     * @param y row (0-based)
+     * @return cell id
+     */
+    public int id(int x, int y) { return y * cols + x; }
+
+    /**
+     * Returns the column of a cell.
+     *
+     * @param id cell id
+     * @return column (0-based)
+     */
+    public int x(int id) { return xOf[id]; }
+
+    /**
+     * Returns the row of a cell.
+     *
+     * @param id cell id
+     * @return row (0-based)
+     */
+    public int y(int id) { return yOf[id]; }
+
+    /**
+     * Returns the interned {@link Cell} for a cell id.
+     *
+     * <p>The intern table is sized from the grid; a cell is created the first time it is asked
+     * for, so untouched parts of a large board cost one empty slot each.</p>
+     *
+     * @param id cell id
+     * @return canonical cell at the id's coordinates
+     */
+    public Cell cell(int id) {
+        Cell c = cells[id];
+        if (c == null) {
+            // Benign race: Cell is immutable (final fields), so a duplicate is merely not canonical.
+            c = new Cell(xOf[id], yOf[id]);
+            cells[id] = c;
+        }
+        return c;
+    }
+
+    /**
+     * Returns the neighbor of a cell in the given slot.
+     *
+     * @param id cell id
+     * @param slot neighbor slot ({@link #RIGHT}, {@link #LEFT}, {@link #DOWN} or {@link #UP})
+     * @return neighbor cell id (wrapping around edges)
+     */
+    public int neighbor(int id, int slot) { return neighbors[(id << 2) + slot]; }
+
+    /**
+     * Returns the neighbor of a cell in the given direction.
+     *
+     * @param id cell id
+     * @param d movement direction
+     * @return neighbor cell id (wrapping around edges)
+     */
+    public int neighbor(int id, Direction d) { return neighbors[(id << 2) + slot(d)]; }
+
+    /**
+     * Returns the Manhattan distance between two cells, taking wrap-around into account.
+     *
+     * @param a first cell id
+     * @param b second cell id
+     * @return toroidal Manhattan distance
+     */
+    public int distance(int a, int b) {
+        int dx = Math.abs(xOf[a] - xOf[b]);
+        int dy = Math.abs(yOf[a] - yOf[b]);
+        return Math.min(dx, cols - dx) + Math.min(dy, rows - dy);
+    }
+}
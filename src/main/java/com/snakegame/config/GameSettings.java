@@ -1,6 +1,7 @@
 package com.snakegame.config;
 
 import com.snakegame.mode.GameMode;
+import com.snakegame.model.BoardGeometry;
 import com.snakegame.model.GameConfig;
 import com.snakegame.ai.AiMode;
 import java.util.UUID;
@@ -39,6 +40,7 @@ public class GameSettings {
     // Used to preserve map behavior when starting an AI-controlled run.
     // AI is treated as a control mode overlay, not a map mode.
     private static GameMode aiBaseMode = GameMode.STANDARD;
+    private static BoardGeometry board = BoardGeometry.DEFAULT;
     private static int raceThreshold = 20;
 
     private static boolean soundEnabled = true;
@@ -170,6 +172,25 @@ public class GameSettings {
         aiBaseMode = mode;
     }
 
+    /**
+     * Returns the board size used for new runs.
+     *
+     * @return board geometry
+     */
+    public static BoardGeometry getBoard() { return board; }
+
+    /**
+     * Sets the board size used for new runs.
+     *
+     * <p>Runs already in progress keep their own board; saves and replays carry the board of their run.</p>
+     *
+     * @param geometry board geometry (defaults to {@link BoardGeometry#DEFAULT} when {@code null})
+     */
+    public static void setBoard(BoardGeometry geometry) {
+        board = geometry == null ? BoardGeometry.DEFAULT : geometry;
+        saveIfEnabled();
+    }
+
     /**
      * Returns the selected map id used for map-based modes.
      *
@@ -406,23 +427,24 @@ public class GameSettings {
      * @return settings snapshot
      */
     public static SettingsSnapshot snapshot() {
-        return new SettingsSnapshot(
-                difficultyLevel,
-                obstaclesEnabled,
-                currentMode,
-                selectedMapId,
-                raceThreshold,
-                soundEnabled,
-                musicEnabled,
-                showGrid,
-                playerName,
-                getPlayerId(),
-                selectedTheme,
-                movingObstaclesEnabled,
-                movingObstacleCount,
-                movingObstaclesAutoIncrement,
-                false
-        );
+        return SettingsSnapshot.builder()
+                .difficultyLevel(difficultyLevel)
+                .obstaclesEnabled(obstaclesEnabled)
+                .currentMode(currentMode)
+                .selectedMapId(selectedMapId)
+                .raceThreshold(raceThreshold)
+                .soundEnabled(soundEnabled)
+                .musicEnabled(musicEnabled)
+                .showGrid(showGrid)
+                .playerName(playerName)
+                .playerId(getPlayerId())
+                .selectedTheme(selectedTheme)
+                .movingObstaclesEnabled(movingObstaclesEnabled)
+                .movingObstacleCount(movingObstacleCount)
+                .movingObstaclesAutoIncrement(movingObstaclesAutoIncrement)
+                .aiBaseMode(aiBaseMode)
+                .board(board)
+                .build();
     }
 
     /**
@@ -445,6 +467,8 @@ public class GameSettings {
         movingObstaclesEnabled       = s.movingObstaclesEnabled();
         movingObstacleCount          = s.movingObstacleCount();
         movingObstaclesAutoIncrement = s.movingObstaclesAutoIncrement();
+        aiBaseMode                   = s.aiBaseMode();
+        board                        = s.board();
     }
 
     /**
@@ -10,6 +10,7 @@ import java.util.logging.Logger;
 import com.snakegame.ai.AiMode;
 import com.snakegame.mode.GameMode;
 import com.snakegame.mode.MapManager;
+import com.snakegame.model.BoardGeometry;
 import com.snakegame.model.GameConfig;
 import com.snakegame.util.AppPaths;
 
@@ -121,6 +122,12 @@ public class GameSettingsManager {
                     GameSettings.setAiMode(AiMode.SAFE);
                 }
 
+                try {
+                    GameSettings.setBoard(BoardGeometry.parse(props.getProperty("board"), BoardGeometry.DEFAULT));
+                } catch (IllegalArgumentException ex) {
+                    GameSettings.setBoard(BoardGeometry.DEFAULT);
+                }
+
                 // Developer mode is session-only. If settings point to a developer-only map while dev mode is locked,
                 // sanitize to a normal playable configuration so Continue/save flow behaves as expected.
                 if (!GameSettings.isDeveloperModeEnabled()) {
@@ -176,6 +183,7 @@ public class GameSettingsManager {
             props.setProperty("movingObstaclesAutoIncrement",
                     String.valueOf(GameSettings.isMovingObstaclesAutoIncrement()));
             props.setProperty("aiMode", GameSettings.getAiMode().name());
+            props.setProperty("board", GameSettings.getBoard().toString());
             props.store(writer, "Game Settings");
         } catch (IOException e) {
             log.log(Level.SEVERE, "Failed to save settings", e);
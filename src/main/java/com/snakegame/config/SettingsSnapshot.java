@@ -1,12 +1,18 @@
 package com.snakegame.config;
 
 import com.snakegame.mode.GameMode;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.GameConfig;
+import com.snakegame.model.RngAlgorithm;
+import com.snakegame.model.SpawnAlgorithm;
 
 /**
  * Immutable snapshot of gameplay-relevant settings.
  *
  * <p>Snapshots are used to keep saves and replays deterministic by freezing the run configuration
- * at the start of play. UI-only and session-only settings are intentionally excluded.</p>
+ * at the start of play. UI-only and session-only settings are intentionally excluded. Create them with
+ * {@link #builder()}; the many adjacent {@code int} and {@code boolean} components are easy to swap
+ * when passed by position.</p>
  *
  * @param difficultyLevel fine-grained difficulty slider level (0..50)
  * @param obstaclesEnabled whether random obstacles are enabled
@@ -23,6 +29,10 @@ import com.snakegame.mode.GameMode;
  * @param movingObstacleCount number of moving obstacles to spawn
  * @param movingObstaclesAutoIncrement whether moving obstacles auto-increment as the run progresses
  * @param developerModeEnabled whether developer-only features are enabled (typically false in snapshots)
+ * @param aiBaseMode base (non-AI) mode deciding map behavior for AI runs (defaults to {@link GameMode#STANDARD})
+ * @param board board size in cells (defaults to {@link BoardGeometry#DEFAULT})
+ * @param spawnAlgorithm how random spawns pick cells (defaults to {@link SpawnAlgorithm#CURRENT})
+ * @param rngAlgorithm random generator of the run (defaults to {@link RngAlgorithm#CURRENT})
  */
 public record SettingsSnapshot(
         int difficultyLevel,
@@ -39,5 +49,149 @@ public record SettingsSnapshot(
         boolean movingObstaclesEnabled,
         int movingObstacleCount,
         boolean movingObstaclesAutoIncrement,
-        boolean developerModeEnabled
-) {}
+        boolean developerModeEnabled,
+        GameMode aiBaseMode,
+        BoardGeometry board,
+        SpawnAlgorithm spawnAlgorithm,
+        RngAlgorithm rngAlgorithm
+) {
+    /**
+     * Normalizes a missing AI base mode to {@link GameMode#STANDARD}, a missing board to
+     * {@link BoardGeometry#DEFAULT}, a missing spawn algorithm to {@link SpawnAlgorithm#CURRENT} and a
+     * missing RNG algorithm to {@link RngAlgorithm#CURRENT}.
+     */
+    public SettingsSnapshot {
+        if (aiBaseMode == null) aiBaseMode = GameMode.STANDARD;
+        if (board == null) board = BoardGeometry.DEFAULT;
+        if (spawnAlgorithm == null) spawnAlgorithm = SpawnAlgorithm.CURRENT;
+        if (rngAlgorithm == null) rngAlgorithm = RngAlgorithm.CURRENT;
+    }
+
+    /**
+     * Returns a builder starting from the defaults of a fresh install: those of {@link GameSettings}
+     * before anything is changed, with no player id.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a builder starting from this snapshot.
+     *
+     * @return builder
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .difficultyLevel(difficultyLevel)
+                .obstaclesEnabled(obstaclesEnabled)
+                .currentMode(currentMode)
+                .selectedMapId(selectedMapId)
+                .raceThreshold(raceThreshold)
+                .soundEnabled(soundEnabled)
+                .musicEnabled(musicEnabled)
+                .showGrid(showGrid)
+                .playerName(playerName)
+                .playerId(playerId)
+                .selectedTheme(selectedTheme)
+                .movingObstaclesEnabled(movingObstaclesEnabled)
+                .movingObstacleCount(movingObstacleCount)
+                .movingObstaclesAutoIncrement(movingObstaclesAutoIncrement)
+                .developerModeEnabled(developerModeEnabled)
+                .aiBaseMode(aiBaseMode)
+                .board(board)
+                .spawnAlgorithm(spawnAlgorithm)
+                .rngAlgorithm(rngAlgorithm);
+    }
+
+    /**
+     * Returns a copy of this snapshot with a different board size.
+     *
+     * @param newBoard board geometry
+     * @return snapshot with {@code board} replaced
+     */
+    public SettingsSnapshot withBoard(BoardGeometry newBoard) {
+        return toBuilder().board(newBoard).build();
+    }
+
+    /**
+     * Returns a copy of this snapshot with a different spawn algorithm.
+     *
+     * @param algorithm spawn algorithm
+     * @return snapshot with {@code spawnAlgorithm} replaced
+     */
+    public SettingsSnapshot withSpawnAlgorithm(SpawnAlgorithm algorithm) {
+        return toBuilder().spawnAlgorithm(algorithm).build();
+    }
+
+    /**
+     * Returns a copy of this snapshot with a different RNG algorithm.
+     *
+     * @param algorithm RNG algorithm
+     * @return snapshot with {@code rngAlgorithm} replaced
+     */
+    public SettingsSnapshot withRngAlgorithm(RngAlgorithm algorithm) {
+        return toBuilder().rngAlgorithm(algorithm).build();
+    }
+
+    /**
+     * Builds a {@link SettingsSnapshot} by component name; see the record components for their meaning.
+     */
+    public static final class Builder {
+        private int difficultyLevel = 20;
+        private boolean obstaclesEnabled = false;
+        private GameMode currentMode = GameMode.STANDARD;
+        private int selectedMapId = 1;
+        private int raceThreshold = 20;
+        private boolean soundEnabled = true;
+        private boolean musicEnabled = true;
+        private boolean showGrid = true;
+        private String playerName = "Player";
+        private java.util.UUID playerId;
+        private GameSettings.Theme selectedTheme = GameSettings.Theme.RETRO;
+        private boolean movingObstaclesEnabled = false;
+        private int movingObstacleCount = GameConfig.DEFAULT_MOVING_OBSTACLE_COUNT;
+        private boolean movingObstaclesAutoIncrement = false;
+        private boolean developerModeEnabled = false;
+        private GameMode aiBaseMode = GameMode.STANDARD;
+        private BoardGeometry board = BoardGeometry.DEFAULT;
+        private SpawnAlgorithm spawnAlgorithm = SpawnAlgorithm.CURRENT;
+        private RngAlgorithm rngAlgorithm = RngAlgorithm.CURRENT;
+
+        private Builder() {}
+
+        public Builder difficultyLevel(int v) { difficultyLevel = v; return this; }
+        public Builder obstaclesEnabled(boolean v) { obstaclesEnabled = v; return this; }
+        public Builder currentMode(GameMode v) { currentMode = v; return this; }
+        public Builder selectedMapId(int v) { selectedMapId = v; return this; }
+        public Builder raceThreshold(int v) { raceThreshold = v; return this; }
+        public Builder soundEnabled(boolean v) { soundEnabled = v; return this; }
+        public Builder musicEnabled(boolean v) { musicEnabled = v; return this; }
+        public Builder showGrid(boolean v) { showGrid = v; return this; }
+        public Builder playerName(String v) { playerName = v; return this; }
+        public Builder playerId(java.util.UUID v) { playerId = v; return this; }
+        public Builder selectedTheme(GameSettings.Theme v) { selectedTheme = v; return this; }
+        public Builder movingObstaclesEnabled(boolean v) { movingObstaclesEnabled = v; return this; }
+        public Builder movingObstacleCount(int v) { movingObstacleCount = v; return this; }
+        public Builder movingObstaclesAutoIncrement(boolean v) { movingObstaclesAutoIncrement = v; return this; }
+        public Builder developerModeEnabled(boolean v) { developerModeEnabled = v; return this; }
+        public Builder aiBaseMode(GameMode v) { aiBaseMode = v; return this; }
+        public Builder board(BoardGeometry v) { board = v; return this; }
+        public Builder spawnAlgorithm(SpawnAlgorithm v) { spawnAlgorithm = v; return this; }
+        public Builder rngAlgorithm(RngAlgorithm v) { rngAlgorithm = v; return this; }
+
+        /**
+         * Creates the snapshot; missing algorithm, board and AI base mode values are normalized as
+         * by the canonical constructor.
+         *
+         * @return snapshot
+         */
+        public SettingsSnapshot build() {
+            return new SettingsSnapshot(difficultyLevel, obstaclesEnabled, currentMode, selectedMapId, raceThreshold,
+                    soundEnabled, musicEnabled, showGrid, playerName, playerId, selectedTheme,
+                    movingObstaclesEnabled, movingObstacleCount, movingObstaclesAutoIncrement,
+                    developerModeEnabled, aiBaseMode, board, spawnAlgorithm, rngAlgorithm);
+        }
+    }
+}
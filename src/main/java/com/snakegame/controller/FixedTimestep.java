@@ -0,0 +1,116 @@
+package com.snakegame.controller;
+
+/**
+ * Deadline bookkeeping for a fixed-timestep loop on a monotonic nanosecond clock.
+ *
+ * <p>Each tick's deadline is the previous deadline plus that tick's step, never "now plus step", so
+ * scheduling latency does not accumulate into drift. When a wake-up comes late, the loop runs the
+ * overdue ticks back-to-back, up to {@code maxCatchUpTicks} beyond the first; anything still overdue
+ * after that is dropped and the deadline is re-based on the current time. All times are supplied by
+ * the caller, which keeps this class free of clocks and threads.</p>
+ *
+ * <p>Not thread-safe; {@link GameLoop} guards it with its tick lock.</p>
+ */
+final class FixedTimestep {
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final int maxCatchUpTicks;
+
+    private long deadlineNanos;
+    private int ticksThisWakeUp;
+
+    private long ticks;
+    private long catchUpTicks;
+    private long droppedTicks;
+    private long onTimeTicks;
+    private long latenessSumNanos;
+    private long maxLatenessNanos;
+
+    /**
+     * Creates a timestep.
+     *
+     * @param maxCatchUpTicks ticks allowed to run back-to-back after a late one (clamped to at least 0)
+     */
+    FixedTimestep(int maxCatchUpTicks) {
+        this.maxCatchUpTicks = Math.max(0, maxCatchUpTicks);
+    }
+
+    /**
+     * Sets the first deadline one step from now, e.g. on start or resume; nothing is owed for the
+     * time before.
+     *
+     * @param nowNanos current time
+     * @param stepMs step until the first tick, in milliseconds
+     */
+    void restart(long nowNanos, int stepMs) {
+        deadlineNanos = nowNanos + stepMs * 1_000_000L;
+        ticksThisWakeUp = 0;
+    }
+
+    /**
+     * Starts a wake-up of the loop.
+     */
+    void beginWakeUp() {
+        ticksThisWakeUp = 0;
+    }
+
+    /**
+     * Returns whether another tick should run in the current wake-up.
+     *
+     * <p>If the tick is overdue but the catch-up cap is spent, the backlog is dropped and the
+     * deadline re-based on {@code nowNanos}, so the next wake-up runs one tick immediately.</p>
+     *
+     * @param nowNanos current time
+     * @param stepMs step of the tick that would run, in milliseconds
+     * @return {@code true} if a tick is due
+     */
+    boolean tickDue(long nowNanos, int stepMs) {
+        if (nowNanos < deadlineNanos) return false;
+        if (ticksThisWakeUp <= maxCatchUpTicks) return true;
+
+        long stepNanos = Math.max(1, stepMs) * 1_000_000L;
+        droppedTicks += (nowNanos - deadlineNanos) / stepNanos + 1;
+        deadlineNanos = nowNanos;
+        return false;
+    }
+
+    /**
+     * Records that a due tick started and advances the deadline by its step.
+     *
+     * @param nowNanos time the tick started
+     * @param stepMs step of the tick, in milliseconds
+     */
+    void onTick(long nowNanos, int stepMs) {
+        if (ticksThisWakeUp == 0) {
+            long lateness = Math.max(0, nowNanos - deadlineNanos);
+            onTimeTicks++;
+            latenessSumNanos += lateness;
+            maxLatenessNanos = Math.max(maxLatenessNanos, lateness);
+        } else {
+            catchUpTicks++;
+        }
+        ticks++;
+        ticksThisWakeUp++;
+        deadlineNanos += stepMs * 1_000_000L;
+    }
+
+    /**
+     * Returns how long to sleep until the next deadline.
+     *
+     * @param nowNanos current time
+     * @return delay in nanoseconds (never negative)
+     */
+    long nanosUntilDeadline(long nowNanos) {
+        return Math.max(0, deadlineNanos - nowNanos);
+    }
+
+    /**
+     * Returns the timing measured so far.
+     *
+     * @return stats
+     */
+    TickTimingStats stats() {
+        double mean = onTimeTicks == 0 ? 0.0 : latenessSumNanos / (double) onTimeTicks / NANOS_PER_MS;
+        return new TickTimingStats(ticks, catchUpTicks, droppedTicks, mean, maxLatenessNanos / NANOS_PER_MS);
+    }
+}
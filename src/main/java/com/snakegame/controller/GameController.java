@@ -6,6 +6,7 @@ import com.snakegame.controller.input.AiDirectionProvider;
 import com.snakegame.controller.input.DirectionProvider;
 import com.snakegame.controller.input.PlayerDirectionProvider;
 import com.snakegame.model.Direction;
+import com.snakegame.model.FrameSnapshot;
 import com.snakegame.model.GameState;
 import com.snakegame.mode.GameMode;
 import com.snakegame.ui.DialogService;
@@ -14,21 +15,22 @@ import com.snakegame.util.ProgressManager;
 import java.awt.Component;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Wires together the simulation, input handling, and loop/flow coordination for a single run.
  *
- * <p>This controller listens to keyboard events, records player inputs for deterministic replays,
- * and delegates tick processing to {@link GameLoop} and {@link GameFlow}.</p>
+ * <p>This controller listens to keyboard events on the Swing EDT and hands player directions to the
+ * simulation thread through a {@link PlayerDirectionProvider}, which also records them for
+ * deterministic replays. Tick processing is delegated to {@link GameLoop} and {@link GameFlow}.</p>
  */
 public class GameController implements KeyListener, LoopControl {
 
-    private final GameState gameState;
     private final GameMode runMode;
 
-    private boolean inputLocked = false;
+    /** Player input handoff; {@code null} for AI runs. */
+    private final PlayerDirectionProvider playerInput;
 
-    private final RunRecorder runRecorder;
     private final GameFlow gameFlow;
     private final GameLoop gameLoop;
 
@@ -46,24 +48,23 @@ public class GameController implements KeyListener, LoopControl {
                           Runnable restartCallback,
                           Runnable goToMainMenuCallback,
                           Runnable settingsCallback) {
-        this.gameState = gameState;
-
         SettingsSnapshot runSettings = gameState.getRunSettingsSnapshot();
         this.runMode = (runSettings != null) ? runSettings.currentMode() : GameSettings.getCurrentMode();
         int baseTickMs = (runSettings != null)
                 ? GameSettings.speedDelayFromDifficultyLevel(runSettings.difficultyLevel())
                 : GameSettings.getSpeedDelayFromDifficultyLevel();
 
-        DirectionProvider directionProvider = (runMode == GameMode.AI)
-                ? new AiDirectionProvider(GameSettings.getAiMode())
-                : new PlayerDirectionProvider();
-
         // Mirror the old behavior: playing a map-based mode unlocks that map.
         if ((runMode == GameMode.MAP_SELECT || runMode == GameMode.RACE) && !GameSettings.isDeveloperModeEnabled()) {
             ProgressManager.unlockMap(gameState.getCurrentMapId());
         }
 
-        this.runRecorder = new RunRecorder(runMode);
+        RunRecorder runRecorder = new RunRecorder(runMode, gameState);
+        this.playerInput = (runMode == GameMode.AI) ? null : new PlayerDirectionProvider(runRecorder);
+        DirectionProvider directionProvider = (playerInput != null)
+                ? playerInput
+                : new AiDirectionProvider(GameSettings.getAiMode());
+
         DialogService dialogs = new DialogService();
         this.gameFlow = new GameFlow(
                 gameState,
@@ -78,25 +79,42 @@ public class GameController implements KeyListener, LoopControl {
         this.gameLoop = new GameLoop(
                 gameState,
                 baseTickMs,
-                runMode,
                 directionProvider,
                 repaintCallback,
-                () -> inputLocked = false,
+                () -> runRecorder.recordProgress(gameState.getTick()),
                 gameFlow
         );
     }
 
     /**
-     * Starts the underlying timer-driven game loop.
+     * Starts the game loop on its simulation thread.
      */
     public void start() {
         gameLoop.start();
     }
 
+    /**
+     * Returns the frame published after the most recent tick, for rendering.
+     *
+     * @return latest frame
+     */
+    public FrameSnapshot getLatestFrame() {
+        return gameLoop.latestFrame();
+    }
+
+    /**
+     * Returns the last two published frames, for interpolated rendering.
+     *
+     * @return published frames
+     */
+    public PublishedFrames getPublishedFrames() {
+        return gameLoop.publishedFrames();
+    }
+
     /** {@inheritDoc} */
     @Override
-    public void pause() {
-        gameLoop.pause();
+    public CompletableFuture<Void> pause() {
+        return gameLoop.pause();
     }
 
     /** {@inheritDoc} */
@@ -114,8 +132,9 @@ public class GameController implements KeyListener, LoopControl {
     /**
      * Handles key presses during gameplay.
      *
-     * <p>Direction changes are rate-limited to at most one per simulation tick via
-     * {@code inputLocked}. Reverse-controls power-ups invert arrow key mappings.</p>
+     * <p>Direction changes are rate-limited to at most one per simulation tick by the
+     * {@link PlayerDirectionProvider}. Reverse-controls power-ups invert arrow key mappings, as of the
+     * latest published frame.</p>
      *
      * @param e key event
      */
@@ -128,9 +147,7 @@ public class GameController implements KeyListener, LoopControl {
             return;
         }
 
-        if (inputLocked) return;
-
-        boolean reversed = gameState.isReversedControls();
+        boolean reversed = gameLoop.latestFrame().reversedControls();
         Direction newDirection = switch (e.getKeyCode()) {
             case KeyEvent.VK_UP -> reversed ? Direction.DOWN : Direction.UP;
             case KeyEvent.VK_DOWN -> reversed ? Direction.UP : Direction.DOWN;
@@ -139,11 +156,7 @@ public class GameController implements KeyListener, LoopControl {
             default -> null;
         };
 
-        if (newDirection != null) {
-            gameState.setDirection(newDirection);
-            runRecorder.recordDirectionChange(gameState.getTick(), newDirection);
-            inputLocked = true;
-        }
+        if (newDirection != null) playerInput.offer(newDirection);
     }
 
     /** {@inheritDoc} */
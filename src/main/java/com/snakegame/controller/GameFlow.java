@@ -10,9 +10,16 @@ import com.snakegame.sound.SoundPlayer;
 import com.snakegame.ui.DialogService;
 import com.snakegame.util.ProgressManager;
 import com.snakegame.util.ScoreManager;
+import com.snakegame.view.GameRenderer;
 
+import javax.swing.SwingUtilities;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Handles higher-level game flow: pause menu, tick side effects, and game-over transitions.
@@ -20,8 +27,15 @@ import java.util.List;
  * <p>{@link GameState} emits {@link GameEvent}s during simulation updates; this class consumes those
  * events and triggers UI/persistence side effects without coupling the core simulation to Swing,
  * file IO, or audio.</p>
+ *
+ * <p>{@link TickHandler} callbacks run on the game loop's simulation thread, so sound and file I/O
+ * stay off the Swing EDT; dialogs and session-setting changes are posted to the EDT. Pausing does
+ * not wait for an in-flight tick: the pause menu is shown, and its actions run, on the EDT once the
+ * loop has gone idle.</p>
  */
 public final class GameFlow implements TickHandler {
+    /** How long quitting waits for the replay journal to be deleted. */
+    private static final long JOURNAL_WAIT_MS = 1000;
 
     private final GameState gameState;
     private final GameMode runMode;
@@ -31,6 +45,8 @@ public final class GameFlow implements TickHandler {
     private final Runnable settingsCallback;
     private final DialogService dialogs;
     private final LoopControl loopControl;
+    /** EDT only: a pause menu is requested or showing. */
+    private boolean pauseMenuOpen;
 
     /**
      * Creates a new flow handler for a run.
@@ -63,13 +79,23 @@ public final class GameFlow implements TickHandler {
     }
 
     /**
-     * Pauses the loop and shows the in-game pause dialog.
+     * Pauses the loop and, once no tick is running, shows the in-game pause dialog. Returns at once.
      *
      * @param parent parent component for dialog placement
      */
     public void onPauseRequested(Component parent) {
-        loopControl.pause();
+        if (pauseMenuOpen) return;
+        pauseMenuOpen = true;
+        loopControl.pause().thenRun(() -> SwingUtilities.invokeLater(() -> {
+            try {
+                showPauseMenu(parent);
+            } finally {
+                pauseMenuOpen = false;
+            }
+        }));
+    }
 
+    private void showPauseMenu(Component parent) {
         dialogs.showPauseDialog(
                 parent,
                 gameState.getScore(),
@@ -77,6 +103,7 @@ public final class GameFlow implements TickHandler {
                 () -> dialogs.showInGameSettings(parent),
                 () -> {
                     ProgressManager.saveGame(GameSnapshot.captureFrom(gameState));
+                    runRecorder.discard();
                     goToMainMenuCallback.run();
                 },
                 () -> handleRestartFromPause(parent),
@@ -91,12 +118,16 @@ public final class GameFlow implements TickHandler {
         for (GameEvent event : events) {
             if (event instanceof GameEvent.AppleEaten) {
                 SoundPlayer.play("eatApple.wav");
-            } else if (event instanceof GameEvent.MapAdvanced mapAdvanced && runMode == GameMode.RACE) {
-                int newMapId = mapAdvanced.newMapId();
-                if (!GameSettings.isDeveloperModeEnabled()) {
-                    ProgressManager.unlockMap(newMapId);
+            } else if (event instanceof GameEvent.MapAdvanced mapAdvanced) {
+                GameRenderer.invalidateStaticLayer();
+                if (runMode == GameMode.RACE) {
+                    int newMapId = mapAdvanced.newMapId();
+                    if (!GameSettings.isDeveloperModeEnabled()) {
+                        ProgressManager.unlockMap(newMapId);
+                    }
+                    // Session settings belong to the EDT.
+                    SwingUtilities.invokeLater(() -> GameSettings.setSelectedMapId(newMapId));
                 }
-                GameSettings.setSelectedMapId(newMapId);
             }
         }
     }
@@ -108,18 +139,19 @@ public final class GameFlow implements TickHandler {
         MusicManager.stop();
         SoundPlayer.play("game_over.wav");
 
-        // Save replay BEFORE we mutate scores/settings
+        // Seal the replay (in the background) BEFORE we mutate scores/settings
         runRecorder.saveReplay(gameState);
 
         ScoreManager.recordFinishedRun(gameState);
         ProgressManager.clearSavedGame();
 
-        dialogs.showGameOverDialog(
-                gameState.getScore(),
+        int finalScore = gameState.getScore();
+        SwingUtilities.invokeLater(() -> dialogs.showGameOverDialog(
+                finalScore,
                 restartCallback,
                 settingsCallback,
                 goToMainMenuCallback
-        );
+        ));
     }
 
     private void handleRestartFromPause(Component parent) {
@@ -127,9 +159,13 @@ public final class GameFlow implements TickHandler {
         switch (choice) {
             case DialogService.YES_OPTION -> {
                 ScoreManager.recordFinishedRun(gameState);
+                runRecorder.discard();
+                restartCallback.run();
+            }
+            case DialogService.NO_OPTION -> {
+                runRecorder.discard();
                 restartCallback.run();
             }
-            case DialogService.NO_OPTION -> restartCallback.run();
             default -> { }
         }
     }
@@ -139,9 +175,13 @@ public final class GameFlow implements TickHandler {
         switch (choice) {
             case DialogService.YES_OPTION -> {
                 ScoreManager.recordFinishedRun(gameState);
+                runRecorder.discard();
+                goToMainMenuCallback.run();
+            }
+            case DialogService.NO_OPTION -> {
+                runRecorder.discard();
                 goToMainMenuCallback.run();
             }
-            case DialogService.NO_OPTION -> goToMainMenuCallback.run();
             default -> { }
         }
     }
@@ -155,7 +195,23 @@ public final class GameFlow implements TickHandler {
         }
 
         if (dialogs.confirmExit(parent, "Are you sure you want to quit?")) {
-            System.exit(0);
+            // Otherwise the journal would be recovered as an interrupted run on the next start. Waited
+            // for off the EDT, so a slow disk does not freeze the window meanwhile.
+            Future<?> discarded = runRecorder.discard();
+            CompletableFuture.runAsync(() -> {
+                awaitQuietly(discarded);
+                System.exit(0);
+            });
+        }
+    }
+
+    private static void awaitQuietly(Future<?> future) {
+        try {
+            future.get(JOURNAL_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // Best effort: a leftover journal is only recovered as the last replay.
         }
     }
 }
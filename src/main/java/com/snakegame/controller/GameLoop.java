@@ -2,128 +2,344 @@ package com.snakegame.controller;
 
 import com.snakegame.controller.input.DirectionProvider;
 import com.snakegame.model.Direction;
+import com.snakegame.model.FrameSnapshot;
 import com.snakegame.model.GameConfig;
 import com.snakegame.model.GameEvent;
 import com.snakegame.model.GameState;
-import com.snakegame.mode.GameMode;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * Swing {@link Timer}-driven game loop that advances the simulation on a fixed tick cadence.
+ * Game loop that advances the simulation on a dedicated thread at a fixed tick cadence.
  *
- * <p>Each timer event computes an effective tick delay (accounting for slowdown effects), applies
- * AI input if enabled, advances the simulation by one tick, emits domain events, and triggers
- * repaint callbacks.</p>
+ * <p>Each tick computes an effective tick delay (accounting for slowdown effects), applies the
+ * provider's direction, advances the simulation by one tick and publishes an immutable
+ * {@link FrameSnapshot} for the renderer, together with the previous one so the renderer can
+ * interpolate between them ({@link PublishedFrames}); the tick's events are then handed to the
+ * {@link TickHandler} outside the tick's critical section. All of this, including the handler's I/O,
+ * runs on the simulation thread, so a slow AI decision or disk write never blocks painting or input
+ * on the Swing EDT.</p>
+ *
+ * <p>Ticks are paced by a {@link FixedTimestep} on {@link System#nanoTime()}: deadlines advance by
+ * the effective delay rather than being measured from when a tick happened to run, and a late
+ * wake-up runs a bounded number of catch-up ticks, so the game keeps its speed on a loaded machine.
+ * The measured lateness is available from {@link #tickTimingStats()}.</p>
+ *
+ * <p>The {@link GameState} is owned by the simulation thread while the loop runs. Other threads
+ * read {@link #latestFrame()} instead. {@link #pause()}, {@link #resume()} and {@link #stop()} only
+ * set a flag the simulation thread acts on before its next tick (and hand rescheduling to it), so
+ * they return at once even from the EDT while a slow tick is running; the state may be touched
+ * directly once the future returned by {@link #pause()} has completed.</p>
  */
-public final class GameLoop implements ActionListener {
+public final class GameLoop {
+    private static final Logger log = Logger.getLogger(GameLoop.class.getName());
 
     private final GameState gameState;
-    private final Timer timer;
+    private final ScheduledExecutorService scheduler;
     private final Runnable repaintCallback;
     private final Runnable afterTickCallback;
 
     private final int baseTickMs;
-    private final GameMode runMode;
     private final DirectionProvider directionProvider;
     private final TickHandler tickHandler;
 
-    private boolean paused = false;
+    /** Single writer: the simulation thread (or the constructing thread before start). */
+    private final AtomicReference<PublishedFrames> published;
+
+    /** Held while the state is advanced and while the timing stats are read; never taken by pause/resume/stop. */
+    private final Object tickLock = new Object();
+    private final FixedTimestep timestep;
+
+    // Simulation thread only.
+    private ScheduledFuture<?> nextTick;
+    /** Bumped whenever the pending wake-up is replaced, so a superseded one that already started skips. */
+    private long scheduleGeneration;
+
+    // Written by any thread; checked by the simulation thread before every tick.
+    private volatile boolean paused = false;
+    private volatile boolean stopped = false;
 
     /**
-     * Creates a new loop for the provided run.
+     * Creates a new loop for the provided run, catching up at most
+     * {@link GameConfig#MAX_CATCH_UP_TICKS} ticks after a late wake-up.
      *
      * @param gameState simulation state to advance each tick
      * @param baseTickMs base tick duration in milliseconds (clamped to at least 1)
-     * @param runMode mode selected for the run
-     * @param directionProvider input provider (AI or player)
-     * @param repaintCallback invoked after each tick to repaint the UI
-     * @param afterTickCallback invoked after {@link GameState#update()} (e.g., to unlock input)
-     * @param tickHandler handles post-tick events and game-over transitions
+     * @param directionProvider input provider (AI or player), consulted at the start of each tick
+     * @param repaintCallback invoked after each tick to repaint the UI (from the simulation thread)
+     * @param afterTickCallback invoked after {@link GameState#update()} (from the simulation thread)
+     * @param tickHandler handles post-tick events and game-over transitions (on the simulation thread)
      */
     public GameLoop(GameState gameState,
                     int baseTickMs,
-                    GameMode runMode,
                     DirectionProvider directionProvider,
                     Runnable repaintCallback,
                     Runnable afterTickCallback,
                     TickHandler tickHandler) {
+        this(gameState, baseTickMs, directionProvider, repaintCallback, afterTickCallback, tickHandler,
+                GameConfig.MAX_CATCH_UP_TICKS);
+    }
+
+    /**
+     * Creates a new loop for the provided run.
+     *
+     * @param gameState simulation state to advance each tick
+     * @param baseTickMs base tick duration in milliseconds (clamped to at least 1)
+     * @param directionProvider input provider (AI or player), consulted at the start of each tick
+     * @param repaintCallback invoked after each tick to repaint the UI (from the simulation thread)
+     * @param afterTickCallback invoked after {@link GameState#update()} (from the simulation thread)
+     * @param tickHandler handles post-tick events and game-over transitions (on the simulation thread)
+     * @param maxCatchUpTicks ticks allowed to run back-to-back after a late one; {@code 0} never catches up
+     */
+    public GameLoop(GameState gameState,
+                    int baseTickMs,
+                    DirectionProvider directionProvider,
+                    Runnable repaintCallback,
+                    Runnable afterTickCallback,
+                    TickHandler tickHandler,
+                    int maxCatchUpTicks) {
         this.gameState = gameState;
         this.baseTickMs = Math.max(1, baseTickMs);
-        this.runMode = runMode;
         this.directionProvider = directionProvider;
         this.repaintCallback = repaintCallback;
         this.afterTickCallback = afterTickCallback;
         this.tickHandler = tickHandler;
+        this.timestep = new FixedTimestep(maxCatchUpTicks);
 
-        this.timer = new Timer(this.baseTickMs, this);
         this.gameState.setTickMs(this.baseTickMs);
+        FrameSnapshot initial = FrameSnapshot.captureFrom(gameState);
+        this.published = new AtomicReference<>(new PublishedFrames(initial, initial, System.nanoTime()));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "snake-simulation");
+            t.setDaemon(true);
+            return t;
+        });
     }
 
     /**
-     * Starts the timer loop.
+     * Starts ticking on the simulation thread; the first tick is due one tick delay from when the
+     * simulation thread picks this up.
      */
-    public void start() { timer.start(); }
+    public void start() {
+        if (stopped) return;
+        paused = false;
+        onSimulationThread(this::restartTicking);
+    }
+
     /**
-     * Stops the timer loop.
+     * Stops the loop permanently and releases the simulation thread. Returns at once; an in-flight
+     * tick finishes, but no further tick starts.
      */
-    public void stop() { timer.stop(); }
+    public void stop() {
+        if (stopped) return;
+        stopped = true;
+        if (log.isLoggable(Level.FINE)) {
+            onSimulationThread(() -> log.fine("Game loop stopped: " + tickTimingStats()));
+        }
+        // Tasks already queued still run; the pending wake-up finds the loop stopped.
+        scheduler.shutdown();
+    }
 
     /**
-     * Pauses the loop (no further ticks are processed until resumed).
+     * Pauses the loop: no tick starts after this returns. Returns at once; an in-flight tick finishes.
+     *
+     * @return completes once no tick is running, after which the game state may be read directly
      */
-    public void pause() {
+    public CompletableFuture<Void> pause() {
         paused = true;
-        timer.stop();
+        try {
+            // The simulation thread runs tasks in order, so this runs after the in-flight wake-up.
+            CompletableFuture<Void> idle = new CompletableFuture<>();
+            scheduler.execute(() -> idle.complete(null));
+            return idle;
+        } catch (RejectedExecutionException stoppedMeanwhile) {
+            return CompletableFuture.runAsync(this::awaitTermination);
+        }
     }
 
     /**
-     * Resumes the loop after a pause.
+     * Resumes the loop after a pause. The time spent paused is not caught up.
      */
     public void resume() {
+        if (stopped || !paused) return;
         paused = false;
-        timer.start();
+        onSimulationThread(this::restartTicking);
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        if (paused || !gameState.isRunning()) return;
+    /**
+     * Returns the tick timing measured so far. Safe to call from any thread; waits for an in-flight
+     * tick, so the EDT should not call it while the loop runs.
+     *
+     * @return timing stats
+     */
+    public TickTimingStats tickTimingStats() {
+        synchronized (tickLock) {
+            return timestep.stats();
+        }
+    }
 
-        int effectiveDelay = gameState.isSlowed()
-                ? baseTickMs + GameConfig.SLOWDOWN_OFFSET_MS
-                : baseTickMs;
+    /**
+     * Returns the frame published after the most recent tick. Safe to call from any thread.
+     *
+     * @return latest frame
+     */
+    public FrameSnapshot latestFrame() {
+        return published.get().current();
+    }
 
-        timer.setDelay(effectiveDelay);
-        gameState.setTickMs(effectiveDelay);
+    /**
+     * Returns the last two published frames, for interpolated rendering. Safe to call from any thread.
+     *
+     * @return published frames
+     */
+    public PublishedFrames publishedFrames() {
+        return published.get();
+    }
 
-        if (runMode == GameMode.AI) {
-            Direction aiDir = directionProvider.nextDirection(gameState);
-            if (aiDir != null) gameState.setDirection(aiDir);
+    /**
+     * Runs one tick on the calling thread without touching the schedule.
+     */
+    void tick() {
+        List<GameEvent> events;
+        synchronized (tickLock) {
+            if (stopped || paused || !gameState.isRunning()) return;
+            events = advance(effectiveDelayMs());
         }
+        tickHandler.handleTickEvents(events);
+        if (endsRun(events)) {
+            stop();
+            tickHandler.onGameOver();
+        }
+    }
+
+    /**
+     * Handles one wake-up of the scheduler: runs every tick that is due, within the catch-up cap,
+     * then schedules the next wake-up for the next deadline.
+     *
+     * @param generation schedule generation the wake-up was scheduled under
+     */
+    private void wakeUp(long generation) {
+        if (generation != scheduleGeneration) return;
+        nextTick = null;
+
+        synchronized (tickLock) {
+            timestep.beginWakeUp();
+        }
+        boolean gameOver = false;
+        while (!gameOver) {
+            List<GameEvent> events;
+            synchronized (tickLock) {
+                if (stopped || paused || !gameState.isRunning()) break;
+                long now = System.nanoTime();
+                int delayMs = effectiveDelayMs();
+                if (!timestep.tickDue(now, delayMs)) break;
+                timestep.onTick(now, delayMs);
+                events = advance(delayMs);
+            }
+            // Outside the lock: the handler does sound and file I/O.
+            tickHandler.handleTickEvents(events);
+            gameOver = endsRun(events);
+        }
+
+        if (gameOver) {
+            stop();
+            tickHandler.onGameOver();
+        } else if (!stopped && !paused && gameState.isRunning()) {
+            scheduleNext();
+        }
+    }
+
+    /** Restarts the timestep and schedules the next wake-up, unless paused or stopped meanwhile. */
+    private void restartTicking() {
+        if (stopped || paused) return;
+        synchronized (tickLock) {
+            timestep.restart(System.nanoTime(), effectiveDelayMs());
+        }
+        scheduleNext();
+    }
+
+    private void onSimulationThread(Runnable task) {
+        try {
+            scheduler.execute(task);
+        } catch (RejectedExecutionException stoppedMeanwhile) {
+            // stop() won the race; nothing is left to schedule.
+        }
+    }
+
+    private void awaitTermination() {
+        try {
+            scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean endsRun(List<GameEvent> events) {
+        for (GameEvent event : events) {
+            if (event instanceof GameEvent.GameOver) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Advances the simulation by one tick and publishes the resulting frame.
+     *
+     * @param effectiveDelayMs tick duration in effect for this tick
+     * @return events emitted during the tick
+     */
+    private List<GameEvent> advance(int effectiveDelayMs) {
+        gameState.setTickMs(effectiveDelayMs);
+
+        Direction dir = directionProvider.nextDirection(gameState);
+        if (dir != null) gameState.setDirection(dir);
 
         gameState.update();
         afterTickCallback.run();
 
         List<GameEvent> events = gameState.consumeEvents();
-        tickHandler.handleTickEvents(events);
 
+        FrameSnapshot previous = published.get().current();
+        FrameSnapshot frame = FrameSnapshot.captureFrom(gameState, previous);
+        published.set(new PublishedFrames(previous, frame, System.nanoTime()));
         repaintCallback.run();
+        return events;
+    }
 
-        boolean gameOverThisTick = false;
-        for (GameEvent event : events) {
-            if (event instanceof GameEvent.GameOver) {
-                gameOverThisTick = true;
-                break;
-            }
+    private int effectiveDelayMs() {
+        return gameState.isSlowed()
+                ? baseTickMs + GameConfig.SLOWDOWN_OFFSET_MS
+                : baseTickMs;
+    }
+
+    private void scheduleNext() {
+        cancelNext();
+        if (scheduler.isShutdown()) return;
+        long generation = scheduleGeneration;
+        long delayNanos;
+        synchronized (tickLock) {
+            delayNanos = timestep.nanosUntilDeadline(System.nanoTime());
+        }
+        try {
+            nextTick = scheduler.schedule(() -> wakeUp(generation), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException stoppedMeanwhile) {
+            // stop() won the race.
         }
+    }
 
-        if (gameOverThisTick) {
-            stop();
-            tickHandler.onGameOver();
+    private void cancelNext() {
+        scheduleGeneration++;
+        if (nextTick != null) {
+            nextTick.cancel(false);
+            nextTick = null;
         }
     }
 }
@@ -1,13 +1,17 @@
 package com.snakegame.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Minimal control surface for the game loop, used by flow/UI code without exposing Timer details.
  */
 public interface LoopControl {
     /**
-     * Pauses the currently running loop.
+     * Pauses the currently running loop without waiting for an in-flight tick.
+     *
+     * @return completes once no tick is running, after which the game state may be read directly
      */
-    void pause();
+    CompletableFuture<Void> pause();
     /**
      * Resumes a previously paused loop.
      */
@@ -0,0 +1,54 @@
+package com.snakegame.controller;
+
+import com.snakegame.model.FrameDamage;
+import com.snakegame.model.FrameSnapshot;
+
+/**
+ * The last two frames published by the {@link GameLoop}, handed to the renderer as one unit.
+ *
+ * <p>The renderer runs at display refresh rather than once per tick, and blends from
+ * {@link #previous()} to {@link #current()} over the following tick. That keeps motion smooth at slow
+ * tick rates, at the cost of showing positions up to one tick late. {@link #damage()} bounds what
+ * changes on screen while blending, so the renderer can repaint just those regions.</p>
+ *
+ * @param previous frame published before {@code current} (the same frame before the first tick)
+ * @param current most recently published frame
+ * @param publishedAtNanos {@link System#nanoTime()} when {@code current} was published
+ * @param damage regions that differ between {@code previous} and {@code current}
+ */
+public record PublishedFrames(FrameSnapshot previous, FrameSnapshot current, long publishedAtNanos, FrameDamage damage) {
+
+    /**
+     * Creates a pair and computes its damage on the calling (publishing) thread.
+     *
+     * @param previous frame published before {@code current}
+     * @param current most recently published frame
+     * @param publishedAtNanos {@link System#nanoTime()} when {@code current} was published
+     */
+    public PublishedFrames(FrameSnapshot previous, FrameSnapshot current, long publishedAtNanos) {
+        this(previous, current, publishedAtNanos, FrameDamage.between(previous, current));
+    }
+
+    /**
+     * Returns how far the display should be between the two frames.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return blend factor in {@code [0, 1]}; {@code 1} once a full tick has passed
+     */
+    public double alphaAt(long nowNanos) {
+        if (previous == current) return 1.0;
+        double tickNanos = Math.max(1, current.tickMs()) * 1_000_000.0;
+        double alpha = (nowNanos - publishedAtNanos) / tickNanos;
+        return Math.max(0.0, Math.min(1.0, alpha));
+    }
+
+    /**
+     * Returns the frame to draw at the given time.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return interpolated frame
+     */
+    public FrameSnapshot frameAt(long nowNanos) {
+        return FrameSnapshot.interpolate(previous, current, alphaAt(nowNanos));
+    }
+}
@@ -5,28 +5,45 @@ import com.snakegame.mode.GameMode;
 import com.snakegame.model.Direction;
 import com.snakegame.model.GameState;
 import com.snakegame.replay.ReplayData;
-import com.snakegame.replay.ReplayEvent;
+import com.snakegame.replay.ReplayJournal;
 import com.snakegame.replay.ReplayManager;
 
-import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 
 /**
  * Records player input events during a run so it can be replayed deterministically later.
  *
- * <p>AI runs are not recorded. Recorded events are persisted via {@link ReplayManager} when the run
- * ends.</p>
+ * <p>AI runs are not recorded. Inputs are streamed to a {@link ReplayJournal} as they happen, so
+ * memory does not grow with the run and an interrupted run can still be recovered; the journal is
+ * sealed into the stored replays via {@link ReplayManager} when the run ends.</p>
  */
 public final class RunRecorder {
     private final GameMode runMode;
-    private final ArrayList<ReplayEvent> recordedEvents = new ArrayList<>();
+    /** {@code null} for AI runs. */
+    private final ReplayJournal journal;
 
     /**
-     * Creates a new recorder for the given run mode.
+     * Creates a new recorder for the given run and starts its journal.
      *
      * @param runMode mode of the current run
+     * @param gameState state of the run, for its seed and settings
      */
-    public RunRecorder(GameMode runMode) {
+    public RunRecorder(GameMode runMode, GameState gameState) {
         this.runMode = runMode;
+        this.journal = (runMode == GameMode.AI || gameState == null)
+                ? null
+                : ReplayManager.startRecording(header(gameState));
+    }
+
+    private static ReplayData header(GameState gameState) {
+        ReplayData data = new ReplayData();
+        data.seed = gameState.getSeed();
+        data.runSettingsSnapshot = gameState.getRunSettingsSnapshot();
+        data.startMapId = data.runSettingsSnapshot != null
+                ? data.runSettingsSnapshot.selectedMapId()
+                : GameSettings.getSelectedMapId();
+        return data;
     }
 
     /**
@@ -36,29 +53,49 @@ public final class RunRecorder {
      * @param direction new direction
      */
     public void recordDirectionChange(long tick, Direction direction) {
-        if (runMode == GameMode.AI) return;
-        recordedEvents.add(new ReplayEvent(tick, direction));
+        if (journal == null) return;
+        journal.append(tick, direction);
     }
 
     /**
-     * Persists the recorded run to the replay store.
+     * Notes that the run has completed a tick, so an interrupted run is recovered up to about here.
      *
-     * @param gameState game state to snapshot run metadata from
+     * @param tick number of ticks the run has completed
      */
-    public void saveReplay(GameState gameState) {
-        if (runMode == GameMode.AI) return;
-        if (gameState == null) return;
+    public void recordProgress(long tick) {
+        if (journal == null) return;
+        journal.mark(tick);
+    }
 
-        ReplayData data = new ReplayData();
-        data.seed = gameState.getSeed();
-        data.finalScore = gameState.getScore();
-        data.runSettingsSnapshot = gameState.getRunSettingsSnapshot();
-        data.startMapId = data.runSettingsSnapshot != null
-                ? data.runSettingsSnapshot.selectedMapId()
-                : GameSettings.getSelectedMapId();
-        data.events = new ArrayList<>(recordedEvents);
+    /**
+     * Persists the recorded run to the replay store in the background.
+     *
+     * @param gameState game state of the finished run
+     * @return completes once the replay is saved
+     */
+    public Future<?> saveReplay(GameState gameState) {
+        if (runMode == GameMode.AI || journal == null || gameState == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return journal.seal(gameState.getScore(), gameState.getElapsedSimTimeMs());
+    }
 
-        ReplayManager.saveLast(data);
-        ReplayManager.saveBestIfHigher(data);
+    /**
+     * Drops the recording of a run that is abandoned rather than finished.
+     *
+     * @return completes once the journal is deleted
+     */
+    public Future<?> discard() {
+        if (journal == null) return CompletableFuture.completedFuture(null);
+        return journal.discard();
+    }
+
+    /**
+     * Returns the number of inputs recorded so far.
+     *
+     * @return input count
+     */
+    int recordedEventCount() {
+        return journal == null ? 0 : journal.eventCount();
     }
 }
@@ -0,0 +1,24 @@
+package com.snakegame.controller;
+
+/**
+ * Measured timing of the game loop's ticks, as seen against their scheduled deadlines.
+ *
+ * <p>Lateness is how long after its deadline an on-time tick (the first one of a wake-up) actually
+ * started; catch-up ticks run back-to-back behind it and are counted separately.</p>
+ *
+ * @param ticks ticks run by the scheduler
+ * @param catchUpTicks ticks run immediately after another one to make up for a late wake-up
+ * @param droppedTicks ticks given up because the loop fell further behind than the catch-up cap
+ * @param meanLatenessMs mean lateness of on-time ticks, in milliseconds
+ * @param maxLatenessMs largest lateness of an on-time tick, in milliseconds
+ */
+public record TickTimingStats(
+        long ticks,
+        long catchUpTicks,
+        long droppedTicks,
+        double meanLatenessMs,
+        double maxLatenessMs
+) {
+    /** Stats before any tick ran. */
+    public static final TickTimingStats EMPTY = new TickTimingStats(0, 0, 0, 0.0, 0.0);
+}
@@ -3,6 +3,7 @@ package com.snakegame.controller.input;
 import com.snakegame.ai.AStarPathfinder;
 import com.snakegame.ai.AiMode;
 import com.snakegame.ai.Cell;
+import com.snakegame.ai.GridTopology;
 import com.snakegame.config.GameSettings;
 import com.snakegame.model.*;
 
@@ -26,6 +27,38 @@ public class AiDirectionProvider implements DirectionProvider {
     private final AStarPathfinder pathfinder = new AStarPathfinder();
     private final AiMode mode;
 
+    // Reused per-tick search buffers indexed by cell id (y * cols + x).
+    private GridTopology topology;
+    private boolean[] staticBlocked = new boolean[0];
+    private boolean[] blockedGrid = new boolean[0];
+    private int[] marked = new int[0];
+    private int markedCount;
+    private int[] visitStamp = new int[0];
+    private int[] distance = new int[0];
+    private int[] queue = new int[0];
+    private int visitGeneration;
+
+    /**
+     * Cells a search explores beyond the snake's length before it stops. A region that big is open
+     * enough to count as an escape; it also caps the per-tick cost on large boards, and boards of at
+     * most this many cells are always searched completely.
+     */
+    private static final int SEARCH_LIMIT = 1 << 16;
+    private int searchLimit;
+
+    // Results of the last searchFrom(...)
+    private int searchArea;
+    private boolean searchTailReached;
+    private int searchAppleLen;
+    private boolean searchTruncated;
+
+    // The apple-rooted search shared by the moves of a tick that do not eat
+    private boolean sharedSearchDone;
+    private boolean sharedSearchValid;
+    private int sharedGeneration;
+    private int sharedArea;
+    private boolean sharedTailReached;
+
     // loop avoidance: remember recent head cells
     private final ArrayDeque<Cell> recentHeads = new ArrayDeque<>();
     private static final int RECENT_LIMIT = 12;
@@ -47,8 +80,8 @@ public class AiDirectionProvider implements DirectionProvider {
      */
     @Override
     public Direction nextDirection(GameState state) {
-        int cols = GameConfig.SCREEN_WIDTH / GameConfig.UNIT_SIZE;
-        int rows = GameConfig.SCREEN_HEIGHT / GameConfig.UNIT_SIZE;
+        int cols = state.getBoard().cols();
+        int rows = state.getBoard().rows();
 
         return switch (mode) {
             case CHASE -> chase(state, cols, rows);
@@ -57,18 +90,28 @@ public class AiDirectionProvider implements DirectionProvider {
         };
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void reset() {
+        recentHeads.clear();
+    }
+
     // -------------------- CHASE: plain A* to apple (your original) --------------------
     private Direction chase(GameState state, int cols, int rows) {
         Snake snake = state.getSnake();
-        Cell head = Cell.fromPixel(snake.getHead());
-        Cell apple = Cell.fromPixel(state.getApple().getPosition());
-
-        Set<Cell> blocked = buildBlockedCellsFromState(state, false);
-        blocked.remove(apple);
-
-        List<Cell> path = pathfinder.findPath(head, apple, blocked, cols, rows);
-        if (path != null && path.size() >= 2) {
-            Direction d = directionFromStep(head, path.get(1), cols, rows);
+        int headId = snake.cellAt(0);
+        int appleId = appleCell(state, cols);
+        if (appleId < 0) return fallbackSafe(state, cols, rows);
+
+        prepareGrid(state, cols, rows);
+        markBody(snake, 1, snake.length());
+        blockedGrid[appleId] = false;
+
+        int length = pathfinder.search(headId, appleId, blockedGrid, cols, rows);
+        if (length >= 2) {
+            int step = appleId;
+            while (pathfinder.parentOf(step) != headId) step = pathfinder.parentOf(step);
+            Direction d = directionTo(headId, step);
             if (d != null && !d.isOpposite(snake.getDirection())) return d;
         }
         return fallbackSafe(state, cols, rows);
@@ -79,17 +122,24 @@ public class AiDirectionProvider implements DirectionProvider {
         Snake snake = state.getSnake();
         Direction currentDir = snake.getDirection();
 
-        Cell head = Cell.fromPixel(snake.getHead());
-        Cell apple = Cell.fromPixel(state.getApple().getPosition());
-
-        MoveChoice best = null;
+        // Every move that does not eat leaves the same body behind: all but the last two segments
+        // stay blocked (the second-to-last becomes the new tail), so they share one grid and search.
+        prepareGrid(state, cols, rows);
+        Cell head = topology.cell(snake.cellAt(0));
+        int appleId = appleCell(state, cols);
+        markBody(snake, 0, snake.length() - 1);
+        searchLimit = SEARCH_LIMIT + snake.length();
+        sharedSearchDone = false;
 
+        List<MoveChoice> choices = new ArrayList<>(4);
         for (Direction d : List.of(Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT)) {
             if (d.isOpposite(currentDir)) continue;
+            MoveChoice mc = evaluateMove(state, head, appleId, d, cols, rows);
+            if (mc.valid) choices.add(mc);
+        }
 
-            MoveChoice mc = evaluateMove(state, head, apple, d, cols, rows);
-            if (!mc.valid) continue;
-
+        MoveChoice best = null;
+        for (MoveChoice mc : choices) {
             // SAFE: must be able to reach tail (escape) unless literally impossible
             if (!survivalMode && !mc.tailReachable) continue;
 
@@ -98,10 +148,7 @@ public class AiDirectionProvider implements DirectionProvider {
 
         // If SAFE filtered everything (tail not reachable from any), relax and pick best valid.
         if (best == null && !survivalMode) {
-            for (Direction d : List.of(Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT)) {
-                if (d.isOpposite(currentDir)) continue;
-                MoveChoice mc = evaluateMove(state, head, apple, d, cols, rows);
-                if (!mc.valid) continue;
+            for (MoveChoice mc : choices) {
                 if (best == null || mc.score > best.score) best = mc;
             }
         }
@@ -117,73 +164,54 @@ public class AiDirectionProvider implements DirectionProvider {
 
     private MoveChoice evaluateMove(GameState state,
                                     Cell head,
-                                    Cell apple,
+                                    int appleId,
                                     Direction d,
                                     int cols,
                                     int rows) {
 
         Snake snake = state.getSnake();
+        int snakeLen = snake.length();
 
-        Cell nextHead = head.step(d, cols, rows);
+        int nextHeadId = topology.neighbor(head.y * cols + head.x, d);
+        Cell nextHead = topology.cell(nextHeadId);
 
-        // Build base blocked cells from current state (body + obstacles + moving obstacles).
-        // We will simulate body movement to be more accurate.
-        Deque<Cell> simBody = new ArrayDeque<>();
-        for (Point p : snake.getBody()) simBody.addLast(Cell.fromPixel(p));
+        boolean willEat = nextHeadId == appleId;
 
-        boolean willEat = nextHead.equals(apple);
-
-        // simulate snake move
-        simBody.addFirst(nextHead);
-        if (!willEat) simBody.removeLast();
+        // Simulated body after the move is nextHead + the first `kept` current segments
+        // (the last segment is dropped unless growing).
+        int kept = willEat ? snakeLen : snakeLen - 1;
 
         // collision with self (after sim)
-        // (head is first; if it appears elsewhere -> collision)
-        int count = 0;
-        for (Cell c : simBody) {
-            if (++count == 1) continue;
-            if (c.equals(nextHead)) return MoveChoice.invalid(d);
+        for (int i = 0; i < kept; i++) {
+            if (snake.cellAt(i) == nextHeadId) return MoveChoice.invalid(d);
         }
 
-        // Build blocked cells from sim body (exclude head; optionally allow tail if not growing)
-        Set<Cell> blocked = new HashSet<>(simBody);
-        blocked.remove(nextHead);
-
-        // allow tail cell when not growing (it is “movable space”)
-        Cell tail = simBody.peekLast();
-        if (!willEat && tail != null) blocked.remove(tail);
-
-        // Add static obstacles
-        for (Point o : state.getObstacles()) blocked.add(Cell.fromPixel(o));
-
-        // Add moving obstacles (treat as blocked)
-        if (GameSettings.isMovingObstaclesEnabled()) {
-            for (MovingObstacle mo : state.getMovingObstacles()) {
-                for (Point seg : mo.getSegments()) blocked.add(Cell.fromPixel(seg));
-            }
-        }
-
-        // If nextHead hits obstacle/moving obstacle
-        if (blocked.contains(nextHead)) return MoveChoice.invalid(d);
-
-        // reachable area from nextHead (bigger is safer)
-        int area = floodFillArea(nextHead, blocked, cols, rows);
-
-        // tail reachable = can we “escape” by reaching our tail
-        boolean tailReachable = false;
-        if (tail != null) {
-            Set<Cell> blockedForTail = new HashSet<>(blocked);
-            blockedForTail.remove(tail);
-            List<Cell> tailPath = pathfinder.findPath(nextHead, tail, blockedForTail, cols, rows);
-            tailReachable = (tailPath != null && tailPath.size() >= 2);
+        // When not growing, the tail cell is “movable space”.
+        int tailId = (kept > 0) ? snake.cellAt(kept - 1) : nextHeadId;
+        int escapeId = tailId == nextHeadId ? -1 : tailId;
+
+        // One BFS: reachable area (bigger is safer), tail reachability (“escape”) and apple distance
+        if (willEat) {
+            // Growing keeps the last two segments blocked too; put the shared grid back afterwards.
+            int last = snake.cellAt(snakeLen - 1);
+            int secondLast = snakeLen >= 2 ? snake.cellAt(snakeLen - 2) : last;
+            boolean lastWas = blockedGrid[last];
+            boolean secondLastWas = blockedGrid[secondLast];
+            blockedGrid[last] = true;
+            blockedGrid[secondLast] = true;
+            boolean hit = blockedGrid[nextHeadId];
+            if (!hit) searchFrom(nextHeadId, escapeId, appleId);
+            blockedGrid[secondLast] = secondLastWas;
+            blockedGrid[last] = lastWas;
+            if (hit) return MoveChoice.invalid(d);
+        } else {
+            // If nextHead hits obstacle/moving obstacle
+            if (blockedGrid[nextHeadId]) return MoveChoice.invalid(d);
+            searchShared(nextHeadId, escapeId, appleId);
         }
-
-        // apple path length (if possible)
-        int appleLen = Integer.MAX_VALUE;
-        Set<Cell> blockedForApple = new HashSet<>(blocked);
-        blockedForApple.remove(apple);
-        List<Cell> applePath = pathfinder.findPath(nextHead, apple, blockedForApple, cols, rows);
-        if (applePath != null) appleLen = applePath.size();
+        int area = searchArea;
+        boolean tailReachable = searchTailReached;
+        int appleLen = searchAppleLen;
 
         // loop penalty: discourage revisiting recent head positions
         int loopPenalty = recentHeads.contains(nextHead) ? 25 : 0;
@@ -203,7 +231,6 @@ public class AiDirectionProvider implements DirectionProvider {
         }
 
         // Extra safety rule: if reachable area too small relative to snake length, penalize hard
-        int snakeLen = snake.getBody().size();
         if (area < snakeLen + 3) score -= 1500;
 
         // Survival mode: much stronger emphasis on area and anti-loop
@@ -213,88 +240,215 @@ public class AiDirectionProvider implements DirectionProvider {
         return new MoveChoice(true, d, nextHead, tailReachable, area, appleLen, score);
     }
 
-    private void rememberHead(Cell head) {
-        recentHeads.addLast(head);
-        while (recentHeads.size() > RECENT_LIMIT) recentHeads.removeFirst();
+    /**
+     * Resets {@link #staticBlocked} and {@link #blockedGrid} to the static and (if enabled) moving
+     * obstacles. Only the cells marked since the last call are cleared, so the cost follows the
+     * number of obstacles and body segments rather than the board size.
+     */
+    private void prepareGrid(GameState state, int cols, int rows) {
+        int n = cols * rows;
+        if (topology == null || topology.cols() != cols || topology.rows() != rows) {
+            topology = GridTopology.of(cols, rows);
+        }
+        if (staticBlocked.length != n) {
+            staticBlocked = new boolean[n];
+            blockedGrid = new boolean[n];
+            marked = new int[n];
+            visitStamp = new int[n];
+            distance = new int[n];
+            queue = new int[n];
+            visitGeneration = 0;
+        } else {
+            for (int i = 0; i < markedCount; i++) {
+                staticBlocked[marked[i]] = false;
+                blockedGrid[marked[i]] = false;
+            }
+        }
+        markedCount = 0;
+
+        List<Point> obstacles = state.getObstacles();
+        for (int i = 0; i < obstacles.size(); i++) markStatic(obstacles.get(i), cols, rows);
+
+        if (movingObstaclesEnabled(state)) {
+            for (MovingObstacle mo : state.getMovingObstacles()) {
+                List<Point> segments = mo.getSegments();
+                for (int i = 0; i < segments.size(); i++) markStatic(segments.get(i), cols, rows);
+            }
+        }
+    }
+
+    private void markStatic(Point p, int cols, int rows) {
+        int x = p.x / GameConfig.UNIT_SIZE;
+        int y = p.y / GameConfig.UNIT_SIZE;
+        // Moving obstacle segments may sit just outside the board before they bounce.
+        if (x >= 0 && x < cols && y >= 0 && y < rows) {
+            int id = y * cols + x;
+            block(id);
+            staticBlocked[id] = true;
+        }
     }
 
-    private int floodFillArea(Cell start, Set<Cell> blocked, int cols, int rows) {
-        ArrayDeque<Cell> q = new ArrayDeque<>();
-        HashSet<Cell> vis = new HashSet<>();
-        if (blocked.contains(start)) return 0;
+    /**
+     * Blocks body segments {@code from} (inclusive) to {@code to} (exclusive) in {@link #blockedGrid},
+     * then frees segment {@code to - 1} again (down to its obstacles): it is the tail, which moves away.
+     */
+    private void markBody(Snake snake, int from, int to) {
+        for (int i = from; i < to; i++) block(snake.cellAt(i));
+        if (to > from) {
+            int tailId = snake.cellAt(to - 1);
+            blockedGrid[tailId] = staticBlocked[tailId];
+        }
+    }
 
-        q.add(start);
-        vis.add(start);
+    /** Blocks a cell in {@link #blockedGrid}, remembering it for the next {@link #prepareGrid}. */
+    private void block(int id) {
+        if (blockedGrid[id]) return;
+        blockedGrid[id] = true;
+        marked[markedCount++] = id;
+    }
 
-        while (!q.isEmpty()) {
-            Cell c = q.poll();
-            for (Cell nb : neighbors(c, cols, rows)) {
-                if (blocked.contains(nb) || vis.contains(nb)) continue;
-                vis.add(nb);
-                q.add(nb);
+    /**
+     * Like {@link #searchFrom}, for a start cell on the grid shared by all moves that do not eat.
+     *
+     * <p>When the board fits in one search, the first call searches once from the apple, which covers
+     * the area, tail reachability and (the grid being undirected) apple distance of every start in the
+     * apple's region. Other starts, or starts whose cells a later search has overwritten, get a search
+     * of their own; if that one stops early before seeing the apple, A* finds the apple distance.</p>
+     */
+    private void searchShared(int start, int tailId, int appleId) {
+        if (!sharedSearchDone) {
+            sharedSearchDone = true;
+            sharedSearchValid = appleId >= 0 && !blockedGrid[appleId] && topology.cellCount() <= searchLimit;
+            if (sharedSearchValid) {
+                searchFrom(appleId, -1, -1);
+                sharedGeneration = visitGeneration;
+                sharedArea = searchArea;
+                sharedTailReached = tailId >= 0 && touchesVisited(tailId, sharedGeneration);
             }
         }
-        return vis.size();
+        if (sharedSearchValid && visitStamp[start] == sharedGeneration) {
+            searchArea = sharedArea;
+            searchTailReached = sharedTailReached;
+            searchAppleLen = distance[start] + 1;
+            return;
+        }
+        searchFrom(start, tailId, appleId);
+        if (searchTruncated && appleId >= 0 && searchAppleLen == Integer.MAX_VALUE) {
+            searchAppleLen = appleDistance(start, appleId);
+        }
     }
 
-    private List<Cell> neighbors(Cell c, int cols, int rows) {
-        return List.of(
-                new Cell((c.x + 1) % cols, c.y),
-                new Cell((c.x - 1 + cols) % cols, c.y),
-                new Cell(c.x, (c.y + 1) % rows),
-                new Cell(c.x, (c.y - 1 + rows) % rows)
-        );
+    /**
+     * Returns the shortest path length in cells (both ends included) from {@code start} to the apple
+     * over {@link #blockedGrid}, treating the apple as enterable like {@link #searchFrom} does.
+     */
+    private int appleDistance(int start, int appleId) {
+        boolean appleBlocked = blockedGrid[appleId];
+        blockedGrid[appleId] = false;
+        int length = pathfinder.search(start, appleId, blockedGrid, topology.cols(), topology.rows());
+        blockedGrid[appleId] = appleBlocked;
+        return length < 0 ? Integer.MAX_VALUE : length;
     }
 
-    private Set<Cell> buildBlockedCellsFromState(GameState state, boolean willGrowNext) {
-        Set<Cell> blocked = new HashSet<>();
+    private boolean touchesVisited(int cell, int gen) {
+        if (visitStamp[cell] == gen) return true;
+        for (int k = 0; k < 4; k++) {
+            if (visitStamp[topology.neighbor(cell, k)] == gen) return true;
+        }
+        return false;
+    }
 
-        Deque<Point> body = state.getSnake().getBody();
-        if (!body.isEmpty()) {
-            Iterator<Point> it = body.iterator();
-            it.next(); // skip head
-            while (it.hasNext()) blocked.add(Cell.fromPixel(it.next()));
+    /**
+     * Breadth-first search from {@code start} over {@link #blockedGrid} on the toroidal grid.
+     *
+     * <p>Sets {@link #searchArea} to the number of reachable cells (including {@code start}),
+     * {@link #searchTailReached} if {@code tailId} can be entered, and {@link #searchAppleLen} to the
+     * shortest path length in cells (both ends included) to {@code appleId} ({@code -1} for none), or
+     * {@link Integer#MAX_VALUE}. The tail and apple count as reachable targets even when blocked,
+     * but are never expanded through in that case.</p>
+     *
+     * <p>The search stops after {@link #searchLimit} cells and then sets {@link #searchTruncated}; the
+     * area is the limit, the tail counts as reached, and the apple distance is only set if seen.</p>
+     */
+    private void searchFrom(int start, int tailId, int appleId) {
+        if (++visitGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(visitStamp, 0);
+            visitGeneration = 1;
+            sharedSearchValid = false;
+        }
+        int gen = visitGeneration;
 
-            if (!willGrowNext) {
-                Point tail = body.peekLast();
-                if (tail != null) blocked.remove(Cell.fromPixel(tail));
+        searchArea = 0;
+        searchTailReached = false;
+        searchAppleLen = (start == appleId) ? 1 : Integer.MAX_VALUE;
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visitStamp[start] = gen;
+        distance[start] = 0;
+
+        while (head < tail && searchArea < searchLimit) {
+            int c = queue[head++];
+            searchArea++;
+
+            int nextDist = distance[c] + 1;
+
+            for (int k = 0; k < 4; k++) {
+                int nb = topology.neighbor(c, k);
+                if (visitStamp[nb] == gen) continue;
+
+                if (nb == tailId) searchTailReached = true;
+                // BFS reaches cells in distance order, so the first sighting is the shortest.
+                if (nb == appleId && searchAppleLen == Integer.MAX_VALUE) searchAppleLen = nextDist + 1;
+
+                if (blockedGrid[nb]) continue;
+                visitStamp[nb] = gen;
+                distance[nb] = nextDist;
+                queue[tail++] = nb;
             }
         }
+        searchTruncated = head < tail;
+        if (searchTruncated) searchTailReached = true;
+    }
+
+    /** Returns the apple's cell id, or {@code -1} if there is no apple on the board. */
+    private static int appleCell(GameState state, int cols) {
+        if (!state.getApple().isPresent()) return -1;
+        Cell apple = Cell.fromPixel(state.getApple().getPosition());
+        return apple.y * cols + apple.x;
+    }
 
-        for (Point o : state.getObstacles()) blocked.add(Cell.fromPixel(o));
+    private void rememberHead(Cell head) {
+        recentHeads.addLast(head);
+        while (recentHeads.size() > RECENT_LIMIT) recentHeads.removeFirst();
+    }
 
-        boolean movingEnabled = state.getRunSettingsSnapshot() != null
+    private static boolean movingObstaclesEnabled(GameState state) {
+        return state.getRunSettingsSnapshot() != null
                 ? state.getRunSettingsSnapshot().movingObstaclesEnabled()
                 : GameSettings.isMovingObstaclesEnabled();
-
-        if (movingEnabled) {
-            for (MovingObstacle mo : state.getMovingObstacles()) {
-                for (Point seg : mo.getSegments()) blocked.add(Cell.fromPixel(seg));
-            }
-        }
-        return blocked;
     }
 
     private Direction fallbackSafe(GameState state, int cols, int rows) {
         Snake snake = state.getSnake();
-        Cell head = Cell.fromPixel(snake.getHead());
+        int headId = snake.cellAt(0);
 
-        Set<Cell> blocked = buildBlockedCellsFromState(state, false);
+        prepareGrid(state, cols, rows);
+        markBody(snake, 1, snake.length());
 
         for (Direction d : List.of(snake.getDirection(), Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT)) {
             if (d == null) continue;
             if (d.isOpposite(snake.getDirection())) continue;
-            Cell next = head.step(d, cols, rows);
-            if (!blocked.contains(next)) return d;
+            if (!blockedGrid[topology.neighbor(headId, d)]) return d;
         }
         return snake.getDirection();
     }
 
-    private Direction directionFromStep(Cell a, Cell b, int cols, int rows) {
-        if (a.step(Direction.UP, cols, rows).equals(b)) return Direction.UP;
-        if (a.step(Direction.DOWN, cols, rows).equals(b)) return Direction.DOWN;
-        if (a.step(Direction.LEFT, cols, rows).equals(b)) return Direction.LEFT;
-        if (a.step(Direction.RIGHT, cols, rows).equals(b)) return Direction.RIGHT;
+    private Direction directionTo(int from, int to) {
+        for (Direction d : List.of(Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT)) {
+            if (topology.neighbor(from, d) == to) return d;
+        }
         return null;
     }
 
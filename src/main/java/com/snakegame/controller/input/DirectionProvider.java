@@ -6,8 +6,9 @@ import com.snakegame.model.GameState;
 /**
  * Supplies movement decisions to the game loop.
  *
- * <p>AI-controlled runs compute a direction each tick, while player-controlled runs typically return
- * {@code null} because keyboard input is handled by {@link com.snakegame.controller.GameController}.</p>
+ * <p>The game loop consults its provider at the start of every tick on the simulation thread. AI
+ * runs compute a direction; player runs hand over the key pressed since the last tick (see
+ * {@link PlayerDirectionProvider}).</p>
  */
 public interface DirectionProvider {
     /**
@@ -17,4 +18,11 @@ public interface DirectionProvider {
      * @return the direction to apply, or {@code null} to keep the current direction
      */
     Direction nextDirection(GameState state);
+
+    /**
+     * Clears any per-run state so the provider can be reused for a new run.
+     *
+     * <p>Stateless providers can rely on the default no-op.</p>
+     */
+    default void reset() { }
 }
@@ -1,17 +1,65 @@
 package com.snakegame.controller.input;
 
+import com.snakegame.controller.RunRecorder;
 import com.snakegame.model.Direction;
 import com.snakegame.model.GameState;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Direction provider for player-controlled runs.
  *
- * <p>Keyboard input is handled by {@link com.snakegame.controller.GameController}, so this provider
- * always returns {@code null}.</p>
+ * <p>Keyboard input arrives on the Swing EDT via {@link #offer(Direction)} while the game loop
+ * advances the simulation on its own thread, so the pending direction is handed over through a
+ * single atomic slot. At most one direction is accepted per tick: the slot stays taken until the
+ * loop picks it up at the start of the next tick, where it is also recorded for the replay.</p>
  */
 public class PlayerDirectionProvider implements DirectionProvider {
+    private final AtomicReference<Direction> pending = new AtomicReference<>();
+    private final RunRecorder recorder;
+
+    /**
+     * Creates a provider that does not record inputs.
+     */
+    public PlayerDirectionProvider() {
+        this(null);
+    }
+
+    /**
+     * Creates a provider that records every applied direction.
+     *
+     * @param recorder recorder for replay inputs (may be {@code null})
+     */
+    public PlayerDirectionProvider(RunRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Queues a direction for the next tick. Safe to call from any thread.
+     *
+     * @param direction requested direction
+     * @return {@code true} if accepted, {@code false} if a direction is already pending this tick
+     */
+    public boolean offer(Direction direction) {
+        return pending.compareAndSet(null, direction);
+    }
+
+    /**
+     * Takes the pending direction, if any, and records it at the current tick.
+     *
+     * @param state current simulation state
+     * @return pending direction, or {@code null} to keep the current direction
+     */
     @Override
     public Direction nextDirection(GameState state) {
-        return null; // keyboard drives it in GameController
+        Direction d = pending.getAndSet(null);
+        if (d != null && recorder != null) recorder.recordDirectionChange(state.getTick(), d);
+        return d;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void reset() {
+        pending.set(null);
     }
 }
@@ -16,9 +16,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.logging.Level;
@@ -31,7 +31,8 @@ import java.util.logging.Logger;
  */
 public class MapManager {
     private static final int RESOURCE_MAP_COUNT = 10;
-    private static final Map<Integer, MapConfig> maps = new HashMap<>();
+    // Concurrent: headless simulations read maps from many threads.
+    private static final Map<Integer, MapConfig> maps = new ConcurrentHashMap<>();
     private static final Logger log = Logger.getLogger(MapManager.class.getName());
 
     private static final String DEV_MAP_GLOB = "map*_developer.txt";
@@ -2,7 +2,6 @@ package com.snakegame.model;
 
 import java.awt.*;
 import java.util.Random;
-import java.util.Set;
 import java.util.function.LongSupplier;
 
 /**
@@ -11,10 +10,14 @@ import java.util.function.LongSupplier;
  * <p>To support reliable replays and stable tests, time-based behavior (such as apple expiration) is
  * driven by a tick counter via {@link LongSupplier} instead of wall clock time. Wall-clock time is
  * still tracked for UI-only animation (pulsing).</p>
+ *
+ * <p>An apple created when no cell is free has no position until a later spawn finds one; see
+ * {@link #isPresent()}.</p>
  */
 public class Apple {
     private final Random rng;
     private final LongSupplier tickSupplier; // deterministic "time" for logic
+    private final SpawnAlgorithm spawnAlgorithm;
 
     private Point position;
     private AppleType type;
@@ -29,28 +32,55 @@ public class Apple {
     // Needed to convert ms config -> ticks
     private int tickMs = 100;
 
-    // Backward-compatible constructor (non-deterministic seed per run)
     /**
-     * Creates a new apple with a non-deterministic random source (backward compatible).
+     * Creates a new apple that avoids every occupied cell of the provided grid, using
+     * {@link SpawnAlgorithm#REJECTION}.
      *
-     * @param forbidden positions that cannot be used for spawning (snake body, obstacles, etc.)
+     * @param occupancy occupancy grid of the world (snake body, obstacles, etc.)
+     * @param rng random source used to choose spawn coordinates
+     * @param tickSupplier deterministic tick counter used for expiration logic
      */
-    public Apple(Set<Point> forbidden) {
-        this(forbidden, new Random(), () -> 0L);
+    public Apple(OccupancyGrid occupancy, Random rng, LongSupplier tickSupplier) {
+        this(occupancy, rng, tickSupplier, SpawnAlgorithm.REJECTION);
     }
 
-    // Deterministic constructor
     /**
-     * Creates a new apple using the provided RNG and tick source for deterministic behavior.
+     * Creates a new apple that avoids every occupied cell of the provided grid.
      *
-     * @param forbidden positions that cannot be used for spawning (snake body, obstacles, etc.)
+     * @param occupancy occupancy grid of the world (snake body, obstacles, etc.)
      * @param rng random source used to choose spawn coordinates
      * @param tickSupplier deterministic tick counter used for expiration logic
+     * @param spawnAlgorithm how grid-based spawns pick a cell
      */
-    public Apple(Set<Point> forbidden, Random rng, LongSupplier tickSupplier) {
+    public Apple(OccupancyGrid occupancy, Random rng, LongSupplier tickSupplier, SpawnAlgorithm spawnAlgorithm) {
+        this.rng = rng;
+        this.tickSupplier = tickSupplier;
+        this.spawnAlgorithm = spawnAlgorithm;
+        spawnNew(AppleType.NORMAL, occupancy);
+    }
+
+    private Apple(Apple source, Random rng, LongSupplier tickSupplier) {
         this.rng = rng;
         this.tickSupplier = tickSupplier;
-        spawnNew(AppleType.NORMAL, forbidden);
+        this.spawnAlgorithm = source.spawnAlgorithm;
+        this.position = (source.position == null) ? null : new Point(source.position);
+        this.type = source.type;
+        this.spawnTimeMillis = source.spawnTimeMillis;
+        this.spawnTick = source.spawnTick;
+        this.visibleDurationTicks = source.visibleDurationTicks;
+        this.tickMs = source.tickMs;
+    }
+
+    /**
+     * Returns a copy of this apple that draws from another RNG and reads another tick counter,
+     * keeping its spawn tick rather than re-stamping it like {@link #restore}.
+     *
+     * @param rng random source of the copied run
+     * @param tickSupplier tick counter of the copied run
+     * @return copy
+     */
+    Apple copyFor(Random rng, LongSupplier tickSupplier) {
+        return new Apple(this, rng, tickSupplier);
     }
 
     /**
@@ -71,22 +101,40 @@ public class Apple {
     }
 
     /**
-     * Spawns a new apple of the given type at a random, unoccupied location.
+     * Spawns a new apple of the given type at a random cell that is free in the occupancy grid.
+     *
+     * <p>With {@link SpawnAlgorithm#REJECTION} this draws random cells until one is free, so runs
+     * recorded with it replay the same apple sequence. With {@link SpawnAlgorithm#FREE_CELL_INDEX} it
+     * draws once from the grid's free cells. Either way, if no cell is free the current apple is
+     * kept, or there stays no apple if there was none.</p>
      *
      * @param type apple type to spawn
-     * @param forbiddenPositions positions that cannot be selected for spawning
+     * @param occupancy occupancy grid; any blocked cell is rejected
      */
-    public void spawnNew(AppleType type, Set<Point> forbiddenPositions) {
-        int maxX = GameConfig.SCREEN_WIDTH / GameConfig.UNIT_SIZE;
-        int maxY = GameConfig.SCREEN_HEIGHT / GameConfig.UNIT_SIZE;
+    public void spawnNew(AppleType type, OccupancyGrid occupancy) {
+        if (spawnAlgorithm == SpawnAlgorithm.FREE_CELL_INDEX) {
+            int cell = occupancy.randomFreeCell(rng);
+            if (cell < 0) return;
+            int cols = occupancy.cols();
+            place(new Point((cell % cols) * GameConfig.UNIT_SIZE, (cell / cols) * GameConfig.UNIT_SIZE), type);
+            return;
+        }
 
-        Point newPos;
+        if (occupancy.freeCount() == 0) return;
+        int maxX = occupancy.cols();
+        int maxY = occupancy.rows();
+
+        int cellX;
+        int cellY;
         do {
-            int x = rng.nextInt(maxX) * GameConfig.UNIT_SIZE;
-            int y = rng.nextInt(maxY) * GameConfig.UNIT_SIZE;
-            newPos = new Point(x, y);
-        } while (forbiddenPositions.contains(newPos));
+            cellX = rng.nextInt(maxX);
+            cellY = rng.nextInt(maxY);
+        } while (occupancy.isBlocked(occupancy.indexOf(cellX, cellY)));
 
+        place(new Point(cellX * GameConfig.UNIT_SIZE, cellY * GameConfig.UNIT_SIZE), type);
+    }
+
+    private void place(Point newPos, AppleType type) {
         this.position = newPos;
         this.type = type;
 
@@ -114,30 +162,33 @@ public class Apple {
      * @return {@code true} if the apple should be considered expired
      */
     public boolean isExpired() {
-        if (visibleDurationTicks <= 0) return false;
+        if (position == null || visibleDurationTicks <= 0) return false;
         long nowTick = tickSupplier.getAsLong();
         return (nowTick - spawnTick) >= visibleDurationTicks;
     }
 
     /**
-     * Spawns an apple type based on score/apples-eaten thresholds.
+     * Spawns an apple type based on score/apples-eaten thresholds, avoiding occupied grid cells.
      *
      * @param applesEaten number of apples eaten so far in the run
      * @param score current score
-     * @param forbidden positions that cannot be used for spawning
+     * @param occupancy occupancy grid; any blocked cell is rejected
      */
-    public void spawnRandomlyWeighted(int applesEaten, int score, Set<Point> forbidden) {
+    public void spawnRandomlyWeighted(int applesEaten, int score, OccupancyGrid occupancy) {
+        spawnNew(weightedType(applesEaten, score), occupancy);
+    }
+
+    private static AppleType weightedType(int applesEaten, int score) {
         if (score > 0 && score % GameConfig.REVERSE_APPLE_EVERY_SCORE == 0) {
-            spawnNew(AppleType.REVERSE, forbidden);
+            return AppleType.REVERSE;
         } else if (applesEaten > 0 && applesEaten % GameConfig.SLOWDOWN_APPLE_EVERY == 0) {
-            spawnNew(AppleType.SLOWDOWN, forbidden);
+            return AppleType.SLOWDOWN;
         } else if (applesEaten > 0 && applesEaten % GameConfig.GOLDEN_APPLE_EVERY == 0) {
-            spawnNew(AppleType.GOLDEN, forbidden);
+            return AppleType.GOLDEN;
         } else if (applesEaten > 0 && applesEaten % GameConfig.BIG_APPLE_EVERY == 0) {
-            spawnNew(AppleType.BIG, forbidden);
-        } else {
-            spawnNew(AppleType.NORMAL, forbidden);
+            return AppleType.BIG;
         }
+        return AppleType.NORMAL;
     }
 
     // Keep restore as-is so GameSnapshot still works
@@ -145,16 +196,16 @@ public class Apple {
      * Restores apple state from a snapshot.
      *
      * <p>This method keeps timing data compatible with older snapshots which stored visibility in
-     * milliseconds. For deterministic logic on restored games, the "spawn tick" is reset to the
-     * current tick.</p>
+     * milliseconds. The "spawn tick" is reset to the current tick; snapshots that saved it put it
+     * back with {@link #setSpawnTick(long)}.</p>
      *
-     * @param position restored apple position (pixel coordinates)
+     * @param position restored apple position (pixel coordinates), or {@code null} for no apple
      * @param type restored apple type
      * @param spawnTimeMillis UI-only wall-clock timestamp used for pulsing animation
      * @param visibleDurationMs visible duration in milliseconds (snapshot-compatible)
      */
     public void restore(Point position, AppleType type, long spawnTimeMillis, long visibleDurationMs) {
-        this.position = new Point(position);
+        this.position = (position == null) ? null : new Point(position);
         this.type = type;
         this.spawnTimeMillis = spawnTimeMillis;
 
@@ -164,10 +215,32 @@ public class Apple {
         this.visibleDurationTicks = ticksFromMs(visibleDurationMs);
     }
 
+    /**
+     * Overrides the tick the apple counts its visibility from, e.g. the one saved with a snapshot.
+     *
+     * @param spawnTick spawn tick
+     */
+    public void setSpawnTick(long spawnTick) { this.spawnTick = spawnTick; }
+
+    /**
+     * Returns the tick the apple was spawned (or restored) at.
+     *
+     * @return spawn tick
+     */
+    public long getSpawnTick() { return spawnTick; }
+
+    /**
+     * Returns whether there is an apple on the board. There is none only if no cell was free when
+     * it was created.
+     *
+     * @return {@code true} if the apple has a position
+     */
+    public boolean isPresent() { return position != null; }
+
     /**
      * Returns the current apple position (pixel coordinates).
      *
-     * @return apple position in pixels
+     * @return apple position in pixels, or {@code null} if there is no apple ({@link #isPresent()})
      */
     public Point getPosition() { return position; }
     /**
@@ -0,0 +1,116 @@
+package com.snakegame.model;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+/**
+ * Size of the playfield in cells.
+ *
+ * <p>The simulation works in world coordinates where each cell is {@link GameConfig#UNIT_SIZE}
+ * units wide, so a board is {@code cols * UNIT_SIZE} by {@code rows * UNIT_SIZE} world units.
+ * Renderers scale the world to the available space. Cells are indexed as {@code y * cols + x}.</p>
+ *
+ * @param cols number of columns
+ * @param rows number of rows
+ */
+public record BoardGeometry(int cols, int rows) {
+    /** Smallest supported side; the snake spawns six cells long at column 5. */
+    public static final int MIN_SIDE = 8;
+    /** Largest supported side. */
+    public static final int MAX_SIDE = 4096;
+
+    /** The classic 24x24 board derived from {@link GameConfig#SCREEN_WIDTH}/{@link GameConfig#SCREEN_HEIGHT}. */
+    public static final BoardGeometry DEFAULT = new BoardGeometry(
+            GameConfig.SCREEN_WIDTH / GameConfig.UNIT_SIZE,
+            GameConfig.SCREEN_HEIGHT / GameConfig.UNIT_SIZE
+    );
+
+    /**
+     * Validates the dimensions.
+     *
+     * @throws IllegalArgumentException if a side is outside {@code [MIN_SIDE, MAX_SIDE]}
+     */
+    public BoardGeometry {
+        if (cols < MIN_SIDE || rows < MIN_SIDE || cols > MAX_SIDE || rows > MAX_SIDE) {
+            throw new IllegalArgumentException("Unsupported board size: " + cols + "x" + rows);
+        }
+    }
+
+    /**
+     * Returns the number of cells.
+     *
+     * @return {@code cols * rows}
+     */
+    public int cellCount() { return cols * rows; }
+
+    /**
+     * Returns the board width in world units.
+     *
+     * @return width
+     */
+    public int width() { return cols * GameConfig.UNIT_SIZE; }
+
+    /**
+     * Returns the board height in world units.
+     *
+     * @return height
+     */
+    public int height() { return rows * GameConfig.UNIT_SIZE; }
+
+    /**
+     * Returns the board bounds in world units, anchored at the origin.
+     *
+     * @return new rectangle covering the board
+     */
+    public Rectangle bounds() { return new Rectangle(0, 0, width(), height()); }
+
+    /**
+     * Returns the cell index of a world position, wrapping positions outside the board.
+     *
+     * @param p position in world units
+     * @return cell index
+     */
+    public int wrappedCellOf(Point p) {
+        int x = Math.floorMod(Math.floorDiv(p.x, GameConfig.UNIT_SIZE), cols);
+        int y = Math.floorMod(Math.floorDiv(p.y, GameConfig.UNIT_SIZE), rows);
+        return y * cols + x;
+    }
+
+    /**
+     * Returns the world position of a cell's top-left corner.
+     *
+     * @param cell cell index
+     * @return new point in world units
+     */
+    public Point toPixel(int cell) {
+        return new Point((cell % cols) * GameConfig.UNIT_SIZE, (cell / cols) * GameConfig.UNIT_SIZE);
+    }
+
+    /**
+     * Parses a geometry written as {@code "<cols>x<rows>"}.
+     *
+     * @param text text to parse
+     * @param fallback value returned for {@code null}/blank input
+     * @return parsed geometry
+     * @throws IllegalArgumentException if the text is malformed or the size unsupported
+     */
+    public static BoardGeometry parse(String text, BoardGeometry fallback) {
+        if (text == null || text.isBlank()) return fallback;
+        int sep = text.indexOf('x');
+        if (sep < 0) throw new IllegalArgumentException("Malformed board size: " + text);
+        return new BoardGeometry(
+                Integer.parseInt(text.substring(0, sep).trim()),
+                Integer.parseInt(text.substring(sep + 1).trim())
+        );
+    }
+
+    /**
+     * Formats this geometry as {@code "<cols>x<rows>"} (the inverse of {@link #parse}).
+     *
+     * @return text form
+     */
+    @Override
+    public String toString() {
+        return cols + "x" + rows;
+    }
+}
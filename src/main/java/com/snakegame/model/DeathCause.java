@@ -0,0 +1,11 @@
+package com.snakegame.model;
+
+/**
+ * Why a run ended, as reported by {@link GameState#getDeathCause()}.
+ */
+public enum DeathCause {
+    NONE,            // still running
+    SELF_COLLISION,  // head ran into the snake's own body
+    OBSTACLE,        // head ran into a static obstacle
+    MOVING_OBSTACLE  // head hit (or was hit by) a moving obstacle
+}
@@ -0,0 +1,95 @@
+package com.snakegame.model;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parts of the board that may look different between two consecutive frames, in world pixels.
+ *
+ * <p>A tick normally changes only the snake's head and tail cells, the apple, the moving obstacles
+ * and the HUD text at the top of the board. Each region also covers the path an interpolated frame
+ * ({@link FrameSnapshot#interpolate}) draws between the two frames, plus a small margin for
+ * outlines, antialiasing and the apple's pulse. Anything the diff cannot describe (a map reset,
+ * game over, a skipped tick) is a {@link #FULL} repaint.</p>
+ *
+ * @param full whether everything must be repainted; {@code regions} is empty then
+ * @param regions damaged regions (world pixels); may overlap
+ */
+public record FrameDamage(boolean full, List<Rectangle> regions) {
+
+    /** Repaint everything. */
+    public static final FrameDamage FULL = new FrameDamage(true, List.of());
+
+    /** Height of the band at the top of the board holding the score, banners and unlock message. */
+    public static final int HUD_BAND_HEIGHT = 70;
+
+    /** Extra pixels around each cell: outlines, antialiasing and the apple's 20% pulse. */
+    private static final int MARGIN = 3;
+
+    /**
+     * Computes the damage between two consecutive frames.
+     *
+     * @param previous earlier frame
+     * @param current later frame
+     * @return damaged regions, or {@link #FULL}
+     */
+    public static FrameDamage between(FrameSnapshot previous, FrameSnapshot current) {
+        if (previous == current
+                || previous.tick() + 1 != current.tick()
+                || previous.running() != current.running()
+                || !previous.board().equals(current.board())
+                || previous.obstacles() != current.obstacles()
+                || previous.movingObstacleSegments().size() != current.movingObstacleSegments().size()) {
+            return FULL;
+        }
+        BoardGeometry board = current.board();
+        List<Rectangle> regions = new ArrayList<>();
+        regions.add(new Rectangle(0, 0, board.width(), HUD_BAND_HEIGHT));
+
+        List<Point> before = previous.snakeBody();
+        List<Point> after = current.snakeBody();
+        if (!before.isEmpty() && !after.isEmpty()) {
+            if (!addMove(regions, before.get(0), after.get(0), board)) return FULL;
+            if (!addMove(regions, before.get(before.size() - 1), after.get(after.size() - 1), board)) return FULL;
+        }
+
+        // The apple pulses with wall-clock time, so its cell is always repainted.
+        if (current.applePosition() != null) regions.add(cell(current.applePosition()));
+        if (previous.applePosition() != null && !previous.applePosition().equals(current.applePosition())) {
+            regions.add(cell(previous.applePosition()));
+        }
+
+        List<Point> movingBefore = previous.movingObstacleSegments();
+        List<Point> movingAfter = current.movingObstacleSegments();
+        for (int i = 0; i < movingAfter.size(); i++) {
+            if (!addMove(regions, movingBefore.get(i), movingAfter.get(i), board)) return FULL;
+        }
+        return new FrameDamage(false, Collections.unmodifiableList(regions));
+    }
+
+    /**
+     * Adds the regions a point blending from {@code from} to {@code to} is drawn in.
+     *
+     * @return {@code false} if the move snaps and cannot be bounded by cells
+     */
+    private static boolean addMove(List<Rectangle> regions, Point from, Point to, BoardGeometry board) {
+        if (from.equals(to)) return true;
+        Point step = FrameSnapshot.slideStep(from, to, board);
+        if (step == null) return false;
+
+        Rectangle slide = cell(from);
+        slide.add(cell(new Point(from.x + step.x, from.y + step.y)));
+        regions.add(slide);
+        // Differs from the slide's end only when the move wraps across the board edge.
+        if (step.x != to.x - from.x || step.y != to.y - from.y) regions.add(cell(to));
+        return true;
+    }
+
+    private static Rectangle cell(Point p) {
+        return new Rectangle(p.x - MARGIN, p.y - MARGIN,
+                GameConfig.UNIT_SIZE + 2 * MARGIN, GameConfig.UNIT_SIZE + 2 * MARGIN);
+    }
+}
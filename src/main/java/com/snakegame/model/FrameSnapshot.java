@@ -0,0 +1,287 @@
+package com.snakegame.model;
+
+import java.awt.Point;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable view of everything needed to draw one frame of a run.
+ *
+ * <p>The simulation thread captures a frame after each tick and publishes it to the renderer, so
+ * painting never reads the live {@link GameState} while it is being updated. All points are copies
+ * owned by the frame; the lists are unmodifiable and the points must not be mutated. Consecutive
+ * frames share one {@link #obstacles()} list for as long as the static obstacles do not change.</p>
+ *
+ * <p>Frames captured one tick apart also share the snake's cells: each tick only appends the new
+ * head to an array the earlier frame reads too, and every frame reads just its own range of it. A
+ * cell once written is never changed, so later ticks still do not leak into an earlier frame.</p>
+ *
+ * @param tick simulation tick the frame was captured at
+ * @param tickMs tick duration in milliseconds at capture time
+ * @param board board geometry
+ * @param running whether the run was still running
+ * @param score score
+ * @param snakeBody snake segments, head first (pixel coordinates)
+ * @param applePosition apple position (pixel coordinates), or {@code null} if there is no apple
+ * @param appleType apple type
+ * @param appleSpawnTimeMillis wall-clock apple spawn time, used for UI animation only
+ * @param appleVisibleDurationMs apple visible duration in milliseconds, or {@code 0} if it does not expire
+ * @param obstacles static obstacles (pixel coordinates)
+ * @param movingObstacleSegments segments of all moving obstacles (pixel coordinates)
+ * @param reversedControls whether controls were reversed
+ * @param doubleScoreActive whether double score was active
+ * @param doubleScoreEndTick tick when double score ends
+ * @param slowed whether slow mode was active
+ * @param slowEndTick tick when slow mode ends
+ * @param unlockMessage transient unlock message, or {@code null}
+ */
+public record FrameSnapshot(
+        long tick,
+        int tickMs,
+        BoardGeometry board,
+        boolean running,
+        int score,
+        List<Point> snakeBody,
+        Point applePosition,
+        AppleType appleType,
+        long appleSpawnTimeMillis,
+        long appleVisibleDurationMs,
+        List<Point> obstacles,
+        List<Point> movingObstacleSegments,
+        boolean reversedControls,
+        boolean doubleScoreActive,
+        long doubleScoreEndTick,
+        boolean slowed,
+        long slowEndTick,
+        String unlockMessage
+) {
+    /**
+     * Captures a frame from the provided {@link GameState}.
+     *
+     * <p>Must be called on the thread that advances the state (or while it is not advancing).</p>
+     *
+     * @param state game state to capture
+     * @return new frame
+     */
+    public static FrameSnapshot captureFrom(GameState state) {
+        return captureFrom(state, null);
+    }
+
+    /**
+     * Captures a frame from the provided {@link GameState}, continuing the snake cells of the frame
+     * captured before it.
+     *
+     * <p>If the snake has moved at most once since {@code previous}, only its new head is copied;
+     * otherwise (a new snake, a skipped tick) the body is copied as a whole.</p>
+     *
+     * <p>Must be called on the thread that advances the state (or while it is not advancing).</p>
+     *
+     * @param state game state to capture
+     * @param previous last frame captured from {@code state}, or {@code null}
+     * @return new frame
+     */
+    public static FrameSnapshot captureFrom(GameState state, FrameSnapshot previous) {
+        Apple apple = state.getApple();
+        Snake snake = state.getSnake();
+        SnakeCells body = previous != null && previous.snakeBody instanceof SnakeCells cells
+                ? cells.follow(snake) : null;
+        if (body == null) body = SnakeCells.copyOf(snake);
+
+        List<Point> segments = new ArrayList<>();
+        for (MovingObstacle mo : state.getMovingObstacles()) {
+            List<Point> s = mo.getSegments();
+            for (int i = 0; i < s.size(); i++) segments.add(new Point(s.get(i)));
+        }
+
+        return new FrameSnapshot(
+                state.getTick(),
+                state.getTickMs(),
+                state.getBoard(),
+                state.isRunning(),
+                state.getScore(),
+                body,
+                apple.isPresent() ? new Point(apple.getPosition()) : null,
+                apple.getType(),
+                apple.getSpawnTime(),
+                apple.getVisibleDurationMs(),
+                state.getObstaclesSnapshot(),
+                Collections.unmodifiableList(segments),
+                state.isReversedControls(),
+                state.isDoubleScoreActive(),
+                state.getDoubleScoreEndTime(),
+                state.isSlowed(),
+                state.getSlowEndTime(),
+                state.getUnlockMessage()
+        );
+    }
+
+    /**
+     * Blends the positions of two consecutive frames for smooth drawing between ticks.
+     *
+     * <p>The snake's head slides into its new cell and the vacated tail cell slides after the body;
+     * the segments in between already sit on cells occupied in both frames, so they are drawn where
+     * they are and only the two ends change on screen. Moving obstacles slide segment by segment;
+     * everything else is taken from {@code current}. A step across the board edge is taken the short
+     * way round, sliding off the edge it leaves.
+     * Anything that moved further than one cell (or a frame pair that is not one tick apart) is not
+     * blended, so restarts and restores snap into place.</p>
+     *
+     * @param previous frame of the preceding tick
+     * @param current latest frame
+     * @param alpha blend factor; {@code 0} is {@code previous}, {@code 1} is {@code current}
+     * @return blended frame, or {@code current} itself if there is nothing to blend
+     */
+    public static FrameSnapshot interpolate(FrameSnapshot previous, FrameSnapshot current, double alpha) {
+        if (alpha >= 1.0 || previous == current || !current.running
+                || previous.tick + 1 != current.tick || !previous.board.equals(current.board)) {
+            return current;
+        }
+        double a = Math.max(0.0, alpha);
+        BoardGeometry board = current.board;
+
+        List<Point> body = current.snakeBody;
+        List<Point> before = previous.snakeBody;
+        List<Point> snake = body;
+        if (!body.isEmpty() && !before.isEmpty()) {
+            Point fromTail = before.get(before.size() - 1);
+            Point toTail = body.get(body.size() - 1);
+            boolean tailMoved = body.size() > 1 && !fromTail.equals(toTail);
+
+            Point[] blended = new Point[body.size() + (tailMoved ? 1 : 0)];
+            blended[0] = lerp(before.get(0), body.get(0), a, board);
+            for (int i = 1; i < body.size(); i++) blended[i] = body.get(i);
+            if (tailMoved) blended[body.size()] = lerp(fromTail, toTail, a, board);
+            snake = Collections.unmodifiableList(Arrays.asList(blended));
+        }
+
+        List<Point> moving = current.movingObstacleSegments;
+        if (previous.movingObstacleSegments.size() == moving.size()) {
+            Point[] segments = new Point[moving.size()];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = lerp(previous.movingObstacleSegments.get(i), moving.get(i), a, board);
+            }
+            moving = Collections.unmodifiableList(Arrays.asList(segments));
+        }
+
+        return new FrameSnapshot(
+                current.tick, current.tickMs, board, current.running, current.score,
+                snake,
+                current.applePosition, current.appleType, current.appleSpawnTimeMillis,
+                current.appleVisibleDurationMs, current.obstacles, moving,
+                current.reversedControls, current.doubleScoreActive, current.doubleScoreEndTick,
+                current.slowed, current.slowEndTick, current.unlockMessage
+        );
+    }
+
+    /**
+     * Returns the whole seconds left until an effect ends.
+     *
+     * @param endTick tick when the effect ends
+     * @return seconds left (never negative)
+     */
+    public long secondsUntil(long endTick) {
+        long ticksLeft = Math.max(0, endTick - tick);
+        return ticksLeft * (long) tickMs / 1000L;
+    }
+
+    private static Point lerp(Point from, Point to, double alpha, BoardGeometry board) {
+        Point step = slideStep(from, to, board);
+        if (step == null) return to;
+        return new Point(from.x + (int) Math.round(step.x * alpha), from.y + (int) Math.round(step.y * alpha));
+    }
+
+    /**
+     * Returns the offset a blend moves a point by, taking a board-edge crossing the short way round.
+     *
+     * @param from position in the earlier frame
+     * @param to position in the later frame
+     * @param board board geometry
+     * @return offset in pixels, or {@code null} if the move is longer than one cell and snaps instead
+     */
+    static Point slideStep(Point from, Point to, BoardGeometry board) {
+        int dx = wrapDelta(to.x - from.x, board.width());
+        int dy = wrapDelta(to.y - from.y, board.height());
+        if (Math.abs(dx) > GameConfig.UNIT_SIZE || Math.abs(dy) > GameConfig.UNIT_SIZE) return null;
+        return new Point(dx, dy);
+    }
+
+    private static int wrapDelta(int delta, int extent) {
+        if (delta > extent / 2) return delta - extent;
+        if (delta < -extent / 2) return delta + extent;
+        return delta;
+    }
+
+    /**
+     * Head-first view of the snake over cells shared with the frames captured after it.
+     *
+     * <p>The trail holds the snake's cells tail first, so each move appends one head past the end.
+     * A view reads {@code length} cells back from {@code end}; only the simulation thread appends,
+     * and only past the end of the newest view, so published views never see a cell change.</p>
+     */
+    private static final class SnakeCells extends AbstractList<Point> implements RandomAccess {
+        private final Trail trail;
+        private final int end;
+        private final int length;
+
+        private SnakeCells(Trail trail, int end, int length) {
+            this.trail = trail;
+            this.end = end;
+            this.length = length;
+        }
+
+        static SnakeCells copyOf(Snake snake) {
+            int length = snake.length();
+            Trail trail = new Trail(snake, new int[2 * length + Trail.SLACK]);
+            for (int i = 0; i < length; i++) trail.cells[i] = snake.cellAt(length - 1 - i);
+            trail.size = length;
+            return new SnakeCells(trail, length - 1, length);
+        }
+
+        /**
+         * Returns the view of {@code snake} one move on from this one, appending its new head.
+         *
+         * @return this view if the snake has not moved, or {@code null} if it cannot be continued
+         */
+        SnakeCells follow(Snake snake) {
+            if (trail.snake != snake || end != trail.size - 1) return null;
+            long moved = snake.moveCount() - trail.moves;
+            if (moved == 0) return this;
+            if (moved != 1 || trail.size == trail.cells.length) return null;
+            trail.cells[trail.size++] = snake.getHeadCell();
+            trail.moves++;
+            return new SnakeCells(trail, end + 1, snake.length());
+        }
+
+        @Override
+        public Point get(int index) {
+            if (index < 0 || index >= length) throw new IndexOutOfBoundsException("Segment " + index + " of " + length);
+            return trail.snake.getBoard().toPixel(trail.cells[end - index]);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+
+    /** Cells a snake has occupied, tail first, appended to by {@link SnakeCells#follow(Snake)}. */
+    private static final class Trail {
+        /** Room for this many moves past twice the length before the trail is copied afresh. */
+        static final int SLACK = 64;
+
+        final Snake snake;
+        final int[] cells;
+        int size;
+        long moves;
+
+        Trail(Snake snake, int[] cells) {
+            this.snake = snake;
+            this.cells = cells;
+            this.moves = snake.moveCount();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.snakegame.model;
+
+/**
+ * Set of free cell indices supporting O(1) insert, remove and uniform random access.
+ *
+ * <p>Free cells are packed at the front of a dense array; a second array maps each cell to its
+ * slot (or {@code -1}). Removal swaps the last free cell into the vacated slot, so the order depends
+ * on the history of updates, which is deterministic for a seeded run. Maintained by
+ * {@link OccupancyGrid}.</p>
+ */
+final class FreeCellIndex {
+    private final int[] cells;
+    private final int[] slots;
+    private int size;
+
+    /**
+     * Creates an index in which every cell is free.
+     *
+     * @param cellCount number of cells
+     */
+    FreeCellIndex(int cellCount) {
+        this.cells = new int[cellCount];
+        this.slots = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            cells[i] = i;
+            slots[i] = i;
+        }
+        this.size = cellCount;
+    }
+
+    /**
+     * Marks a cell as free; no-op if it already is.
+     *
+     * @param cell cell index
+     */
+    void add(int cell) {
+        if (slots[cell] >= 0) return;
+        cells[size] = cell;
+        slots[cell] = size++;
+    }
+
+    /**
+     * Marks a cell as occupied; no-op if it already is.
+     *
+     * @param cell cell index
+     */
+    void remove(int cell) {
+        int slot = slots[cell];
+        if (slot < 0) return;
+        int last = cells[--size];
+        cells[slot] = last;
+        slots[last] = slot;
+        slots[cell] = -1;
+    }
+
+    /**
+     * Returns whether a cell is free.
+     *
+     * @param cell cell index
+     * @return {@code true} if free
+     */
+    boolean contains(int cell) {
+        return slots[cell] >= 0;
+    }
+
+    /**
+     * Returns the number of free cells.
+     *
+     * @return free cell count
+     */
+    int size() { return size; }
+
+    /**
+     * Returns the free cell stored at a slot.
+     *
+     * @param slot slot in {@code [0, size())}
+     * @return cell index
+     */
+    int get(int slot) { return cells[slot]; }
+
+    /**
+     * Returns the free cells in slot order.
+     *
+     * @return free cell indices
+     */
+    int[] toArray() { return java.util.Arrays.copyOf(cells, size); }
+
+    /**
+     * Puts the free cells into the given slot order.
+     *
+     * @param order the currently free cells, each exactly once
+     */
+    void reorder(int[] order) {
+        for (int slot = 0; slot < order.length; slot++) {
+            cells[slot] = order[slot];
+            slots[order[slot]] = slot;
+        }
+    }
+}
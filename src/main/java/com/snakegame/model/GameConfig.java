@@ -12,6 +12,7 @@ public class GameConfig {
     public static final int UNIT_SIZE = 25;
     public static final int BASE_DELAY = 75;
     public static final int SLOWDOWN_OFFSET_MS = 60;
+    public static final int MAX_CATCH_UP_TICKS = 3;          // ticks run back-to-back after a late one
 
     // Power-up spawn conditions   
     public static final int BIG_APPLE_EVERY = 8;
@@ -8,6 +8,7 @@ import java.awt.*;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalLong;
 
 /**
  * Serializable snapshot of a run used for save/continue.
@@ -15,6 +16,11 @@ import java.util.List;
  * <p>This object captures enough state to restore gameplay deterministically (snake body, apple,
  * effects, obstacles, and the gameplay-relevant {@link SettingsSnapshot}). Fields are kept public
  * intentionally to keep persistence straightforward.</p>
+ *
+ * <p>For runs whose generator exposes its state ({@link RngAlgorithm#SPLITMIX64}) it also carries
+ * the tick, the elapsed simulation time, the RNG state, the apple's spawn tick and the free-cell
+ * order, which make a restore continue bit-exactly. These are {@code 0}/{@code null} in snapshots of other runs and in older
+ * saves.</p>
  */
 public class GameSnapshot implements Serializable {
     // Metadata
@@ -24,6 +30,13 @@ public class GameSnapshot implements Serializable {
     public GameMode mode;
     public int selectedMapId;
 
+    // Deterministic clock and RNG (see class doc)
+    public long tick;
+    public long elapsedSimTimeMs;
+    public Long rngState;
+    public Long appleSpawnTick;
+    public int[] freeCells;
+
     // Score / progression
     public int score;
     public int applesEaten;
@@ -75,13 +88,22 @@ public class GameSnapshot implements Serializable {
         s.mode = GameSettings.getCurrentMode();
         s.selectedMapId = state.getCurrentMapId();
 
+        OptionalLong rngState = state.getRngState();
+        if (rngState.isPresent()) {
+            s.tick = state.getTick();
+            s.elapsedSimTimeMs = state.getElapsedSimTimeMs();
+            s.rngState = rngState.getAsLong();
+            s.appleSpawnTick = state.getApple().getSpawnTick();
+            s.freeCells = state.getFreeCellOrder();
+        }
+
         s.score = state.getScore();
         s.applesEaten = state.getApplesEaten();
 
         s.direction = state.getSnake().getDirection();
-        s.snakeBody = new ArrayList<>(state.getSnake().getBody()); // Deque -> List copy
+        s.snakeBody = new ArrayList<>(state.getSnake().getBody()); // read-only view -> List copy
 
-        s.applePos = new Point(state.getApple().getPosition());
+        s.applePos = state.getApple().isPresent() ? new Point(state.getApple().getPosition()) : null;
         s.appleType = state.getApple().getType();
         s.appleSpawnTime = state.getApple().getSpawnTime();
         s.appleVisibleDurationMs = state.getApple().getVisibleDurationMs();
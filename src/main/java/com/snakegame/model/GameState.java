@@ -7,8 +7,10 @@ import com.snakegame.mode.MapConfig;
 import com.snakegame.mode.MapManager;
 
 import java.awt.*;
+import java.io.*;
 import java.util.*;
 import java.util.List;
+import java.util.logging.Logger;
 
 /**
  * Deterministic core simulation for a single Snake run.
@@ -16,13 +18,16 @@ import java.util.List;
  * <p>The simulation advances in discrete ticks via {@link #update()}, emitting {@link GameEvent}s
  * for side effects such as sound, persistence, and UI transitions. To keep replays stable,
  * time-based effects are tracked in ticks rather than wall-clock time, and a seeded {@link Random}
- * drives all randomness.</p>
+ * (of the run's {@link RngAlgorithm}) drives all randomness.</p>
  */
 public class GameState {
+    private static final Logger log = Logger.getLogger(GameState.class.getName());
+
     private Snake snake;
     private Apple apple;
     private int score = 0;
     private boolean running = true;
+    private DeathCause deathCause = DeathCause.NONE;
 
     private int applesEaten = 0;
 
@@ -37,8 +42,23 @@ public class GameState {
     private long reverseEndTick = 0;
 
     private final List<Point> obstacles = new ArrayList<>();
+    private final List<Point> obstaclesView = Collections.unmodifiableList(obstacles);
+    /** Frozen copy of {@link #obstacles} handed to frames; {@code null} after a change. */
+    private List<Point> obstaclesSnapshot;
     private final boolean watchOnly;
 
+    /**
+     * Incrementally maintained occupancy of snake, static obstacles and moving obstacles, used for
+     * O(1) collision and spawn checks.
+     */
+    private OccupancyGrid occupancy;
+
+    /** Moving obstacle cells; attached obstacles keep it (and the occupancy layer) current as they move. */
+    private MovingObstacleIndex movingObstacleIndex;
+
+    /** Board size of this run (from the settings snapshot); the grids above are sized to it. */
+    private BoardGeometry board;
+
     /**
      * Snapshot of gameplay-relevant settings captured at the start of a run.
      * For watch-only replays, this comes from the replay file.
@@ -48,7 +68,13 @@ public class GameState {
     /** Current map id for MAP_SELECT/RACE (must advance even in watch-only replays). */
     private int currentMapId;
 
+    /**
+     * Events are emitted into {@code pendingEvents} and handed out through a reusable read-only
+     * buffer so that {@link #consumeEvents()} does not allocate on every tick.
+     */
     private final List<GameEvent> pendingEvents = new ArrayList<>();
+    private final List<GameEvent> consumedEvents = new ArrayList<>();
+    private final List<GameEvent> consumedEventsView = Collections.unmodifiableList(consumedEvents);
 
     // Unlock notification (tick-based)
     private String unlockMessage = null;
@@ -57,13 +83,17 @@ public class GameState {
 
     private final List<MovingObstacle> movingObstacles = new ArrayList<>();
 
+    /** Bounds shared by all moving obstacles; never mutated. */
+    private Rectangle playArea;
+
     // Deterministic clock
     private int tickMs = 100; // set by controller at start
     private long tick = 0;    // increments each update()
     private long elapsedSimTimeMs = 0;
 
-    // Deterministic RNG
-    private final Random rng;
+    // Deterministic RNG; replaced only by restore(), before anything holding it is rebuilt
+    private Random rng;
+    private RngAlgorithm rngAlgorithm;
     private final long seed;
 
     /**
@@ -88,7 +118,9 @@ public class GameState {
         this.watchOnly = watchOnly;
         this.runSettingsSnapshot = (runSettingsSnapshot != null) ? runSettingsSnapshot : GameSettings.snapshot();
         this.currentMapId = this.runSettingsSnapshot.selectedMapId();
-        this.rng = new Random(seed);
+        this.rngAlgorithm = this.runSettingsSnapshot.rngAlgorithm();
+        this.rng = rngAlgorithm.create(seed);
+        applyBoard(this.runSettingsSnapshot.board());
         initGame();
     }
 
@@ -109,6 +141,184 @@ public class GameState {
         this(System.nanoTime(), false, null);
     }
 
+    /**
+     * Returns an independent deep copy of this run, including the RNG position.
+     *
+     * <p>Unlike a {@link GameSnapshot} round trip, the copy is exact: advancing it with the same
+     * directions produces the same ticks as advancing this state, so it can serve as a replay seek
+     * point.</p>
+     *
+     * @return copy
+     */
+    public GameState copy() {
+        return new GameState(new Checkpoint(this), getFreeCellOrder());
+    }
+
+    /**
+     * Everything of a run except the board-sized indexes and the free-cell order: the indexes follow
+     * from the snake, obstacles and moving obstacles, and the caller keeps the order (see
+     * {@link RunCheckpoints}). A checkpoint is immutable and restores any number of times; it is also
+     * how {@link #copy()} copies a run, so this is the one list of fields a copy carries.
+     */
+    static final class Checkpoint {
+        private final long seed;
+        private final boolean watchOnly;
+        private final SettingsSnapshot runSettingsSnapshot;
+        private final int currentMapId;
+        private final RngAlgorithm rngAlgorithm;
+        private final Random rng;
+        private final BoardGeometry board;
+        private final int[] snakeCells;
+        private final Direction direction;
+        private final Apple apple;
+        private final List<Point> obstacles = new ArrayList<>();
+        private final List<Point> obstaclesSnapshot;
+        private final List<MovingObstacle> movingObstacles = new ArrayList<>();
+        private final boolean[] movingObstacleAttached;
+        private final int score;
+        private final boolean running;
+        private final DeathCause deathCause;
+        private final int applesEaten;
+        private final boolean doubleScoreActive;
+        private final long doubleScoreEndTick;
+        private final boolean slowed;
+        private final long slowEndTick;
+        private final boolean reversedControls;
+        private final long reverseEndTick;
+        private final List<GameEvent> pendingEvents;
+        private final String unlockMessage;
+        private final long unlockMessageEndTick;
+        private final int tickMs;
+        private final long tick;
+        private final long elapsedSimTimeMs;
+
+        private Checkpoint(GameState s) {
+            this.seed = s.seed;
+            this.watchOnly = s.watchOnly;
+            this.runSettingsSnapshot = s.runSettingsSnapshot;
+            this.currentMapId = s.currentMapId;
+            this.rngAlgorithm = s.rngAlgorithm;
+            this.rng = copyOf(s.rng);
+            this.board = s.board;
+            this.snakeCells = s.snake.cells();
+            this.direction = s.snake.getDirection();
+            this.apple = s.apple.copyFor(null, null); // dormant; rebound to the restored run's RNG and clock
+            for (Point p : s.obstacles) obstacles.add(new Point(p));
+            this.obstaclesSnapshot = s.obstaclesSnapshot;
+            this.movingObstacleAttached = new boolean[s.movingObstacles.size()];
+            for (int i = 0; i < s.movingObstacles.size(); i++) {
+                MovingObstacle mo = s.movingObstacles.get(i);
+                movingObstacles.add(mo.copyAttachedTo(null));
+                movingObstacleAttached[i] = mo.isAttachedTo(s.movingObstacleIndex);
+            }
+            this.score = s.score;
+            this.running = s.running;
+            this.deathCause = s.deathCause;
+            this.applesEaten = s.applesEaten;
+            this.doubleScoreActive = s.doubleScoreActive;
+            this.doubleScoreEndTick = s.doubleScoreEndTick;
+            this.slowed = s.slowed;
+            this.slowEndTick = s.slowEndTick;
+            this.reversedControls = s.reversedControls;
+            this.reverseEndTick = s.reverseEndTick;
+            this.pendingEvents = List.copyOf(s.pendingEvents);
+            this.unlockMessage = s.unlockMessage;
+            this.unlockMessageEndTick = s.unlockMessageEndTick;
+            this.tickMs = s.tickMs;
+            this.tick = s.tick;
+            this.elapsedSimTimeMs = s.elapsedSimTimeMs;
+        }
+    }
+
+    /**
+     * Rebuilds a run from a checkpoint and the free-cell order it had when the checkpoint was taken.
+     */
+    private GameState(Checkpoint c, int[] freeCellOrder) {
+        this.seed = c.seed;
+        this.watchOnly = c.watchOnly;
+        this.runSettingsSnapshot = c.runSettingsSnapshot;
+        this.currentMapId = c.currentMapId;
+        this.rngAlgorithm = c.rngAlgorithm;
+        this.rng = copyOf(c.rng);
+        applyBoard(c.board);
+
+        setSnake(Snake.fromCells(board, c.snakeCells, c.direction));
+        for (Point p : c.obstacles) addObstacle(new Point(p));
+        this.obstaclesSnapshot = c.obstaclesSnapshot;
+        for (int i = 0; i < c.movingObstacles.size(); i++) {
+            MovingObstacle mo = c.movingObstacles.get(i).copyAttachedTo(null);
+            if (c.movingObstacleAttached[i]) mo.attach(movingObstacleIndex);
+            movingObstacles.add(mo);
+        }
+        // Last: rebuilding the layers above reshuffled the free-cell index.
+        if (!occupancy.restoreFreeCellOrder(freeCellOrder)) {
+            throw new IllegalArgumentException("Free-cell order does not match the checkpoint");
+        }
+        this.apple = c.apple.copyFor(rng, this::getTick);
+
+        this.score = c.score;
+        this.running = c.running;
+        this.deathCause = c.deathCause;
+        this.applesEaten = c.applesEaten;
+        this.doubleScoreActive = c.doubleScoreActive;
+        this.doubleScoreEndTick = c.doubleScoreEndTick;
+        this.slowed = c.slowed;
+        this.slowEndTick = c.slowEndTick;
+        this.reversedControls = c.reversedControls;
+        this.reverseEndTick = c.reverseEndTick;
+        this.pendingEvents.addAll(c.pendingEvents);
+        this.unlockMessage = c.unlockMessage;
+        this.unlockMessageEndTick = c.unlockMessageEndTick;
+
+        this.tickMs = c.tickMs;
+        this.tick = c.tick;
+        this.elapsedSimTimeMs = c.elapsedSimTimeMs;
+    }
+
+    /**
+     * Captures this run without its board-sized indexes or free-cell order.
+     *
+     * @return checkpoint
+     */
+    Checkpoint checkpoint() {
+        return new Checkpoint(this);
+    }
+
+    /**
+     * Rebuilds a run from a checkpoint.
+     *
+     * @param checkpoint checkpoint of the run
+     * @param freeCellOrder the run's {@link #getFreeCellOrder()} when the checkpoint was taken
+     * @return new independent state, exact like {@link #copy()}
+     * @throws IllegalArgumentException if the order does not hold exactly the checkpoint's free cells
+     */
+    static GameState fromCheckpoint(Checkpoint checkpoint, int[] freeCellOrder) {
+        return new GameState(checkpoint, freeCellOrder);
+    }
+
+    /**
+     * Copies a {@link Random} at its current position. {@link java.util.Random} exposes no state
+     * accessor, but its serialized form carries the exact seed.
+     */
+    private static Random copyOf(Random rng) {
+        if (rng instanceof SplitMix64Random splitMix) {
+            SplitMix64Random copy = new SplitMix64Random(0L);
+            copy.setState(splitMix.state());
+            return copy;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(rng);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (Random) in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot copy RNG state", e);
+        }
+    }
+
     // ---------- Settings accessors (frozen at run start) ----------
 
     private GameMode currentMode() {
@@ -139,8 +349,36 @@ public class GameState {
         return runSettingsSnapshot != null ? runSettingsSnapshot.movingObstaclesAutoIncrement() : GameSettings.isMovingObstaclesAutoIncrement();
     }
 
+    private GameMode aiBaseMode() {
+        return runSettingsSnapshot != null ? runSettingsSnapshot.aiBaseMode() : GameSettings.getAiBaseMode();
+    }
+
+    private SpawnAlgorithm spawnAlgorithm() {
+        return runSettingsSnapshot != null ? runSettingsSnapshot.spawnAlgorithm() : SpawnAlgorithm.CURRENT;
+    }
+
     // ---------------------------------------------------------------------
 
+    /**
+     * Sizes the occupancy structures and play area to a board, keeping them if the size is unchanged.
+     *
+     * @param geometry board geometry
+     */
+    private void applyBoard(BoardGeometry geometry) {
+        if (geometry.equals(board)) return;
+        board = geometry;
+        occupancy = new OccupancyGrid(geometry.cols(), geometry.rows());
+        movingObstacleIndex = new MovingObstacleIndex(occupancy);
+        playArea = geometry.bounds();
+    }
+
+    /**
+     * Returns the board geometry of this run.
+     *
+     * @return board geometry
+     */
+    public BoardGeometry getBoard() { return board; }
+
     /**
      * Returns the RNG seed used for this run.
      *
@@ -148,6 +386,24 @@ public class GameState {
      */
     public long getSeed() { return seed; }
     Random rng() { return rng; } // package-private helper if needed later
+    OccupancyGrid occupancy() { return occupancy; }
+
+    /**
+     * Returns the RNG state if the run's generator exposes it ({@link RngAlgorithm#SPLITMIX64}).
+     *
+     * @return RNG state, or empty for {@link RngAlgorithm#JDK_RANDOM}
+     */
+    public OptionalLong getRngState() {
+        return (rng instanceof SplitMix64Random splitMix) ? OptionalLong.of(splitMix.state()) : OptionalLong.empty();
+    }
+
+    /**
+     * Returns the free cells in the order the spawn index holds them, which
+     * {@link SpawnAlgorithm#FREE_CELL_INDEX} draws from.
+     *
+     * @return free cell indices
+     */
+    int[] getFreeCellOrder() { return occupancy.freeCellOrder(); }
 
     /**
      * Sets the duration (in milliseconds) represented by a single simulation tick.
@@ -174,12 +430,14 @@ public class GameState {
 
     private void initGame() {
         obstacles.clear();
-        movingObstacles.clear();
+        obstaclesSnapshot = null;
+        clearMovingObstacles();
+        occupancy.clearLayer(OccupancyGrid.OBSTACLE);
 
         GameMode mode = currentMode();
 
         boolean mapMode = mode != GameMode.STANDARD && mode != GameMode.AI;
-        if (mode == GameMode.AI && GameSettings.getAiBaseMode() == GameMode.MAP_SELECT) {
+        if (mode == GameMode.AI && aiBaseMode() == GameMode.MAP_SELECT) {
             mapMode = true;
         }
 
@@ -189,21 +447,21 @@ public class GameState {
             }
             if (movingObstaclesEnabled()) {
                 int count = movingObstacleCount();
-                Rectangle playArea = new Rectangle(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
                 for (int i = 0; i < count; i++) {
-                    movingObstacles.add(createRandomMovingObstacle(playArea));
+                    movingObstacles.add(createRandomMovingObstacle());
                 }
             }
         } else {
             int mapId = selectedMapId();
             MapConfig cfg = MapManager.getMap(mapId);
-            if (cfg != null) obstacles.addAll(cfg.getObstacles());
+            if (cfg != null) loadObstacles(cfg.getObstacles());
         }
 
+        registerMovingObstacles();
         resetSnakeAndApple();
     }
 
-    private MovingObstacle createRandomMovingObstacle(Rectangle playArea) {
+    private MovingObstacle createRandomMovingObstacle() {
         int lenRange = GameConfig.MAX_MOVING_OBSTACLE_LENGTH - GameConfig.MIN_MOVING_OBSTACLE_LENGTH + 1;
         int length = GameConfig.MIN_MOVING_OBSTACLE_LENGTH + rng.nextInt(lenRange);
 
@@ -229,32 +487,96 @@ public class GameState {
     }
 
     private void generateObstacles(int count) {
-        int maxX = GameConfig.SCREEN_WIDTH / GameConfig.UNIT_SIZE;
-        int maxY = GameConfig.SCREEN_HEIGHT / GameConfig.UNIT_SIZE;
+        if (spawnAlgorithm() == SpawnAlgorithm.FREE_CELL_INDEX) {
+            while (obstacles.size() < count) {
+                int cell = occupancy.randomFreeCell(rng);
+                if (cell < 0) return;
+                addObstacle(board.toPixel(cell));
+            }
+            return;
+        }
 
-        Set<Point> forbidden = new HashSet<>();
-        if (snake != null) forbidden.addAll(snake.getBody());
+        int maxX = board.cols();
+        int maxY = board.rows();
 
         while (obstacles.size() < count) {
-            Point p = new Point(
-                    rng.nextInt(maxX) * GameConfig.UNIT_SIZE,
-                    rng.nextInt(maxY) * GameConfig.UNIT_SIZE
-            );
-            if (!forbidden.contains(p) && !obstacles.contains(p)) obstacles.add(p);
+            int cellX = rng.nextInt(maxX);
+            int cellY = rng.nextInt(maxY);
+            int index = occupancy.indexOf(cellX, cellY);
+            if (!occupancy.isSet(OccupancyGrid.SNAKE, index) && !occupancy.isSet(OccupancyGrid.OBSTACLE, index)) {
+                addObstacle(new Point(cellX * GameConfig.UNIT_SIZE, cellY * GameConfig.UNIT_SIZE));
+            }
         }
     }
 
-    private void resetSnakeAndApple() {
-        Point start = new Point(GameConfig.UNIT_SIZE * 5, GameConfig.UNIT_SIZE * 5);
-        snake = new Snake(start, 6, Direction.RIGHT);
+    /**
+     * Adds a static obstacle and marks its cell as occupied.
+     *
+     * @param p obstacle position (pixel coordinates)
+     */
+    void addObstacle(Point p) {
+        obstacles.add(p);
+        obstaclesSnapshot = null;
+        occupancy.setPixel(OccupancyGrid.OBSTACLE, p);
+    }
 
-        Set<Point> forbidden = new HashSet<>(snake.getBody());
-        forbidden.addAll(obstacles);
-        if (movingObstaclesEnabled()) {
-            movingObstacles.forEach(mo -> forbidden.addAll(mo.getSegments()));
+    private void loadObstacles(List<Point> points) {
+        obstacles.clear();
+        obstaclesSnapshot = null;
+        occupancy.clearLayer(OccupancyGrid.OBSTACLE);
+        for (Point p : points) addObstacle(p);
+    }
+
+    /**
+     * Attaches moving obstacles that are not yet in the spatial index (new ones, including those
+     * added through {@link #getMovingObstacles()}). Attached obstacles update their own cells as they
+     * move, so this is a reference check per obstacle once everything is registered.
+     */
+    private void registerMovingObstacles() {
+        if (!movingObstaclesEnabled()) return;
+        // Indexed loop: this runs every tick and must not allocate an iterator.
+        for (int i = 0; i < movingObstacles.size(); i++) {
+            MovingObstacle mo = movingObstacles.get(i);
+            if (!mo.isAttachedTo(movingObstacleIndex)) mo.attach(movingObstacleIndex);
         }
+    }
+
+    private void clearMovingObstacles() {
+        for (int i = 0; i < movingObstacles.size(); i++) movingObstacles.get(i).detach();
+        movingObstacles.clear();
+    }
 
-        apple = new Apple(forbidden, rng, this::getTick);
+    /**
+     * Replaces the snake and re-derives its occupancy from the body segments.
+     *
+     * @param snake new snake instance
+     */
+    void setSnake(Snake snake) {
+        this.snake = snake;
+        occupancy.clearLayer(OccupancyGrid.SNAKE);
+        for (int i = 0; i < snake.length(); i++) occupancy.set(OccupancyGrid.SNAKE, snake.cellAt(i));
+    }
+
+    /**
+     * Moves the snake one cell (the snake wraps around the playfield itself) and updates its
+     * occupancy.
+     *
+     * @param grow whether the snake grows this move
+     */
+    private void moveSnake(boolean grow) {
+        int tailCell = snake.getTailCell();
+
+        snake.move(grow);
+
+        if (!grow && snake.occupancyAt(tailCell) == 0) occupancy.clear(OccupancyGrid.SNAKE, tailCell);
+        occupancy.set(OccupancyGrid.SNAKE, snake.getHeadCell());
+    }
+
+    private void resetSnakeAndApple() {
+        Point start = new Point(GameConfig.UNIT_SIZE * 5, GameConfig.UNIT_SIZE * 5);
+        setSnake(new Snake(board, start, 6, Direction.RIGHT));
+
+        apple = new Apple(occupancy, rng, this::getTick, spawnAlgorithm());
         apple.setTickMs(tickMs);
 
         applesEaten = 0;
@@ -274,6 +596,9 @@ public class GameState {
      * <p>This method updates effects, moves obstacles and the snake, applies wrap-around, handles
      * apple consumption/spawning, checks collisions, and records any {@link GameEvent}s emitted for
      * the tick. Call {@link #consumeEvents()} after updating to retrieve and clear emitted events.</p>
+     *
+     * <p>A steady-state tick (no apple eaten, no events) performs no heap allocation; keep it that
+     * way when changing this method (see {@code GameStateTest} and {@code GameStateUpdateBenchmark}).</p>
      */
     public void update() {
         if (!running) return;
@@ -286,39 +611,18 @@ public class GameState {
         updateEffects();
         updateNotifications();
 
-        movingObstacles.forEach(MovingObstacle::update);
+        // Obstacles added last tick are registered at their pre-move cells and then move like the rest.
+        registerMovingObstacles();
+        for (int i = 0; i < movingObstacles.size(); i++) movingObstacles.get(i).update();
         if (!checkMovingObstacleCollision()) {
             pendingEvents.add(new GameEvent.GameOver(score));
             return;
         }
 
-        boolean ateApple = snake.getHead().equals(apple.getPosition());
+        boolean ateApple = apple.isPresent() && snake.getHeadCell() == occupancy.indexOfPixel(apple.getPosition());
         AppleType type = apple.getType();
 
-        snake.move(ateApple);
-
-        Point head = snake.getHead();
-        // Wrap head position around screen edges (toroidal playfield).
-        int maxX = GameConfig.SCREEN_WIDTH / GameConfig.UNIT_SIZE;
-        int maxY = GameConfig.SCREEN_HEIGHT / GameConfig.UNIT_SIZE;
-
-        int cellX = head.x / GameConfig.UNIT_SIZE;
-        int cellY = head.y / GameConfig.UNIT_SIZE;
-
-        if (cellX < 0) cellX = maxX - 1;
-        else if (cellX >= maxX) cellX = 0;
-
-        if (cellY < 0) cellY = maxY - 1;
-        else if (cellY >= maxY) cellY = 0;
-
-        head.x = cellX * GameConfig.UNIT_SIZE;
-        head.y = cellY * GameConfig.UNIT_SIZE;
-
-        Set<Point> forbidden = new HashSet<>(snake.getBody());
-        forbidden.addAll(obstacles);
-        if (movingObstaclesEnabled()) {
-            for (MovingObstacle mo : movingObstacles) forbidden.addAll(mo.getSegments());
-        }
+        moveSnake(ateApple);
 
         if (ateApple) {
             applesEaten++;
@@ -334,8 +638,10 @@ public class GameState {
                     && movingObstacles.size() < GameConfig.MAX_MOVING_OBSTACLE_COUNT
                     && applesEaten % GameConfig.MOVING_OBSTACLE_INCREMENT_APPLES == 0) {
 
-                Rectangle playArea = new Rectangle(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
-                movingObstacles.add(createSafeMovingObstacle(playArea, snake.getHead()));
+                // Cells are registered at the start of the next tick so this tick's apple spawn sees
+                // the same occupancy as before the obstacle existed (keeps replays stable).
+                MovingObstacle added = createSafeMovingObstacle(snake.getHead());
+                if (added != null) movingObstacles.add(added);
             }
 
             if (currentMode() == GameMode.RACE
@@ -349,17 +655,17 @@ public class GameState {
                     currentMapId = nextMap;
                     pendingEvents.add(new GameEvent.MapAdvanced(nextMap));
 
-                    obstacles.clear();
-                    obstacles.addAll(nextCfg.getObstacles());
+                    loadObstacles(nextCfg.getObstacles());
                     resetSnakeAndApple();
                     setUnlockMessage("Map " + nextMap + " unlocked!");
                 }
             } else {
-                apple.spawnRandomlyWeighted(applesEaten, score, forbidden);
+                apple.spawnRandomlyWeighted(applesEaten, score, occupancy);
             }
         } else {
-            if (apple.isExpired()) {
-                apple.spawnNew(AppleType.NORMAL, forbidden);
+            // An apple created on a full board spawns once a cell frees up.
+            if (!apple.isPresent() || apple.isExpired()) {
+                apple.spawnNew(AppleType.NORMAL, occupancy);
             }
         }
 
@@ -369,17 +675,100 @@ public class GameState {
         }
     }
 
-    private MovingObstacle createSafeMovingObstacle(Rectangle playArea, Point head) {
+    /**
+     * Creates a moving obstacle whose segments all start at least five cells (on either axis) from
+     * the head.
+     *
+     * @param head snake head position (pixel coordinates)
+     * @return new obstacle, or {@code null} if the board has no room for one under
+     *         {@link SpawnAlgorithm#FREE_CELL_INDEX}
+     */
+    private MovingObstacle createSafeMovingObstacle(Point head) {
+        if (spawnAlgorithm() == SpawnAlgorithm.FREE_CELL_INDEX) return createSafeMovingObstacleDirect(head);
+
         MovingObstacle mo;
         do {
-            mo = createRandomMovingObstacle(playArea);
-        } while (mo.getSegments().stream().anyMatch(seg ->
-                Math.abs(seg.x - head.x) < GameConfig.UNIT_SIZE * 5
-                        && Math.abs(seg.y - head.y) < GameConfig.UNIT_SIZE * 5
-        ));
+            mo = createRandomMovingObstacle();
+        } while (isNearHead(mo, head));
         return mo;
     }
 
+    /**
+     * Draws the obstacle's start uniformly from the starts that keep it away from the head, with a
+     * fixed number of RNG calls.
+     *
+     * <p>For a given length and orientation the starts that come too close to the head form one
+     * rectangle in start space, so the k-th allowed start can be computed directly instead of being
+     * found by rejection.</p>
+     */
+    private MovingObstacle createSafeMovingObstacleDirect(Point head) {
+        int lenRange = GameConfig.MAX_MOVING_OBSTACLE_LENGTH - GameConfig.MIN_MOVING_OBSTACLE_LENGTH + 1;
+        int length = GameConfig.MIN_MOVING_OBSTACLE_LENGTH + rng.nextInt(lenRange);
+        boolean vertical = rng.nextBoolean();
+
+        int cellsX = Math.max(1, board.cols() - (vertical ? 1 : length));
+        int cellsY = Math.max(1, board.rows() - (vertical ? length : 1));
+
+        // Starts whose segments come within 4 cells of the head on both axes.
+        int hx = head.x / GameConfig.UNIT_SIZE;
+        int hy = head.y / GameConfig.UNIT_SIZE;
+        int x0 = Math.max(0, hx - 4 - (vertical ? 0 : length - 1));
+        int x1 = Math.min(cellsX - 1, hx + 4);
+        int y0 = Math.max(0, hy - 4 - (vertical ? length - 1 : 0));
+        int y1 = Math.min(cellsY - 1, hy + 4);
+        int bandW = Math.max(0, x1 - x0 + 1);
+        int bandH = Math.max(0, y1 - y0 + 1);
+        if (bandW == 0 || bandH == 0) {
+            bandH = 0;
+            y0 = 0;
+        }
+
+        int allowed = cellsX * cellsY - bandW * bandH;
+        if (allowed <= 0) return null;
+
+        // Row-major order over the allowed starts: rows above the band, the band rows minus the
+        // forbidden columns, then the rows below.
+        int k = rng.nextInt(allowed);
+        int sx;
+        int sy;
+        int above = y0 * cellsX;
+        int perBandRow = cellsX - bandW;
+        if (k < above) {
+            sy = k / cellsX;
+            sx = k % cellsX;
+        } else if (k - above < bandH * perBandRow) {
+            k -= above;
+            sy = y0 + k / perBandRow;
+            int r = k % perBandRow;
+            sx = r < x0 ? r : r + bandW;
+        } else {
+            k -= above + bandH * perBandRow;
+            sy = y0 + bandH + k / cellsX;
+            sx = k % cellsX;
+        }
+
+        return new MovingObstacle(
+                new Point(sx * GameConfig.UNIT_SIZE, sy * GameConfig.UNIT_SIZE),
+                length,
+                vertical,
+                GameConfig.MOVING_OBSTACLE_SPEED,
+                playArea,
+                rng
+        );
+    }
+
+    private static boolean isNearHead(MovingObstacle mo, Point head) {
+        List<Point> segments = mo.getSegments();
+        for (int i = 0; i < segments.size(); i++) {
+            Point seg = segments.get(i);
+            if (Math.abs(seg.x - head.x) < GameConfig.UNIT_SIZE * 5
+                    && Math.abs(seg.y - head.y) < GameConfig.UNIT_SIZE * 5) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void applyAppleEffect(AppleType type) {
         switch (type) {
             case GOLDEN -> {
@@ -413,41 +802,37 @@ public class GameState {
         this.unlockMessageEndTick = tick + ticksFromMs(UNLOCK_MSG_DURATION_MS);
     }
 
-    private boolean headHitsMovingObstacle(Point head) {
-        for (MovingObstacle mo : movingObstacles) {
-            for (Point seg : mo.getSegments()) {
-                if (seg.equals(head)) return true;
-            }
-        }
-        return false;
+    private boolean headHitsMovingObstacle(int headCell) {
+        return movingObstacleIndex.contains(headCell);
     }
 
     private void checkCollision() {
-        Point head = snake.getHead();
-
-        if (snake.isSelfColliding()) running = false;
-        if (obstacles.contains(head)) running = false;
-
-        if (movingObstaclesEnabled()) {
-            for (MovingObstacle mo : movingObstacles) {
-                if (mo.getSegments().contains(head)) {
-                    running = false;
-                    return;
-                }
-            }
+        int headIndex = snake.getHeadCell();
+
+        if (snake.isSelfColliding()) {
+            die(DeathCause.SELF_COLLISION);
+        } else if (occupancy.isSet(OccupancyGrid.OBSTACLE, headIndex)) {
+            die(DeathCause.OBSTACLE);
+        } else if (movingObstaclesEnabled() && movingObstacleIndex.contains(headIndex)) {
+            die(DeathCause.MOVING_OBSTACLE);
         }
     }
 
     private boolean checkMovingObstacleCollision() {
         if (movingObstaclesEnabled()) {
-            if (headHitsMovingObstacle(snake.getHead())) {
-                running = false;
+            if (headHitsMovingObstacle(snake.getHeadCell())) {
+                die(DeathCause.MOVING_OBSTACLE);
                 return false;
             }
         }
         return true;
     }
 
+    private void die(DeathCause cause) {
+        running = false;
+        deathCause = cause;
+    }
+
     // Getters
     /**
      * Returns whether the simulation is still running (not game over).
@@ -455,6 +840,12 @@ public class GameState {
      * @return {@code true} if running
      */
     public boolean isRunning() { return running; }
+    /**
+     * Returns why the run ended.
+     *
+     * @return death cause, or {@link DeathCause#NONE} while running
+     */
+    public DeathCause getDeathCause() { return deathCause; }
     /**
      * Returns the current score.
      *
@@ -507,9 +898,25 @@ public class GameState {
     /**
      * Returns the static obstacles currently in the world.
      *
-     * @return obstacle positions (pixel coordinates)
+     * @return read-only view of obstacle positions (pixel coordinates)
      */
-    public List<Point> getObstacles() { return obstacles; }
+    public List<Point> getObstacles() { return obstaclesView; }
+    /**
+     * Returns an immutable copy of the static obstacles.
+     *
+     * <p>The same list instance is returned until the obstacles change (new run, map advance,
+     * restore), so renderers can cache work per instance.</p>
+     *
+     * @return frozen obstacle positions (pixel coordinates); the points must not be mutated
+     */
+    public List<Point> getObstaclesSnapshot() {
+        if (obstaclesSnapshot == null) {
+            Point[] copy = new Point[obstacles.size()];
+            for (int i = 0; i < copy.length; i++) copy[i] = new Point(obstacles.get(i));
+            obstaclesSnapshot = Collections.unmodifiableList(Arrays.asList(copy));
+        }
+        return obstaclesSnapshot;
+    }
     /**
      * Returns the current transient unlock message, if any.
      *
@@ -519,6 +926,9 @@ public class GameState {
     /**
      * Returns the list of moving obstacles.
      *
+     * <p>Obstacles appended to this list are registered for collisions at the start of the next
+     * {@link #update()}. Do not remove obstacles from it directly; their cells would stay indexed.</p>
+     *
      * @return moving obstacles
      */
     public List<MovingObstacle> getMovingObstacles() { return movingObstacles; }
@@ -537,13 +947,16 @@ public class GameState {
     /**
      * Returns and clears the events emitted during the last tick.
      *
+     * <p>The returned list is a read-only buffer owned by this state: it stays valid until the next
+     * call to this method, which reuses it. Copy it if the events need to outlive that.</p>
+     *
      * @return list of events (possibly empty)
      */
     public List<GameEvent> consumeEvents() {
-        if (pendingEvents.isEmpty()) return List.of();
-        List<GameEvent> out = new ArrayList<>(pendingEvents);
+        consumedEvents.clear();
+        for (int i = 0; i < pendingEvents.size(); i++) consumedEvents.add(pendingEvents.get(i));
         pendingEvents.clear();
-        return out;
+        return consumedEventsView;
     }
 
     /**
@@ -585,6 +998,12 @@ public class GameState {
      * <p>This method updates global {@link GameSettings} from the snapshot and aligns this instance's
      * frozen run settings and map id with the loaded data.</p>
      *
+     * <p>Snapshots of {@link RngAlgorithm#SPLITMIX64} runs carry the tick, the elapsed simulation time,
+     * the RNG state, the apple's spawn tick and the free-cell order, so the restored run continues
+     * exactly as the saved one would have. Older snapshots restart the tick count and the random
+     * sequence. So does a snapshot whose free-cell order does not match its board (a stale or edited
+     * save); that is logged.</p>
+     *
      * @param snap snapshot to restore
      */
     public void restore(GameSnapshot snap) {
@@ -600,27 +1019,39 @@ public class GameState {
             this.runSettingsSnapshot = snap.settingsSnapshot;
         }
         this.currentMapId = snap.selectedMapId;
+        this.tick = snap.tick;
+        if (this.runSettingsSnapshot.rngAlgorithm() != rngAlgorithm) {
+            this.rngAlgorithm = this.runSettingsSnapshot.rngAlgorithm();
+            this.rng = rngAlgorithm.create(seed);
+        }
+        // Detach the moving obstacles before applyBoard may replace the index they are registered in.
+        clearMovingObstacles();
+        applyBoard(this.runSettingsSnapshot.board());
 
         this.score = snap.score;
         this.applesEaten = snap.applesEaten;
 
-        this.snake = Snake.fromBody(snap.snakeBody, snap.direction);
+        setSnake(Snake.fromBody(board, snap.snakeBody, snap.direction));
 
-        this.obstacles.clear();
-        this.obstacles.addAll(snap.obstacles);
+        loadObstacles(snap.obstacles);
 
-        this.movingObstacles.clear();
-        Rectangle playArea = new Rectangle(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
         for (MovingObstacleSnapshot mos : snap.movingObstacles) {
             this.movingObstacles.add(MovingObstacle.fromSnapshot(mos, playArea, rng));
         }
+        registerMovingObstacles();
 
-        Set<Point> forbidden = new HashSet<>(snake.getBody());
-        forbidden.addAll(obstacles);
-
-        this.apple = new Apple(forbidden, rng, this::getTick);
+        this.apple = new Apple(occupancy, rng, this::getTick, spawnAlgorithm());
         this.apple.setTickMs(tickMs);
         this.apple.restore(snap.applePos, snap.appleType, snap.appleSpawnTime, snap.appleVisibleDurationMs);
+        if (snap.appleSpawnTick != null) this.apple.setSpawnTick(snap.appleSpawnTick);
+
+        // Last: rebuilding the obstacles and the apple above drew from the RNG and reshuffled the index.
+        boolean exact = snap.rngState != null;
+        if (snap.freeCells != null && !occupancy.restoreFreeCellOrder(snap.freeCells)) {
+            log.warning("Saved free-cell order does not match the restored board; resuming without the saved random sequence");
+            exact = false;
+        }
+        if (exact && rng instanceof SplitMix64Random splitMix) splitMix.setState(snap.rngState);
 
         this.doubleScoreActive = snap.doubleScoreActive;
         this.doubleScoreEndTick = snap.doubleScoreEndTime;
@@ -632,7 +1063,8 @@ public class GameState {
         this.reverseEndTick = snap.reverseEndTime;
 
         this.running = true;
+        this.deathCause = DeathCause.NONE;
         this.unlockMessage = null;
-        this.elapsedSimTimeMs = 0;
+        this.elapsedSimTimeMs = snap.elapsedSimTimeMs;
     }
 }
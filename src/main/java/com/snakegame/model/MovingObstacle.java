@@ -8,11 +8,19 @@ import java.util.Random;
 
 /**
  * A line-segment obstacle that moves and bounces within the play area.
+ *
+ * <p>While attached to a {@link MovingObstacleIndex}, the obstacle keeps its cells registered there
+ * as it moves. An obstacle built by the constructor moves along its own axis, so a step only
+ * vacates the trailing cell and enters a new leading cell, and only the leading segment can cross
+ * the bounds. Obstacles restored with any other shape or velocity fall back to re-registering and
+ * checking every segment.</p>
  */
 public class MovingObstacle {
     private final List<Point> segments;
     private int dx, dy;
     private final Rectangle bounds;
+    private boolean alongAxis;
+    private MovingObstacleIndex index;
 
     /**
      * Creates a moving obstacle as a contiguous line of segments.
@@ -42,25 +50,122 @@ public class MovingObstacle {
             dx = (rng.nextBoolean() ? 1 : -1) * speed;
             dy = 0;
         }
+        alongAxis = computeAlongAxis();
+    }
+
+    private MovingObstacle(MovingObstacle source, MovingObstacleIndex index) {
+        this.segments = new ArrayList<>(source.segments.size());
+        for (int i = 0; i < source.segments.size(); i++) segments.add(new Point(source.segments.get(i)));
+        this.dx = source.dx;
+        this.dy = source.dy;
+        this.bounds = source.bounds;
+        this.alongAxis = source.alongAxis;
+        this.index = index;
+    }
+
+    /**
+     * Returns a copy of this obstacle that is registered in {@code index} without adding its cells
+     * again; used when the index itself was copied with this obstacle's cells in it.
+     *
+     * @param index copied index if this obstacle is attached, otherwise {@code null}
+     * @return copy
+     */
+    MovingObstacle copyAttachedTo(MovingObstacleIndex index) {
+        return new MovingObstacle(this, index);
     }
 
     /**
      * Advances the obstacle by one tick, bouncing off bounds edges by inverting velocity.
      */
     public void update() {
-        for (Point p : segments) {
+        int n = segments.size();
+        if (n == 0) return;
+
+        if (alongAxis) {
+            // Segments ascend along the axis of motion, so the leading one is the last when moving
+            // in the positive direction and the first otherwise.
+            boolean forward = dx > 0 || dy > 0;
+            Point lead = segments.get(forward ? n - 1 : 0);
+            if (index != null) index.remove(segments.get(forward ? 0 : n - 1));
+            for (int i = 0; i < n; i++) segments.get(i).translate(dx, dy);
+            if (index != null) index.add(lead);
+
+            if (dx != 0 && outOfBoundsX(lead)) dx = -dx;
+            if (dy != 0 && outOfBoundsY(lead)) dy = -dy;
+            return;
+        }
+
+        // Indexed loops keep the per-tick path free of iterator/stream allocations.
+        boolean bounceX = false;
+        boolean bounceY = false;
+        for (int i = 0; i < n; i++) {
+            Point p = segments.get(i);
+            if (index != null) index.remove(p);
             p.translate(dx, dy);
+            if (index != null) index.add(p);
+            if (outOfBoundsX(p)) bounceX = true;
+            if (outOfBoundsY(p)) bounceY = true;
         }
 
-        boolean bounceX = segments.stream().anyMatch(p ->
-                p.x < bounds.x || p.x + GameConfig.UNIT_SIZE > bounds.x + bounds.width);
         if (bounceX) dx = -dx;
-
-        boolean bounceY = segments.stream().anyMatch(p ->
-                p.y < bounds.y || p.y + GameConfig.UNIT_SIZE > bounds.y + bounds.height);
         if (bounceY) dy = -dy;
     }
 
+    private boolean outOfBoundsX(Point p) {
+        return p.x < bounds.x || p.x + GameConfig.UNIT_SIZE > bounds.x + bounds.width;
+    }
+
+    private boolean outOfBoundsY(Point p) {
+        return p.y < bounds.y || p.y + GameConfig.UNIT_SIZE > bounds.y + bounds.height;
+    }
+
+    /**
+     * Returns whether the velocity is one cell along a single axis and the segments are contiguous
+     * along that axis in ascending order, which allows the incremental update path.
+     */
+    private boolean computeAlongAxis() {
+        if (Math.abs(dx) + Math.abs(dy) != GameConfig.UNIT_SIZE) return false;
+        int stepX = Integer.signum(Math.abs(dx)) * GameConfig.UNIT_SIZE;
+        int stepY = Integer.signum(Math.abs(dy)) * GameConfig.UNIT_SIZE;
+        Point first = segments.isEmpty() ? null : segments.get(0);
+        for (int i = 1; i < segments.size(); i++) {
+            Point p = segments.get(i);
+            if (p.x != first.x + i * stepX || p.y != first.y + i * stepY) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Registers this obstacle's cells in a spatial index and keeps them registered as it moves.
+     *
+     * @param index index to maintain
+     */
+    void attach(MovingObstacleIndex index) {
+        if (this.index == index) return;
+        detach();
+        this.index = index;
+        for (int i = 0; i < segments.size(); i++) index.add(segments.get(i));
+    }
+
+    /**
+     * Removes this obstacle's cells from its spatial index, if attached.
+     */
+    void detach() {
+        if (index == null) return;
+        for (int i = 0; i < segments.size(); i++) index.remove(segments.get(i));
+        index = null;
+    }
+
+    /**
+     * Returns whether this obstacle is registered in the given index.
+     *
+     * @param index spatial index
+     * @return {@code true} if attached to {@code index}
+     */
+    boolean isAttachedTo(MovingObstacleIndex index) {
+        return this.index == index;
+    }
+
     /**
      * Returns the list of obstacle segments.
      *
@@ -102,6 +207,7 @@ public class MovingObstacle {
         }
         mo.dx = snap.dx;
         mo.dy = snap.dy;
+        mo.alongAxis = mo.computeAlongAxis();
 
         return mo;
     }
@@ -0,0 +1,68 @@
+package com.snakegame.model;
+
+import java.awt.Point;
+
+/**
+ * Spatial index of moving obstacle cells, shared by all {@link MovingObstacle}s of a {@link GameState}.
+ *
+ * <p>Each board cell holds the number of segments covering it, so obstacles can overlap and still
+ * be moved independently. The {@link OccupancyGrid#MOVING_OBSTACLE} layer mirrors the non-zero
+ * counts, which keeps a head lookup a single bit probe. Segments outside the board (obstacles can
+ * overshoot by one cell before bouncing) are not indexed.</p>
+ */
+final class MovingObstacleIndex {
+    private final OccupancyGrid grid;
+    private final int[] counts;
+
+    /**
+     * Creates an empty index backed by the given occupancy grid.
+     *
+     * @param grid occupancy grid whose moving obstacle layer is maintained
+     */
+    MovingObstacleIndex(OccupancyGrid grid) {
+        this.grid = grid;
+        this.counts = new int[grid.cols() * grid.rows()];
+    }
+
+    /**
+     * Registers one segment.
+     *
+     * @param p segment position (pixel coordinates)
+     */
+    void add(Point p) {
+        int index = grid.indexOfPixel(p);
+        if (index < 0) return;
+        if (counts[index]++ == 0) grid.set(OccupancyGrid.MOVING_OBSTACLE, index);
+    }
+
+    /**
+     * Unregisters one segment previously passed to {@link #add(Point)} at the same position.
+     *
+     * @param p segment position (pixel coordinates)
+     */
+    void remove(Point p) {
+        int index = grid.indexOfPixel(p);
+        if (index < 0) return;
+        if (--counts[index] == 0) grid.clear(OccupancyGrid.MOVING_OBSTACLE, index);
+    }
+
+    /**
+     * Returns whether any segment covers a cell.
+     *
+     * @param index cell index
+     * @return {@code true} if occupied by a moving obstacle
+     */
+    boolean contains(int index) {
+        return grid.isSet(OccupancyGrid.MOVING_OBSTACLE, index);
+    }
+
+    /**
+     * Returns the number of segments covering a cell.
+     *
+     * @param index cell index
+     * @return segment count ({@code 0} if free or out of bounds)
+     */
+    int countAt(int index) {
+        return index < 0 ? 0 : counts[index];
+    }
+}
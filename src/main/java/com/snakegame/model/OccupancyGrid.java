@@ -0,0 +1,225 @@
+package com.snakegame.model;
+
+import java.awt.Point;
+import java.util.Random;
+
+/**
+ * Bitset-backed occupancy grid used by {@link GameState} for O(1) collision and spawn checks.
+ *
+ * <p>Each cell of the {@code cols x rows} board maps to one bit per layer, indexed as
+ * {@code y * cols + x}. Layers are kept separate so that callers can rebuild a single source of
+ * occupancy (for example moving obstacles every tick) without touching the others.</p>
+ *
+ * <p>The grid also keeps an index of cells that are free in every layer, updated on each
+ * {@code set}/{@code clear}, so a uniformly random free cell can be drawn in O(1)
+ * ({@link #randomFreeCell(Random)}).</p>
+ */
+public final class OccupancyGrid {
+    /** Snake body segments. */
+    public static final int SNAKE = 0;
+    /** Static obstacles (random or map-defined). */
+    public static final int OBSTACLE = 1;
+    /** Moving obstacle segments. */
+    public static final int MOVING_OBSTACLE = 2;
+
+    private static final int LAYER_COUNT = 3;
+
+    private final int cols;
+    private final int rows;
+    private final long[][] layers;
+    private final FreeCellIndex free;
+
+    /**
+     * Creates an empty grid with the given dimensions.
+     *
+     * @param cols number of columns (cells)
+     * @param rows number of rows (cells)
+     */
+    public OccupancyGrid(int cols, int rows) {
+        if (cols <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive: " + cols + "x" + rows);
+        }
+        this.cols = cols;
+        this.rows = rows;
+        int words = (cols * rows + 63) >>> 6;
+        this.layers = new long[LAYER_COUNT][words];
+        this.free = new FreeCellIndex(cols * rows);
+    }
+
+    /**
+     * Creates an empty grid sized to the default playfield from {@link GameConfig}.
+     *
+     * @return empty grid
+     */
+    public static OccupancyGrid forDefaultBoard() {
+        return new OccupancyGrid(
+                GameConfig.SCREEN_WIDTH / GameConfig.UNIT_SIZE,
+                GameConfig.SCREEN_HEIGHT / GameConfig.UNIT_SIZE
+        );
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return column count
+     */
+    public int cols() { return cols; }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return row count
+     */
+    public int rows() { return rows; }
+
+    /**
+     * Returns the cell index for grid coordinates.
+     *
+     * @param cellX column (0-based)
+     * @param cellY row (0-based)
+     * @return cell index, or {@code -1} if out of bounds
+     */
+    public int indexOf(int cellX, int cellY) {
+        if (cellX < 0 || cellX >= cols || cellY < 0 || cellY >= rows) return -1;
+        return cellY * cols + cellX;
+    }
+
+    /**
+     * Returns the cell index for a pixel-space position aligned to {@link GameConfig#UNIT_SIZE}.
+     *
+     * @param p pixel coordinate
+     * @return cell index, or {@code -1} if out of bounds
+     */
+    public int indexOfPixel(Point p) {
+        if (p.x < 0 || p.y < 0) return -1;
+        return indexOf(p.x / GameConfig.UNIT_SIZE, p.y / GameConfig.UNIT_SIZE);
+    }
+
+    /**
+     * Marks a cell as occupied in the given layer. Out-of-bounds indices are ignored.
+     *
+     * @param layer layer id
+     * @param index cell index
+     */
+    public void set(int layer, int index) {
+        if (index < 0) return;
+        int w = index >>> 6;
+        long bit = 1L << index;
+        if ((union(w) & bit) == 0) free.remove(index);
+        layers[layer][w] |= bit;
+    }
+
+    /**
+     * Marks a cell as free in the given layer. Out-of-bounds indices are ignored.
+     *
+     * @param layer layer id
+     * @param index cell index
+     */
+    public void clear(int layer, int index) {
+        if (index < 0) return;
+        int w = index >>> 6;
+        long bit = 1L << index;
+        layers[layer][w] &= ~bit;
+        if ((union(w) & bit) == 0) free.add(index);
+    }
+
+    /**
+     * Returns whether a cell is occupied in the given layer.
+     *
+     * @param layer layer id
+     * @param index cell index
+     * @return {@code true} if occupied; out-of-bounds indices are never occupied
+     */
+    public boolean isSet(int layer, int index) {
+        if (index < 0) return false;
+        return (layers[layer][index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns whether a cell is occupied in any layer.
+     *
+     * @param index cell index
+     * @return {@code true} if occupied; out-of-bounds indices are never occupied
+     */
+    public boolean isBlocked(int index) {
+        if (index < 0) return false;
+        return (union(index >>> 6) & (1L << index)) != 0;
+    }
+
+    private long union(int word) {
+        return layers[SNAKE][word] | layers[OBSTACLE][word] | layers[MOVING_OBSTACLE][word];
+    }
+
+    /**
+     * Marks the cell under a pixel-space position as occupied in the given layer.
+     *
+     * @param layer layer id
+     * @param p pixel coordinate
+     */
+    public void setPixel(int layer, Point p) {
+        set(layer, indexOfPixel(p));
+    }
+
+    /**
+     * Clears every cell of a single layer.
+     *
+     * @param layer layer id
+     */
+    public void clearLayer(int layer) {
+        long[] bits = layers[layer];
+        for (int w = 0; w < bits.length; w++) {
+            long cleared = bits[w];
+            if (cleared == 0) continue;
+            bits[w] = 0L;
+            long freed = cleared & ~union(w);
+            while (freed != 0) {
+                free.add((w << 6) + Long.numberOfTrailingZeros(freed));
+                freed &= freed - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cells that are free in every layer.
+     *
+     * @return free cell count
+     */
+    public int freeCount() { return free.size(); }
+
+    /**
+     * Returns the free cells in index order, the order {@link #randomFreeCell(Random)} draws from.
+     *
+     * @return free cell indices
+     */
+    int[] freeCellOrder() { return free.toArray(); }
+
+    /**
+     * Reorders the free-cell index to a previously saved order. Ignored unless {@code order} holds
+     * exactly the cells that are free now.
+     *
+     * @param order free cell indices as returned by {@link #freeCellOrder()}
+     * @return {@code true} if the order was applied
+     */
+    boolean restoreFreeCellOrder(int[] order) {
+        if (order.length != free.size()) return false;
+        boolean[] seen = new boolean[cols * rows];
+        for (int cell : order) {
+            if (cell < 0 || cell >= seen.length || seen[cell] || !free.contains(cell)) return false;
+            seen[cell] = true;
+        }
+        free.reorder(order);
+        return true;
+    }
+
+    /**
+     * Draws a uniformly random free cell with a single {@code rng.nextInt} call.
+     *
+     * @param rng random source
+     * @return free cell index, or {@code -1} (without touching the RNG) if the board is full
+     */
+    public int randomFreeCell(Random rng) {
+        int n = free.size();
+        if (n == 0) return -1;
+        return free.get(rng.nextInt(n));
+    }
+}
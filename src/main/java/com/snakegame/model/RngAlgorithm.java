@@ -0,0 +1,60 @@
+package com.snakegame.model;
+
+import java.util.Random;
+
+/**
+ * Pseudo-random generator a run draws all of its randomness from.
+ *
+ * <p>Like {@link SpawnAlgorithm}, the choice changes every random decision of a seeded run, so it is
+ * part of the run settings and is stored with saves and replays by {@link #version()}. Recordings
+ * made before this setting existed used {@link #JDK_RANDOM}.</p>
+ */
+public enum RngAlgorithm {
+    /** {@link java.util.Random}; its state cannot be read, so a restored save continues on a new stream. */
+    JDK_RANDOM(1),
+    /** {@link SplitMix64Random}; its 64-bit state is saved, so a restored save continues the same stream. */
+    SPLITMIX64(2);
+
+    /** Generator used for new runs. */
+    public static final RngAlgorithm CURRENT = SPLITMIX64;
+
+    private final int version;
+
+    RngAlgorithm(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns the number this generator is persisted as.
+     *
+     * @return version number
+     */
+    public int version() { return version; }
+
+    /**
+     * Creates a generator of this kind.
+     *
+     * @param seed run seed
+     * @return new generator
+     */
+    public Random create(long seed) {
+        return switch (this) {
+            case JDK_RANDOM -> new Random(seed);
+            case SPLITMIX64 -> new SplitMix64Random(seed);
+        };
+    }
+
+    /**
+     * Returns the generator persisted as the given version.
+     *
+     * @param version version number
+     * @return matching generator
+     * @throws IllegalArgumentException if the version is unknown
+     */
+    public static RngAlgorithm fromVersion(int version) {
+        for (RngAlgorithm a : values()) {
+            if (a.version == version) return a;
+        }
+        throw new IllegalArgumentException("Unknown RNG algorithm version: " + version);
+    }
+}
@@ -0,0 +1,104 @@
+package com.snakegame.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Exact checkpoints of one run, taken in tick order, that hold a board-sized copy only every few
+ * checkpoints and otherwise what changed between them.
+ *
+ * <p>{@link GameState#copy()} duplicates every board-sized index, several megabytes per copy on a
+ * large board. A checkpoint keeps the snake's cells, the obstacles, the apple, the RNG position and
+ * the counters instead, and rebuilds the indexes when restored. The free-cell order that spawns draw
+ * from cannot be rebuilt. Every {@value #FULL_ORDER_INTERVAL}th checkpoint holds it in full, and so
+ * does one whose predecessors since the last full order changed as many slots as it has; the others
+ * store the slots that differ from their predecessor's. Restoring therefore costs one pass over the
+ * board plus at most that many checkpoints' changes, however long the run is.</p>
+ */
+public final class RunCheckpoints {
+    /** Checkpoints between full free-cell orders, at most. */
+    static final int FULL_ORDER_INTERVAL = 32;
+
+    private final List<GameState.Checkpoint> checkpoints = new ArrayList<>();
+    /** One per checkpoint: its full free-cell order, or {@code null} if it stores edits. */
+    private final List<int[]> fullOrders = new ArrayList<>();
+    /** One per checkpoint: its free-cell count, then (slot, cell) pairs redoing it from its predecessor. */
+    private final List<int[]> redo = new ArrayList<>();
+    private int[] latestOrder;
+    private int cellCount;
+    private int sinceFull;
+    private long editsSinceFull;
+
+    /**
+     * Adds a checkpoint of the run's current state.
+     *
+     * @param state the run, at a later tick than the previous checkpoint
+     */
+    public void add(GameState state) {
+        int[] order = state.getFreeCellOrder();
+        if (latestOrder == null) cellCount = state.getBoard().cellCount();
+        int[] edits = (latestOrder == null) ? null : edits(latestOrder, order);
+        if (edits == null || sinceFull + 1 >= FULL_ORDER_INTERVAL || editsSinceFull + edits.length > order.length) {
+            fullOrders.add(order);
+            redo.add(null);
+            sinceFull = 0;
+            editsSinceFull = 0;
+        } else {
+            fullOrders.add(null);
+            redo.add(edits);
+            sinceFull++;
+            editsSinceFull += edits.length;
+        }
+        checkpoints.add(state.checkpoint());
+        latestOrder = order;
+    }
+
+    /**
+     * Returns the edits that turn the {@code older} order into the {@code newer} one: its length, then
+     * a slot and cell for every slot the older order lacks or holds differently.
+     */
+    private static int[] edits(int[] older, int[] newer) {
+        int[] edits = new int[33];
+        int n = 0;
+        edits[n++] = newer.length;
+        for (int slot = 0; slot < newer.length; slot++) {
+            if (slot < older.length && older[slot] == newer[slot]) continue;
+            if (n + 2 > edits.length) edits = Arrays.copyOf(edits, edits.length * 2);
+            edits[n++] = slot;
+            edits[n++] = newer[slot];
+        }
+        return Arrays.copyOf(edits, n);
+    }
+
+    /**
+     * Returns the number of checkpoints.
+     *
+     * @return checkpoint count
+     */
+    public int size() { return checkpoints.size(); }
+
+    /**
+     * Rebuilds the run as it was at a checkpoint.
+     *
+     * @param index checkpoint index, in the order they were added
+     * @return new independent state, exact like {@link GameState#copy()} at that point
+     */
+    public GameState restore(int index) {
+        Objects.checkIndex(index, checkpoints.size());
+        int base = index;
+        while (fullOrders.get(base) == null) base--;
+        int[] order = fullOrders.get(base);
+        if (base < index) {
+            // Slots past an order's length are never read, so stale values there are harmless.
+            int[] slots = Arrays.copyOf(order, cellCount);
+            for (int i = base + 1; i <= index; i++) {
+                int[] edits = redo.get(i);
+                for (int e = 1; e < edits.length; e += 2) slots[edits[e]] = edits[e + 1];
+            }
+            order = Arrays.copyOf(slots, redo.get(index)[0]);
+        }
+        return GameState.fromCheckpoint(checkpoints.get(index), order);
+    }
+}
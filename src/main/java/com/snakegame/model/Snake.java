@@ -1,58 +1,106 @@
 package com.snakegame.model;
 
 import java.awt.*;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
 
 /**
- * Represents the snake as an ordered list of grid-aligned body segments.
+ * Represents the snake as an ordered sequence of grid cells.
  *
- * <p>All positions are stored as pixel coordinates aligned to {@link GameConfig#UNIT_SIZE}. The head
- * is the first element in the deque.</p>
+ * <p>The body is stored as a ring buffer of primitive cell indices ({@code y * cols + x}) with head
+ * and tail pointers, plus a per-cell occupancy count. Moving is allocation-free and self-collision
+ * is an O(1) lookup. {@link #getBody()} exposes a read-only, head-first view in pixel coordinates
+ * aligned to {@link GameConfig#UNIT_SIZE} for rendering, snapshots and AI.</p>
  */
 public class Snake {
-    private Deque<Point> body;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final BoardGeometry board;
+    private final int cols;
+    private final int rows;
+
+    private int[] ring;
+    private int head;    // ring slot of the head segment
+    private int tail;    // ring slot of the tail segment
+    private int length;
+    private long moves;
+    private final int[] cellCounts;
+
+    private final List<Point> bodyView = new BodyView();
     private Direction currentDirection;
 
     /**
-     * Creates a new snake starting at the given position.
+     * Creates a new snake on the default board starting at the given position.
      *
      * @param start starting head position in pixels
      * @param length initial length in segments
      * @param initialDirection initial movement direction
      */
     public Snake(Point start, int length, Direction initialDirection) {
-        this.body = new LinkedList<>();
-        this.currentDirection = initialDirection;
+        this(BoardGeometry.DEFAULT, start, length, initialDirection);
+    }
 
+    /**
+     * Creates a new snake starting at the given position.
+     *
+     * @param board board the snake lives on
+     * @param start starting head position in pixels
+     * @param length initial length in segments
+     * @param initialDirection initial movement direction
+     */
+    public Snake(BoardGeometry board, Point start, int length, Direction initialDirection) {
+        this(board, Math.max(1, length), initialDirection);
         for (int i = 0; i < length; i++) {
-            body.addLast(new Point(start.x - i * GameConfig.UNIT_SIZE, start.y));
+            append(board.wrappedCellOf(new Point(start.x - i * GameConfig.UNIT_SIZE, start.y)));
         }
     }
 
-    private Snake(Deque<Point> body, Direction direction) {
-        this.body = body;
+    private Snake(BoardGeometry board, int capacityHint, Direction direction) {
+        this.board = board;
+        this.cols = board.cols();
+        this.rows = board.rows();
+        this.cellCounts = new int[board.cellCount()];
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < capacityHint) capacity <<= 1;
+        this.ring = new int[capacity];
+        this.head = 0;
+        this.tail = capacity - 1;
+        this.length = 0;
         this.currentDirection = direction;
     }
 
     /**
-     * Advances the snake by one cell in the current direction.
+     * Advances the snake by one cell in the current direction, wrapping around the playfield edges.
      *
      * @param grow whether the snake should grow this move (i.e., do not drop the tail)
      */
     public void move(boolean grow) {
-        Point head = getHead();
-        Point newHead = new Point(head);
+        int headCell = ring[head];
+        int x = headCell % cols;
+        int y = headCell / cols;
 
         switch (currentDirection) {
-            case UP -> newHead.y -= GameConfig.UNIT_SIZE;
-            case DOWN -> newHead.y += GameConfig.UNIT_SIZE;
-            case LEFT -> newHead.x -= GameConfig.UNIT_SIZE;
-            case RIGHT -> newHead.x += GameConfig.UNIT_SIZE;
+            case UP -> y = (y == 0) ? rows - 1 : y - 1;
+            case DOWN -> y = (y == rows - 1) ? 0 : y + 1;
+            case LEFT -> x = (x == 0) ? cols - 1 : x - 1;
+            case RIGHT -> x = (x == cols - 1) ? 0 : x + 1;
+        }
+
+        if (grow) {
+            if (length == ring.length) growCapacity();
+            length++;
+        } else {
+            // Drop the tail before writing the head: on a full ring both share a slot.
+            cellCounts[ring[tail]]--;
+            tail = (tail - 1) & (ring.length - 1);
         }
 
-        body.addFirst(newHead);
-        if (!grow) body.removeLast();
+        head = (head - 1) & (ring.length - 1);
+        int newHead = y * cols + x;
+        ring[head] = newHead;
+        cellCounts[newHead]++;
+        moves++;
     }
 
     /**
@@ -78,19 +126,79 @@ public class Snake {
     /**
      * Returns the current head position.
      *
-     * @return head position in pixels
+     * @return new point holding the head position in pixels
      */
     public Point getHead() {
-        return body.peekFirst();
+        return board.toPixel(ring[head]);
+    }
+
+    /**
+     * Returns the body as a read-only, head-first view.
+     *
+     * <p>Each element access creates a fresh {@link Point}; hot paths should prefer
+     * {@link #cellAt(int)} and {@link #length()}.</p>
+     *
+     * @return body segments in pixel coordinates
+     */
+    public List<Point> getBody() {
+        return bodyView;
+    }
+
+    /**
+     * Returns the number of body segments.
+     *
+     * @return snake length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns how many times this snake has moved.
+     *
+     * @return move count
+     */
+    long moveCount() {
+        return moves;
+    }
+
+    /**
+     * Returns the cell index ({@code y * cols + x}) of the head.
+     *
+     * @return head cell index
+     */
+    public int getHeadCell() {
+        return ring[head];
+    }
+
+    /**
+     * Returns the cell index ({@code y * cols + x}) of the tail.
+     *
+     * @return tail cell index
+     */
+    public int getTailCell() {
+        return ring[tail];
+    }
+
+    /**
+     * Returns the cell index of the segment at the given position (0 = head).
+     *
+     * @param i segment position in head-to-tail order
+     * @return cell index
+     */
+    public int cellAt(int i) {
+        if (i < 0 || i >= length) throw new IndexOutOfBoundsException("Segment " + i + " of " + length);
+        return ring[(head + i) & (ring.length - 1)];
     }
 
     /**
-     * Returns the underlying body deque (head-first).
+     * Returns how many body segments currently occupy the given cell.
      *
-     * @return body segments as a deque
+     * @param cell cell index
+     * @return occupancy count (0 if free)
      */
-    public Deque<Point> getBody() {
-        return body;
+    public int occupancyAt(int cell) {
+        return cellCounts[cell];
     }
 
     /**
@@ -99,24 +207,95 @@ public class Snake {
      * @return {@code true} if the snake is currently self-colliding
      */
     public boolean isSelfColliding() {
-        Point head = getHead();
-        return body.stream().skip(1).anyMatch(p -> p.equals(head));
+        return cellCounts[ring[head]] > 1;
+    }
+
+    /**
+     * Returns the board this snake lives on.
+     *
+     * @return board geometry
+     */
+    public BoardGeometry getBoard() {
+        return board;
+    }
+
+    /**
+     * Reconstructs a snake on the default board from a list of body points (e.g., from a snapshot).
+     *
+     * @param bodyPoints body segments in head-to-tail order
+     * @param direction current direction
+     * @return reconstructed snake
+     */
+    public static Snake fromBody(List<Point> bodyPoints, Direction direction) {
+        return fromBody(BoardGeometry.DEFAULT, bodyPoints, direction);
     }
 
     /**
      * Reconstructs a snake instance from a list of body points (e.g., from a snapshot).
      *
+     * @param board board the snake lives on
      * @param bodyPoints body segments in head-to-tail order
      * @param direction current direction
      * @return reconstructed snake
      */
-    public static Snake fromBody(java.util.List<Point> bodyPoints, Direction direction) {
-        java.util.Deque<Point> dq = new java.util.LinkedList<>();
-        for (Point p : bodyPoints) dq.addLast(new Point(p));
-        Snake s = new Snake(new Point(0,0), 1, direction); // temporary
-        s.body.clear();
-        s.body.addAll(dq);
-        s.currentDirection = direction;
+    public static Snake fromBody(BoardGeometry board, List<Point> bodyPoints, Direction direction) {
+        Snake s = new Snake(board, bodyPoints.size(), direction);
+        for (Point p : bodyPoints) s.append(board.wrappedCellOf(p));
         return s;
     }
+
+    /**
+     * Reconstructs a snake from its body cells, as returned by {@link #cells()}.
+     *
+     * @param board board the snake lives on
+     * @param cells body cell indices in head-to-tail order
+     * @param direction current direction
+     * @return reconstructed snake
+     */
+    static Snake fromCells(BoardGeometry board, int[] cells, Direction direction) {
+        Snake s = new Snake(board, cells.length, direction);
+        for (int cell : cells) s.append(cell);
+        return s;
+    }
+
+    /**
+     * Returns the body cells in head-to-tail order.
+     *
+     * @return new array of cell indices
+     */
+    int[] cells() {
+        int[] cells = new int[length];
+        for (int i = 0; i < length; i++) cells[i] = ring[(head + i) & (ring.length - 1)];
+        return cells;
+    }
+
+    private void append(int cell) {
+        if (length == ring.length) growCapacity();
+        tail = (tail + 1) & (ring.length - 1);
+        ring[tail] = cell;
+        cellCounts[cell]++;
+        length++;
+    }
+
+    private void growCapacity() {
+        int[] next = new int[ring.length << 1];
+        for (int i = 0; i < length; i++) {
+            next[i] = ring[(head + i) & (ring.length - 1)];
+        }
+        ring = next;
+        head = 0;
+        tail = (length - 1) & (ring.length - 1);
+    }
+
+    private final class BodyView extends AbstractList<Point> implements RandomAccess {
+        @Override
+        public Point get(int index) {
+            return board.toPixel(cellAt(index));
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
 }
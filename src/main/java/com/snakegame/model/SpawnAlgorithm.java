@@ -0,0 +1,45 @@
+package com.snakegame.model;
+
+/**
+ * How a run picks random cells for apples, static obstacles and auto-added moving obstacles.
+ *
+ * <p>The choice changes how the seeded RNG is consumed, so it is part of the run settings and is
+ * stored with saves and replays by {@link #version()}. Recordings made before this setting existed
+ * used {@link #REJECTION}.</p>
+ */
+public enum SpawnAlgorithm {
+    /** Draws random cells until a free one turns up; the retry count grows as the board fills. */
+    REJECTION(1),
+    /** Draws once from the occupancy grid's free-cell index; bounded RNG calls per spawn. */
+    FREE_CELL_INDEX(2);
+
+    /** Algorithm used for new runs. */
+    public static final SpawnAlgorithm CURRENT = FREE_CELL_INDEX;
+
+    private final int version;
+
+    SpawnAlgorithm(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns the number this algorithm is persisted as.
+     *
+     * @return version number
+     */
+    public int version() { return version; }
+
+    /**
+     * Returns the algorithm persisted as the given version.
+     *
+     * @param version version number
+     * @return matching algorithm
+     * @throws IllegalArgumentException if the version is unknown
+     */
+    public static SpawnAlgorithm fromVersion(int version) {
+        for (SpawnAlgorithm a : values()) {
+            if (a.version == version) return a;
+        }
+        throw new IllegalArgumentException("Unknown spawn algorithm version: " + version);
+    }
+}
@@ -0,0 +1,71 @@
+package com.snakegame.model;
+
+import java.util.Random;
+
+/**
+ * SplitMix64 generator (the algorithm behind {@link java.util.SplittableRandom}) whose whole state
+ * is one {@code long} that can be read and restored.
+ *
+ * <p>It extends {@link Random} so the simulation keeps a single RNG type; every bounded draw
+ * ({@code nextInt(bound)}, {@code nextBoolean()}, ...) goes through {@link #next(int)} and is
+ * therefore fully determined by {@link #state()}. Not thread-safe, like the rest of the
+ * simulation.</p>
+ */
+public final class SplitMix64Random extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /**
+     * Creates a generator for a run seed.
+     *
+     * @param seed run seed
+     */
+    public SplitMix64Random(long seed) {
+        super(seed); // calls setSeed, which sets the state
+    }
+
+    /**
+     * Returns the current state; a generator given this state continues with the same numbers.
+     *
+     * @return 64-bit state
+     */
+    public long state() { return state; }
+
+    /**
+     * Restores a state returned by {@link #state()}.
+     *
+     * @param state 64-bit state
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * Re-seeds the generator. The seed is mixed once so that nearby seeds start far apart.
+     *
+     * @param seed run seed
+     */
+    @Override
+    public void setSeed(long seed) {
+        state = mix64(seed);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,294 @@
+package com.snakegame.replay;
+
+import com.snakegame.config.GameSettings;
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.mode.GameMode;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.Direction;
+import com.snakegame.model.RngAlgorithm;
+import com.snakegame.model.SpawnAlgorithm;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary replay format (version 3), read and written as a stream.
+ *
+ * <p>Layout, big-endian as written by {@link DataOutputStream}:</p>
+ * <pre>
+ *   "SNKR"                      magic
+ *   u8      format version      (3; 1 and 2 were the text format)
+ *   i64     savedAtMillis, seed
+ *   i32     finalScore, startMapId
+ *   settings (fixed fields):
+ *     i32   difficultyLevel, selectedMapId, raceThreshold, movingObstacleCount
+ *     u8    flags               obstacles, sound, music, grid, moving obstacles, auto-increment
+ *     UTF   currentMode, aiBaseMode, theme, playerName
+ *     u8    has player id, then i64 most/least significant bits if set
+ *     i32   board columns, rows
+ *     u8    spawn algorithm version
+ *     u8    RNG algorithm version
+ *   varint  interrupted-at tick + 1 (0 for a run that ended)
+ *   varint  event count
+ *   varint  per event: (tick delta &lt;&lt; 2) | direction code
+ * </pre>
+ *
+ * <p>Ticks are stored as the distance to the previous event (the first one to tick 0), so a typical
+ * input costs one or two bytes. Enums are stored by name, so reordering their constants does not
+ * break old files.</p>
+ */
+final class BinaryReplayFormat {
+    /** Version of this format. */
+    static final int VERSION = 3;
+
+    private static final byte[] MAGIC = {'S', 'N', 'K', 'R'};
+
+    /** Direction for each 2-bit code; fixed independently of {@link Direction}'s declaration order. */
+    private static final Direction[] DIRECTIONS = {Direction.UP, Direction.RIGHT, Direction.DOWN, Direction.LEFT};
+
+    private static final int OBSTACLES = 1;
+    private static final int SOUND = 1 << 1;
+    private static final int MUSIC = 1 << 2;
+    private static final int GRID = 1 << 3;
+    private static final int MOVING = 1 << 4;
+    private static final int MOVING_AUTO = 1 << 5;
+
+    private BinaryReplayFormat() {}
+
+    /**
+     * Returns whether the stream starts with this format's magic, leaving its position unchanged.
+     *
+     * @param in stream supporting {@link InputStream#mark(int)}
+     * @return {@code true} for a binary replay
+     * @throws IOException if reading fails
+     */
+    static boolean hasMagic(InputStream in) throws IOException {
+        in.mark(MAGIC.length);
+        byte[] head = in.readNBytes(MAGIC.length);
+        in.reset();
+        return Arrays.equals(head, MAGIC);
+    }
+
+    /**
+     * Writes a replay.
+     *
+     * @param out destination (buffer it; this writes field by field)
+     * @param data replay to write
+     * @param savedAtMillis wall-clock save time
+     * @throws IOException if writing fails
+     */
+    static void write(OutputStream out, ReplayData data, long savedAtMillis) throws IOException {
+        DataOutputStream o = new DataOutputStream(out);
+        writeHeader(o, data, savedAtMillis);
+
+        List<ReplayEvent> events = validEvents(data.events);
+        writeVarLong(o, events.size());
+        long previousTick = 0;
+        for (ReplayEvent ev : events) {
+            writeVarLong(o, eventValue(ev.tick - previousTick, ev.direction));
+            previousTick = ev.tick;
+        }
+        o.flush();
+    }
+
+    /**
+     * Writes everything before the event count: magic, version, run metadata and settings.
+     *
+     * @param o destination
+     * @param data replay whose metadata to write ({@link ReplayData#events} is ignored)
+     * @param savedAtMillis wall-clock save time
+     * @throws IOException if writing fails
+     */
+    static void writeHeader(DataOutputStream o, ReplayData data, long savedAtMillis) throws IOException {
+        o.write(MAGIC);
+        o.writeByte(VERSION);
+        o.writeLong(savedAtMillis);
+        o.writeLong(data.seed);
+        o.writeInt(data.finalScore);
+        o.writeInt(data.startMapId);
+
+        SettingsSnapshot s = data.runSettingsSnapshot;
+        o.writeInt(s.difficultyLevel());
+        o.writeInt(s.selectedMapId());
+        o.writeInt(s.raceThreshold());
+        o.writeInt(s.movingObstacleCount());
+        int flags = (s.obstaclesEnabled() ? OBSTACLES : 0)
+                | (s.soundEnabled() ? SOUND : 0)
+                | (s.musicEnabled() ? MUSIC : 0)
+                | (s.showGrid() ? GRID : 0)
+                | (s.movingObstaclesEnabled() ? MOVING : 0)
+                | (s.movingObstaclesAutoIncrement() ? MOVING_AUTO : 0);
+        o.writeByte(flags);
+        o.writeUTF(s.currentMode().name());
+        o.writeUTF(s.aiBaseMode().name());
+        o.writeUTF(s.selectedTheme().name());
+        o.writeUTF(s.playerName() == null ? "Player" : s.playerName());
+        UUID id = s.playerId();
+        o.writeBoolean(id != null);
+        if (id != null) {
+            o.writeLong(id.getMostSignificantBits());
+            o.writeLong(id.getLeastSignificantBits());
+        }
+        o.writeInt(s.board().cols());
+        o.writeInt(s.board().rows());
+        o.writeByte(s.spawnAlgorithm().version());
+        o.writeByte(s.rngAlgorithm().version());
+        writeVarLong(o, Math.max(-1, data.interruptedAtTick) + 1);
+    }
+
+    /**
+     * Reads a replay.
+     *
+     * @param in source positioned at the magic (buffer it; this reads field by field)
+     * @return replay data
+     * @throws IOException if reading fails, the data is truncated or the version is unknown
+     * @throws IllegalArgumentException if a stored value is invalid
+     */
+    static ReplayData read(InputStream in) throws IOException {
+        DataInputStream i = new DataInputStream(in);
+        ReplayData d = readHeader(i);
+
+        long count = readVarLong(i);
+        if (count < 0 || count > Integer.MAX_VALUE - 8) throw new IOException("Bad replay event count: " + count);
+        // Do not trust the count for the allocation; a corrupt file would otherwise reserve gigabytes.
+        List<ReplayEvent> events = new ArrayList<>((int) Math.min(count, 1 << 16));
+        long tick = 0;
+        for (long n = 0; n < count; n++) {
+            ReplayEvent ev = event(readVarLong(i), tick);
+            events.add(ev);
+            tick = ev.tick;
+        }
+        d.events = events;
+        return d;
+    }
+
+    /**
+     * Reads everything before the event count.
+     *
+     * @param i source positioned at the magic
+     * @return replay data with no events
+     * @throws IOException if reading fails, the data is truncated or the version is unknown
+     * @throws IllegalArgumentException if a stored value is invalid
+     */
+    static ReplayData readHeader(DataInputStream i) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        i.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) throw new IOException("Not a binary replay");
+        int version = i.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported replay format version: " + version);
+
+        ReplayData d = new ReplayData();
+        d.version = version;
+        i.readLong(); // savedAtMillis
+        d.seed = i.readLong();
+        d.finalScore = i.readInt();
+        d.startMapId = i.readInt();
+
+        int difficultyLevel = i.readInt();
+        int selectedMapId = i.readInt();
+        int raceThreshold = i.readInt();
+        int movingObstacleCount = i.readInt();
+        int flags = i.readUnsignedByte();
+        GameMode currentMode = GameMode.valueOf(i.readUTF());
+        GameMode aiBaseMode = GameMode.valueOf(i.readUTF());
+        GameSettings.Theme theme = GameSettings.Theme.valueOf(i.readUTF());
+        String playerName = i.readUTF();
+        UUID playerId = i.readBoolean() ? new UUID(i.readLong(), i.readLong()) : null;
+        BoardGeometry board = new BoardGeometry(i.readInt(), i.readInt());
+        SpawnAlgorithm spawnAlgorithm = SpawnAlgorithm.fromVersion(i.readUnsignedByte());
+        RngAlgorithm rngAlgorithm = RngAlgorithm.fromVersion(i.readUnsignedByte());
+
+        d.runSettingsSnapshot = SettingsSnapshot.builder()
+                .difficultyLevel(difficultyLevel)
+                .obstaclesEnabled((flags & OBSTACLES) != 0)
+                .currentMode(currentMode)
+                .selectedMapId(selectedMapId)
+                .raceThreshold(raceThreshold)
+                .soundEnabled((flags & SOUND) != 0)
+                .musicEnabled((flags & MUSIC) != 0)
+                .showGrid((flags & GRID) != 0)
+                .playerName(playerName)
+                .playerId(playerId)
+                .selectedTheme(theme)
+                .movingObstaclesEnabled((flags & MOVING) != 0)
+                .movingObstacleCount(movingObstacleCount)
+                .movingObstaclesAutoIncrement((flags & MOVING_AUTO) != 0)
+                .aiBaseMode(aiBaseMode)
+                .board(board)
+                .spawnAlgorithm(spawnAlgorithm)
+                .rngAlgorithm(rngAlgorithm)
+                .build();
+        d.interruptedAtTick = readVarLong(i) - 1;
+        return d;
+    }
+
+    /**
+     * Decodes one event record.
+     *
+     * @param value record as read by {@link #readVarLong}
+     * @param previousTick tick of the preceding event ({@code 0} for the first)
+     * @return event
+     */
+    static ReplayEvent event(long value, long previousTick) {
+        return new ReplayEvent(previousTick + (value >>> 2), DIRECTIONS[(int) (value & 3)]);
+    }
+
+    /**
+     * Encodes one event record.
+     *
+     * @param tickDelta ticks since the preceding event (not negative)
+     * @param direction input direction
+     * @return record to write with {@link #writeVarLong}
+     */
+    static long eventValue(long tickDelta, Direction direction) {
+        return (tickDelta << 2) | code(direction);
+    }
+
+    private static List<ReplayEvent> validEvents(List<ReplayEvent> events) {
+        List<ReplayEvent> out = new ArrayList<>(events == null ? 0 : events.size());
+        if (events == null) return out;
+        for (ReplayEvent ev : events) {
+            if (ev != null && ev.direction != null && ev.tick >= 0) out.add(ev);
+        }
+        // Deltas must not be negative; the sort is stable, so same-tick inputs keep their order.
+        out.sort(Comparator.comparingLong(ev -> ev.tick));
+        return out;
+    }
+
+    private static int code(Direction d) {
+        return switch (d) {
+            case UP -> 0;
+            case RIGHT -> 1;
+            case DOWN -> 2;
+            case LEFT -> 3;
+        };
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint: 7 bits per byte, high bit set on all but the last byte.
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint written by {@link #writeVarLong}.
+     */
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,158 @@
+package com.snakegame.replay;
+
+import com.snakegame.config.GameSettings;
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.Direction;
+import com.snakegame.model.RngAlgorithm;
+import com.snakegame.model.SpawnAlgorithm;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * The text replay format used up to version 2: a {@link Properties} file with flattened settings and
+ * an {@code events} value of the form {@code tick:DIR;tick:DIR;...}.
+ *
+ * <p>New replays are written by {@link BinaryReplayFormat}; this format is still read so existing
+ * files keep loading.</p>
+ */
+final class PropertiesReplayFormat {
+    /** Last version written in this format. */
+    static final int VERSION = 2;
+
+    private PropertiesReplayFormat() {}
+
+    /**
+     * Writes a replay in the text format.
+     *
+     * @param w destination
+     * @param data replay to write
+     * @param savedAtMillis wall-clock save time
+     * @throws IOException if writing fails
+     */
+    static void write(Writer w, ReplayData data, long savedAtMillis) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("version", String.valueOf(VERSION));
+        p.setProperty("savedAtMillis", String.valueOf(savedAtMillis));
+        p.setProperty("seed", String.valueOf(data.seed));
+        p.setProperty("finalScore", String.valueOf(data.finalScore));
+        p.setProperty("startMapId", String.valueOf(data.startMapId));
+
+        // Flatten SettingsSnapshot (same fields order as your snapshot constructor)
+        SettingsSnapshot s = data.runSettingsSnapshot;
+        p.setProperty("difficultyLevel", String.valueOf(s.difficultyLevel()));
+        p.setProperty("obstaclesEnabled", String.valueOf(s.obstaclesEnabled()));
+        p.setProperty("currentMode", s.currentMode().name());
+        p.setProperty("selectedMapId", String.valueOf(s.selectedMapId()));
+        p.setProperty("raceThreshold", String.valueOf(s.raceThreshold()));
+        p.setProperty("soundEnabled", String.valueOf(s.soundEnabled()));
+        p.setProperty("musicEnabled", String.valueOf(s.musicEnabled()));
+        p.setProperty("showGrid", String.valueOf(s.showGrid()));
+        p.setProperty("playerName", s.playerName() == null ? "Player" : s.playerName());
+        p.setProperty("playerId", s.playerId() == null ? "" : s.playerId().toString());
+        p.setProperty("theme", s.selectedTheme().name());
+        p.setProperty("movingObstaclesEnabled", String.valueOf(s.movingObstaclesEnabled()));
+        p.setProperty("movingObstacleCount", String.valueOf(s.movingObstacleCount()));
+        p.setProperty("movingObstaclesAutoIncrement", String.valueOf(s.movingObstaclesAutoIncrement()));
+        p.setProperty("aiBaseMode", s.aiBaseMode().name());
+        p.setProperty("board", s.board().toString());
+        p.setProperty("spawnAlgorithm", String.valueOf(s.spawnAlgorithm().version()));
+
+        // Encode events: tick:DIR;tick:DIR;...
+        p.setProperty("events", encodeEvents(data.events));
+
+        p.store(w, "Snake Replay");
+    }
+
+    /**
+     * Reads a replay in the text format.
+     *
+     * @param r source
+     * @return replay data
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if a value is malformed
+     */
+    static ReplayData read(Reader r) throws IOException {
+        Properties p = new Properties();
+        p.load(r);
+
+        ReplayData d = new ReplayData();
+        d.version = Integer.parseInt(p.getProperty("version", "1"));
+        d.seed = Long.parseLong(p.getProperty("seed", "0"));
+        d.finalScore = Integer.parseInt(p.getProperty("finalScore", "0"));
+
+        java.util.UUID playerId;
+        String playerIdValue = p.getProperty("playerId", "");
+        if (playerIdValue != null && !playerIdValue.isBlank()) {
+            try {
+                playerId = java.util.UUID.fromString(playerIdValue);
+            } catch (IllegalArgumentException e) {
+                playerId = GameSettings.getPlayerId();
+            }
+        } else {
+            playerId = GameSettings.getPlayerId();
+        }
+
+        SettingsSnapshot ss = SettingsSnapshot.builder()
+                .difficultyLevel(Integer.parseInt(p.getProperty("difficultyLevel", "20")))
+                .obstaclesEnabled(Boolean.parseBoolean(p.getProperty("obstaclesEnabled", "false")))
+                .currentMode(com.snakegame.mode.GameMode.valueOf(p.getProperty("currentMode", "STANDARD")))
+                .selectedMapId(Integer.parseInt(p.getProperty("selectedMapId", "1")))
+                .raceThreshold(Integer.parseInt(p.getProperty("raceThreshold", "20")))
+                .soundEnabled(Boolean.parseBoolean(p.getProperty("soundEnabled", "true")))
+                .musicEnabled(Boolean.parseBoolean(p.getProperty("musicEnabled", "true")))
+                .showGrid(Boolean.parseBoolean(p.getProperty("showGrid", "true")))
+                .playerName(p.getProperty("playerName", "Player"))
+                .playerId(playerId)
+                .selectedTheme(GameSettings.Theme.valueOf(p.getProperty("theme", "RETRO")))
+                .movingObstaclesEnabled(Boolean.parseBoolean(p.getProperty("movingObstaclesEnabled", "false")))
+                .movingObstacleCount(Integer.parseInt(p.getProperty("movingObstacleCount", "0")))
+                .movingObstaclesAutoIncrement(Boolean.parseBoolean(p.getProperty("movingObstaclesAutoIncrement", "false")))
+                // Older replays did not record it; fall back to the session value they were played with.
+                .aiBaseMode(com.snakegame.mode.GameMode.valueOf(p.getProperty("aiBaseMode", GameSettings.getAiBaseMode().name())))
+                // Files written before board sizes existed were played on the default board.
+                .board(BoardGeometry.parse(p.getProperty("board"), BoardGeometry.DEFAULT))
+                // Files written before the free-cell index used rejection sampling.
+                .spawnAlgorithm(SpawnAlgorithm.fromVersion(Integer.parseInt(p.getProperty("spawnAlgorithm", "1"))))
+                // The text format predates selectable RNGs; all such replays used java.util.Random.
+                .rngAlgorithm(RngAlgorithm.JDK_RANDOM)
+                .build();
+        d.runSettingsSnapshot = ss;
+        d.startMapId = Integer.parseInt(p.getProperty("startMapId", String.valueOf(ss.selectedMapId())));
+
+        d.events = decodeEvents(p.getProperty("events", ""));
+        return d;
+    }
+
+    private static String encodeEvents(List<ReplayEvent> events) {
+        if (events == null || events.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder();
+        for (ReplayEvent ev : events) {
+            if (ev == null || ev.direction == null) continue;
+            if (sb.length() > 0) sb.append(';');
+            sb.append(ev.tick).append(':').append(ev.direction.name());
+        }
+        return sb.toString();
+    }
+
+    private static List<ReplayEvent> decodeEvents(String s) {
+        List<ReplayEvent> out = new ArrayList<>();
+        if (s == null || s.isBlank()) return out;
+
+        String[] items = s.split(";");
+        for (String item : items) {
+            if (item.isBlank()) continue;
+            String[] parts = item.split(":");
+            if (parts.length != 2) continue;
+            long tick = Long.parseLong(parts[0].trim());
+            Direction dir = Direction.valueOf(parts[1].trim());
+            out.add(new ReplayEvent(tick, dir));
+        }
+        // sort safety
+        out.sort(Comparator.comparingLong(e -> e.tick));
+        return out;
+    }
+}
@@ -1,7 +1,5 @@
 package com.snakegame.replay;
 
-import com.snakegame.model.Direction;
-import com.snakegame.model.GameConfig;
 import com.snakegame.model.GameState;
 
 import javax.swing.*;
@@ -13,16 +11,21 @@ import java.util.List;
  * Timer-driven controller that replays a recorded run in "watch-only" mode.
  *
  * <p>Inputs are applied according to their recorded tick before advancing the simulation. Playback
- * speed can be adjusted independently from the simulation tick rate.</p>
+ * speed can be adjusted independently from the simulation tick rate. With a {@link ReplayIndex},
+ * playback can jump to any tick through {@link #seek(ReplayIndex, long)}, which replaces the
+ * replayed state. The recording of an interrupted run stops at the tick it was interrupted at
+ * instead of playing on without inputs.</p>
  */
 public class ReplayController implements ActionListener {
 
-    private final GameState state;
+    private GameState state;
     private final Timer timer;
     private final Runnable repaintCallback;
 
     private final List<ReplayEvent> events;
     private int eventIndex = 0;
+    /** Tick an interrupted recording stops at, or {@code -1}. */
+    private final long interruptedAtTick;
 
     private boolean playing = false;
 
@@ -38,7 +41,22 @@ public class ReplayController implements ActionListener {
      * @param repaintCallback callback used to repaint the UI after each tick
      */
     public ReplayController(GameState state, int baseTickMs, List<ReplayEvent> events, Runnable repaintCallback) {
+        this(state, baseTickMs, events, -1, repaintCallback);
+    }
+
+    /**
+     * Creates a replay controller for a recording that may stop before its game over.
+     *
+     * @param state game state seeded/configured for watch-only replay
+     * @param baseTickMs base simulation tick in milliseconds
+     * @param events recorded input events
+     * @param interruptedAtTick tick the recording stops at ({@link ReplayData#interruptedAtTick}), or {@code -1}
+     * @param repaintCallback callback used to repaint the UI after each tick
+     */
+    public ReplayController(GameState state, int baseTickMs, List<ReplayEvent> events, long interruptedAtTick,
+                            Runnable repaintCallback) {
         this.state = state;
+        this.interruptedAtTick = interruptedAtTick;
         this.baseTickMs = Math.max(1, baseTickMs);
         this.events = (events == null) ? List.of() : events;
         this.repaintCallback = repaintCallback;
@@ -47,6 +65,28 @@ public class ReplayController implements ActionListener {
         this.state.setTickMs(this.baseTickMs);
     }
 
+    /**
+     * Returns the replayed state; a different instance after each {@link #seek}.
+     *
+     * @return current state
+     */
+    public GameState getState() { return state; }
+
+    /**
+     * Jumps to a tick, keeping the play/pause state. Seeking back to a finished position pauses.
+     *
+     * @param index seek index built for this replay
+     * @param tick target tick (clamped to the replay's length)
+     */
+    public void seek(ReplayIndex index, long tick) {
+        ReplayIndex.Position position = index.seek(tick);
+        state = position.state();
+        eventIndex = position.eventIndex();
+        timer.setDelay(scaledDelayMs(currentEffectiveTickMs()));
+        if (atEnd()) pause();
+        repaintCallback.run();
+    }
+
     /**
      * Starts playback.
      */
@@ -108,32 +148,26 @@ public class ReplayController implements ActionListener {
         state.setTickMs(effectiveTickMs);
         timer.setDelay(scaledDelayMs(effectiveTickMs));
 
-        if (!state.isRunning()) {
+        if (atEnd()) {
             pause();
             repaintCallback.run();
             return;
         }
 
-        // Apply all inputs scheduled for the current tick BEFORE update
-        long t = state.getTick();
-        while (eventIndex < events.size() && events.get(eventIndex).tick == t) {
-            Direction dir = events.get(eventIndex).direction;
-            if (dir != null) state.setDirection(dir);
-            eventIndex++;
-        }
-
-        state.update();
+        eventIndex = ReplayIndex.step(state, baseTickMs, events, eventIndex);
         repaintCallback.run();
 
-        if (!state.isRunning()) {
+        if (atEnd()) {
             pause();
         }
     }
 
+    private boolean atEnd() {
+        return !state.isRunning() || (interruptedAtTick >= 0 && state.getTick() >= interruptedAtTick);
+    }
+
     private int currentEffectiveTickMs() {
-        return state.isSlowed()
-                ? baseTickMs + GameConfig.SLOWDOWN_OFFSET_MS
-                : baseTickMs;
+        return ReplayIndex.effectiveTickMs(state, baseTickMs);
     }
 
     private int scaledDelayMs(int simulationTickMs) {
@@ -11,9 +11,9 @@ import java.util.List;
  * and a list of tick-indexed input events.</p>
  */
 public class ReplayData {
-    public static final int CURRENT_VERSION = 2;
+    public static final int CURRENT_VERSION = BinaryReplayFormat.VERSION;
 
-    /** Replay file format version. */
+    /** Replay file format version: up to 2 for the text format, 3 for the binary one. */
     public int version = CURRENT_VERSION;
 
     public long seed;
@@ -29,4 +29,18 @@ public class ReplayData {
     public int startMapId;
 
     public List<ReplayEvent> events = new ArrayList<>();
+
+    /**
+     * Tick at which the recording stops for a run that was interrupted (e.g. by a crash) rather than
+     * ended; {@code -1} for a run that reached its game over.
+     */
+    public long interruptedAtTick = -1;
+
+    /**
+     * Returns whether this is the recording of an interrupted run, which stops at
+     * {@link #interruptedAtTick} instead of a game over.
+     *
+     * @return {@code true} if the run was interrupted
+     */
+    public boolean isInterrupted() { return interruptedAtTick >= 0; }
 }
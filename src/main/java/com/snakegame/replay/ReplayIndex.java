@@ -0,0 +1,214 @@
+package com.snakegame.replay;
+
+import com.snakegame.model.Direction;
+import com.snakegame.model.GameConfig;
+import com.snakegame.model.GameState;
+import com.snakegame.model.RunCheckpoints;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seek index for a replay: exact {@link RunCheckpoints} of the replayed {@link GameState} every few ticks.
+ *
+ * <p>Building the index plays the replay through once, headless, which also finds its length.
+ * Seeking then restores the nearest keyframe at or before the target and plays forward from there,
+ * so a seek costs at most one keyframe interval of ticks however long the replay is. Most keyframes
+ * hold what changed since the previous one rather than whole board-sized copies, so the index stays
+ * small on large boards; they are never advanced themselves, so an index can be shared and seeked
+ * repeatedly.</p>
+ *
+ * <p>Build it off the EDT for long replays; a built index is immutable.</p>
+ */
+public final class ReplayIndex {
+    /** Ticks between keyframes. */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 200;
+
+    /** Replays normally end in a game over; this bounds one that keeps going after its last input. */
+    static final long MAX_TICKS_AFTER_LAST_INPUT = 100_000;
+
+    /**
+     * A replayed state together with the position in the input list it has reached.
+     *
+     * @param state replayed state, owned by the caller
+     * @param eventIndex index of the first input not yet applied
+     */
+    public record Position(GameState state, int eventIndex) {}
+
+    private final List<ReplayEvent> events;
+    private final int baseTickMs;
+    private final int interval;
+    private final RunCheckpoints keyframes;
+    /** Index of the first input not yet applied at each keyframe. */
+    private final int[] keyframeEventIndexes;
+    private final long endTick;
+    private final long endElapsedMs;
+
+    private ReplayIndex(List<ReplayEvent> events, int baseTickMs, int interval, RunCheckpoints keyframes,
+                        int[] keyframeEventIndexes, long endTick, long endElapsedMs) {
+        this.events = events;
+        this.baseTickMs = baseTickMs;
+        this.interval = interval;
+        this.keyframes = keyframes;
+        this.keyframeEventIndexes = keyframeEventIndexes;
+        this.endTick = endTick;
+        this.endElapsedMs = endElapsedMs;
+    }
+
+    /**
+     * Builds an index with {@link #DEFAULT_KEYFRAME_INTERVAL}.
+     *
+     * @param initial freshly created state for the replay (not modified)
+     * @param baseTickMs base simulation tick in milliseconds
+     * @param events recorded input events
+     * @return index
+     */
+    public static ReplayIndex build(GameState initial, int baseTickMs, List<ReplayEvent> events) {
+        return build(initial, baseTickMs, events, -1);
+    }
+
+    /**
+     * Builds an index with {@link #DEFAULT_KEYFRAME_INTERVAL} for a replay that may be the recording
+     * of an interrupted run.
+     *
+     * @param initial freshly created state for the replay (not modified)
+     * @param baseTickMs base simulation tick in milliseconds
+     * @param events recorded input events
+     * @param interruptedAtTick tick the recording stops at ({@link ReplayData#interruptedAtTick}), or {@code -1}
+     * @return index
+     */
+    public static ReplayIndex build(GameState initial, int baseTickMs, List<ReplayEvent> events, long interruptedAtTick) {
+        List<ReplayEvent> evs = (events == null) ? List.of() : events;
+        return build(initial, baseTickMs, evs, DEFAULT_KEYFRAME_INTERVAL, maxTicks(evs, interruptedAtTick));
+    }
+
+    /**
+     * Returns the tick at which replaying stops if the run has not ended by then: the tick an
+     * interrupted recording stops at, otherwise {@link #MAX_TICKS_AFTER_LAST_INPUT} after the last input.
+     *
+     * @param events recorded input events
+     * @param interruptedAtTick tick the recording stops at ({@link ReplayData#interruptedAtTick}), or {@code -1}
+     * @return tick limit
+     */
+    static long maxTicks(List<ReplayEvent> events, long interruptedAtTick) {
+        if (interruptedAtTick >= 0) return interruptedAtTick;
+        long lastInputTick = events.isEmpty() ? 0 : events.get(events.size() - 1).tick;
+        return lastInputTick + MAX_TICKS_AFTER_LAST_INPUT;
+    }
+
+    /**
+     * Builds an index.
+     *
+     * @param initial freshly created state for the replay (not modified)
+     * @param baseTickMs base simulation tick in milliseconds
+     * @param events recorded input events
+     * @param interval ticks between keyframes (at least 1)
+     * @param maxTicks tick at which indexing stops if the run has not ended
+     * @return index
+     */
+    static ReplayIndex build(GameState initial, int baseTickMs, List<ReplayEvent> events, int interval, long maxTicks) {
+        List<ReplayEvent> evs = (events == null) ? List.of() : events;
+        int every = Math.max(1, interval);
+        int base = Math.max(1, baseTickMs);
+
+        GameState state = initial.copy();
+        int eventIndex = 0;
+        RunCheckpoints keyframes = new RunCheckpoints();
+        int[] eventIndexes = new int[16];
+        keyframes.add(state);
+        while (state.isRunning() && state.getTick() < maxTicks) {
+            eventIndex = step(state, base, evs, eventIndex);
+            if (state.isRunning() && state.getTick() % every == 0) {
+                if (keyframes.size() == eventIndexes.length) eventIndexes = Arrays.copyOf(eventIndexes, eventIndexes.length * 2);
+                eventIndexes[keyframes.size()] = eventIndex;
+                keyframes.add(state);
+            }
+        }
+        return new ReplayIndex(evs, base, every, keyframes, Arrays.copyOf(eventIndexes, keyframes.size()),
+                state.getTick(), state.getElapsedSimTimeMs());
+    }
+
+    /**
+     * Advances a replayed state by one tick: applies every input recorded for the current tick, then
+     * updates the simulation at the effective tick duration.
+     *
+     * @param state state to advance
+     * @param baseTickMs base simulation tick in milliseconds
+     * @param events recorded input events
+     * @param eventIndex index of the first input not yet applied
+     * @return index of the first input not yet applied after this tick
+     */
+    static int step(GameState state, int baseTickMs, List<ReplayEvent> events, int eventIndex) {
+        // Keep tickMs deterministic and independent from playback speed.
+        state.setTickMs(effectiveTickMs(state, baseTickMs));
+
+        // Apply all inputs scheduled for the current tick BEFORE update
+        long t = state.getTick();
+        while (eventIndex < events.size() && events.get(eventIndex).tick == t) {
+            Direction dir = events.get(eventIndex).direction;
+            if (dir != null) state.setDirection(dir);
+            eventIndex++;
+        }
+
+        state.update();
+        return eventIndex;
+    }
+
+    /**
+     * Returns the tick duration in effect for the next tick of a replayed state.
+     *
+     * @param state replayed state
+     * @param baseTickMs base simulation tick in milliseconds
+     * @return tick duration in milliseconds
+     */
+    static int effectiveTickMs(GameState state, int baseTickMs) {
+        return state.isSlowed()
+                ? baseTickMs + GameConfig.SLOWDOWN_OFFSET_MS
+                : baseTickMs;
+    }
+
+    /**
+     * Replays up to a tick, starting from the nearest keyframe.
+     *
+     * @param tick target tick (clamped to {@code [0, endTick()]})
+     * @return new state at the target tick, owned by the caller
+     */
+    public Position seek(long tick) {
+        long target = Math.max(0, Math.min(tick, endTick));
+        int k = (int) Math.min(target / interval, keyframes.size() - 1);
+        GameState state = keyframes.restore(k);
+        int eventIndex = keyframeEventIndexes[k];
+        while (state.isRunning() && state.getTick() < target) {
+            eventIndex = step(state, baseTickMs, events, eventIndex);
+        }
+        return new Position(state, eventIndex);
+    }
+
+    /**
+     * Returns the tick at which the replay ends.
+     *
+     * @return last tick
+     */
+    public long endTick() { return endTick; }
+
+    /**
+     * Returns the simulated time at the end of the replay.
+     *
+     * @return elapsed simulation time in milliseconds
+     */
+    public long endElapsedMs() { return endElapsedMs; }
+
+    /**
+     * Returns the number of ticks between keyframes.
+     *
+     * @return keyframe interval
+     */
+    public int keyframeInterval() { return interval; }
+
+    /**
+     * Returns the number of keyframes held, including the initial state.
+     *
+     * @return keyframe count
+     */
+    public int keyframeCount() { return keyframes.size(); }
+}
@@ -0,0 +1,379 @@
+package com.snakegame.replay;
+
+import com.snakegame.model.Direction;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only recording of a run in progress, written to disk as the run is played.
+ *
+ * <p>The journal starts with the {@link BinaryReplayFormat} header of the run and is followed by
+ * varint records of two kinds, told apart by the low bit: an input is the event record of a finished
+ * replay shifted left by one, and a progress mark ({@link #mark(long)}) is the number of ticks the
+ * run has completed shifted left by one with the low bit set. Records are collected in fixed-size
+ * blocks that are handed to a background writer whenever one fills up or a progress mark is written,
+ * so the recording thread never does I/O. Each journal owns {@link #BLOCKS} blocks; if the writer
+ * falls that far behind, the recording thread waits for it to return one, so memory stays constant
+ * however long the run lasts and however slow the disk is. The writer flushes whenever it has caught
+ * up. {@link #seal(int, long)} turns the
+ * journal into the "last" replay by writing its inputs behind a final header, adds that to the
+ * {@link ReplayLibrary}, and makes it the "best" replay if it beats every run in the library; all of
+ * this also happens on the writer.</p>
+ *
+ * <p>If the process dies mid-run the journal stays on disk, and {@link #recover(Path)} reads back
+ * every input that reached it, together with how far the run is known to have got.</p>
+ *
+ * <p>{@link #append} and {@link #seal} must be called from one thread, the one advancing the run.
+ * All journals share one writer thread, so a run's replay is sealed before the next run's journal
+ * (which reuses the file) is opened.</p>
+ */
+public final class ReplayJournal {
+    private static final Logger log = Logger.getLogger(ReplayJournal.class.getName());
+
+    /** Ticks between progress marks; an interrupted run is recovered up to the last one written. */
+    static final int MARK_INTERVAL_TICKS = 16;
+    /** Records per block handed to the writer. */
+    static final int BLOCK_RECORDS = 256;
+    /** Blocks per journal, in use or queued for the writer. */
+    static final int BLOCKS = 4;
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "replay-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Path file;
+    /** Run metadata; events are not kept here. */
+    private final ReplayData header;
+
+    // Recording thread only.
+    private long previousTick;
+    private int eventCount;
+    private long markedTick;
+    private long[] block;
+    private int blockSize;
+
+    /** Blocks not currently filled by the recording thread or queued for the writer. */
+    private final BlockingQueue<long[]> freeBlocks = new ArrayBlockingQueue<>(BLOCKS);
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // Writer thread only.
+    private DataOutputStream out;
+    private long bodyOffset;
+
+    private ReplayJournal(Path file, ReplayData header) {
+        this.file = file;
+        this.header = header;
+        this.block = new long[BLOCK_RECORDS];
+        for (int i = 1; i < BLOCKS; i++) freeBlocks.add(new long[BLOCK_RECORDS]);
+    }
+
+    /**
+     * Starts a journal, replacing any file at the path once the writer gets to it.
+     *
+     * @param file journal file
+     * @param header run metadata: seed, start map and settings snapshot (events are ignored)
+     * @return journal accepting inputs
+     */
+    static ReplayJournal start(Path file, ReplayData header) {
+        ReplayJournal journal = new ReplayJournal(file, header);
+        long startedAt = System.currentTimeMillis();
+        WRITER.execute(() -> journal.open(startedAt));
+        return journal;
+    }
+
+    /**
+     * Queues an input for the journal. Inputs must arrive in tick order; an earlier tick is stored
+     * at the previous input's tick. Waits if the writer is {@link #BLOCKS} blocks behind.
+     *
+     * @param tick tick at which the input was applied
+     * @param direction new direction
+     */
+    public void append(long tick, Direction direction) {
+        if (direction == null || tick < 0 || closed.get()) return;
+        long value = inputRecord(Math.max(0, tick - previousTick), direction);
+        previousTick = Math.max(previousTick, tick);
+        eventCount++;
+        add(value);
+        if (blockSize == BLOCK_RECORDS) handOff(true);
+    }
+
+    /**
+     * Notes how far the run has got, so that an interrupted run is recovered up to about this point
+     * rather than played on without inputs. Only every {@link #MARK_INTERVAL_TICKS}th tick is written,
+     * and each written mark hands the records collected so far to the writer.
+     *
+     * @param tick number of ticks the run has completed
+     */
+    public void mark(long tick) {
+        if (tick - markedTick < MARK_INTERVAL_TICKS || closed.get()) return;
+        markedTick = tick;
+        add(markRecord(tick));
+        handOff(true);
+    }
+
+    /**
+     * Returns the number of inputs appended so far.
+     *
+     * @return input count
+     */
+    public int eventCount() { return eventCount; }
+
+    /**
+     * Ends the journal and saves it as the finished replay of the run, in the background.
+     * Only the first call to this or {@link #discard()} has an effect.
+     *
+     * @param finalScore score the run ended with
+     * @param durationMs simulated length of the run in milliseconds
+     * @return completes once the replay is saved (or saving failed, which is logged)
+     */
+    public Future<?> seal(int finalScore, long durationMs) {
+        if (!closed.compareAndSet(false, true)) return CompletableFuture.completedFuture(null);
+        int events = eventCount;
+        handOff(false);
+        return WRITER.submit(() -> finish(finalScore, durationMs, events));
+    }
+
+    /**
+     * Ends the journal without saving a replay and deletes it, in the background.
+     * Only the first call to this or {@link #seal(int, long)} has an effect.
+     *
+     * @return completes once the journal is gone
+     */
+    public Future<?> discard() {
+        if (!closed.compareAndSet(false, true)) return CompletableFuture.completedFuture(null);
+        return WRITER.submit(() -> {
+            if (closeStream()) deleteFile();
+        });
+    }
+
+    /**
+     * Runs a task on the journals' writer thread, after everything already queued for any journal.
+     *
+     * @param task task to run
+     * @param <T> result type
+     * @return task result
+     */
+    static <T> Future<T> onWriter(Callable<T> task) {
+        return WRITER.submit(task);
+    }
+
+    /**
+     * Reads a journal left behind by an interrupted run.
+     *
+     * <p>A record cut short by the interruption is dropped; everything before it is returned. The
+     * run is taken to have got as far as its last progress mark, or just past its last input if that
+     * came later, and the returned data is {@link ReplayData#isInterrupted() interrupted} there.</p>
+     *
+     * @param file journal file
+     * @return replay data with every complete input, or empty if not even the header is readable
+     */
+    static Optional<ReplayData> recover(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            ReplayData data = BinaryReplayFormat.readHeader(in);
+            List<ReplayEvent> events = new ArrayList<>();
+            long tick = 0;
+            long reached = 0;
+            while (true) {
+                long value;
+                try {
+                    value = BinaryReplayFormat.readVarLong(in);
+                } catch (EOFException end) {
+                    break;
+                }
+                if ((value & 1) != 0) {
+                    reached = Math.max(reached, value >>> 1);
+                    continue;
+                }
+                ReplayEvent ev = BinaryReplayFormat.event(value >>> 1, tick);
+                events.add(ev);
+                tick = ev.tick;
+                // The input's tick was started, so it completed unless this is where the run died.
+                reached = Math.max(reached, tick + 1);
+            }
+            data.events = events;
+            data.interruptedAtTick = reached;
+            return Optional.of(data);
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.WARNING, "Unreadable replay journal: " + file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Encodes an input record.
+     *
+     * @param tickDelta ticks since the preceding input (not negative)
+     * @param direction input direction
+     * @return record to write with {@link BinaryReplayFormat#writeVarLong}
+     */
+    static long inputRecord(long tickDelta, Direction direction) {
+        return BinaryReplayFormat.eventValue(tickDelta, direction) << 1;
+    }
+
+    /**
+     * Encodes a progress mark.
+     *
+     * @param tick number of ticks the run has completed
+     * @return record to write with {@link BinaryReplayFormat#writeVarLong}
+     */
+    static long markRecord(long tick) {
+        return (tick << 1) | 1;
+    }
+
+    private void open(long startedAt) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            BinaryReplayFormat.writeHeader(out, header, startedAt);
+            bodyOffset = out.size();
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            // Nothing is recorded for the run after this; later appends and the seal are no-ops.
+            log.log(Level.SEVERE, "Failed to start replay journal: " + file, e);
+            closeQuietly();
+            deleteFile();
+        }
+    }
+
+    private void add(long value) {
+        block[blockSize++] = value;
+    }
+
+    /**
+     * Queues the current block for the writer if it holds any records.
+     *
+     * @param reuse whether to take a free block to continue recording into, waiting for one if needed
+     */
+    private void handOff(boolean reuse) {
+        if (blockSize == 0) return;
+        long[] full = block;
+        int size = blockSize;
+        pending.incrementAndGet();
+        WRITER.execute(() -> write(full, size));
+        block = reuse ? takeFreeBlock() : null;
+        blockSize = 0;
+    }
+
+    private long[] takeFreeBlock() {
+        try {
+            return freeBlocks.take();
+        } catch (InterruptedException e) {
+            // Keep recording rather than lose inputs; the writer's returned block is then dropped.
+            Thread.currentThread().interrupt();
+            return new long[BLOCK_RECORDS];
+        }
+    }
+
+    private void write(long[] records, int size) {
+        boolean caughtUp = pending.decrementAndGet() == 0;
+        try {
+            if (out == null) return;
+            for (int i = 0; i < size; i++) BinaryReplayFormat.writeVarLong(out, records[i]);
+            if (caughtUp) out.flush();
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to write replay journal: " + file, e);
+            closeQuietly();
+        } finally {
+            freeBlocks.offer(records);
+        }
+    }
+
+    private void finish(int finalScore, long durationMs, int events) {
+        if (!closeStream()) {
+            log.warning("Replay journal failed earlier; no replay saved for this run");
+            return;
+        }
+
+        // Opened before the last replay is overwritten, which a first-time library import reads.
+        ReplayLibrary library = ReplayManager.library();
+        int previousBest = library.bestScore();
+
+        Path last = ReplayManager.lastPath();
+        header.finalScore = finalScore;
+        try (DataOutputStream replay = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(last)));
+             DataInputStream body = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            BinaryReplayFormat.writeHeader(replay, header, System.currentTimeMillis());
+            BinaryReplayFormat.writeVarLong(replay, events);
+            body.skipNBytes(bodyOffset);
+            for (int n = 0; n < events; ) {
+                long value = BinaryReplayFormat.readVarLong(body);
+                if ((value & 1) != 0) continue;
+                BinaryReplayFormat.writeVarLong(replay, value >>> 1);
+                n++;
+            }
+            replay.flush();
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.SEVERE, "Failed to save replay: " + last, e);
+            return;
+        }
+        deleteFile();
+
+        try {
+            library.add(header, durationMs, last);
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to add replay to the library", e);
+        }
+
+        Path best = ReplayManager.bestPath();
+        if (finalScore > previousBest) {
+            try {
+                Files.copy(last, best, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                log.log(Level.SEVERE, "Failed to save replay: " + best, e);
+            }
+        }
+    }
+
+    /** Closes the journal stream; returns whether it had been writing successfully until now. */
+    private boolean closeStream() {
+        if (out == null) return false;
+        try {
+            out.close();
+            return true;
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to write replay journal: " + file, e);
+            return false;
+        } finally {
+            out = null;
+        }
+    }
+
+    private void closeQuietly() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Already failing; the original error was logged.
+        }
+        out = null;
+    }
+
+    private void deleteFile() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Failed to delete replay journal: " + file, e);
+        }
+    }
+}
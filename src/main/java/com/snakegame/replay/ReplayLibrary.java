@@ -0,0 +1,290 @@
+package com.snakegame.replay;
+
+import com.snakegame.mode.GameMode;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Every recorded run, kept in one directory: the replays themselves and a compact index of them.
+ *
+ * <p>Replays are appended, in the {@link BinaryReplayFormat}, to a single pack file. For each one a
+ * fixed-size record is appended to the index file:</p>
+ * <pre>
+ *   index file:  "SNKI", u8 version (1), then one record per replay
+ *   record:      i64 id, savedAtMillis, seed
+ *                i32 finalScore
+ *                u8  mode code            (STANDARD, MAP_SELECT, RACE, AI), | 0x80 if interrupted
+ *                i32 startMapId
+ *                i64 durationMs           (simulated time; -1 if unknown)
+ *                i64 offset               of the replay in the pack file
+ *                i32 length               of the replay in bytes
+ * </pre>
+ *
+ * <p>The recording of an interrupted run is stored like any other but flagged, and never counts
+ * towards {@link #bestScore()}: its score is only the one reached when the run was cut off.</p>
+ *
+ * <p>Listing, sorting and best-score checks only read the index, which is loaded once and kept in
+ * memory; a replay is opened only when it is played. The pack is written before the index record,
+ * so an interrupted save leaves at most an unreferenced tail in the pack and a partial record at the
+ * end of the index, which is ignored. An index whose header is cut short or unrecognized is
+ * started afresh by the next save.</p>
+ *
+ * <p>All methods are thread-safe.</p>
+ */
+public final class ReplayLibrary {
+    private static final Logger log = Logger.getLogger(ReplayLibrary.class.getName());
+
+    /** Index file name within the library directory. */
+    static final String INDEX_FILE = "index.bin";
+    /** Pack file name within the library directory. */
+    static final String PACK_FILE = "replays.bin";
+
+    private static final byte[] MAGIC = {'S', 'N', 'K', 'I'};
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = MAGIC.length + 1;
+    static final int RECORD_BYTES = 8 + 8 + 8 + 4 + 1 + 4 + 8 + 8 + 4;
+
+    /** Mode for each stored code; fixed independently of {@link GameMode}'s declaration order. */
+    private static final GameMode[] MODES = {GameMode.STANDARD, GameMode.MAP_SELECT, GameMode.RACE, GameMode.AI};
+    /** Set in the mode byte for the recording of an interrupted run. */
+    private static final int INTERRUPTED = 0x80;
+
+    /**
+     * Index record of one stored replay.
+     *
+     * @param id library id, increasing in save order
+     * @param savedAtMillis wall-clock save time
+     * @param seed run seed
+     * @param finalScore score the run ended with
+     * @param mode mode the run was played in
+     * @param interrupted whether the run was interrupted rather than ended (see {@link ReplayData#isInterrupted()})
+     * @param startMapId map the run started on
+     * @param durationMs simulated length of the run in milliseconds, or {@code -1} if unknown
+     * @param offset position of the replay in the pack file
+     * @param length size of the replay in bytes
+     */
+    public record Entry(long id, long savedAtMillis, long seed, int finalScore, GameMode mode,
+                        boolean interrupted, int startMapId, long durationMs, long offset, int length) {}
+
+    private final Path dir;
+    private final Path indexFile;
+    private final Path packFile;
+
+    /** Loaded lazily; appended to on save. */
+    private List<Entry> entries;
+    private int bestScore = -1;
+    /** Whether the index file starts with a valid header; if not, the next save rewrites it. */
+    private boolean headerValid;
+
+    /**
+     * Opens a library; nothing is read until it is first used.
+     *
+     * @param dir library directory (created on the first save)
+     */
+    public ReplayLibrary(Path dir) {
+        this.dir = dir;
+        this.indexFile = dir.resolve(INDEX_FILE);
+        this.packFile = dir.resolve(PACK_FILE);
+    }
+
+    /**
+     * Returns the library directory.
+     *
+     * @return directory
+     */
+    public Path directory() { return dir; }
+
+    /**
+     * Returns whether the library has been created on disk.
+     *
+     * @return {@code true} if the index file exists
+     */
+    public boolean exists() {
+        return Files.exists(indexFile);
+    }
+
+    /**
+     * Returns every stored replay, oldest first.
+     *
+     * @return unmodifiable snapshot of the index
+     */
+    public synchronized List<Entry> entries() {
+        return List.copyOf(loaded());
+    }
+
+    /**
+     * Returns the highest score of a run that ended, from the index.
+     *
+     * @return best score, or {@code -1} if the library holds no ended run
+     */
+    public synchronized int bestScore() {
+        loaded();
+        return bestScore;
+    }
+
+    /**
+     * Stores a replay.
+     *
+     * @param data replay to store
+     * @param durationMs simulated length of the run in milliseconds, or {@code -1} if unknown
+     * @return index record of the stored replay
+     * @throws IOException if writing fails
+     */
+    public Entry add(ReplayData data, long durationMs) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long savedAt = System.currentTimeMillis();
+        BinaryReplayFormat.write(bytes, data, savedAt);
+        return append(data, durationMs, savedAt, bytes.toByteArray());
+    }
+
+    /**
+     * Stores a replay that is already saved as a binary replay file.
+     *
+     * @param data metadata of the replay in the file (its events are not used)
+     * @param durationMs simulated length of the run in milliseconds, or {@code -1} if unknown
+     * @param replayFile binary replay file to copy into the library
+     * @return index record of the stored replay
+     * @throws IOException if reading or writing fails
+     */
+    public Entry add(ReplayData data, long durationMs, Path replayFile) throws IOException {
+        return append(data, durationMs, System.currentTimeMillis(), Files.readAllBytes(replayFile));
+    }
+
+    /**
+     * Reads a stored replay.
+     *
+     * @param entry index record from this library
+     * @return replay data
+     * @throws IOException if reading fails or the replay is corrupted
+     */
+    public ReplayData load(Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+        try (FileChannel pack = FileChannel.open(packFile, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (pack.read(buffer, entry.offset() + buffer.position()) < 0) {
+                    throw new EOFException("Replay " + entry.id() + " is cut short");
+                }
+            }
+        }
+        try {
+            return BinaryReplayFormat.read(new ByteArrayInputStream(buffer.array()));
+        } catch (RuntimeException e) {
+            throw new IOException("Replay " + entry.id() + " is corrupted", e);
+        }
+    }
+
+    private synchronized Entry append(ReplayData data, long durationMs, long savedAt, byte[] replay) throws IOException {
+        List<Entry> list = loaded();
+        Files.createDirectories(dir);
+
+        long offset;
+        try (FileChannel pack = FileChannel.open(packFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            offset = pack.size();
+            ByteBuffer buffer = ByteBuffer.wrap(replay);
+            while (buffer.hasRemaining()) pack.write(buffer, offset + buffer.position());
+        }
+
+        long id = list.isEmpty() ? 1 : list.get(list.size() - 1).id() + 1;
+        GameMode mode = data.runSettingsSnapshot != null ? data.runSettingsSnapshot.currentMode() : GameMode.STANDARD;
+        Entry entry = new Entry(id, savedAt, data.seed, data.finalScore, mode, data.isInterrupted(), data.startMapId,
+                durationMs, offset, replay.length);
+
+        // A missing, cut-short or unrecognized header is (re)written along with the first record.
+        boolean writeHeader = !headerValid;
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // A partial record left by an interrupted save is overwritten.
+            long end = writeHeader ? 0 : HEADER_BYTES + (long) list.size() * RECORD_BYTES;
+            ByteBuffer buffer = ByteBuffer.allocate((writeHeader ? HEADER_BYTES : 0) + RECORD_BYTES);
+            if (writeHeader) buffer.put(MAGIC).put((byte) VERSION);
+            encode(entry, buffer);
+            buffer.flip();
+            while (buffer.hasRemaining()) index.write(buffer, end + buffer.position());
+            index.truncate(end + (writeHeader ? HEADER_BYTES : 0) + RECORD_BYTES);
+        }
+
+        headerValid = true;
+        list.add(entry);
+        if (!entry.interrupted()) bestScore = Math.max(bestScore, entry.finalScore());
+        return entry;
+    }
+
+    private List<Entry> loaded() {
+        if (entries == null) {
+            entries = readIndex();
+            bestScore = -1;
+            for (Entry e : entries) {
+                if (!e.interrupted()) bestScore = Math.max(bestScore, e.finalScore());
+            }
+        }
+        return entries;
+    }
+
+    private List<Entry> readIndex() {
+        List<Entry> list = new ArrayList<>();
+        headerValid = false;
+        if (!Files.exists(indexFile)) return list;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+            byte[] magic = new byte[MAGIC.length];
+            if (buffer.remaining() < HEADER_BYTES) {
+                log.warning("Replay library index is cut short: " + indexFile);
+                return list;
+            }
+            buffer.get(magic);
+            int version = buffer.get() & 0xFF;
+            if (!Arrays.equals(magic, MAGIC) || version != VERSION) {
+                log.warning("Unrecognized replay library index: " + indexFile);
+                return list;
+            }
+            headerValid = true;
+            while (buffer.remaining() >= RECORD_BYTES) list.add(decode(buffer));
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.SEVERE, "Failed to read replay library index: " + indexFile, e);
+        }
+        return list;
+    }
+
+    private static void encode(Entry e, ByteBuffer out) {
+        out.putLong(e.id());
+        out.putLong(e.savedAtMillis());
+        out.putLong(e.seed());
+        out.putInt(e.finalScore());
+        out.put((byte) (modeCode(e.mode()) | (e.interrupted() ? INTERRUPTED : 0)));
+        out.putInt(e.startMapId());
+        out.putLong(e.durationMs());
+        out.putLong(e.offset());
+        out.putInt(e.length());
+    }
+
+    private static Entry decode(ByteBuffer in) {
+        long id = in.getLong();
+        long savedAt = in.getLong();
+        long seed = in.getLong();
+        int score = in.getInt();
+        int modeByte = in.get() & 0xFF;
+        int mode = modeByte & ~INTERRUPTED;
+        int startMapId = in.getInt();
+        long durationMs = in.getLong();
+        long offset = in.getLong();
+        int length = in.getInt();
+        return new Entry(id, savedAt, seed, score, mode < MODES.length ? MODES[mode] : GameMode.STANDARD,
+                (modeByte & INTERRUPTED) != 0, startMapId, durationMs, offset, length);
+    }
+
+    private static int modeCode(GameMode mode) {
+        for (int i = 0; i < MODES.length; i++) {
+            if (MODES[i] == mode) return i;
+        }
+        return 0;
+    }
+}
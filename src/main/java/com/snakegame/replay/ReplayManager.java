@@ -1,25 +1,31 @@
 package com.snakegame.replay;
 
-import com.snakegame.config.GameSettings;
-import com.snakegame.config.SettingsSnapshot;
-import com.snakegame.model.Direction;
-
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import com.snakegame.util.AppPaths;
 
 /**
- * Loads and saves {@link ReplayData} to disk using a simple {@link Properties}-based format.
+ * Loads and saves {@link ReplayData} to disk.
+ *
+ * <p>Replays are written in the compact {@link BinaryReplayFormat}. Files written by earlier versions
+ * in the {@link PropertiesReplayFormat} text format still load; the two are told apart by the binary
+ * format's magic bytes, so the file names stay the same.</p>
  */
 public class ReplayManager {
     private static final Logger log = Logger.getLogger(ReplayManager.class.getName());
 
+    /** Library directory name, next to the "last run" replay. */
+    static final String LIBRARY_DIR = "replays";
+
     private static String lastPath = AppPaths.REPLAY_LAST_FILE.toString();
     private static String bestPath = AppPaths.REPLAY_BEST_FILE.toString();
+    private static ReplayLibrary library;
 
     /**
      * Overrides the "last replay" file path (primarily for tests). If null/blank, resets to the default.
@@ -70,22 +76,119 @@ public class ReplayManager {
     public static Optional<ReplayData> loadBest() { return load(bestPath); }
 
     /**
-     * Saves a replay as the "last run" replay.
+     * Saves a finished run: stores it in the library and as the "last run" replay, and as the "best
+     * run" replay if it beats every run in the library. An interrupted run is never the best run.
      *
      * @param data replay data to save
+     * @param durationMs simulated length of the run in milliseconds, or {@code -1} if unknown
+     */
+    public static void saveRun(ReplayData data, long durationMs) {
+        int previousBest = library().bestScore();
+        addToLibrary(data, durationMs);
+        save(lastPath, data);
+        if (!data.isInterrupted() && data.finalScore > previousBest) save(bestPath, data);
+    }
+
+    /**
+     * Returns the library holding every saved run, in a {@code replays} directory next to the "last
+     * run" replay. When the library is first created, existing last/best replays are imported into
+     * it so best-score checks, which only read its index, keep the stored best.
+     *
+     * @return replay library
+     */
+    public static synchronized ReplayLibrary library() {
+        Path dir = Path.of(lastPath).toAbsolutePath().resolveSibling(LIBRARY_DIR);
+        if (library == null || !library.directory().equals(dir)) {
+            library = new ReplayLibrary(dir);
+            if (!library.exists()) importSlots(library);
+        }
+        return library;
+    }
+
+    /**
+     * Loads a replay from the library.
+     *
+     * @param entry index record from {@link #library()}
+     * @return optional replay data
+     */
+    public static Optional<ReplayData> load(ReplayLibrary.Entry entry) {
+        try {
+            return Optional.of(library().load(entry));
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to load replay " + entry.id() + " from the library", e);
+            return Optional.empty();
+        }
+    }
+
+    private static void importSlots(ReplayLibrary lib) {
+        Optional<ReplayData> best = load(bestPath);
+        Optional<ReplayData> last = load(lastPath);
+        best.ifPresent(d -> addTo(lib, d, -1));
+        last.filter(d -> best.isEmpty() || !sameRun(d, best.get())).ifPresent(d -> addTo(lib, d, -1));
+    }
+
+    private static boolean sameRun(ReplayData a, ReplayData b) {
+        return a.seed == b.seed && a.finalScore == b.finalScore && a.events.size() == b.events.size();
+    }
+
+    private static void addToLibrary(ReplayData data, long durationMs) {
+        if (data == null || data.runSettingsSnapshot == null) return;
+        addTo(library(), data, durationMs);
+    }
+
+    private static void addTo(ReplayLibrary lib, ReplayData data, long durationMs) {
+        try {
+            lib.add(data, durationMs);
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to add replay to the library", e);
+        }
+    }
+
+    /**
+     * Starts recording a run to the journal next to the "last run" replay. Sealing the journal saves
+     * the run as the last (and possibly best) replay.
+     *
+     * @param header run metadata: seed, start map and settings snapshot
+     * @return journal accepting the run's inputs
      */
-    public static void saveLast(ReplayData data) { save(lastPath, data); }
+    public static ReplayJournal startRecording(ReplayData header) {
+        return ReplayJournal.start(journalPath(), header);
+    }
 
     /**
-     * Saves the replay as the "best run" replay if it beats the stored best score.
+     * Saves the journal of a run that was interrupted (e.g. by a crash) as the "last run" replay, in
+     * the background.
      *
-     * @param data replay data to consider
+     * <p>The replay holds every input that reached the disk and stops at the run's last progress
+     * mark; its final score is the one reached there. It is stored in the library flagged as
+     * interrupted and never becomes the "best run" replay. The work runs on the journal writer, so it
+     * finishes before a run started afterwards opens its journal (which reuses the file); call it at
+     * startup.</p>
+     *
+     * @return completes with {@code true} if a run was recovered
      */
-    public static void saveBestIfHigher(ReplayData data) {
-        int currentBest = load(bestPath).map(d -> d.finalScore).orElse(-1);
-        if (data.finalScore > currentBest) {
-            save(bestPath, data);
+    public static Future<Boolean> recoverInterruptedRun() {
+        return ReplayJournal.onWriter(ReplayManager::recoverJournal);
+    }
+
+    private static boolean recoverJournal() {
+        Path journal = journalPath();
+        if (!Files.exists(journal)) return false;
+
+        Optional<ReplayData> data = ReplayJournal.recover(journal).filter(d -> d.interruptedAtTick > 0);
+        data.ifPresent(d -> {
+            ReplayVerifier.Result replayed = ReplayVerifier.verify(journal, d);
+            d.finalScore = replayed.replayedScore();
+            saveRun(d, replayed.elapsedMs());
+            log.info("Recovered interrupted run at tick " + replayed.ticks() + " with " + d.events.size()
+                    + " inputs as the last replay");
+        });
+        try {
+            Files.deleteIfExists(journal);
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Failed to delete replay journal: " + journal, e);
         }
+        return data.isPresent();
     }
 
     // ---------------- IO ----------------
@@ -100,35 +203,8 @@ public class ReplayManager {
             return;
         }
 
-        Properties p = new Properties();
-        p.setProperty("version", String.valueOf(ReplayData.CURRENT_VERSION));
-        p.setProperty("savedAtMillis", String.valueOf(System.currentTimeMillis()));
-        p.setProperty("seed", String.valueOf(data.seed));
-        p.setProperty("finalScore", String.valueOf(data.finalScore));
-        p.setProperty("startMapId", String.valueOf(data.startMapId));
-
-        // Flatten SettingsSnapshot (same fields order as your snapshot constructor)
-        SettingsSnapshot s = data.runSettingsSnapshot;
-        p.setProperty("difficultyLevel", String.valueOf(s.difficultyLevel()));
-        p.setProperty("obstaclesEnabled", String.valueOf(s.obstaclesEnabled()));
-        p.setProperty("currentMode", s.currentMode().name());
-        p.setProperty("selectedMapId", String.valueOf(s.selectedMapId()));
-        p.setProperty("raceThreshold", String.valueOf(s.raceThreshold()));
-        p.setProperty("soundEnabled", String.valueOf(s.soundEnabled()));
-        p.setProperty("musicEnabled", String.valueOf(s.musicEnabled()));
-        p.setProperty("showGrid", String.valueOf(s.showGrid()));
-        p.setProperty("playerName", s.playerName() == null ? "Player" : s.playerName());
-        p.setProperty("playerId", s.playerId() == null ? "" : s.playerId().toString());
-        p.setProperty("theme", s.selectedTheme().name());
-        p.setProperty("movingObstaclesEnabled", String.valueOf(s.movingObstaclesEnabled()));
-        p.setProperty("movingObstacleCount", String.valueOf(s.movingObstacleCount()));
-        p.setProperty("movingObstaclesAutoIncrement", String.valueOf(s.movingObstaclesAutoIncrement()));
-
-        // Encode events: tick:DIR;tick:DIR;...
-        p.setProperty("events", encodeEvents(data.events));
-
-        try (Writer w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
-            p.store(w, "Snake Replay");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+            BinaryReplayFormat.write(out, data, System.currentTimeMillis());
         } catch (IOException e) {
             log.log(Level.SEVERE, "Failed to save replay: " + path, e);
         }
@@ -138,87 +214,61 @@ public class ReplayManager {
         File file = new File(path);
         if (!file.exists()) return Optional.empty();
 
-        Properties p = new Properties();
-        try (Reader r = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
-            p.load(r);
+        try {
+            return Optional.of(read(file.toPath()));
         } catch (IOException e) {
             log.log(Level.SEVERE, "Failed to load replay: " + path, e);
             return Optional.empty();
-        }
-
-        try {
-            ReplayData d = new ReplayData();
-            d.version = Integer.parseInt(p.getProperty("version", "1"));
-            d.seed = Long.parseLong(p.getProperty("seed", "0"));
-            d.finalScore = Integer.parseInt(p.getProperty("finalScore", "0"));
-
-            java.util.UUID playerId;
-            String playerIdValue = p.getProperty("playerId", "");
-            if (playerIdValue != null && !playerIdValue.isBlank()) {
-                try {
-                    playerId = java.util.UUID.fromString(playerIdValue);
-                } catch (IllegalArgumentException e) {
-                    playerId = GameSettings.getPlayerId();
-                }
-            } else {
-                playerId = GameSettings.getPlayerId();
-            }
-
-            SettingsSnapshot ss = new SettingsSnapshot(
-                    Integer.parseInt(p.getProperty("difficultyLevel", "20")),
-                    Boolean.parseBoolean(p.getProperty("obstaclesEnabled", "false")),
-                    com.snakegame.mode.GameMode.valueOf(p.getProperty("currentMode", "STANDARD")),
-                    Integer.parseInt(p.getProperty("selectedMapId", "1")),
-                    Integer.parseInt(p.getProperty("raceThreshold", "20")),
-                    Boolean.parseBoolean(p.getProperty("soundEnabled", "true")),
-                    Boolean.parseBoolean(p.getProperty("musicEnabled", "true")),
-                    Boolean.parseBoolean(p.getProperty("showGrid", "true")),
-                    p.getProperty("playerName", "Player"),
-                    playerId,
-                    GameSettings.Theme.valueOf(p.getProperty("theme", "RETRO")),
-                    Boolean.parseBoolean(p.getProperty("movingObstaclesEnabled", "false")),
-                    Integer.parseInt(p.getProperty("movingObstacleCount", "0")),
-                    Boolean.parseBoolean(p.getProperty("movingObstaclesAutoIncrement", "false")),
-                    false
-            );
-            d.runSettingsSnapshot = ss;
-            d.startMapId = Integer.parseInt(p.getProperty("startMapId", String.valueOf(ss.selectedMapId())));
-
-            d.events = decodeEvents(p.getProperty("events", ""));
-
-            return Optional.of(d);
-        } catch (Exception ex) {
+        } catch (RuntimeException ex) {
             log.log(Level.SEVERE, "Replay file corrupted: " + path, ex);
             return Optional.empty();
         }
     }
 
-    private static String encodeEvents(List<ReplayEvent> events) {
-        if (events == null || events.isEmpty()) return "";
-        StringBuilder sb = new StringBuilder();
-        for (ReplayEvent ev : events) {
-            if (ev == null || ev.direction == null) continue;
-            if (sb.length() > 0) sb.append(';');
-            sb.append(ev.tick).append(':').append(ev.direction.name());
+    /**
+     * Reads a replay file in either format.
+     *
+     * @param file replay file
+     * @return replay data
+     * @throws IOException if reading fails
+     * @throws RuntimeException if the file is corrupted
+     */
+    static ReplayData read(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return read(in);
         }
-        return sb.toString();
     }
 
-    private static List<ReplayEvent> decodeEvents(String s) {
-        List<ReplayEvent> out = new ArrayList<>();
-        if (s == null || s.isBlank()) return out;
+    /**
+     * Returns the journal a run in progress is recorded to.
+     *
+     * @return journal path, next to the "last replay" file
+     */
+    static Path journalPath() { return Path.of(lastPath + ".part"); }
 
-        String[] items = s.split(";");
-        for (String item : items) {
-            if (item.isBlank()) continue;
-            String[] parts = item.split(":");
-            if (parts.length != 2) continue;
-            long tick = Long.parseLong(parts[0].trim());
-            Direction dir = Direction.valueOf(parts[1].trim());
-            out.add(new ReplayEvent(tick, dir));
-        }
-        // sort safety
-        out.sort(Comparator.comparingLong(e -> e.tick));
-        return out;
+    /**
+     * Returns the file {@link #loadLast()} reads.
+     *
+     * @return "last replay" path
+     */
+    static Path lastPath() { return Path.of(lastPath); }
+
+    /**
+     * Returns the file {@link #loadBest()} reads.
+     *
+     * @return "best replay" path
+     */
+    static Path bestPath() { return Path.of(bestPath); }
+
+    /**
+     * Reads a replay in either format, telling them apart by the binary magic.
+     *
+     * @param in buffered source (must support mark/reset)
+     * @return replay data
+     * @throws IOException if reading fails
+     */
+    static ReplayData read(InputStream in) throws IOException {
+        if (BinaryReplayFormat.hasMagic(in)) return BinaryReplayFormat.read(in);
+        return PropertiesReplayFormat.read(new InputStreamReader(in, StandardCharsets.UTF_8));
     }
 }
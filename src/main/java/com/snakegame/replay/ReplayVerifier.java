@@ -0,0 +1,333 @@
+package com.snakegame.replay;
+
+import com.snakegame.config.GameSettings;
+import com.snakegame.model.GameState;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Headless replay checker: plays replay files back at full CPU speed and compares the replayed
+ * score with the recorded one.
+ *
+ * <p>Each replay is stepped exactly like {@link ReplayController} and {@link ReplayIndex} step it
+ * (same {@link GameState} construction, tick duration and input application), but in a tight loop
+ * with no Swing timer, so a mismatch here means the recording no longer reproduces. Files are
+ * independent and are checked in parallel; the report gives mismatches, throughput and simulated
+ * ticks per second, which makes it the regression check for simulation changes.</p>
+ *
+ * <p>Command line: {@code ReplayVerifier [--threads N] [--quiet] [file-or-directory ...]}. A directory
+ * holding a {@link ReplayLibrary} has every replay in its index checked; other directories are
+ * scanned (not recursively) for regular files. With no paths every run in the
+ * {@linkplain ReplayManager#library() replay library} is checked. The exit code is {@code 0} if every
+ * replay reproduced, {@code 1} otherwise and {@code 2} for bad arguments.</p>
+ */
+public final class ReplayVerifier {
+    private final int parallelism;
+
+    /**
+     * Outcome of checking one replay.
+     *
+     * @param file replay file, or the pack file for a replay stored in a library
+     * @param libraryId id of the replay in its library, or {@code 0} for a standalone file
+     * @param recordedScore final score stored in the replay
+     * @param replayedScore score at the end of the replay
+     * @param ticks simulation ticks replayed
+     * @param elapsedMs simulated time replayed, in milliseconds
+     * @param ended whether the replay reached its recorded end: a game over, or for an interrupted
+     *              run the tick its recording stops at
+     * @param error why the file could not be replayed, or {@code null}
+     */
+    public record Result(Path file, long libraryId, int recordedScore, int replayedScore, long ticks, long elapsedMs,
+                         boolean ended, String error) {
+        /**
+         * Returns whether the replay reproduced its recorded run.
+         *
+         * @return {@code true} if it ended with the recorded score
+         */
+        public boolean matches() {
+            return error == null && ended && replayedScore == recordedScore;
+        }
+    }
+
+    /**
+     * Outcome of checking a batch of replays.
+     *
+     * @param results per-replay results, in input order
+     * @param elapsedNanos wall-clock duration of the batch
+     * @param parallelism number of worker threads used
+     */
+    public record Report(List<Result> results, long elapsedNanos, int parallelism) {
+        /**
+         * Returns the files that did not reproduce, including unreadable ones.
+         *
+         * @return failed results, in input order
+         */
+        public List<Result> failures() {
+            return results.stream().filter(r -> !r.matches()).toList();
+        }
+
+        /**
+         * Returns the number of ticks replayed across all files.
+         *
+         * @return total ticks
+         */
+        public long totalTicks() {
+            long sum = 0;
+            for (Result r : results) sum += r.ticks();
+            return sum;
+        }
+
+        /**
+         * Returns the achieved simulation throughput.
+         *
+         * @return replayed ticks per wall-clock second
+         */
+        public double ticksPerSecond() {
+            return elapsedNanos <= 0 ? 0.0 : totalTicks() * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        /**
+         * Returns the achieved file throughput.
+         *
+         * @return checked files per wall-clock second
+         */
+        public double filesPerSecond() {
+            return elapsedNanos <= 0 ? 0.0 : results.size() * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Creates a verifier using one worker per available processor.
+     */
+    public ReplayVerifier() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a verifier.
+     *
+     * @param parallelism number of worker threads (must be positive)
+     */
+    public ReplayVerifier(int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Checks every file, spreading them over the worker threads.
+     *
+     * @param files replay files
+     * @return report with one result per file, in input order
+     */
+    public Report verifyAll(List<Path> files) {
+        Objects.requireNonNull(files, "files");
+        List<Callable<Result>> tasks = new ArrayList<>(files.size());
+        for (Path file : files) tasks.add(() -> verifyFile(file));
+        return verifyTasks(tasks);
+    }
+
+    /**
+     * Checks every replay stored in a library, spreading them over the worker threads.
+     *
+     * @param library replay library
+     * @return report with one result per index entry, oldest first
+     */
+    public Report verifyLibrary(ReplayLibrary library) {
+        Objects.requireNonNull(library, "library");
+        return verifyTasks(libraryTasks(library));
+    }
+
+    private Report verifyTasks(List<Callable<Result>> tasks) {
+        int threads = Math.max(1, Math.min(parallelism, tasks.size()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "replay-verifier");
+            t.setDaemon(true);
+            return t;
+        });
+        long start = System.nanoTime();
+        List<Result> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<Result> f : pool.invokeAll(tasks)) results.add(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying replays", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replay verification failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Report(List.copyOf(results), System.nanoTime() - start, threads);
+    }
+
+    /**
+     * Loads and checks one replay file.
+     *
+     * @param file replay file
+     * @return result; unreadable files yield a result with an {@link Result#error() error}
+     */
+    public static Result verifyFile(Path file) {
+        ReplayData data;
+        try {
+            data = ReplayManager.read(file);
+        } catch (IOException | RuntimeException e) {
+            return new Result(file, 0, 0, 0, 0, 0, false, "unreadable: " + e);
+        }
+        return verify(file, data);
+    }
+
+    /**
+     * Loads and checks one replay stored in a library.
+     *
+     * @param library library holding the replay
+     * @param entry index record of the replay
+     * @return result; unreadable replays yield a result with an {@link Result#error() error}
+     */
+    public static Result verifyEntry(ReplayLibrary library, ReplayLibrary.Entry entry) {
+        Path pack = library.directory().resolve(ReplayLibrary.PACK_FILE);
+        ReplayData data;
+        try {
+            data = library.load(entry);
+        } catch (IOException | RuntimeException e) {
+            return new Result(pack, entry.id(), entry.finalScore(), 0, 0, 0, false, "unreadable: " + e);
+        }
+        return verify(pack, entry.id(), data);
+    }
+
+    /**
+     * Replays loaded replay data to its end.
+     *
+     * @param file file the data came from (for reporting only)
+     * @param data replay data
+     * @return result
+     */
+    public static Result verify(Path file, ReplayData data) {
+        return verify(file, 0, data);
+    }
+
+    private static Result verify(Path file, long libraryId, ReplayData data) {
+        if (data.runSettingsSnapshot == null) {
+            return new Result(file, libraryId, data.finalScore, 0, 0, 0, false, "no run settings snapshot");
+        }
+        List<ReplayEvent> events = (data.events == null) ? List.of() : data.events;
+        int baseTickMs = Math.max(1, GameSettings.speedDelayFromDifficultyLevel(data.runSettingsSnapshot.difficultyLevel()));
+        long maxTicks = ReplayIndex.maxTicks(events, data.interruptedAtTick);
+
+        GameState state = new GameState(data.seed, true, data.runSettingsSnapshot);
+        int eventIndex = 0;
+        while (state.isRunning() && state.getTick() < maxTicks) {
+            eventIndex = ReplayIndex.step(state, baseTickMs, events, eventIndex);
+            state.consumeEvents();
+        }
+        boolean ended = !state.isRunning() || (data.isInterrupted() && state.getTick() == data.interruptedAtTick);
+        return new Result(file, libraryId, data.finalScore, state.getScore(), state.getTick(), state.getElapsedSimTimeMs(),
+                ended, null);
+    }
+
+    /**
+     * Command-line entry point.
+     *
+     * @param args {@code [--threads N] [--quiet] [file-or-directory ...]}
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the command line against the given streams.
+     *
+     * @param args command-line arguments
+     * @param out receives the per-file lines and the summary
+     * @param err receives usage errors
+     * @return process exit code
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean quiet = false;
+        List<Path> roots = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads" -> {
+                        if (i + 1 >= args.length) throw new IllegalArgumentException("--threads needs a value");
+                        threads = Integer.parseInt(args[++i]);
+                    }
+                    case "--quiet" -> quiet = true;
+                    default -> roots.add(Path.of(args[i]));
+                }
+            }
+            if (threads <= 0) throw new IllegalArgumentException("--threads must be positive: " + threads);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("Usage: ReplayVerifier [--threads N] [--quiet] [file-or-directory ...]");
+            return 2;
+        }
+
+        List<Callable<Result>> tasks;
+        try {
+            tasks = roots.isEmpty() ? libraryTasks(ReplayManager.library()) : expand(roots);
+        } catch (IOException e) {
+            err.println("Cannot list replays: " + e);
+            return 2;
+        }
+        if (tasks.isEmpty()) {
+            out.println("No replays found.");
+            return 0;
+        }
+
+        Report report = new ReplayVerifier(threads).verifyTasks(tasks);
+        for (Result r : report.results()) {
+            if (!quiet || !r.matches()) out.println(describe(r));
+        }
+        out.println(String.format(Locale.ROOT,
+                "%d replays, %d failed; %d ticks in %.1f ms on %d threads (%.0f ticks/s, %.1f replays/s)",
+                report.results().size(), report.failures().size(), report.totalTicks(),
+                report.elapsedNanos() / 1_000_000.0, report.parallelism(),
+                report.ticksPerSecond(), report.filesPerSecond()));
+        return report.failures().isEmpty() ? 0 : 1;
+    }
+
+    private static List<Callable<Result>> libraryTasks(ReplayLibrary library) {
+        List<Callable<Result>> tasks = new ArrayList<>();
+        for (ReplayLibrary.Entry entry : library.entries()) tasks.add(() -> verifyEntry(library, entry));
+        return tasks;
+    }
+
+    private static List<Callable<Result>> expand(List<Path> roots) throws IOException {
+        List<Callable<Result>> tasks = new ArrayList<>();
+        for (Path root : roots) {
+            if (Files.isRegularFile(root.resolve(ReplayLibrary.INDEX_FILE))) {
+                tasks.addAll(libraryTasks(new ReplayLibrary(root)));
+            } else if (Files.isDirectory(root)) {
+                List<Path> files;
+                try (Stream<Path> listing = Files.list(root)) {
+                    files = listing.filter(Files::isRegularFile).sorted().toList();
+                }
+                for (Path file : files) tasks.add(() -> verifyFile(file));
+            } else {
+                tasks.add(() -> verifyFile(root));
+            }
+        }
+        return tasks;
+    }
+
+    private static String describe(Result r) {
+        String source = r.libraryId() > 0 ? r.file() + " #" + r.libraryId() : r.file().toString();
+        if (r.error() != null) return "ERROR     " + source + ": " + r.error();
+        String status = r.matches() ? "OK        " : "MISMATCH  ";
+        return status + source + " recorded=" + r.recordedScore() + " replayed=" + r.replayedScore()
+                + " ticks=" + r.ticks() + (r.ended() ? "" : " (did not end)");
+    }
+}
@@ -0,0 +1,97 @@
+package com.snakegame.sim;
+
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.DeathCause;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free aggregate of {@link SimulationResult}s recorded by concurrent {@link GameFarm} workers.
+ */
+public final class FarmStats {
+    private static final int SCORE_BUCKET_WIDTH = 5;
+    private static final int SCORE_BUCKETS = 400;
+    /** Upper bound on length buckets; large boards group several lengths per bucket. */
+    private static final int MAX_LENGTH_BUCKETS = 4096;
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder apples = new LongAdder();
+    private final Map<DeathCause, LongAdder> deaths = new EnumMap<>(DeathCause.class);
+    private final LongAdderHistogram scores = new LongAdderHistogram(SCORE_BUCKET_WIDTH, SCORE_BUCKETS);
+    private final LongAdderHistogram lengths;
+
+    /**
+     * Creates an empty aggregate for runs on the given board.
+     *
+     * @param board board of the runs, which bounds the snake length
+     */
+    public FarmStats(BoardGeometry board) {
+        // Lengths range over 0..cellCount; one bucket per length up to MAX_LENGTH_BUCKETS of them.
+        int lengthRange = board.cellCount() + 1;
+        int lengthBucketWidth = Math.ceilDiv(lengthRange, MAX_LENGTH_BUCKETS);
+        lengths = new LongAdderHistogram(lengthBucketWidth, Math.ceilDiv(lengthRange, lengthBucketWidth));
+
+        // Fully populated up front so concurrent readers/writers never modify the map itself.
+        for (DeathCause cause : DeathCause.values()) deaths.put(cause, new LongAdder());
+    }
+
+    /**
+     * Adds one finished run. Safe to call from multiple threads.
+     *
+     * @param result run result
+     */
+    public void record(SimulationResult result) {
+        games.increment();
+        ticks.add(result.ticks());
+        apples.add(result.applesEaten());
+        deaths.get(result.deathCause()).increment();
+        scores.record(result.score());
+        lengths.record(result.snakeLength());
+    }
+
+    /**
+     * Returns the number of recorded runs.
+     *
+     * @return run count
+     */
+    public long games() { return games.sum(); }
+
+    /**
+     * Returns the total number of ticks simulated across all runs.
+     *
+     * @return total ticks
+     */
+    public long totalTicks() { return ticks.sum(); }
+
+    /**
+     * Returns the total number of apples eaten across all runs.
+     *
+     * @return total apples
+     */
+    public long totalApples() { return apples.sum(); }
+
+    /**
+     * Returns how many runs ended for the given reason.
+     *
+     * @param cause death cause ({@link DeathCause#NONE} counts runs stopped by the tick limit)
+     * @return run count
+     */
+    public long deaths(DeathCause cause) { return deaths.get(cause).sum(); }
+
+    /**
+     * Returns the distribution of final scores.
+     *
+     * @return score histogram
+     */
+    public LongAdderHistogram scoreHistogram() { return scores; }
+
+    /**
+     * Returns the distribution of final snake lengths.
+     *
+     * @return length histogram
+     */
+    public LongAdderHistogram lengthHistogram() { return lengths; }
+}
@@ -0,0 +1,233 @@
+package com.snakegame.sim;
+
+import com.snakegame.ai.AiMode;
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.controller.input.AiDirectionProvider;
+import com.snakegame.controller.input.DirectionProvider;
+import com.snakegame.mode.GameMode;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.DeathCause;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Plays independent seeded runs across all cores using a {@link ForkJoinPool}.
+ *
+ * <p>The seed range is split recursively into small chunks so idle workers can steal work from
+ * busy ones. Each worker thread owns one {@link DirectionProvider} (created from the runner's
+ * factory and reset between runs), and results are aggregated into {@link FarmStats} without
+ * locks. Runs share nothing but their frozen {@link com.snakegame.config.SettingsSnapshot}, so the
+ * outcome for each seed is identical to running it with {@link SimulationRunner} alone.</p>
+ *
+ * <p>{@link #main} runs a farm of AI games from the command line, for example on a large board.</p>
+ */
+public final class GameFarm {
+    private static final int SEEDS_PER_TASK = 8;
+
+    private static final String USAGE = "Usage: GameFarm [--board <cols>x<rows>] [--seeds N] [--first-seed S]"
+            + " [--threads N] [--max-ticks N] [--ai CHASE|SAFE|SURVIVAL]";
+
+    private final SimulationRunner runner;
+    private final int parallelism;
+
+    /**
+     * Outcome of a farm run.
+     *
+     * @param stats aggregated results
+     * @param elapsedNanos wall-clock duration of the run
+     * @param parallelism number of worker threads used
+     */
+    public record Report(FarmStats stats, long elapsedNanos, int parallelism) {
+        /**
+         * Returns the achieved throughput.
+         *
+         * @return finished runs per wall-clock second
+         */
+        public double gamesPerSecond() {
+            return elapsedNanos <= 0 ? 0.0 : stats.games() * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Creates a farm using one worker per available processor.
+     *
+     * @param runner runner describing settings, provider factory and tick limit
+     */
+    public GameFarm(SimulationRunner runner) {
+        this(runner, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a farm.
+     *
+     * @param runner runner describing settings, provider factory and tick limit
+     * @param parallelism number of worker threads (must be positive)
+     */
+    public GameFarm(SimulationRunner runner, int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        this.runner = Objects.requireNonNull(runner, "runner");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Plays one run per seed in {@code [firstSeed, endSeed)} and aggregates the results.
+     *
+     * @param firstSeed first seed (inclusive)
+     * @param endSeed last seed (exclusive)
+     * @return aggregated report
+     */
+    public Report run(long firstSeed, long endSeed) {
+        return run(firstSeed, endSeed, result -> { });
+    }
+
+    /**
+     * Plays one run per seed in {@code [firstSeed, endSeed)}, passing each result to a listener.
+     *
+     * @param firstSeed first seed (inclusive)
+     * @param endSeed last seed (exclusive)
+     * @param listener receives each result; called concurrently from worker threads in no particular order
+     * @return aggregated report
+     */
+    public Report run(long firstSeed, long endSeed, Consumer<SimulationResult> listener) {
+        if (endSeed < firstSeed) {
+            throw new IllegalArgumentException("Empty seed range: [" + firstSeed + ", " + endSeed + ")");
+        }
+        Objects.requireNonNull(listener, "listener");
+
+        FarmStats stats = new FarmStats(runner.getSettings().board());
+        ThreadLocal<DirectionProvider> providers = ThreadLocal.withInitial(runner::newProvider);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            pool.invoke(new SeedRangeTask(firstSeed, endSeed, providers, stats, listener));
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Report(stats, System.nanoTime() - start, parallelism);
+    }
+
+    /**
+     * Command-line entry point.
+     *
+     * @param args {@code [--board <cols>x<rows>] [--seeds N] [--first-seed S] [--threads N] [--max-ticks N] [--ai MODE]}
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Runs the command line against the given streams.
+     *
+     * <p>Games use the AI game mode with default difficulty and no obstacles on the given board; the
+     * saved user settings are not read.</p>
+     *
+     * @param args command-line arguments
+     * @param out receives the summary
+     * @param err receives usage errors
+     * @return process exit code
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        BoardGeometry board = BoardGeometry.DEFAULT;
+        long seeds = 1000;
+        long firstSeed = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long maxTicks = SimulationRunner.DEFAULT_MAX_TICKS;
+        AiMode aiMode = AiMode.SAFE;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) throw new IllegalArgumentException(option + " needs a value");
+                String value = args[++i];
+                switch (option) {
+                    case "--board" -> board = BoardGeometry.parse(value, BoardGeometry.DEFAULT);
+                    case "--seeds" -> seeds = Long.parseLong(value);
+                    case "--first-seed" -> firstSeed = Long.parseLong(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--max-ticks" -> maxTicks = Long.parseLong(value);
+                    case "--ai" -> aiMode = AiMode.valueOf(value.toUpperCase(Locale.ROOT));
+                    default -> throw new IllegalArgumentException("Unknown option: " + option);
+                }
+            }
+            if (seeds <= 0) throw new IllegalArgumentException("--seeds must be positive: " + seeds);
+            if (threads <= 0) throw new IllegalArgumentException("--threads must be positive: " + threads);
+            if (maxTicks <= 0) throw new IllegalArgumentException("--max-ticks must be positive: " + maxTicks);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 2;
+        }
+
+        SettingsSnapshot settings = SettingsSnapshot.builder()
+                .currentMode(GameMode.AI)
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Farm")
+                .board(board)
+                .build();
+        AiMode mode = aiMode;
+        SimulationRunner runner = new SimulationRunner(settings, () -> new AiDirectionProvider(mode), maxTicks);
+        Report report = new GameFarm(runner, threads).run(firstSeed, firstSeed + seeds);
+
+        FarmStats stats = report.stats();
+        out.println(String.format(Locale.ROOT,
+                "%d %s games on %s: %d ticks in %.1f ms on %d threads (%.1f games/s)",
+                stats.games(), mode, board, stats.totalTicks(), report.elapsedNanos() / 1_000_000.0,
+                report.parallelism(), report.gamesPerSecond()));
+        out.println(String.format(Locale.ROOT,
+                "score mean %.1f max %d; length mean %.1f max %d",
+                stats.scoreHistogram().mean(), stats.scoreHistogram().max(),
+                stats.lengthHistogram().mean(), stats.lengthHistogram().max()));
+        StringBuilder deaths = new StringBuilder("ended by");
+        for (DeathCause cause : DeathCause.values()) {
+            deaths.append(' ').append(cause == DeathCause.NONE ? "TICK_LIMIT" : cause.name())
+                    .append('=').append(stats.deaths(cause));
+        }
+        out.println(deaths);
+        return 0;
+    }
+
+    private final class SeedRangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        // Tasks are never serialized; ForkJoinTask is Serializable only by inheritance.
+        private final transient ThreadLocal<DirectionProvider> providers;
+        private final transient FarmStats stats;
+        private final transient Consumer<SimulationResult> listener;
+
+        SeedRangeTask(long from, long to, ThreadLocal<DirectionProvider> providers,
+                      FarmStats stats, Consumer<SimulationResult> listener) {
+            this.from = from;
+            this.to = to;
+            this.providers = providers;
+            this.stats = stats;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEEDS_PER_TASK) {
+                DirectionProvider provider = providers.get();
+                for (long seed = from; seed < to; seed++) {
+                    SimulationResult result = runner.runSeed(seed, provider);
+                    stats.record(result);
+                    listener.accept(result);
+                }
+                return;
+            }
+            long mid = from + (to - from) / 2;
+            invokeAll(
+                    new SeedRangeTask(from, mid, providers, stats, listener),
+                    new SeedRangeTask(mid, to, providers, stats, listener)
+            );
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.snakegame.sim;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-width histogram of non-negative values that many threads can record into without locking.
+ *
+ * <p>Values are grouped into {@code bucketCount} buckets of {@code bucketWidth}. Anything at or above
+ * {@code bucketWidth * bucketCount} lands in a single overflow bucket. Each bucket is a
+ * {@link LongAdder}, so concurrent recording does not contend on a shared counter.</p>
+ */
+public final class LongAdderHistogram {
+    private final int bucketWidth;
+    private final LongAdder[] buckets;
+    private final LongAdder overflow = new LongAdder();
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Creates an empty histogram.
+     *
+     * @param bucketWidth width of each bucket (must be positive)
+     * @param bucketCount number of regular buckets before the overflow bucket (must be positive)
+     */
+    public LongAdderHistogram(int bucketWidth, int bucketCount) {
+        if (bucketWidth <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket width and count must be positive: " + bucketWidth + ", " + bucketCount);
+        }
+        this.bucketWidth = bucketWidth;
+        this.buckets = new LongAdder[bucketCount];
+        for (int i = 0; i < bucketCount; i++) buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Records one value. Negative values are clamped to zero.
+     *
+     * @param value value to record
+     */
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        long bucket = v / bucketWidth;
+        if (bucket < buckets.length) {
+            buckets[(int) bucket].increment();
+        } else {
+            overflow.increment();
+        }
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return value count
+     */
+    public long count() { return count.sum(); }
+
+    /**
+     * Returns the sum of all recorded values.
+     *
+     * @return value sum
+     */
+    public long sum() { return sum.sum(); }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return maximum value (0 if empty)
+     */
+    public long max() { return max.get(); }
+
+    /**
+     * Returns the arithmetic mean of all recorded values.
+     *
+     * @return mean value (0 if empty)
+     */
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0.0 : (double) sum() / n;
+    }
+
+    /**
+     * Returns the width of each regular bucket.
+     *
+     * @return bucket width
+     */
+    public int bucketWidth() { return bucketWidth; }
+
+    /**
+     * Returns the number of regular buckets (excluding overflow).
+     *
+     * @return bucket count
+     */
+    public int bucketCount() { return buckets.length; }
+
+    /**
+     * Returns the number of values recorded in a regular bucket.
+     *
+     * @param index bucket index; covers values {@code [index * width, (index + 1) * width)}
+     * @return value count for the bucket
+     */
+    public long bucket(int index) { return buckets[index].sum(); }
+
+    /**
+     * Returns the number of values beyond the last regular bucket.
+     *
+     * @return overflow count
+     */
+    public long overflow() { return overflow.sum(); }
+
+    /**
+     * Returns an approximate percentile as the upper bound of the bucket that contains it.
+     *
+     * <p>Percentiles falling into the overflow bucket report {@link #max()}.</p>
+     *
+     * @param percentile percentile in {@code [0, 100]}
+     * @return approximate value at the percentile (0 if empty)
+     */
+    public long percentile(double percentile) {
+        long n = count();
+        if (n == 0) return 0L;
+        long rank = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * n);
+        rank = Math.max(1L, rank);
+
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) return Math.min(max(), (long) (i + 1) * bucketWidth - 1);
+        }
+        return max();
+    }
+}
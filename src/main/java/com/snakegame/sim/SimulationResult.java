@@ -0,0 +1,33 @@
+package com.snakegame.sim;
+
+import com.snakegame.model.DeathCause;
+
+/**
+ * Outcome of a single headless run produced by {@link SimulationRunner}.
+ *
+ * @param seed RNG seed the run was started with
+ * @param score final score
+ * @param ticks number of simulation ticks executed
+ * @param applesEaten apples eaten (since the last map advance in RACE mode)
+ * @param snakeLength final snake length in segments
+ * @param finalMapId map id at the end of the run (only meaningful for map-based modes)
+ * @param deathCause why the run ended, or {@link DeathCause#NONE} if it hit the tick limit
+ */
+public record SimulationResult(
+        long seed,
+        int score,
+        long ticks,
+        int applesEaten,
+        int snakeLength,
+        int finalMapId,
+        DeathCause deathCause
+) {
+    /**
+     * Returns whether the run was stopped by the tick limit rather than by a collision.
+     *
+     * @return {@code true} if the snake was still alive when the run ended
+     */
+    public boolean reachedTickLimit() {
+        return deathCause == DeathCause.NONE;
+    }
+}
@@ -0,0 +1,149 @@
+package com.snakegame.sim;
+
+import com.snakegame.config.GameSettings;
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.controller.input.DirectionProvider;
+import com.snakegame.model.Direction;
+import com.snakegame.model.GameConfig;
+import com.snakegame.model.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Headless driver that plays seeded runs to completion as fast as the CPU allows.
+ *
+ * <p>Each tick mirrors {@link com.snakegame.controller.GameLoop}: the tick duration follows the
+ * run's difficulty (plus the slowdown offset while slowed), the direction provider is consulted
+ * before {@link GameState#update()}, and events are drained afterwards. No Swing timers, sound or
+ * persistence are involved, so a given seed, snapshot and provider produce the same result as a
+ * live AI run.</p>
+ *
+ * <p>A fresh {@link DirectionProvider} is requested from the factory for every run because
+ * providers may keep per-run state.</p>
+ */
+public final class SimulationRunner {
+    /** Default safety limit for runs that never die (e.g., a perfectly looping AI). */
+    public static final long DEFAULT_MAX_TICKS = 200_000;
+
+    private final SettingsSnapshot settings;
+    private final Supplier<? extends DirectionProvider> providerFactory;
+    private final long maxTicks;
+    private final int baseTickMs;
+
+    /**
+     * Creates a runner with {@link #DEFAULT_MAX_TICKS}.
+     *
+     * @param settings frozen run settings shared by all runs
+     * @param providerFactory creates the input provider for each run
+     */
+    public SimulationRunner(SettingsSnapshot settings, Supplier<? extends DirectionProvider> providerFactory) {
+        this(settings, providerFactory, DEFAULT_MAX_TICKS);
+    }
+
+    /**
+     * Creates a runner.
+     *
+     * @param settings frozen run settings shared by all runs
+     * @param providerFactory creates the input provider for each run
+     * @param maxTicks maximum ticks per run before it is stopped (must be positive)
+     */
+    public SimulationRunner(SettingsSnapshot settings, Supplier<? extends DirectionProvider> providerFactory, long maxTicks) {
+        if (maxTicks <= 0) throw new IllegalArgumentException("maxTicks must be positive: " + maxTicks);
+        this.settings = Objects.requireNonNull(settings, "settings");
+        this.providerFactory = Objects.requireNonNull(providerFactory, "providerFactory");
+        this.maxTicks = maxTicks;
+        this.baseTickMs = Math.max(1, GameSettings.speedDelayFromDifficultyLevel(settings.difficultyLevel()));
+    }
+
+    /**
+     * Plays one run per seed in {@code [firstSeed, endSeed)}.
+     *
+     * @param firstSeed first seed (inclusive)
+     * @param endSeed last seed (exclusive)
+     * @return results in seed order
+     */
+    public List<SimulationResult> run(long firstSeed, long endSeed) {
+        if (endSeed < firstSeed) {
+            throw new IllegalArgumentException("Empty seed range: [" + firstSeed + ", " + endSeed + ")");
+        }
+        List<SimulationResult> results = new ArrayList<>((int) Math.min(Integer.MAX_VALUE - 8, endSeed - firstSeed));
+        for (long seed = firstSeed; seed < endSeed; seed++) {
+            results.add(runSeed(seed));
+        }
+        return results;
+    }
+
+    /**
+     * Plays a single run until game over or the tick limit.
+     *
+     * @param seed RNG seed for the run
+     * @return run result
+     */
+    public SimulationResult runSeed(long seed) {
+        return runSeed(seed, providerFactory.get());
+    }
+
+    /**
+     * Plays a single run with a caller-owned provider, e.g. one reused per worker thread.
+     *
+     * <p>The provider is {@link DirectionProvider#reset() reset} first so results do not depend on
+     * which runs it served before.</p>
+     *
+     * @param seed RNG seed for the run
+     * @param provider input provider (must not be shared with a concurrently running game)
+     * @return run result
+     */
+    public SimulationResult runSeed(long seed, DirectionProvider provider) {
+        GameState state = new GameState(seed, false, settings);
+        provider.reset();
+
+        while (state.isRunning() && state.getTick() < maxTicks) {
+            int effectiveTickMs = state.isSlowed()
+                    ? baseTickMs + GameConfig.SLOWDOWN_OFFSET_MS
+                    : baseTickMs;
+            state.setTickMs(effectiveTickMs);
+
+            Direction dir = provider.nextDirection(state);
+            if (dir != null) state.setDirection(dir);
+
+            state.update();
+            state.consumeEvents();
+        }
+
+        return new SimulationResult(
+                seed,
+                state.getScore(),
+                state.getTick(),
+                state.getApplesEaten(),
+                state.getSnake().length(),
+                state.getCurrentMapId(),
+                state.getDeathCause()
+        );
+    }
+
+    /**
+     * Creates a provider from the configured factory.
+     *
+     * @return new direction provider
+     */
+    DirectionProvider newProvider() {
+        return providerFactory.get();
+    }
+
+    /**
+     * Returns the settings every run is started with.
+     *
+     * @return run settings snapshot
+     */
+    public SettingsSnapshot getSettings() { return settings; }
+
+    /**
+     * Returns the per-run tick limit.
+     *
+     * @return maximum ticks per run
+     */
+    public long getMaxTicks() { return maxTicks; }
+}
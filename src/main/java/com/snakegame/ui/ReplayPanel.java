@@ -2,41 +2,77 @@ package com.snakegame.ui;
 
 import com.snakegame.config.GameSettings;
 import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.mode.GameMode;
 import com.snakegame.model.GameState;
 import com.snakegame.replay.ReplayController;
 import com.snakegame.replay.ReplayData;
+import com.snakegame.replay.ReplayEvent;
+import com.snakegame.replay.ReplayIndex;
+import com.snakegame.replay.ReplayLibrary;
 import com.snakegame.replay.ReplayManager;
 import com.snakegame.view.GameRenderer;
 
 import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * UI panel for viewing deterministic replays in watch-only mode.
  *
  * <p>Uses a local {@link SettingsSnapshot} from the replay file so that playback does not mutate
  * global {@link GameSettings}.</p>
+ *
+ * <p>The scrubber below the canvas seeks through a {@link ReplayIndex}, which is built in the
+ * background when a replay is loaded; until it is ready the scrubber is disabled and playback
+ * works as usual.</p>
+ *
+ * <p>Besides the last and best runs, every run in the {@link ReplayLibrary} is listed on the left.
+ * The list is filled from the library index alone, so sorting and filtering it never opens a
+ * replay; a replay is read only when its row is selected.</p>
  */
 public class ReplayPanel extends JPanel {
+    private static final Logger log = Logger.getLogger(ReplayPanel.class.getName());
 
     private final Runnable backToMenu;
 
-    private GameState state;
     private ReplayController controller;
+    private transient ReplayIndex index;
+    private transient SwingWorker<ReplayIndex, Void> indexBuilder;
+    private transient SwingWorker<List<ReplayLibrary.Entry>, Void> libraryLoader;
 
     // WATCH-ONLY: keep replay settings local, do not touch global GameSettings
     private SettingsSnapshot replaySettings;
 
+    /** Loads the replay being shown; Restart loads it again. */
+    private transient Supplier<Optional<ReplayData>> currentSource = ReplayManager::loadLast;
+
     private final JComboBox<String> replaySelect;
     private final JButton playPauseBtn;
     private final JButton stepBtn;
     private final JButton restartBtn;
     private final JSlider speedSlider;
+    private final JSlider scrubber;
+    private final JLabel positionLabel;
+    /** Set while the scrubber is moved to follow playback, so that does not trigger a seek. */
+    private boolean followingPlayback;
 
     private final JPanel gameCanvas;
 
+    private final LibraryTableModel libraryModel = new LibraryTableModel();
+    private final JTable libraryTable;
+    private final transient TableRowSorter<LibraryTableModel> librarySorter;
+    private final JComboBox<String> modeFilter;
+    private final JSpinner minScoreFilter;
+
     /**
      * Creates the replay panel.
      *
@@ -124,9 +160,9 @@ public class ReplayPanel extends JPanel {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                if (state != null) {
+                if (controller != null) {
                     // WATCH-ONLY: render using replay snapshot settings, not global settings
-                    GameRenderer.renderScaleToFit(g, state, getWidth(), getHeight(), replaySettings);
+                    GameRenderer.renderScaleToFit(g, controller.getState(), getWidth(), getHeight(), replaySettings);
                 }
             }
         };
@@ -135,6 +171,75 @@ public class ReplayPanel extends JPanel {
         gameCanvas.setDoubleBuffered(true);
 
         add(gameCanvas, BorderLayout.CENTER);
+
+        // ----- Library -----
+        String[] modes = new String[GameMode.values().length + 1];
+        modes[0] = "All modes";
+        for (GameMode m : GameMode.values()) modes[m.ordinal() + 1] = m.name();
+        modeFilter = new JComboBox<>(modes);
+        modeFilter.addActionListener(e -> applyLibraryFilter());
+
+        minScoreFilter = new JSpinner(new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 10));
+        minScoreFilter.setToolTipText("Minimum score");
+        minScoreFilter.addChangeListener(e -> applyLibraryFilter());
+
+        libraryTable = new JTable(libraryModel);
+        libraryTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        libraryTable.setFillsViewportHeight(true);
+        libraryTable.getColumnModel().getColumn(LibraryTableModel.LENGTH).setCellRenderer(new DefaultTableCellRenderer() {
+            @Override
+            protected void setValue(Object value) {
+                long ms = (value instanceof Long l) ? l : -1;
+                setText(ms < 0 ? "--:--" : formatTime(ms));
+            }
+        });
+        librarySorter = new TableRowSorter<>(libraryModel);
+        librarySorter.setSortKeys(List.of(new RowSorter.SortKey(LibraryTableModel.ID, SortOrder.DESCENDING)));
+        libraryTable.setRowSorter(librarySorter);
+        libraryTable.getSelectionModel().addListSelectionListener(e -> {
+            if (e.getValueIsAdjusting()) return;
+            int row = libraryTable.getSelectedRow();
+            if (row < 0) return;
+            ReplayLibrary.Entry entry = libraryModel.entryAt(libraryTable.convertRowIndexToModel(row));
+            showReplay(() -> ReplayManager.load(entry));
+        });
+
+        JPanel filters = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 4));
+        filters.setBackground(Color.DARK_GRAY);
+        filters.add(modeFilter);
+        JLabel minLabel = new JLabel("Min score");
+        minLabel.setForeground(Color.WHITE);
+        filters.add(minLabel);
+        filters.add(minScoreFilter);
+
+        JPanel library = new JPanel(new BorderLayout());
+        library.setBackground(Color.DARK_GRAY);
+        library.setPreferredSize(new Dimension(300, 0));
+        library.add(filters, BorderLayout.NORTH);
+        library.add(new JScrollPane(libraryTable), BorderLayout.CENTER);
+        add(library, BorderLayout.WEST);
+
+        // ----- Scrubber -----
+        scrubber = new JSlider(0, 0, 0);
+        scrubber.setOpaque(false);
+        scrubber.setEnabled(false);
+        scrubber.setToolTipText("Seek");
+        // Dragging seeks once, on release, rather than for every intermediate value.
+        scrubber.addChangeListener(e -> {
+            if (!followingPlayback && !scrubber.getValueIsAdjusting() && controller != null && index != null) {
+                controller.seek(index, scrubber.getValue());
+            }
+        });
+
+        positionLabel = new JLabel(formatTime(0) + " / --:--");
+        positionLabel.setForeground(Color.WHITE);
+
+        JPanel bottom = new JPanel(new BorderLayout(8, 0));
+        bottom.setBackground(Color.DARK_GRAY);
+        bottom.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+        bottom.add(scrubber, BorderLayout.CENTER);
+        bottom.add(positionLabel, BorderLayout.EAST);
+        add(bottom, BorderLayout.SOUTH);
     }
 
     /**
@@ -142,6 +247,7 @@ public class ReplayPanel extends JPanel {
      * Fixes: "quit mid replay and next time replay shows the old position"
      */
     public void onShow() {
+        refreshLibrary();
         reloadCurrent();                 // ALWAYS start from beginning of selected replay
         playPauseBtn.setText("Play");  // reset button
     }
@@ -159,23 +265,69 @@ public class ReplayPanel extends JPanel {
     }
 
     private void onReplaySelected(ActionEvent e) {
+        libraryTable.clearSelection();
+        String sel = (String) replaySelect.getSelectedItem();
+        if ("Best Game".equals(sel)) showReplay(ReplayManager::loadBest);
+        else showReplay(ReplayManager::loadLast);
+    }
+
+    private void showReplay(Supplier<Optional<ReplayData>> source) {
+        currentSource = source;
         reloadCurrent();
     }
 
     private void reloadCurrent() {
         stopIfRunning();
+        loadReplay(currentSource.get());
+    }
 
-        String sel = (String) replaySelect.getSelectedItem();
-        if ("Best Game".equals(sel)) loadReplay(ReplayManager.loadBest());
-        else loadReplay(ReplayManager.loadLast());
+    /**
+     * Reloads the library table off the EDT; opening the library the first time imports the old
+     * replay slots, which reads and writes files.
+     */
+    private void refreshLibrary() {
+        if (libraryLoader != null) libraryLoader.cancel(true);
+        SwingWorker<List<ReplayLibrary.Entry>, Void> worker = new SwingWorker<>() {
+            @Override
+            protected List<ReplayLibrary.Entry> doInBackground() {
+                return ReplayManager.library().entries();
+            }
+
+            @Override
+            protected void done() {
+                if (libraryLoader != this || isCancelled()) return;
+                libraryLoader = null;
+                try {
+                    libraryModel.setEntries(get());
+                } catch (InterruptedException | ExecutionException ex) {
+                    log.log(Level.WARNING, "Failed to load the replay library", ex);
+                }
+            }
+        };
+        libraryLoader = worker;
+        worker.execute();
+    }
+
+    private void applyLibraryFilter() {
+        GameMode mode = (modeFilter.getSelectedIndex() <= 0)
+                ? null
+                : GameMode.valueOf((String) modeFilter.getSelectedItem());
+        int minScore = (Integer) minScoreFilter.getValue();
+        librarySorter.setRowFilter(new RowFilter<>() {
+            @Override
+            public boolean include(Entry<? extends LibraryTableModel, ? extends Integer> row) {
+                ReplayLibrary.Entry e = row.getModel().entryAt(row.getIdentifier());
+                return (mode == null || e.mode() == mode) && e.finalScore() >= minScore;
+            }
+        });
     }
 
     private void loadReplay(Optional<ReplayData> opt) {
         stopIfRunning();
         controller = null;
+        resetIndex();
 
         if (opt.isEmpty()) {
-            state = null;
             replaySettings = null;
             playPauseBtn.setText("Play");
             JOptionPane.showMessageDialog(this, "No replay found for this selection.");
@@ -189,7 +341,7 @@ public class ReplayPanel extends JPanel {
         replaySettings = data.runSettingsSnapshot;
 
         // Fresh deterministic state => prevents "Game Over persists" and stale state  
-        state = new GameState(data.seed, true, replaySettings);
+        GameState state = new GameState(data.seed, true, replaySettings);
         // Tick speed should match the run (from snapshot) without mutating session settings
         int baseDelay = (replaySettings != null)
                 ? GameSettings.speedDelayFromDifficultyLevel(replaySettings.difficultyLevel())
@@ -197,13 +349,87 @@ public class ReplayPanel extends JPanel {
 
         state.setTickMs(baseDelay);
 
-        controller = new ReplayController(state, baseDelay, data.events, gameCanvas::repaint);
+        buildIndex(state.copy(), baseDelay, data.events, data.interruptedAtTick);
+
+        controller = new ReplayController(state, baseDelay, data.events, data.interruptedAtTick, this::onReplayTick);
         controller.setSpeedMultiplier(speedSlider.getValue() / 100.0);
 
         playPauseBtn.setText("Play");
+        onReplayTick();
+    }
+
+    /**
+     * Builds the seek index for the loaded replay in the background and enables the scrubber once
+     * it is ready.
+     *
+     * @param initial copy of the replay's initial state, handed over to the worker
+     * @param baseDelay base simulation tick in milliseconds
+     * @param events recorded input events
+     * @param interruptedAtTick tick an interrupted recording stops at, or {@code -1}
+     */
+    private void buildIndex(GameState initial, int baseDelay, List<ReplayEvent> events, long interruptedAtTick) {
+        SwingWorker<ReplayIndex, Void> worker = new SwingWorker<>() {
+            @Override
+            protected ReplayIndex doInBackground() {
+                return ReplayIndex.build(initial, baseDelay, events, interruptedAtTick);
+            }
+
+            @Override
+            protected void done() {
+                if (indexBuilder != this || isCancelled()) return;
+                indexBuilder = null;
+                try {
+                    index = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    log.log(Level.WARNING, "Failed to index replay; seeking disabled", ex);
+                    return;
+                }
+                followingPlayback = true;
+                scrubber.setMaximum((int) Math.min(Integer.MAX_VALUE, index.endTick()));
+                followingPlayback = false;
+                scrubber.setEnabled(true);
+                onReplayTick();
+            }
+        };
+        indexBuilder = worker;
+        worker.execute();
+    }
+
+    private void resetIndex() {
+        if (indexBuilder != null) indexBuilder.cancel(true);
+        indexBuilder = null;
+        index = null;
+        followingPlayback = true;
+        scrubber.setValue(0);
+        scrubber.setMaximum(0);
+        followingPlayback = false;
+        scrubber.setEnabled(false);
+        positionLabel.setText(formatTime(0) + " / --:--");
+    }
+
+    /**
+     * Repaints after the replay advanced or seeked, moving the scrubber along.
+     */
+    private void onReplayTick() {
+        if (controller != null) {
+            GameState state = controller.getState();
+            if (index != null && !scrubber.getValueIsAdjusting()) {
+                followingPlayback = true;
+                scrubber.setValue((int) Math.min(Integer.MAX_VALUE, state.getTick()));
+                followingPlayback = false;
+            }
+            String end = (index != null) ? formatTime(index.endElapsedMs()) : "--:--";
+            positionLabel.setText(formatTime(state.getElapsedSimTimeMs()) + " / " + end);
+            if (!controller.isPlaying()) playPauseBtn.setText("Play");
+        }
         gameCanvas.repaint();
     }
 
+    private static String formatTime(long millis) {
+        long seconds = millis / 1000;
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+
     private void togglePlayPause() {
         if (controller == null) return;
 
@@ -215,8 +441,44 @@ public class ReplayPanel extends JPanel {
             playPauseBtn.setText("Pause");
         }
     }
-}
 
+    /**
+     * Library index entries as table rows. Cells hold typed values so the sorter compares numbers.
+     */
+    private static final class LibraryTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+        static final int ID = 0;
+        static final int LENGTH = 4;
+        private static final String[] COLUMNS = {"#", "Score", "Mode", "Map", "Length"};
+        private static final Class<?>[] TYPES = {Long.class, Integer.class, String.class, Integer.class, Long.class};
+
+        private transient List<ReplayLibrary.Entry> entries = List.of();
+
+        void setEntries(List<ReplayLibrary.Entry> entries) {
+            this.entries = entries;
+            fireTableDataChanged();
+        }
+
+        ReplayLibrary.Entry entryAt(int row) { return entries.get(row); }
+
+        @Override public int getRowCount() { return entries.size(); }
 
+        @Override public int getColumnCount() { return COLUMNS.length; }
 
+        @Override public String getColumnName(int column) { return COLUMNS[column]; }
 
+        @Override public Class<?> getColumnClass(int column) { return TYPES[column]; }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            ReplayLibrary.Entry e = entries.get(row);
+            return switch (column) {
+                case ID -> e.id();
+                case 1 -> e.finalScore();
+                case 2 -> e.interrupted() ? e.mode().name() + " (interrupted)" : e.mode().name();
+                case 3 -> e.startMapId();
+                default -> e.durationMs();
+            };
+        }
+    }
+}
@@ -2,20 +2,28 @@ package com.snakegame.ui;
 
 import com.snakegame.config.GameSettings;
 import com.snakegame.config.GameSettingsManager;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.view.GameRenderer;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import com.snakegame.sound.MusicManager;
 
 /**
- * UI panel for configuring user settings such as audio, grid display, name, and theme.
+ * UI panel for configuring user settings such as audio, grid display, name, theme, and board size.
  */
 public class SettingsPanel extends JPanel {
+    /** Board sizes offered in the board menu; any other {@code <cols>x<rows>} can be typed in. */
+    private static final String[] BOARD_PRESETS = {
+            BoardGeometry.DEFAULT.toString(), "32x32", "48x48", "64x64", "128x128", "256x256", "1024x1024"
+    };
+
     private final JCheckBox soundCheck;
     private final JCheckBox musicCheck;
     private final JCheckBox gridCheck;
     private final JTextField nameField;
     private final JComboBox<GameSettings.Theme> themeCombo;
+    private final JComboBox<String> boardCombo;
 
     boolean wasMusicOn = GameSettings.isMusicEnabled();
     boolean wasSoundOn = GameSettings.isSoundEnabled();
@@ -86,6 +94,24 @@ public class SettingsPanel extends JPanel {
         content.add(themeCombo);
         content.add(Box.createVerticalStrut(10));
 
+        // Board size menu (applies to new runs)
+        boardCombo = new JComboBox<>(BOARD_PRESETS);
+        boardCombo.setEditable(true);
+        boardCombo.setSelectedItem(GameSettings.getBoard().toString());
+        boardCombo.setMaximumSize(new Dimension(200, 25));
+        boardCombo.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel boardLabel = new JLabel("Board (columns x rows):");
+        boardLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        boardLabel.setForeground(Color.WHITE);
+        boardLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        content.add(boardLabel);
+
+        content.add(Box.createVerticalStrut(15));
+
+        content.add(boardCombo);
+        content.add(Box.createVerticalStrut(10));
+
 
         // Buttons
         JPanel buttonPanel = new JPanel(new FlowLayout());
@@ -127,14 +153,26 @@ public class SettingsPanel extends JPanel {
     private JButton getSaveJButton() {
         JButton save = new JButton("✔ Save");
         save.addActionListener(e -> {
+            BoardGeometry board;
+            try {
+                board = BoardGeometry.parse(String.valueOf(boardCombo.getSelectedItem()), BoardGeometry.DEFAULT);
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this,
+                        "Board size must be <columns>x<rows>, each side between "
+                                + BoardGeometry.MIN_SIDE + " and " + BoardGeometry.MAX_SIDE + ".",
+                        "Invalid board size", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
             GameSettings.withAutosaveSuppressed(() -> {
                 GameSettings.setPlayerName(nameField.getText().trim());
                 GameSettings.setSoundEnabled(soundCheck.isSelected());
                 GameSettings.setMusicEnabled(musicCheck.isSelected());
                 GameSettings.setShowGrid(gridCheck.isSelected());
                 GameSettings.setSelectedTheme((GameSettings.Theme)themeCombo.getSelectedItem());
+                GameSettings.setBoard(board);
             });
             GameSettingsManager.save();
+            GameRenderer.invalidateStaticLayer(); // theme or grid may have changed
 
             boolean nowMusicOn;
             boolean nowSoundOn;
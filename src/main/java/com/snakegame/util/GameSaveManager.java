@@ -5,10 +5,12 @@ import com.snakegame.config.SettingsSnapshot;
 import com.snakegame.model.*;
 
 import java.awt.Point;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
@@ -27,6 +29,7 @@ import java.util.logging.Logger;
 public class GameSaveManager {
     private static String filePath = AppPaths.SAVE_FILE.toString();
     private static final Logger log = Logger.getLogger(GameSaveManager.class.getName());
+    private static final long MAX_CELLS = (long) BoardGeometry.MAX_SIDE * BoardGeometry.MAX_SIDE;
 
     private static Path savePath() {
         return Paths.get(filePath);
@@ -165,6 +168,19 @@ public class GameSaveManager {
             p.setProperty("movingObstaclesEnabled", String.valueOf(ss.movingObstaclesEnabled()));
             p.setProperty("movingObstacleCount", String.valueOf(ss.movingObstacleCount()));
             p.setProperty("movingObstaclesAutoIncrement", String.valueOf(ss.movingObstaclesAutoIncrement()));
+            p.setProperty("aiBaseMode", ss.aiBaseMode().name());
+            p.setProperty("board", ss.board().toString());
+            p.setProperty("spawnAlgorithm", String.valueOf(ss.spawnAlgorithm().version()));
+            p.setProperty("rngAlgorithm", String.valueOf(ss.rngAlgorithm().version()));
+        }
+
+        // deterministic clock and RNG (only for runs whose RNG state can be captured)
+        if (s.rngState != null) {
+            p.setProperty("tick", String.valueOf(s.tick));
+            p.setProperty("elapsedSimTimeMs", String.valueOf(s.elapsedSimTimeMs));
+            p.setProperty("rngState", String.valueOf(s.rngState));
+            if (s.appleSpawnTick != null) p.setProperty("appleSpawnTick", String.valueOf(s.appleSpawnTick));
+            if (s.freeCells != null) p.setProperty("freeCellRuns", encodeRuns(s.freeCells));
         }
 
         // gameplay
@@ -174,7 +190,7 @@ public class GameSaveManager {
         p.setProperty("snakeBody", encodePoints(s.snakeBody == null ? List.of() : s.snakeBody));
 
         // apple
-        p.setProperty("applePos", encodePoint(s.applePos == null ? new Point(0, 0) : s.applePos));
+        if (s.applePos != null) p.setProperty("applePos", encodePoint(s.applePos));
         p.setProperty("appleType", (s.appleType == null ? "NORMAL" : s.appleType.name()));
         p.setProperty("appleSpawnTime", String.valueOf(s.appleSpawnTime));
         p.setProperty("appleVisibleDurationMs", String.valueOf(s.appleVisibleDurationMs));
@@ -296,27 +312,46 @@ public class GameSaveManager {
                 playerId = GameSettings.getPlayerId();
             }
 
-            SettingsSnapshot ss = new SettingsSnapshot(
-                    Integer.parseInt(p.getProperty("difficultyLevel", "20")),
-                    Boolean.parseBoolean(p.getProperty("obstaclesEnabled", "false")),
-                    com.snakegame.mode.GameMode.valueOf(p.getProperty("currentMode", "STANDARD")),
-                    Integer.parseInt(p.getProperty("selectedMapId", "1")),
-                    Integer.parseInt(p.getProperty("raceThreshold", "20")),
-                    Boolean.parseBoolean(p.getProperty("soundEnabled", "true")),
-                    Boolean.parseBoolean(p.getProperty("musicEnabled", "true")),
-                    Boolean.parseBoolean(p.getProperty("showGrid", "true")),
-                    p.getProperty("playerName", "Player"),
-                    playerId,
-                    GameSettings.Theme.valueOf(p.getProperty("theme", "RETRO")),
-                    Boolean.parseBoolean(p.getProperty("movingObstaclesEnabled", "false")),
-                    Integer.parseInt(p.getProperty("movingObstacleCount", "0")),
-                    Boolean.parseBoolean(p.getProperty("movingObstaclesAutoIncrement", "false")),
-                    false
-            );
+            SettingsSnapshot ss = SettingsSnapshot.builder()
+                    .difficultyLevel(Integer.parseInt(p.getProperty("difficultyLevel", "20")))
+                    .obstaclesEnabled(Boolean.parseBoolean(p.getProperty("obstaclesEnabled", "false")))
+                    .currentMode(com.snakegame.mode.GameMode.valueOf(p.getProperty("currentMode", "STANDARD")))
+                    .selectedMapId(Integer.parseInt(p.getProperty("selectedMapId", "1")))
+                    .raceThreshold(Integer.parseInt(p.getProperty("raceThreshold", "20")))
+                    .soundEnabled(Boolean.parseBoolean(p.getProperty("soundEnabled", "true")))
+                    .musicEnabled(Boolean.parseBoolean(p.getProperty("musicEnabled", "true")))
+                    .showGrid(Boolean.parseBoolean(p.getProperty("showGrid", "true")))
+                    .playerName(p.getProperty("playerName", "Player"))
+                    .playerId(playerId)
+                    .selectedTheme(GameSettings.Theme.valueOf(p.getProperty("theme", "RETRO")))
+                    .movingObstaclesEnabled(Boolean.parseBoolean(p.getProperty("movingObstaclesEnabled", "false")))
+                    .movingObstacleCount(Integer.parseInt(p.getProperty("movingObstacleCount", "0")))
+                    .movingObstaclesAutoIncrement(Boolean.parseBoolean(p.getProperty("movingObstaclesAutoIncrement", "false")))
+                    // Older saves did not record it; fall back to the session value they were played with.
+                    .aiBaseMode(com.snakegame.mode.GameMode.valueOf(p.getProperty("aiBaseMode", GameSettings.getAiBaseMode().name())))
+                    // Files written before board sizes existed were played on the default board.
+                    .board(BoardGeometry.parse(p.getProperty("board"), BoardGeometry.DEFAULT))
+                    // Files written before the free-cell index used rejection sampling.
+                    .spawnAlgorithm(SpawnAlgorithm.fromVersion(Integer.parseInt(p.getProperty("spawnAlgorithm", "1"))))
+                    // Files written before the RNG was selectable used java.util.Random.
+                    .rngAlgorithm(RngAlgorithm.fromVersion(Integer.parseInt(p.getProperty("rngAlgorithm", "1"))))
+                    .build();
             s.settingsSnapshot = ss;
             s.mode = ss.currentMode();
             s.selectedMapId = ss.selectedMapId();
 
+            // deterministic clock and RNG
+            String rngState = p.getProperty("rngState");
+            if (rngState != null) {
+                s.tick = Long.parseLong(p.getProperty("tick", "0"));
+                s.elapsedSimTimeMs = Long.parseLong(p.getProperty("elapsedSimTimeMs", "0"));
+                s.rngState = Long.parseLong(rngState);
+                String appleSpawnTick = p.getProperty("appleSpawnTick");
+                if (appleSpawnTick != null) s.appleSpawnTick = Long.parseLong(appleSpawnTick);
+                String freeCells = p.getProperty("freeCellRuns");
+                if (freeCells != null) s.freeCells = decodeRuns(freeCells);
+            }
+
             // gameplay
             s.score = Integer.parseInt(p.getProperty("score", "0"));
             s.applesEaten = Integer.parseInt(p.getProperty("applesEaten", "0"));
@@ -324,7 +359,8 @@ public class GameSaveManager {
             s.snakeBody = decodePoints(p.getProperty("snakeBody", ""));
 
             // apple
-            s.applePos = decodePoint(p.getProperty("applePos", "0,0"));
+            String applePos = p.getProperty("applePos");
+            s.applePos = (applePos == null) ? null : decodePoint(applePos);
             s.appleType = AppleType.valueOf(p.getProperty("appleType", "NORMAL"));
             s.appleSpawnTime = Long.parseLong(p.getProperty("appleSpawnTime", "0"));
             s.appleVisibleDurationMs = Long.parseLong(p.getProperty("appleVisibleDurationMs", "0"));
@@ -384,6 +420,73 @@ public class GameSaveManager {
         return sb.toString();
     }
 
+    /**
+     * Encodes a free-cell order as base64 varints: the number of runs of consecutive ascending
+     * cells, then each run's start (relative to where the previous run ended, zigzag-encoded) and
+     * length. The index only swaps cells out of the initial ascending order, so the text grows with
+     * the occupied cells and the run's churn rather than with the board.
+     */
+    private static String encodeRuns(int[] cells) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int runs = 0;
+        for (int i = 0; i < cells.length; i++) {
+            if (i == 0 || cells[i] != cells[i - 1] + 1) runs++;
+        }
+        writeVarInt(out, runs);
+        int next = 0;
+        for (int i = 0; i < cells.length; ) {
+            int start = i;
+            while (i + 1 < cells.length && cells[i + 1] == cells[i] + 1) i++;
+            i++;
+            int delta = cells[start] - next;
+            writeVarInt(out, (delta << 1) ^ (delta >> 31));
+            writeVarInt(out, i - start);
+            next = cells[i - 1] + 1;
+        }
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    private static int[] decodeRuns(String s) {
+        ByteBuffer in = ByteBuffer.wrap(Base64.getDecoder().decode(s.trim()));
+        int runs = readVarInt(in);
+        int[] starts = new int[runs];
+        int[] lengths = new int[runs];
+        long total = 0;
+        int next = 0;
+        for (int r = 0; r < runs; r++) {
+            int zigzag = readVarInt(in);
+            starts[r] = next + ((zigzag >>> 1) ^ -(zigzag & 1));
+            lengths[r] = readVarInt(in);
+            total += lengths[r];
+            if (lengths[r] <= 0 || total > MAX_CELLS) throw new IllegalArgumentException("Bad free-cell runs");
+            next = starts[r] + lengths[r];
+        }
+        int[] out = new int[(int) total];
+        int i = 0;
+        for (int r = 0; r < runs; r++) {
+            for (int k = 0; k < lengths[r]; k++) out[i++] = starts[r] + k;
+        }
+        return out;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int v) {
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int v = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            v |= (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
     private static Point decodePoint(String s) {
         String[] parts = s.split(",");
         return new Point(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
@@ -9,6 +9,7 @@ import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -23,7 +24,11 @@ public class ScoreManager {
 
     private static String scoreFilePath = AppPaths.SCORES_FILE.toString();
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-    private static final List<String> scores = new ArrayList<>();
+    // Copy-on-write: finished runs are recorded on the simulation thread while the HUD reads the
+    // high score on the EDT.
+    private static final List<String> scores = new CopyOnWriteArrayList<>();
+    // Maintained by every update below so the HUD can read it each frame without parsing history.
+    private static volatile int highScore;
     private static final LeaderboardClient leaderboardClient = new LeaderboardClient();
 
     // Load scores from file once on class load
@@ -31,7 +36,7 @@ public class ScoreManager {
         loadFromFile();
     }
 
-    private static void loadFromFile() {
+    private static synchronized void loadFromFile() {
         scores.clear();
         try {
             Path path = Paths.get(scoreFilePath);
@@ -41,6 +46,9 @@ public class ScoreManager {
         } catch (IOException e) {
             log.log(Level.WARNING, "Failed to load scores from: " + scoreFilePath, e);
         }
+        int max = 0;
+        for (String line : scores) max = Math.max(max, parseScore(line));
+        highScore = max;
     }
 
     /**
@@ -56,8 +64,9 @@ public class ScoreManager {
     /**
      * Clears the in-memory score list (does not delete the score file).
      */
-    public static void clearScores() {
+    public static synchronized void clearScores() {
         scores.clear();
+        highScore = 0;
     }
 
     /**
@@ -67,7 +76,10 @@ public class ScoreManager {
      */
     public static void addScore(int score) {
         String entry = FORMATTER.format(LocalDateTime.now()) + " - Score: " + score;
-        scores.add(entry);
+        synchronized (ScoreManager.class) {
+            scores.add(entry);
+            if (score > highScore) highScore = score;
+        }
         appendToFile(entry);
     }
 
@@ -162,20 +174,22 @@ public class ScoreManager {
     /**
      * Returns the highest recorded score.
      *
+     * <p>The value is kept up to date as scores are loaded, added and cleared, so this is a plain
+     * read and cheap enough to call on every frame.</p>
+     *
      * @return high score
      */
     public static int getHighScore() {
-        return scores.stream()
-                .mapToInt(line -> {
-                    try {
-                        String[] parts = line.split("Score: ");
-                        return Integer.parseInt(parts[1].trim());
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
+        return highScore;
+    }
+
+    private static int parseScore(String line) {
+        try {
+            String[] parts = line.split("Score: ");
+            return Integer.parseInt(parts[1].trim());
+        } catch (Exception e) {
+            return 0;
+        }
     }
 
 }
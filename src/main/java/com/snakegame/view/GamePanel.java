@@ -1,6 +1,8 @@
 package com.snakegame.view;
 
 import com.snakegame.controller.GameController;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.FrameSnapshot;
 import com.snakegame.model.GameConfig;
 import com.snakegame.model.GameSnapshot;
 import com.snakegame.model.GameState;
@@ -9,38 +11,47 @@ import com.snakegame.util.ProgressManager;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 
 /**
  * Swing panel responsible for hosting a live game run.
  *
  * <p>Creates a {@link GameState} and {@link GameController}, listens for property-change events used
  * by {@link com.snakegame.ui.GameFrame} to navigate between cards, and delegates rendering to
- * {@link GameRenderer}.</p>
+ * {@link GameRenderer}. Painting uses the frames last published by the controller's simulation
+ * thread, never the live {@link GameState}; a {@link RenderLoop} repaints the regions a tick changed
+ * at display refresh and each paint interpolates between the last two ticks.</p>
  */
 public class GamePanel extends JPanel {
     private GameState gameState;
     private GameController controller;
+    private final transient RenderLoop renderLoop;
 
     /**
      * Creates a new game panel starting a fresh run.
      */
     public GamePanel() {
-        this.setPreferredSize(new Dimension(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT));
-        this.setBackground(Color.BLACK);
-        this.setFocusable(true);
-        initGame();
+        this(null);
     }
 
     /**
      * Creates a new game panel and restores state from a saved snapshot.
      *
-     * @param snapshot saved game snapshot to restore
+     * @param snapshot saved game snapshot to restore, or {@code null} for a fresh run
      */
     public GamePanel(GameSnapshot snapshot) {
         this.setPreferredSize(new Dimension(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT));
         this.setBackground(Color.BLACK);
         this.setFocusable(true);
+        this.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                GameRenderer.invalidateStaticLayer();
+            }
+        });
         initGame(snapshot);
+        this.renderLoop = new RenderLoop(() -> controller.getPublishedFrames(), this, this::toPanel);
     }
 
     private void initGame() { initGame(null); }
@@ -52,6 +63,7 @@ public class GamePanel extends JPanel {
         }
 
         Runnable restartCallback = () -> SwingUtilities.invokeLater(() -> {
+            controller.stop();
             removeKeyListener(controller);
             ProgressManager.clearSavedGame();
             initGame();
@@ -62,13 +74,16 @@ public class GamePanel extends JPanel {
         });
 
         Runnable goToMainMenuCallback = () -> SwingUtilities.invokeLater(() -> {
+            controller.stop();
+            renderLoop.stop();
             removeKeyListener(controller);
             firePropertyChange("goToMenu", false, true);
         });
 
         Runnable settingsCallback = () -> this.firePropertyChange("showSettings", false, true);
 
-        this.controller = new GameController(gameState, this::repaint, restartCallback, goToMainMenuCallback, settingsCallback);
+        // The render loop repaints at display refresh, so ticks need not request repaints themselves.
+        this.controller = new GameController(gameState, () -> { }, restartCallback, goToMainMenuCallback, settingsCallback);
         this.addKeyListener(controller);
     }
 
@@ -78,12 +93,38 @@ public class GamePanel extends JPanel {
     public void startGame() {
         requestFocusInWindow();
         controller.start();
+        renderLoop.start();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void removeNotify() {
+        renderLoop.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Maps a world-pixel region to the panel pixels {@link #paintComponent} draws it to.
+     *
+     * @param world region in world pixels
+     * @param board board geometry
+     * @return region in panel pixels
+     */
+    private Rectangle toPanel(Rectangle world, BoardGeometry board) {
+        if (board.equals(BoardGeometry.DEFAULT)) return world;
+        return GameRenderer.scaleToFitRegion(world, board, getWidth(), getHeight());
     }
 
     /** {@inheritDoc} */
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        GameRenderer.renderWorld(g, gameState, null); // draw at 0,0 in world coords
+        FrameSnapshot frame = renderLoop.frameAt(System.nanoTime());
+        if (frame.board().equals(BoardGeometry.DEFAULT)) {
+            GameRenderer.renderWorld(g, frame, null); // draw at 0,0 in world coords
+        } else {
+            // Other board sizes do not match the panel's preferred size, so fit them to it.
+            GameRenderer.renderScaleToFit(g, frame, getWidth(), getHeight(), null);
+        }
     }
 }
@@ -6,14 +6,50 @@ import com.snakegame.model.*;
 import com.snakegame.util.ScoreManager;
 
 import java.awt.*;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Rendering utility for drawing the game world to a Swing {@link Graphics} context.
  *
  * <p>Supports both live gameplay (using global {@link GameSettings}) and watch-only replay
  * rendering (using a provided {@link SettingsSnapshot} without mutating global settings).</p>
+ *
+ * <p>Drawing works on a {@link FrameSnapshot}. Live gameplay passes the frame published by the
+ * simulation thread; the {@link GameState} overloads capture a frame first and are meant for states
+ * advanced on the calling thread (replays, tools).</p>
+ *
+ * <p>The grid and static obstacles are blitted from a {@link StaticLayerCache} instead of being
+ * drawn shape by shape each frame, theme colors are created once, and the {@link HudLayer} keeps its
+ * fonts, strings and text widths between frames.</p>
  */
 public final class GameRenderer {
+    /** Color behind the world, filled around it and baked into the static layer. */
+    static final Color BACKGROUND = Color.BLACK;
+
+    private static final StaticLayerCache STATIC_LAYER = new StaticLayerCache();
+    private static final HudLayer HUD = new HudLayer();
+
+    /** Colors of one theme, created once. */
+    private record Palette(Color snakeHead, Color snakeBody, Color obstacle, Color obstacleOutline, Color movingObstacle) {
+        static Palette of(Color snakeHead, Color snakeBody, Color obstacle) {
+            return new Palette(snakeHead, snakeBody, obstacle, obstacle.darker(),
+                    new Color(obstacle.getRed(), obstacle.getGreen(), obstacle.getBlue(), 180));
+        }
+    }
+
+    private static final Map<GameSettings.Theme, Palette> PALETTES = new EnumMap<>(GameSettings.Theme.class);
+    static {
+        for (GameSettings.Theme theme : GameSettings.Theme.values()) {
+            PALETTES.put(theme, switch (theme) {
+                case NEON -> Palette.of(Color.MAGENTA, Color.CYAN, Color.PINK);
+                case PIXEL_ART -> Palette.of(new Color(0, 255, 255), new Color(0, 128, 128), new Color(128, 128, 0));
+                default -> Palette.of(Color.GREEN, new Color(45, 180, 0), Color.GRAY);
+            });
+        }
+    }
+
     private GameRenderer() {}
 
     // ---------------------- LIVE GAME ----------------------
@@ -55,31 +91,35 @@ public final class GameRenderer {
      */
     public static void renderScaleToFit(Graphics g, GameState gameState, int panelW, int panelH, SettingsSnapshot settings) {
         if (gameState == null) return;
+        renderScaleToFit(g, FrameSnapshot.captureFrom(gameState), panelW, panelH, settings);
+    }
+
+    /**
+     * Renders a captured frame scaled to fit the given panel bounds.
+     *
+     * @param g graphics context
+     * @param frame frame to render
+     * @param panelW panel width in pixels
+     * @param panelH panel height in pixels
+     * @param settings frozen settings to use for rendering (may be {@code null} for live settings)
+     */
+    public static void renderScaleToFit(Graphics g, FrameSnapshot frame, int panelW, int panelH, SettingsSnapshot settings) {
+        if (frame == null) return;
 
         Graphics2D g2 = (Graphics2D) g.create();
         try {
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            int worldW = GameConfig.SCREEN_WIDTH;
-            int worldH = GameConfig.SCREEN_HEIGHT;
-
-            double sx = panelW / (double) worldW;
-            double sy = panelH / (double) worldH;
-            double s = Math.min(sx, sy);
-
-            int drawW = (int) Math.round(worldW * s);
-            int drawH = (int) Math.round(worldH * s);
+            double s = fitScale(frame.board(), panelW, panelH);
+            Rectangle fit = fitBounds(frame.board(), panelW, panelH);
 
-            int offX = (panelW - drawW) / 2;
-            int offY = (panelH - drawH) / 2;
-
-            g2.setColor(Color.BLACK);
+            g2.setColor(BACKGROUND);
             g2.fillRect(0, 0, panelW, panelH);
 
-            g2.translate(offX, offY);
+            g2.translate(fit.x, fit.y);
             g2.scale(s, s);
 
-            renderWorld(g2, gameState, settings);
+            renderWorld(g2, frame, settings);
         } finally {
             g2.dispose();
         }
@@ -96,95 +136,201 @@ public final class GameRenderer {
      */
     public static void renderFixed(Graphics g, GameState gameState, int panelW, int panelH, SettingsSnapshot settings) {
         if (gameState == null) return;
+        renderFixed(g, FrameSnapshot.captureFrom(gameState), panelW, panelH, settings);
+    }
+
+    /**
+     * Renders a captured frame centered at a fixed size.
+     *
+     * @param g graphics context
+     * @param frame frame to render
+     * @param panelW panel width in pixels
+     * @param panelH panel height in pixels
+     * @param settings frozen settings to use for rendering (may be {@code null} for live settings)
+     */
+    public static void renderFixed(Graphics g, FrameSnapshot frame, int panelW, int panelH, SettingsSnapshot settings) {
+        if (frame == null) return;
 
         Graphics2D g2 = (Graphics2D) g.create();
         try {
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            int worldW = GameConfig.SCREEN_WIDTH;
-            int worldH = GameConfig.SCREEN_HEIGHT;
+            int worldW = frame.board().width();
+            int worldH = frame.board().height();
 
             int offX = (panelW - worldW) / 2;
             int offY = (panelH - worldH) / 2;
 
-            g2.setColor(Color.BLACK);
+            g2.setColor(BACKGROUND);
             g2.fillRect(0, 0, panelW, panelH);
 
             g2.translate(offX, offY);
 
-            renderWorld(g2, gameState, settings);
+            renderWorld(g2, frame, settings);
         } finally {
             g2.dispose();
         }
     }
 
+    /**
+     * Maps a world-pixel region to the panel pixels {@link #renderScaleToFit} draws it to.
+     *
+     * @param world region in world pixels
+     * @param board board geometry
+     * @param panelW panel width in pixels
+     * @param panelH panel height in pixels
+     * @return covering region in panel pixels (rounded outwards)
+     */
+    public static Rectangle scaleToFitRegion(Rectangle world, BoardGeometry board, int panelW, int panelH) {
+        double s = fitScale(board, panelW, panelH);
+        Rectangle fit = fitBounds(board, panelW, panelH);
+        int x0 = fit.x + (int) Math.floor(world.x * s);
+        int y0 = fit.y + (int) Math.floor(world.y * s);
+        int x1 = fit.x + (int) Math.ceil((world.x + world.width) * s);
+        int y1 = fit.y + (int) Math.ceil((world.y + world.height) * s);
+        return new Rectangle(x0, y0, x1 - x0, y1 - y0);
+    }
+
+    private static double fitScale(BoardGeometry board, int panelW, int panelH) {
+        double sx = panelW / (double) board.width();
+        double sy = panelH / (double) board.height();
+        return Math.min(sx, sy);
+    }
+
+    /**
+     * Returns where {@link #renderScaleToFit} places the board within the panel.
+     */
+    private static Rectangle fitBounds(BoardGeometry board, int panelW, int panelH) {
+        int worldW = board.width();
+        int worldH = board.height();
+        double s = fitScale(board, panelW, panelH);
+
+        int drawW = (int) Math.round(worldW * s);
+        int drawH = (int) Math.round(worldH * s);
+
+        int offX = (panelW - drawW) / 2;
+        int offY = (panelH - drawH) / 2;
+        return new Rectangle(offX, offY, drawW, drawH);
+    }
+
     // ------------------- INTERNAL -------------------
 
     /**
      * Renders the world in simulation coordinates (0,0 at the top-left of the playfield).
      *
      * @param g graphics context (already translated/scaled as desired)
-     * @param gameState state to render
+     * @param frame frame to render
      * @param settings optional settings snapshot for watch-only rendering
      */
-    static void renderWorld(Graphics g, GameState gameState, SettingsSnapshot settings) {
+    static void renderWorld(Graphics g, FrameSnapshot frame, SettingsSnapshot settings) {
         boolean showGrid = (settings != null) ? settings.showGrid() : GameSettings.isShowGrid();
-        if (showGrid) drawGrid(g);
+        GameSettings.Theme theme = (settings != null) ? settings.selectedTheme() : GameSettings.getSelectedTheme();
+
+        if (frame.running()) {
+            STATIC_LAYER.draw(g, frame.board(), frame.obstacles(), theme, showGrid);
+        } else if (showGrid) {
+            drawGrid(g, frame.board()); // the game-over screen shows no obstacles
+        }
+
+        drawGame(g, frame, settings, theme);
+    }
+
+    /**
+     * Returns the cache of the pre-rendered grid and static obstacles.
+     *
+     * @return static layer cache
+     */
+    static StaticLayerCache staticLayer() {
+        return STATIC_LAYER;
+    }
+
+    /**
+     * Drops the pre-rendered grid and static obstacles, so the next frame renders them afresh.
+     * Call when the map, the theme, the grid toggle or the window size changes.
+     */
+    public static void invalidateStaticLayer() {
+        STATIC_LAYER.invalidate();
+    }
 
-        drawGame(g, gameState, settings);
+    /**
+     * Draws the grid and static obstacles directly; used to fill the {@link StaticLayerCache}.
+     *
+     * @param g graphics context in world coordinates
+     * @param board board geometry
+     * @param obstacles static obstacles (pixel coordinates)
+     * @param theme theme selecting the obstacle colors
+     * @param showGrid whether grid lines are drawn
+     */
+    static void drawStaticLayer(Graphics g, BoardGeometry board, List<Point> obstacles,
+                                GameSettings.Theme theme, boolean showGrid) {
+        if (showGrid) drawGrid(g, board);
+
+        Palette palette = PALETTES.get(theme);
+        for (Point obs : obstacles) {
+            g.setColor(palette.obstacle());
+            g.fillRect(obs.x, obs.y, GameConfig.UNIT_SIZE, GameConfig.UNIT_SIZE);
+            g.setColor(palette.obstacleOutline());
+            g.drawRect(obs.x, obs.y, GameConfig.UNIT_SIZE, GameConfig.UNIT_SIZE);
+        }
     }
 
-    private static void drawGrid(Graphics g) {
+    private static void drawGrid(Graphics g, BoardGeometry board) {
         g.setColor(Color.DARK_GRAY);
-        for (int i = 0; i < GameConfig.SCREEN_HEIGHT / GameConfig.UNIT_SIZE; i++) {
-            g.drawLine(i * GameConfig.UNIT_SIZE, 0, i * GameConfig.UNIT_SIZE, GameConfig.SCREEN_HEIGHT);
-            g.drawLine(0, i * GameConfig.UNIT_SIZE, GameConfig.SCREEN_WIDTH, i * GameConfig.UNIT_SIZE);
+        for (int i = 0; i < board.cols(); i++) {
+            g.drawLine(i * GameConfig.UNIT_SIZE, 0, i * GameConfig.UNIT_SIZE, board.height());
+        }
+        for (int i = 0; i < board.rows(); i++) {
+            g.drawLine(0, i * GameConfig.UNIT_SIZE, board.width(), i * GameConfig.UNIT_SIZE);
         }
     }
 
-    private static void drawGame(Graphics g, GameState gameState, SettingsSnapshot settings) {
-        GameSettings.Theme theme = (settings != null) ? settings.selectedTheme() : GameSettings.getSelectedTheme();
+    private static void drawGame(Graphics g, FrameSnapshot frame, SettingsSnapshot settings, GameSettings.Theme theme) {
+        Palette palette = PALETTES.get(theme);
 
-        Color snakeHeadColor, snakeBodyColor, obstacleColor;
-        switch (theme) {
-            case NEON -> {
-                snakeHeadColor = Color.MAGENTA;
-                snakeBodyColor = Color.CYAN;
-                obstacleColor = Color.PINK;
-            }
-            case PIXEL_ART -> {
-                snakeHeadColor = new Color(0, 255, 255);
-                snakeBodyColor = new Color(0, 128, 128);
-                obstacleColor  = new Color(128, 128, 0);
-            }
-            default -> {
-                snakeHeadColor = Color.GREEN;
-                snakeBodyColor = new Color(45, 180, 0);
-                obstacleColor = Color.GRAY;
+        String unlockMsg = frame.unlockMessage();
+        if (unlockMsg != null) HUD.drawUnlockMessage(g, frame.board(), unlockMsg);
+
+        if (!frame.running()) {
+            HUD.drawGameOver(g, frame.board());
+            return;
+        }
+
+        if (frame.applePosition() != null) drawApple(g, frame);
+
+        boolean movingEnabled = (settings != null) ? settings.movingObstaclesEnabled() : GameSettings.isMovingObstaclesEnabled();
+        if (movingEnabled) {
+            g.setColor(palette.movingObstacle());
+            for (Point p : frame.movingObstacleSegments()) {
+                g.fillRect(p.x, p.y, GameConfig.UNIT_SIZE, GameConfig.UNIT_SIZE);
             }
         }
 
-        String unlockMsg = gameState.getUnlockMessage();
-        if (unlockMsg != null) {
-            g.setColor(Color.YELLOW);
-            g.setFont(new Font("Arial", Font.BOLD, 18));
-            FontMetrics fm = g.getFontMetrics();
-            int x = (GameConfig.SCREEN_WIDTH - fm.stringWidth(unlockMsg)) / 2;
-            g.drawString(unlockMsg, x, 40);
+        // Tail first, so the head stays on top where an interpolated frame overlaps segments.
+        List<Point> body = frame.snakeBody();
+        for (int i = body.size() - 1; i >= 0; i--) {
+            Point p = body.get(i);
+            g.setColor(i == 0 ? palette.snakeHead() : palette.snakeBody());
+            g.fillOval(p.x, p.y, GameConfig.UNIT_SIZE, GameConfig.UNIT_SIZE);
         }
 
-        if (!gameState.isRunning()) {
-            drawGameOver(g);
-            return;
+        if (frame.reversedControls()) {
+            HUD.drawReverseBanner(g, frame.board());
+        } else if (frame.doubleScoreActive()) {
+            HUD.drawDoublePointsBanner(g, frame.board(), frame.secondsUntil(frame.doubleScoreEndTick()));
+        } else if (frame.slowed()) {
+            HUD.drawSlowModeBanner(g, frame.board(), frame.secondsUntil(frame.slowEndTick()));
         }
 
-        Apple appleObj = gameState.getApple();
-        AppleType type = appleObj.getType();
-        Point pos = appleObj.getPosition();
+        HUD.drawScore(g, frame.board(), frame.score(), ScoreManager.getHighScore());
+    }
+
+    private static void drawApple(Graphics g, FrameSnapshot frame) {
+        AppleType type = frame.appleType();
+        Point pos = frame.applePosition();
 
         long now = System.currentTimeMillis();
-        long sinceSpawn = now - appleObj.getSpawnTime();
-        long duration = appleObj.getVisibleDurationMs();
+        long sinceSpawn = now - frame.appleSpawnTimeMillis();
+        long duration = frame.appleVisibleDurationMs();
         boolean animatePulse = duration > 0;
 
         float scale = 1.0f;
@@ -214,79 +360,5 @@ public final class GameRenderer {
             }
             default -> g.fillOval(drawX, drawY, size, size);
         }
-
-        for (Point obs : gameState.getObstacles()) {
-            g.setColor(obstacleColor);
-            g.fillRect(obs.x, obs.y, GameConfig.UNIT_SIZE, GameConfig.UNIT_SIZE);
-            g.setColor(obstacleColor.darker());
-            g.drawRect(obs.x, obs.y, GameConfig.UNIT_SIZE, GameConfig.UNIT_SIZE);
-        }
-
-        boolean movingEnabled = (settings != null) ? settings.movingObstaclesEnabled() : GameSettings.isMovingObstaclesEnabled();
-        if (movingEnabled) {
-            Color moColor = new Color(obstacleColor.getRed(), obstacleColor.getGreen(), obstacleColor.getBlue(), 180);
-            g.setColor(moColor);
-            for (MovingObstacle mo : gameState.getMovingObstacles()) {
-                for (Point p : mo.getSegments()) {
-                    g.fillRect(p.x, p.y, GameConfig.UNIT_SIZE, GameConfig.UNIT_SIZE);
-                }
-            }
-        }
-
-        int index = 0;
-        for (Point p : gameState.getSnake().getBody()) {
-            g.setColor(index++ == 0 ? snakeHeadColor : snakeBodyColor);
-            g.fillOval(p.x, p.y, GameConfig.UNIT_SIZE, GameConfig.UNIT_SIZE);
-        }
-
-        if (gameState.isReversedControls()) {
-            drawCenteredText(g, "🔄 Reverse Controls Active!", 60, Color.MAGENTA);
-        } else if (gameState.isDoubleScoreActive()) {
-            long secLeft = secondsLeft(gameState, gameState.getDoubleScoreEndTime());
-            drawCenteredText(g, "💰 Double Points: " + secLeft + "s", 60, Color.YELLOW);
-        } else if (gameState.isSlowed()) {
-            long secLeft = secondsLeft(gameState, gameState.getSlowEndTime());
-            drawCenteredText(g, "⏳ Slow Mode: " + secLeft + "s", 60, Color.CYAN);
-        }
-
-        drawScore(g, gameState);
-    }
-
-    private static long secondsLeft(GameState state, long endTick) {
-        long ticksLeft = endTick - state.getTick();
-        if (ticksLeft < 0) ticksLeft = 0;
-        long msLeft = ticksLeft * (long) state.getTickMs();
-        return msLeft / 1000L;
-    }
-
-    private static void drawCenteredText(Graphics g, String text, int y, Color color) {
-        g.setColor(color);
-        g.setFont(new Font("Arial", Font.BOLD, 22));
-        FontMetrics fm = g.getFontMetrics();
-        int x = (GameConfig.SCREEN_WIDTH - fm.stringWidth(text)) / 2;
-        g.drawString(text, x, y);
-    }
-
-    private static void drawScore(Graphics g, GameState gameState) {
-        g.setColor(Color.RED);
-        g.setFont(new Font("Ink Free", Font.BOLD, 25));
-        String scoreText = "Score: " + gameState.getScore();
-        String highScoreText = "High Score: " + ScoreManager.getHighScore();
-        FontMetrics metrics = g.getFontMetrics();
-
-        g.drawString(scoreText, 10, g.getFont().getSize());
-        g.drawString(highScoreText,
-                GameConfig.SCREEN_WIDTH - metrics.stringWidth(highScoreText) - 10,
-                g.getFont().getSize());
-    }
-
-    private static void drawGameOver(Graphics g) {
-        g.setColor(Color.RED);
-        g.setFont(new Font("Ink Free", Font.BOLD, 75));
-        String gameOverText = "Game Over";
-        FontMetrics metrics = g.getFontMetrics();
-        g.drawString(gameOverText,
-                (GameConfig.SCREEN_WIDTH - metrics.stringWidth(gameOverText)) / 2,
-                GameConfig.SCREEN_HEIGHT / 2);
     }
 }
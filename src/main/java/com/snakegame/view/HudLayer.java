@@ -0,0 +1,179 @@
+package com.snakegame.view;
+
+import com.snakegame.model.BoardGeometry;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+
+/**
+ * Draws the heads-up display: score line, effect banners, unlock message and game-over text.
+ *
+ * <p>Fonts are created once, and each label keeps its last string and measured width, so a frame
+ * whose texts did not change allocates nothing and measures nothing. A width is re-measured when the
+ * text changes or the target's font render context (transform, antialiasing) does.</p>
+ *
+ * <p>Painting happens on the EDT, but access is synchronized so tools rendering from other threads
+ * stay safe.</p>
+ */
+final class HudLayer {
+    private static final Font UNLOCK_FONT = new Font("Arial", Font.BOLD, 18);
+    private static final Font BANNER_FONT = new Font("Arial", Font.BOLD, 22);
+    private static final Font SCORE_FONT = new Font("Ink Free", Font.BOLD, 25);
+    private static final Font GAME_OVER_FONT = new Font("Ink Free", Font.BOLD, 75);
+
+    private static final int BANNER_Y = 60;
+    private static final int UNLOCK_Y = 40;
+
+    private final Label unlock = new Label(UNLOCK_FONT, "", "");
+    private final Label reverse = new Label(BANNER_FONT, "🔄 Reverse Controls Active!");
+    private final Label doublePoints = new Label(BANNER_FONT, "💰 Double Points: ", "s");
+    private final Label slowMode = new Label(BANNER_FONT, "⏳ Slow Mode: ", "s");
+    private final Label score = new Label(SCORE_FONT, "Score: ", "");
+    private final Label highScore = new Label(SCORE_FONT, "High Score: ", "");
+    private final Label gameOver = new Label(GAME_OVER_FONT, "Game Over");
+
+    private int measurements;
+
+    /**
+     * Draws a transient unlock message centered near the top.
+     *
+     * @param g graphics context in world coordinates
+     * @param board board geometry
+     * @param message message to draw
+     */
+    synchronized void drawUnlockMessage(Graphics g, BoardGeometry board, String message) {
+        unlock.set(message);
+        drawCentered(g, board, unlock, UNLOCK_Y, Color.YELLOW);
+    }
+
+    /**
+     * Draws the reverse-controls banner.
+     *
+     * @param g graphics context in world coordinates
+     * @param board board geometry
+     */
+    synchronized void drawReverseBanner(Graphics g, BoardGeometry board) {
+        drawCentered(g, board, reverse, BANNER_Y, Color.MAGENTA);
+    }
+
+    /**
+     * Draws the double-points banner.
+     *
+     * @param g graphics context in world coordinates
+     * @param board board geometry
+     * @param secondsLeft whole seconds left
+     */
+    synchronized void drawDoublePointsBanner(Graphics g, BoardGeometry board, long secondsLeft) {
+        doublePoints.set(secondsLeft);
+        drawCentered(g, board, doublePoints, BANNER_Y, Color.YELLOW);
+    }
+
+    /**
+     * Draws the slow-mode banner.
+     *
+     * @param g graphics context in world coordinates
+     * @param board board geometry
+     * @param secondsLeft whole seconds left
+     */
+    synchronized void drawSlowModeBanner(Graphics g, BoardGeometry board, long secondsLeft) {
+        slowMode.set(secondsLeft);
+        drawCentered(g, board, slowMode, BANNER_Y, Color.CYAN);
+    }
+
+    /**
+     * Draws the score (top left) and high score (top right).
+     *
+     * @param g graphics context in world coordinates
+     * @param board board geometry
+     * @param currentScore current score
+     * @param best high score
+     */
+    synchronized void drawScore(Graphics g, BoardGeometry board, int currentScore, int best) {
+        score.set(currentScore);
+        highScore.set(best);
+
+        g.setColor(Color.RED);
+        g.setFont(SCORE_FONT);
+        int y = SCORE_FONT.getSize();
+        g.drawString(score.text, 10, y);
+        g.drawString(highScore.text, board.width() - highScore.width(g) - 10, y);
+    }
+
+    /**
+     * Draws the game-over text centered on the board.
+     *
+     * @param g graphics context in world coordinates
+     * @param board board geometry
+     */
+    synchronized void drawGameOver(Graphics g, BoardGeometry board) {
+        g.setColor(Color.RED);
+        g.setFont(GAME_OVER_FONT);
+        g.drawString(gameOver.text, (board.width() - gameOver.width(g)) / 2, board.height() / 2);
+    }
+
+    /**
+     * Returns how often a text width was measured.
+     *
+     * @return measurement count
+     */
+    synchronized int measurements() { return measurements; }
+
+    private static void drawCentered(Graphics g, BoardGeometry board, Label label, int y, Color color) {
+        g.setColor(color);
+        g.setFont(label.font);
+        g.drawString(label.text, (board.width() - label.width(g)) / 2, y);
+    }
+
+    /**
+     * A HUD string with its last value and measured width.
+     */
+    private final class Label {
+        private final Font font;
+        private final String prefix;
+        private final String suffix;
+
+        private boolean hasValue;
+        private long value;
+        private String text;
+        private FontRenderContext measuredFor;
+        private int width;
+
+        Label(Font font, String prefix, String suffix) {
+            this.font = font;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        Label(Font font, String constant) {
+            this(font, constant, "");
+            this.text = constant;
+        }
+
+        void set(long v) {
+            if (hasValue && v == value) return;
+            hasValue = true;
+            value = v;
+            update(prefix + v + suffix);
+        }
+
+        void set(String s) {
+            if (!s.equals(text)) update(s);
+        }
+
+        private void update(String s) {
+            text = s;
+            measuredFor = null;
+        }
+
+        int width(Graphics g) {
+            if (!(g instanceof Graphics2D g2)) return g.getFontMetrics(font).stringWidth(text);
+            FontRenderContext frc = g2.getFontRenderContext();
+            if (!frc.equals(measuredFor)) {
+                width = g2.getFontMetrics(font).stringWidth(text);
+                measuredFor = frc;
+                measurements++;
+            }
+            return width;
+        }
+    }
+}
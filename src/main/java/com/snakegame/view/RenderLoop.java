@@ -0,0 +1,185 @@
+package com.snakegame.view;
+
+import com.snakegame.controller.PublishedFrames;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.FrameSnapshot;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Repaints a component at the display's refresh rate while the simulation runs on its own thread.
+ *
+ * <p>The component paints an interpolated frame ({@link PublishedFrames#frameAt(long)}), so a repaint
+ * is only useful while a blend is still in progress or a new frame has been published; otherwise the
+ * refresh is skipped. This keeps slow tick rates smooth without repainting more often than the
+ * screen can show at fast ones.</p>
+ *
+ * <p>Only the regions a tick damaged ({@link PublishedFrames#damage()}) are painted. Swing's
+ * {@code RepaintManager} would union several {@code repaint(Rectangle)} calls into one bounding box
+ * (head and tail at opposite corners would cover the board), so the merged regions are painted one by
+ * one with {@link JComponent#paintImmediately(Rectangle)}; the timer already runs on the EDT. All
+ * regions of one refresh are painted from the same interpolated frame, which the target reads through
+ * {@link #frameAt(long)}, so region borders never show two different blends. A full
+ * repaint is used when the damage is unknown: the first frame, a map reset, game over, or a tick
+ * published in between two refreshes.</p>
+ */
+final class RenderLoop {
+    private static final int FALLBACK_REFRESH_HZ = 60;
+    private static final int MIN_REFRESH_HZ = 30;
+    private static final int MAX_REFRESH_HZ = 240;
+    /** Above this many separate regions a single bounding repaint is cheaper. */
+    private static final int MAX_REGIONS = 8;
+
+    private final Supplier<PublishedFrames> frames;
+    private final JComponent target;
+    private final BiFunction<Rectangle, BoardGeometry, Rectangle> worldToPanel;
+    private final Timer timer;
+
+    private PublishedFrames lastSeen;
+    private boolean settled;
+    /** Frame every region of the refresh in progress is painted from; {@code null} between refreshes. */
+    private FrameSnapshot painting;
+
+    /**
+     * Creates a render loop.
+     *
+     * @param frames source of the latest published frames (called on the EDT)
+     * @param target component to repaint
+     * @param worldToPanel maps a world-pixel region to the target's pixels it is painted to
+     */
+    RenderLoop(Supplier<PublishedFrames> frames, JComponent target,
+               BiFunction<Rectangle, BoardGeometry, Rectangle> worldToPanel) {
+        this.frames = frames;
+        this.target = target;
+        this.worldToPanel = worldToPanel;
+        this.timer = new Timer(1000 / displayRefreshHz(), e -> refresh(System.nanoTime()));
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Starts repainting; no-op if already running.
+     */
+    void start() {
+        if (!timer.isRunning()) timer.start();
+    }
+
+    /**
+     * Stops repainting.
+     */
+    void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Returns the frame the target should paint: the one of the refresh in progress, so that all of its
+     * regions match, or otherwise the latest published frames interpolated at the given time.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return frame to paint
+     */
+    FrameSnapshot frameAt(long nowNanos) {
+        return painting != null ? painting : frames.get().frameAt(nowNanos);
+    }
+
+    /**
+     * Repaints the damaged parts of the target unless the frame it would show has not changed since
+     * the last refresh.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return {@code true} if anything was painted or a repaint requested
+     */
+    boolean refresh(long nowNanos) {
+        PublishedFrames f = frames.get();
+        if (f == lastSeen && settled) return false;
+
+        PublishedFrames before = lastSeen;
+        boolean wasSettled = settled;
+        lastSeen = f;
+        // Paint even when this lands on alpha 1, so the final position is drawn once.
+        settled = f.alphaAt(nowNanos) >= 1.0;
+
+        boolean full = f.damage().full();
+        List<Rectangle> world = new ArrayList<>(f.damage().regions());
+        if (f != before) {
+            if (before == null || f.previous() != before.current()) {
+                full = true; // a tick's changes were never painted
+            } else if (!wasSettled) {
+                // The screen still shows a blend of the older pair; clear those positions too.
+                full |= before.damage().full();
+                world.addAll(before.damage().regions());
+            }
+        }
+        if (full) {
+            target.repaint();
+            return true;
+        }
+
+        BoardGeometry board = f.current().board();
+        Rectangle bounds = new Rectangle(0, 0, target.getWidth(), target.getHeight());
+        List<Rectangle> panel = new ArrayList<>(world.size());
+        for (Rectangle r : world) {
+            Rectangle p = worldToPanel.apply(r, board).intersection(bounds);
+            if (!p.isEmpty()) panel.add(p);
+        }
+        List<Rectangle> regions = merge(panel);
+        if (regions.size() > MAX_REGIONS) {
+            Rectangle union = new Rectangle(regions.get(0));
+            for (Rectangle r : regions) union.add(r);
+            target.repaint(union);
+        } else {
+            painting = f.frameAt(nowNanos);
+            try {
+                for (Rectangle r : regions) target.paintImmediately(r);
+            } finally {
+                painting = null;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges overlapping regions until none overlap.
+     *
+     * @param regions regions to merge
+     * @return disjoint regions covering the input
+     */
+    static List<Rectangle> merge(List<Rectangle> regions) {
+        List<Rectangle> out = new ArrayList<>(regions.size());
+        for (Rectangle r : regions) {
+            Rectangle m = new Rectangle(r);
+            boolean grew;
+            do {
+                grew = false;
+                for (Iterator<Rectangle> it = out.iterator(); it.hasNext(); ) {
+                    Rectangle o = it.next();
+                    if (o.intersects(m)) {
+                        m.add(o);
+                        it.remove();
+                        grew = true;
+                    }
+                }
+            } while (grew);
+            out.add(m);
+        }
+        return out;
+    }
+
+    private static int displayRefreshHz() {
+        if (GraphicsEnvironment.isHeadless()) return FALLBACK_REFRESH_HZ;
+        DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDisplayMode();
+        int hz = mode.getRefreshRate();
+        if (hz == DisplayMode.REFRESH_RATE_UNKNOWN) return FALLBACK_REFRESH_HZ;
+        return Math.max(MIN_REFRESH_HZ, Math.min(MAX_REFRESH_HZ, hz));
+    }
+}
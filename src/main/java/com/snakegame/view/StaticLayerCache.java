@@ -0,0 +1,160 @@
+package com.snakegame.view;
+
+import com.snakegame.config.GameSettings;
+import com.snakegame.model.BoardGeometry;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * Pre-rendered image of the parts of the world that do not change between ticks: the background,
+ * the grid and the static obstacles.
+ *
+ * <p>The image is rendered at device resolution for the target's current scale, so blitting it with
+ * a single {@code drawImage} looks the same as drawing the shapes directly. It is opaque (the
+ * background is painted into it), so the blit is a plain copy rather than a blend. It is rebuilt when
+ * the board, the obstacle list (a new instance after a map advance or restart, see
+ * {@link com.snakegame.model.GameState#getObstaclesSnapshot()}), the theme, the grid toggle, the
+ * scale or the antialiasing hint changes, or after {@link #invalidate()}.</p>
+ *
+ * <p>Holds one entry; painting happens on the EDT, but access is synchronized so tools rendering
+ * from other threads stay safe.</p>
+ */
+final class StaticLayerCache {
+
+    // What the cached image was rendered for; compared field by field on every draw.
+    private BoardGeometry board;
+    private List<Point> obstacles;
+    private GameSettings.Theme theme;
+    private boolean showGrid;
+    private double scaleX;
+    private double scaleY;
+    private double fractionX;
+    private double fractionY;
+    private Object antialiasing;
+    private GraphicsConfiguration config;
+
+    private BufferedImage image;
+    private int rebuilds;
+
+    /**
+     * Draws the static layer in world coordinates, rebuilding the cached image if needed.
+     *
+     * @param g graphics context in world coordinates (translated/scaled as desired)
+     * @param board board geometry
+     * @param obstacles static obstacles (pixel coordinates); compared by identity first
+     * @param theme theme selecting the obstacle colors
+     * @param showGrid whether grid lines are drawn
+     */
+    synchronized void draw(Graphics g, BoardGeometry board, List<Point> obstacles,
+                           GameSettings.Theme theme, boolean showGrid) {
+        AffineTransform tx = g instanceof Graphics2D g2d ? g2d.getTransform() : null;
+        if (!(g instanceof Graphics2D g2) || !isTranslateAndScale(tx)) {
+            g.setColor(GameRenderer.BACKGROUND);
+            g.fillRect(0, 0, board.width(), board.height());
+            GameRenderer.drawStaticLayer(g, board, obstacles, theme, showGrid);
+            return;
+        }
+
+        double originX = Math.floor(tx.getTranslateX());
+        double originY = Math.floor(tx.getTranslateY());
+        double fracX = tx.getTranslateX() - originX;
+        double fracY = tx.getTranslateY() - originY;
+        Object aa = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (image == null || !matches(board, obstacles, theme, showGrid, tx, fracX, fracY, aa, gc)) {
+            this.board = board;
+            this.obstacles = obstacles;
+            this.theme = theme;
+            this.showGrid = showGrid;
+            this.scaleX = tx.getScaleX();
+            this.scaleY = tx.getScaleY();
+            this.fractionX = fracX;
+            this.fractionY = fracY;
+            this.antialiasing = aa;
+            this.config = gc;
+            image = render();
+            rebuilds++;
+        }
+
+        Graphics2D blit = (Graphics2D) g2.create();
+        try {
+            // Device pixels already match the image, so drop the scale and blit at a whole pixel.
+            int pad = padding();
+            blit.setTransform(AffineTransform.getTranslateInstance(originX - pad, originY - pad));
+            blit.drawImage(image, 0, 0, null);
+        } finally {
+            blit.dispose();
+        }
+    }
+
+    /**
+     * Drops the cached image, so the next draw renders it afresh. Called when the map, the theme,
+     * the grid toggle or the window size changes.
+     */
+    synchronized void invalidate() {
+        image = null;
+    }
+
+    /**
+     * Returns how often the image was rebuilt.
+     *
+     * @return rebuild count
+     */
+    synchronized int rebuilds() { return rebuilds; }
+
+    private boolean matches(BoardGeometry board, List<Point> obstacles, GameSettings.Theme theme, boolean showGrid,
+                            AffineTransform tx, double fracX, double fracY, Object aa, GraphicsConfiguration gc) {
+        if (theme != this.theme || showGrid != this.showGrid || aa != this.antialiasing || gc != this.config
+                || tx.getScaleX() != scaleX || tx.getScaleY() != scaleY
+                || fracX != fractionX || fracY != fractionY || !board.equals(this.board)) {
+            return false;
+        }
+        if (obstacles != this.obstacles) {
+            if (!obstacles.equals(this.obstacles)) return false;
+            this.obstacles = obstacles; // equal list in a new instance: later frames match by identity
+        }
+        return true;
+    }
+
+    private BufferedImage render() {
+        int pad = padding();
+        int w = (int) Math.ceil(board.width() * scaleX) + 2 * pad;
+        int h = (int) Math.ceil(board.height() * scaleY) + 2 * pad;
+        BufferedImage img = config != null
+                ? config.createCompatibleImage(w, h, Transparency.OPAQUE)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setColor(GameRenderer.BACKGROUND);
+            g.fillRect(0, 0, w, h);
+            if (antialiasing != null) g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+            g.translate(pad + fractionX, pad + fractionY);
+            g.scale(scaleX, scaleY);
+            GameRenderer.drawStaticLayer(g, board, obstacles, theme, showGrid);
+        } finally {
+            g.dispose();
+        }
+        return img;
+    }
+
+    /**
+     * Returns the device pixels kept around the world: strokes on the board edges (grid lines,
+     * obstacle outlines) spill over by up to one world pixel on either side. They are drawn over the
+     * background, which surrounds the board anyway.
+     */
+    private int padding() {
+        return (int) Math.ceil(Math.max(scaleX, scaleY)) + 1;
+    }
+
+    private static boolean isTranslateAndScale(AffineTransform tx) {
+        int type = tx.getType();
+        int allowed = AffineTransform.TYPE_TRANSLATION
+                | AffineTransform.TYPE_UNIFORM_SCALE
+                | AffineTransform.TYPE_GENERAL_SCALE;
+        return (type & ~allowed) == 0 && tx.getScaleX() > 0 && tx.getScaleY() > 0;
+    }
+}
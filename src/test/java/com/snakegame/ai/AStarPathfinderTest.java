@@ -61,4 +61,44 @@ class AStarPathfinderTest extends SnakeTestBase {
         List<Cell> path = pathfinder.findPath(start, goal, blocked, 5, 5);
         assertNull(path);
     }
+
+    @Test
+    void findPath_usesWrapAroundEdges() {
+        List<Cell> path = pathfinder.findPath(new Cell(0, 2), new Cell(4, 2), Set.of(), 5, 5);
+
+        assertEquals(List.of(new Cell(0, 2), new Cell(4, 2)), path);
+    }
+
+    @Test
+    void findPath_reusesBuffersAcrossCallsAndGridSizes() {
+        Set<Cell> blocked = Set.of(new Cell(1, 0));
+        assertNull(pathfinder.findPath(new Cell(0, 0), new Cell(1, 0), blocked, 5, 5));
+
+        // A previous search (and its blocked cells) must not leak into the next one.
+        assertEquals(2, pathfinder.findPath(new Cell(0, 0), new Cell(1, 0), Set.of(), 5, 5).size());
+        assertEquals(7, pathfinder.findPath(new Cell(0, 0), new Cell(3, 3), Set.of(), 8, 8).size());
+        assertEquals(2, pathfinder.findPath(new Cell(0, 0), new Cell(0, 1), Set.of(), 5, 5).size());
+    }
+
+    @Test
+    void search_returnsLengthAndParentLinks() {
+        int cols = 6;
+        int rows = 4;
+        boolean[] blocked = new boolean[cols * rows];
+        blocked[1] = true; // (1,0)
+
+        int start = 0;
+        int goal = 2;
+        int length = pathfinder.search(start, goal, blocked, cols, rows);
+
+        assertEquals(5, length);
+        int steps = 0;
+        for (int c = goal; c != start; c = pathfinder.parentOf(c)) {
+            assertFalse(blocked[c]);
+            steps++;
+        }
+        assertEquals(length - 1, steps);
+        assertEquals(-1, pathfinder.parentOf(start));
+        assertEquals(1, pathfinder.search(start, start, blocked, cols, rows));
+    }
 }
@@ -41,4 +41,23 @@ class CellTest extends SnakeTestBase {
         assertNotEquals(new Cell(1, 2), new Cell(2, 1));
         assertEquals(new Cell(1, 2).hashCode(), new Cell(1, 2).hashCode());
     }
+
+    @Test
+    void step_returnsTheGridsInternedInstanceEqualToConstructedCell() {
+        Cell a = Cell.of(2, 9).step(Direction.RIGHT, 24, 24);
+        assertSame(a, GridTopology.of(24, 24).cell(9 * 24 + 3));
+        assertSame(a, Cell.of(4, 9).step(Direction.LEFT, 24, 24));
+        assertEquals(Cell.fromPixel(a.toPixel()), a);
+        assertEquals(new Cell(3, 9), a);
+        assertEquals(new Cell(3, 9).hashCode(), a.hashCode());
+    }
+
+    @Test
+    void step_onALargeBoard_returnsInternedCells() {
+        int side = 1024;
+        Cell a = Cell.of(side - 1, side - 1).step(Direction.RIGHT, side, side);
+        assertEquals(new Cell(0, side - 1), a);
+        assertSame(a, Cell.of(1, side - 1).step(Direction.LEFT, side, side));
+        assertEquals(Cell.of(-2, side).hashCode(), new Cell(-2, side).hashCode());
+    }
 }
@@ -0,0 +1,64 @@
+package com.snakegame.ai;
+
+import com.snakegame.model.Direction;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link GridTopology}.
+ */
+class GridTopologyTest extends SnakeTestBase {
+
+    @Test
+    void neighbor_matchesCellStepIncludingWrapAround() {
+        int cols = 7;
+        int rows = 5;
+        GridTopology topo = GridTopology.of(cols, rows);
+
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                for (Direction d : Direction.values()) {
+                    Cell expected = new Cell(x, y).step(d, cols, rows);
+                    int nb = topo.neighbor(topo.id(x, y), d);
+                    assertEquals(expected, new Cell(topo.x(nb), topo.y(nb)), x + "," + y + " " + d);
+                }
+            }
+        }
+    }
+
+    @Test
+    void of_returnsSharedInstancePerGridSize() {
+        assertSame(GridTopology.of(24, 24), GridTopology.of(24, 24));
+        assertNotSame(GridTopology.of(24, 24), GridTopology.of(24, 12));
+        assertThrows(IllegalArgumentException.class, () -> GridTopology.of(0, 3));
+    }
+
+    @Test
+    void distance_usesShorterWayAroundTheBoard() {
+        GridTopology topo = GridTopology.of(10, 6);
+
+        assertEquals(1, topo.distance(topo.id(0, 0), topo.id(9, 0)));
+        assertEquals(2, topo.distance(topo.id(0, 0), topo.id(0, 4)));
+        assertEquals(8, topo.distance(topo.id(0, 0), topo.id(5, 3)));
+    }
+
+    @Test
+    void cell_returnsInternedCellForId() {
+        GridTopology topo = GridTopology.of(10, 6);
+
+        Cell c = topo.cell(topo.id(7, 4));
+        assertEquals(Cell.of(7, 4), c);
+        assertSame(c, topo.cell(topo.id(7, 4)));
+    }
+
+    @Test
+    void cell_internsEveryCellOfALargeBoard() {
+        GridTopology topo = GridTopology.of(1024, 1024);
+        int id = topo.id(1000, 900);
+
+        assertSame(topo.cell(id), topo.cell(id));
+        assertEquals(new Cell(1000, 900), topo.cell(id));
+    }
+}
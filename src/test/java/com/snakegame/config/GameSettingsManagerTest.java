@@ -1,6 +1,7 @@
 package com.snakegame.config;
 
 import com.snakegame.mode.GameMode;
+import com.snakegame.model.BoardGeometry;
 import com.snakegame.testutil.SnakeTestBase;
 import com.snakegame.testutil.SettingsGuard;
 import org.junit.jupiter.api.AfterEach;
@@ -119,4 +120,38 @@ class GameSettingsManagerTest extends SnakeTestBase {
             assertEquals(GameMode.STANDARD, GameSettings.getCurrentMode());
         }
     }
+
+    @Test
+    void board_isSavedAndLoaded() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path settingsPath = tmp.resolve("settings.txt");
+            GameSettingsManager.setFilePath(settingsPath.toString());
+
+            GameSettings.setBoard(new BoardGeometry(64, 48));
+            GameSettings.withAutosaveSuppressed(() -> GameSettings.setBoard(BoardGeometry.DEFAULT));
+            GameSettingsManager.load();
+
+            assertEquals(new BoardGeometry(64, 48), GameSettings.getBoard());
+        }
+    }
+
+    @Test
+    void load_fallsBackToDefaultBoardForInvalidSize() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path settingsPath = tmp.resolve("settings.txt");
+            GameSettingsManager.setFilePath(settingsPath.toString());
+
+            Properties p = new Properties();
+            p.setProperty("playerId", java.util.UUID.randomUUID().toString());
+            p.setProperty("board", "3x100000");
+            try (Writer w = Files.newBufferedWriter(settingsPath, StandardCharsets.UTF_8)) {
+                p.store(w, "Test");
+            }
+            GameSettings.withAutosaveSuppressed(() -> GameSettings.setBoard(new BoardGeometry(32, 32)));
+
+            GameSettingsManager.load();
+
+            assertEquals(BoardGeometry.DEFAULT, GameSettings.getBoard());
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.snakegame.controller;
+
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FixedTimestep}.
+ */
+class FixedTimestepTest extends SnakeTestBase {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void deadlinesAdvanceByStep_soLateWakeUpsDoNotDrift() {
+        FixedTimestep ts = new FixedTimestep(3);
+        ts.restart(0, 10);
+
+        // Every wake-up comes 4 ms late; the deadlines stay on the 10 ms grid.
+        for (int i = 1; i <= 5; i++) {
+            long now = i * 10 * MS + 4 * MS;
+            ts.beginWakeUp();
+            assertTrue(ts.tickDue(now, 10));
+            ts.onTick(now, 10);
+            assertFalse(ts.tickDue(now, 10));
+            assertEquals(6 * MS, ts.nanosUntilDeadline(now));
+        }
+
+        TickTimingStats stats = ts.stats();
+        assertEquals(5, stats.ticks());
+        assertEquals(0, stats.catchUpTicks());
+        assertEquals(4.0, stats.meanLatenessMs(), 1e-9);
+        assertEquals(4.0, stats.maxLatenessMs(), 1e-9);
+    }
+
+    @Test
+    void lateWakeUp_runsCatchUpTicksUpToTheCap_thenDropsAndRebases() {
+        FixedTimestep ts = new FixedTimestep(2);
+        ts.restart(0, 10);
+
+        long now = 65 * MS; // deadlines at 10..60 are all overdue
+        ts.beginWakeUp();
+        int ran = 0;
+        while (ts.tickDue(now, 10)) {
+            ts.onTick(now, 10);
+            ran++;
+        }
+
+        assertEquals(3, ran, "one on-time tick plus two catch-up ticks");
+        TickTimingStats stats = ts.stats();
+        assertEquals(2, stats.catchUpTicks());
+        assertEquals(3, stats.droppedTicks(), "deadlines 40, 50 and 60");
+        assertEquals(55.0, stats.maxLatenessMs(), 1e-9);
+        assertEquals(0, ts.nanosUntilDeadline(now), "next tick runs immediately, without the backlog");
+
+        ts.beginWakeUp();
+        assertTrue(ts.tickDue(now, 10));
+        ts.onTick(now, 10);
+        assertEquals(10 * MS, ts.nanosUntilDeadline(now));
+    }
+
+    @Test
+    void restart_forgivesTimeSpentPaused_andHonorsLongerSteps() {
+        FixedTimestep ts = new FixedTimestep(3);
+        ts.restart(0, 10);
+        ts.beginWakeUp();
+        ts.onTick(10 * MS, 10);
+
+        ts.restart(5_000 * MS, 70);
+        assertFalse(ts.tickDue(5_069 * MS, 70));
+        assertTrue(ts.tickDue(5_070 * MS, 70));
+        assertEquals(0, ts.stats().droppedTicks());
+    }
+}
@@ -32,23 +32,16 @@ class GameControllerProgressTest extends SnakeTestBase {
     }
 
     private static SettingsSnapshot snapshot(GameMode mode, int selectedMapId) {
-        return new SettingsSnapshot(
-                20,
-                false,
-                mode,
-                selectedMapId,
-                20,
-                false,
-                false,
-                false,
-                "Tester",
-                UUID.randomUUID(),
-                GameSettings.Theme.RETRO,
-                false,
-                0,
-                false,
-                false
-        );
+        return SettingsSnapshot.builder()
+                .currentMode(mode)
+                .selectedMapId(selectedMapId)
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Tester")
+                .playerId(UUID.randomUUID())
+                .movingObstacleCount(0)
+                .build();
     }
 
     @Test
@@ -1,19 +1,29 @@
 package com.snakegame.controller;
 
 import com.snakegame.controller.input.DirectionProvider;
+import com.snakegame.controller.input.PlayerDirectionProvider;
 import com.snakegame.model.Direction;
+import com.snakegame.model.FrameSnapshot;
 import com.snakegame.model.GameConfig;
 import com.snakegame.model.GameEvent;
 import com.snakegame.model.GameState;
 import com.snakegame.mode.GameMode;
+import com.snakegame.replay.ReplayEvent;
+import com.snakegame.replay.ReplayManager;
+import com.snakegame.testutil.Reflect;
 import com.snakegame.testutil.SnakeTestBase;
 import com.snakegame.testutil.SettingsGuard;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.awt.Point;
-import java.awt.event.ActionEvent;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,14 +55,13 @@ class GameLoopTest extends SnakeTestBase {
             GameLoop loop = new GameLoop(
                     state,
                     baseTickMs,
-                    GameMode.AI,
                     provider,
                     repaints::incrementAndGet,
                     afterTicks::incrementAndGet,
                     handler
             );
 
-            loop.actionPerformed(new ActionEvent(this, 0, "tick"));
+            loop.tick();
 
             assertEquals(1, repaints.get());
             assertEquals(1, afterTicks.get());
@@ -68,14 +77,13 @@ class GameLoopTest extends SnakeTestBase {
             int baseTickMs = 100;
 
             // Force slow mode without relying on random apple spawns.
-            com.snakegame.testutil.Reflect.setField(state, "slowed", true);
-            com.snakegame.testutil.Reflect.setField(state, "slowEndTick", Long.MAX_VALUE);
+            Reflect.setField(state, "slowed", true);
+            Reflect.setField(state, "slowEndTick", Long.MAX_VALUE);
             state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
 
             GameLoop loop = new GameLoop(
                     state,
                     baseTickMs,
-                    GameMode.STANDARD,
                     s -> null,
                     () -> {},
                     () -> {},
@@ -85,8 +93,196 @@ class GameLoopTest extends SnakeTestBase {
                     }
             );
 
-            loop.actionPerformed(null);
+            loop.tick();
             assertEquals(baseTickMs + GameConfig.SLOWDOWN_OFFSET_MS, state.getTickMs());
         }
     }
+
+    @Test
+    void tick_publishesImmutableFrameForRenderer() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(1L);
+            state.getApple().setPosition(new Point(state.getSnake().getHead()));
+
+            GameLoop loop = new GameLoop(state, 100, s -> null, () -> {}, () -> {}, noopHandler());
+            FrameSnapshot before = loop.latestFrame();
+            assertEquals(0, before.tick());
+
+            loop.tick();
+
+            FrameSnapshot after = loop.latestFrame();
+            assertNotSame(before, after);
+            assertEquals(1, after.tick());
+            assertEquals(state.getScore(), after.score());
+            assertEquals(state.getSnake().getBody(), after.snakeBody());
+            assertThrows(UnsupportedOperationException.class, () -> after.snakeBody().clear());
+            assertEquals(0, before.score(), "earlier frames are not affected by later ticks");
+        }
+    }
+
+    @Test
+    void tick_publishesPreviousAndCurrentFrameForInterpolation() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(1L);
+            state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
+            GameLoop loop = new GameLoop(state, 100, s -> null, () -> {}, () -> {}, noopHandler());
+
+            PublishedFrames before = loop.publishedFrames();
+            assertSame(before.previous(), before.current());
+            assertEquals(1.0, before.alphaAt(before.publishedAtNanos()));
+
+            loop.tick();
+
+            PublishedFrames after = loop.publishedFrames();
+            assertSame(before.current(), after.previous());
+            assertEquals(1L, after.current().tick());
+            assertEquals(0.0, after.alphaAt(after.publishedAtNanos()));
+            assertEquals(0.5, after.alphaAt(after.publishedAtNanos() + 50_000_000L), 1e-9);
+            assertEquals(1.0, after.alphaAt(after.publishedAtNanos() + 500_000_000L));
+        }
+    }
+
+    @Test
+    void start_ticksOnSimulationThread_andPauseCompletesOnceIdle() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(1L);
+            state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
+
+            CountDownLatch ticked = new CountDownLatch(2);
+            AtomicReference<Thread> tickThread = new AtomicReference<>();
+            GameLoop loop = new GameLoop(state, 1, s -> null, () -> {
+                tickThread.set(Thread.currentThread());
+                ticked.countDown();
+            }, () -> {}, noopHandler());
+
+            loop.start();
+            try {
+                assertTrue(ticked.await(5, TimeUnit.SECONDS));
+                assertNotSame(Thread.currentThread(), tickThread.get());
+                assertEquals("snake-simulation", tickThread.get().getName());
+
+                loop.pause().get(5, TimeUnit.SECONDS);
+                long pausedAt = state.getTick();
+                assertEquals(pausedAt, loop.latestFrame().tick());
+                Thread.sleep(30);
+                assertEquals(pausedAt, state.getTick(), "no ticks while paused");
+
+                loop.resume();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (loop.latestFrame().tick() == pausedAt && System.nanoTime() < deadline) Thread.sleep(1);
+                assertTrue(loop.latestFrame().tick() > pausedAt, "ticks again after resume");
+            } finally {
+                loop.stop();
+            }
+        }
+    }
+
+    @Test
+    void pauseAndStop_doNotWaitForASlowTick() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(1L);
+            state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
+
+            CountDownLatch inSlowTick = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            GameLoop loop = new GameLoop(state, 1, s -> null, () -> {}, () -> {
+                if (state.getTick() == 2) {
+                    inSlowTick.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, noopHandler());
+
+            loop.start();
+            try {
+                assertTrue(inSlowTick.await(5, TimeUnit.SECONDS));
+
+                CompletableFuture<Void> idle = loop.pause();
+                loop.stop();
+                assertFalse(idle.isDone(), "the slow tick is still running");
+
+                release.countDown();
+                idle.get(5, TimeUnit.SECONDS);
+                assertEquals(2, state.getTick(), "no tick starts after pause");
+            } finally {
+                release.countDown();
+                loop.stop();
+            }
+        }
+    }
+
+    @Test
+    void start_catchesUpAfterStall_andDropsTicksBeyondTheCap() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(1L);
+            state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
+
+            CountDownLatch ticked = new CountDownLatch(4);
+            AtomicInteger calls = new AtomicInteger();
+            GameLoop loop = new GameLoop(state, 20, s -> null, ticked::countDown, () -> {
+                if (calls.incrementAndGet() == 1) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, noopHandler(), 1);
+
+            loop.start();
+            try {
+                assertTrue(ticked.await(5, TimeUnit.SECONDS));
+            } finally {
+                loop.stop();
+            }
+
+            TickTimingStats stats = loop.tickTimingStats();
+            assertTrue(stats.ticks() >= 4);
+            assertTrue(stats.catchUpTicks() >= 1, "overdue tick runs right after the stalled one");
+            assertTrue(stats.droppedTicks() >= 1, "backlog beyond the cap is dropped");
+            assertTrue(stats.maxLatenessMs() >= 0.0);
+        }
+    }
+
+    @Test
+    void playerDirection_isAppliedAndRecordedAtNextTick(@TempDir Path tmp) throws Exception {
+        ReplayManager.setLastPath(tmp.resolve("last.bin").toString());
+        ReplayManager.setBestPath(tmp.resolve("best.bin").toString());
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(1L);
+            state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
+            RunRecorder recorder = new RunRecorder(GameMode.STANDARD, state);
+            PlayerDirectionProvider input = new PlayerDirectionProvider(recorder);
+            GameLoop loop = new GameLoop(state, 100, input, () -> {}, () -> {}, noopHandler());
+
+            assertTrue(input.offer(Direction.DOWN));
+            assertFalse(input.offer(Direction.UP), "one direction per tick");
+            assertEquals(Direction.RIGHT, state.getSnake().getDirection());
+
+            loop.tick();
+
+            assertEquals(Direction.DOWN, state.getSnake().getDirection());
+            assertEquals(1, recorder.recordedEventCount());
+            assertTrue(input.offer(Direction.LEFT), "slot is free again after the tick");
+
+            recorder.saveReplay(state).get(5, TimeUnit.SECONDS);
+            List<ReplayEvent> events = ReplayManager.loadLast().orElseThrow().events;
+            assertEquals(1, events.size());
+            assertEquals(0, events.get(0).tick);
+            assertEquals(Direction.DOWN, events.get(0).direction);
+        } finally {
+            ReplayManager.setLastPath(null);
+            ReplayManager.setBestPath(null);
+        }
+    }
+
+    private static TickHandler noopHandler() {
+        return new TickHandler() {
+            @Override public void handleTickEvents(List<GameEvent> events) { }
+            @Override public void onGameOver() { }
+        };
+    }
 }
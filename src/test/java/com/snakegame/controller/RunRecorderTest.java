@@ -1,13 +1,20 @@
 package com.snakegame.controller;
 
 import com.snakegame.model.Direction;
+import com.snakegame.model.GameState;
 import com.snakegame.mode.GameMode;
-import com.snakegame.replay.ReplayEvent;
-import com.snakegame.testutil.Reflect;
+import com.snakegame.replay.ReplayData;
+import com.snakegame.replay.ReplayManager;
+import com.snakegame.testutil.SettingsGuard;
 import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -16,20 +23,59 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class RunRecorderTest extends SnakeTestBase {
 
+    @TempDir
+    Path tmp;
+
+    @BeforeEach
+    void useTempReplayPaths() {
+        ReplayManager.setLastPath(tmp.resolve("last.bin").toString());
+        ReplayManager.setBestPath(tmp.resolve("best.bin").toString());
+    }
+
+    @AfterEach
+    void resetReplayPaths() {
+        ReplayManager.setLastPath(null);
+        ReplayManager.setBestPath(null);
+    }
+
+    @Test
+    void recordDirectionChange_recordsOnlyForNonAiRuns() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(3L);
+
+            RunRecorder ai = new RunRecorder(GameMode.AI, state);
+            ai.recordDirectionChange(1, Direction.UP);
+            assertEquals(0, ai.recordedEventCount());
+            ai.saveReplay(state).get(5, TimeUnit.SECONDS);
+            assertFalse(ReplayManager.hasLast());
+
+            RunRecorder player = new RunRecorder(GameMode.STANDARD, state);
+            player.recordDirectionChange(5, Direction.LEFT);
+            assertEquals(1, player.recordedEventCount());
+            player.saveReplay(state).get(5, TimeUnit.SECONDS);
+
+            ReplayData data = ReplayManager.loadLast().orElseThrow();
+            assertEquals(3L, data.seed);
+            assertEquals(1, data.events.size());
+            assertEquals(5, data.events.get(0).tick);
+            assertEquals(Direction.LEFT, data.events.get(0).direction);
+            assertTrue(ReplayManager.hasBest());
+        }
+    }
+
     @Test
-    void recordDirectionChange_recordsOnlyForNonAiRuns() {
-        RunRecorder ai = new RunRecorder(GameMode.AI);
-        ai.recordDirectionChange(1, Direction.UP);
-        @SuppressWarnings("unchecked")
-        List<ReplayEvent> aiEvents = (List<ReplayEvent>) Reflect.getField(ai, "recordedEvents");
-        assertTrue(aiEvents.isEmpty());
-
-        RunRecorder player = new RunRecorder(GameMode.STANDARD);
-        player.recordDirectionChange(5, Direction.LEFT);
-        @SuppressWarnings("unchecked")
-        List<ReplayEvent> events = (List<ReplayEvent>) Reflect.getField(player, "recordedEvents");
-        assertEquals(1, events.size());
-        assertEquals(5, events.get(0).tick);
-        assertEquals(Direction.LEFT, events.get(0).direction);
+    void discard_deletesTheJournalWithoutSavingAReplay() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(3L);
+            RunRecorder recorder = new RunRecorder(GameMode.STANDARD, state);
+            recorder.recordDirectionChange(2, Direction.UP);
+            recorder.discard().get(5, TimeUnit.SECONDS);
+            recorder.saveReplay(state).get(5, TimeUnit.SECONDS);
+
+            assertFalse(ReplayManager.hasLast());
+            try (var files = Files.list(tmp)) {
+                assertEquals(0, files.count());
+            }
+        }
     }
 }
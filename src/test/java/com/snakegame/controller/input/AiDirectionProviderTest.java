@@ -1,17 +1,22 @@
 package com.snakegame.controller.input;
 
 import com.snakegame.ai.AiMode;
-import com.snakegame.config.GameSettings;
 import com.snakegame.config.SettingsSnapshot;
 import com.snakegame.model.Direction;
 import com.snakegame.model.GameConfig;
 import com.snakegame.model.GameState;
+import com.snakegame.model.MovingObstacle;
+import com.snakegame.model.MovingObstacleSnapshot;
 import com.snakegame.mode.GameMode;
+import com.snakegame.model.BoardGeometry;
 import com.snakegame.testutil.SnakeTestBase;
 import com.snakegame.testutil.SettingsGuard;
 import org.junit.jupiter.api.Test;
 
 import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.Random;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,23 +27,20 @@ import static org.junit.jupiter.api.Assertions.*;
 class AiDirectionProviderTest extends SnakeTestBase {
 
     private static SettingsSnapshot snapshot(GameMode mode) {
-        return new SettingsSnapshot(
-                20,
-                false,
-                mode,
-                1,
-                20,
-                false,
-                false,
-                false,
-                "AI",
-                UUID.randomUUID(),
-                GameSettings.Theme.RETRO,
-                false,
-                0,
-                false,
-                false
-        );
+        return snapshot(mode, false);
+    }
+
+    private static SettingsSnapshot snapshot(GameMode mode, boolean movingObstacles) {
+        return SettingsSnapshot.builder()
+                .currentMode(mode)
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("AI")
+                .playerId(UUID.randomUUID())
+                .movingObstaclesEnabled(movingObstacles)
+                .movingObstacleCount(0)
+                .build();
     }
 
     @Test
@@ -105,4 +107,47 @@ class AiDirectionProviderTest extends SnakeTestBase {
             assertFalse(chosen.isOpposite(state.getSnake().getDirection()));
         }
     }
+
+    @Test
+    void safeMode_avoidsBlockedCellEvenWhenAppleIsBehindIt() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(1L, false, snapshot(GameMode.STANDARD, true));
+            state.setTickMs(100);
+
+            Point head = state.getSnake().getHead();
+            state.getSnake().setDirection(Direction.RIGHT);
+            state.getApple().setPosition(new Point(head.x + 2 * GameConfig.UNIT_SIZE, head.y));
+
+            Point blocker = new Point(head.x + GameConfig.UNIT_SIZE, head.y);
+            Rectangle area = new Rectangle(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+            state.getMovingObstacles().add(MovingObstacle.fromSnapshot(
+                    new MovingObstacleSnapshot(List.of(blocker), 0, 0), area, new Random(0)));
+
+            for (AiMode mode : List.of(AiMode.SAFE, AiMode.SURVIVAL)) {
+                Direction chosen = new AiDirectionProvider(mode).nextDirection(state);
+                assertNotNull(chosen);
+                assertNotEquals(Direction.RIGHT, chosen, mode.name());
+                assertNotEquals(Direction.LEFT, chosen, mode.name());
+            }
+        }
+    }
+
+    @Test
+    void scoringModes_findTheAppleBeyondTheSearchLimitOnLargeBoards() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            SettingsSnapshot s = snapshot(GameMode.STANDARD);
+            SettingsSnapshot large = s.withBoard(new BoardGeometry(512, 512));
+            GameState state = new GameState(1L, false, large);
+            state.setTickMs(100);
+
+            // Far more cells away than one search explores; only the A* fallback can see it.
+            Point head = state.getSnake().getHead();
+            state.getSnake().setDirection(Direction.RIGHT);
+            state.getApple().setPosition(new Point(head.x, head.y + 200 * GameConfig.UNIT_SIZE));
+
+            for (AiMode mode : List.of(AiMode.SAFE, AiMode.SURVIVAL)) {
+                assertEquals(Direction.DOWN, new AiDirectionProvider(mode).nextDirection(state), mode.name());
+            }
+        }
+    }
 }
@@ -4,9 +4,7 @@ import com.snakegame.testutil.SnakeTestBase;
 import org.junit.jupiter.api.Test;
 
 import java.awt.Point;
-import java.util.HashSet;
 import java.util.Random;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,7 +17,7 @@ class AppleTest extends SnakeTestBase {
     @Test
     void spawnNew_placesAppleOnGridAndWithinBounds() {
         AtomicLong tick = new AtomicLong(0);
-        Apple apple = new Apple(Set.of(), new Random(123), tick::get);
+        Apple apple = new Apple(OccupancyGrid.forDefaultBoard(), new Random(123), tick::get);
 
         Point p = apple.getPosition();
         assertTrue(p.x >= 0 && p.x < GameConfig.SCREEN_WIDTH);
@@ -29,49 +27,91 @@ class AppleTest extends SnakeTestBase {
     }
 
     @Test
-    void spawnNew_respectsForbiddenPositions() {
-        int maxX = GameConfig.SCREEN_WIDTH / GameConfig.UNIT_SIZE;
-        int maxY = GameConfig.SCREEN_HEIGHT / GameConfig.UNIT_SIZE;
-
-        Point onlyAllowed = new Point(0, 0);
-        Set<Point> forbidden = new HashSet<>();
-        for (int gx = 0; gx < maxX; gx++) {
-            for (int gy = 0; gy < maxY; gy++) {
-                Point p = new Point(gx * GameConfig.UNIT_SIZE, gy * GameConfig.UNIT_SIZE);
-                if (!p.equals(onlyAllowed)) forbidden.add(p);
-            }
+    void spawnNew_respectsBlockedCellsAndKeepsAppleOnFullBoard() {
+        OccupancyGrid grid = OccupancyGrid.forDefaultBoard();
+        int onlyFree = grid.indexOf(0, 0);
+        for (int i = 0; i < grid.cols() * grid.rows(); i++) {
+            if (i != onlyFree) grid.set(OccupancyGrid.OBSTACLE, i);
+        }
+
+        Apple apple = new Apple(grid, new Random(0), () -> 0L);
+        assertEquals(new Point(0, 0), apple.getPosition());
+
+        grid.set(OccupancyGrid.SNAKE, onlyFree);
+        apple.spawnNew(AppleType.BIG, grid);
+        assertEquals(new Point(0, 0), apple.getPosition());
+        assertEquals(AppleType.NORMAL, apple.getType());
+    }
+
+    @Test
+    void constructor_onFullBoard_leavesNoAppleUntilACellFrees() {
+        OccupancyGrid grid = OccupancyGrid.forDefaultBoard();
+        for (int i = 0; i < grid.cols() * grid.rows(); i++) grid.set(OccupancyGrid.OBSTACLE, i);
+
+        Apple apple = new Apple(grid, new Random(0), () -> 0L, SpawnAlgorithm.FREE_CELL_INDEX);
+        assertFalse(apple.isPresent());
+        assertNull(apple.getPosition());
+        assertFalse(apple.isExpired());
+
+        grid.clear(OccupancyGrid.OBSTACLE, grid.indexOf(3, 4));
+        apple.spawnNew(AppleType.NORMAL, grid);
+        assertTrue(apple.isPresent());
+        assertEquals(new Point(3 * GameConfig.UNIT_SIZE, 4 * GameConfig.UNIT_SIZE), apple.getPosition());
+    }
+
+    @Test
+    void spawnNew_withFreeCellIndex_usesOneRngCallAndKeepsAppleOnFullBoard() {
+        OccupancyGrid grid = OccupancyGrid.forDefaultBoard();
+        int onlyFree = grid.indexOf(7, 11);
+        for (int i = 0; i < grid.cols() * grid.rows(); i++) {
+            if (i != onlyFree) grid.set(OccupancyGrid.OBSTACLE, i);
         }
 
-        Apple apple = new Apple(forbidden, new Random(0), () -> 0L);
-        assertEquals(onlyAllowed, apple.getPosition());
+        int[] calls = {0};
+        Random counting = new Random(0) {
+            @Override
+            public int nextInt(int bound) {
+                calls[0]++;
+                return super.nextInt(bound);
+            }
+        };
+        Apple apple = new Apple(grid, counting, () -> 0L, SpawnAlgorithm.FREE_CELL_INDEX);
+        Point expected = new Point(7 * GameConfig.UNIT_SIZE, 11 * GameConfig.UNIT_SIZE);
+        assertEquals(expected, apple.getPosition());
+        assertEquals(1, calls[0]);
+
+        grid.set(OccupancyGrid.SNAKE, onlyFree);
+        apple.spawnNew(AppleType.BIG, grid);
+        assertEquals(expected, apple.getPosition());
+        assertEquals(AppleType.NORMAL, apple.getType());
     }
 
     @Test
     void spawnRandomlyWeighted_selectsExpectedType() {
-        Apple apple = new Apple(Set.of(), new Random(0), () -> 0L);
+        Apple apple = new Apple(OccupancyGrid.forDefaultBoard(), new Random(0), () -> 0L);
 
-        apple.spawnRandomlyWeighted(1, 50, Set.of());
+        apple.spawnRandomlyWeighted(1, 50, OccupancyGrid.forDefaultBoard());
         assertEquals(AppleType.REVERSE, apple.getType());
 
-        apple.spawnRandomlyWeighted(GameConfig.SLOWDOWN_APPLE_EVERY, 1, Set.of());
+        apple.spawnRandomlyWeighted(GameConfig.SLOWDOWN_APPLE_EVERY, 1, OccupancyGrid.forDefaultBoard());
         assertEquals(AppleType.SLOWDOWN, apple.getType());
 
-        apple.spawnRandomlyWeighted(GameConfig.GOLDEN_APPLE_EVERY, 1, Set.of());
+        apple.spawnRandomlyWeighted(GameConfig.GOLDEN_APPLE_EVERY, 1, OccupancyGrid.forDefaultBoard());
         assertEquals(AppleType.GOLDEN, apple.getType());
 
-        apple.spawnRandomlyWeighted(GameConfig.BIG_APPLE_EVERY, 1, Set.of());
+        apple.spawnRandomlyWeighted(GameConfig.BIG_APPLE_EVERY, 1, OccupancyGrid.forDefaultBoard());
         assertEquals(AppleType.BIG, apple.getType());
 
-        apple.spawnRandomlyWeighted(1, 1, Set.of());
+        apple.spawnRandomlyWeighted(1, 1, OccupancyGrid.forDefaultBoard());
         assertEquals(AppleType.NORMAL, apple.getType());
     }
 
     @Test
     void isExpired_usesDeterministicTicksNotWallClock() {
         AtomicLong tick = new AtomicLong(0);
-        Apple apple = new Apple(Set.of(), new Random(0), tick::get);
+        Apple apple = new Apple(OccupancyGrid.forDefaultBoard(), new Random(0), tick::get);
         apple.setTickMs(1000);
-        apple.spawnNew(AppleType.BIG, Set.of());
+        apple.spawnNew(AppleType.BIG, OccupancyGrid.forDefaultBoard());
 
         tick.set(5);
         assertFalse(apple.isExpired());
@@ -82,9 +122,9 @@ class AppleTest extends SnakeTestBase {
 
     @Test
     void setTickMs_clampsToAtLeastOne() {
-        Apple apple = new Apple(Set.of(), new Random(0), () -> 0L);
+        Apple apple = new Apple(OccupancyGrid.forDefaultBoard(), new Random(0), () -> 0L);
         apple.setTickMs(0);
-        apple.spawnNew(AppleType.BIG, Set.of());
+        apple.spawnNew(AppleType.BIG, OccupancyGrid.forDefaultBoard());
         assertFalse(apple.isExpired());
     }
 }
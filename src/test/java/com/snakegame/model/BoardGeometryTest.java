@@ -0,0 +1,48 @@
+package com.snakegame.model;
+
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BoardGeometry}.
+ */
+class BoardGeometryTest extends SnakeTestBase {
+
+    @Test
+    void default_matchesClassicScreenSize() {
+        assertEquals(GameConfig.SCREEN_WIDTH, BoardGeometry.DEFAULT.width());
+        assertEquals(GameConfig.SCREEN_HEIGHT, BoardGeometry.DEFAULT.height());
+        assertEquals(24 * 24, BoardGeometry.DEFAULT.cellCount());
+    }
+
+    @Test
+    void constructor_rejectsUnsupportedSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new BoardGeometry(BoardGeometry.MIN_SIDE - 1, 24));
+        assertThrows(IllegalArgumentException.class, () -> new BoardGeometry(24, BoardGeometry.MAX_SIDE + 1));
+    }
+
+    @Test
+    void parse_roundTripsToString() {
+        BoardGeometry board = new BoardGeometry(64, 40);
+
+        assertEquals("64x40", board.toString());
+        assertEquals(board, BoardGeometry.parse(board.toString(), BoardGeometry.DEFAULT));
+        assertSame(BoardGeometry.DEFAULT, BoardGeometry.parse(null, BoardGeometry.DEFAULT));
+        assertSame(BoardGeometry.DEFAULT, BoardGeometry.parse(" ", BoardGeometry.DEFAULT));
+        assertThrows(IllegalArgumentException.class, () -> BoardGeometry.parse("64", BoardGeometry.DEFAULT));
+    }
+
+    @Test
+    void wrappedCellOf_and_toPixel_useBoardColumns() {
+        BoardGeometry board = new BoardGeometry(40, 10);
+        int u = GameConfig.UNIT_SIZE;
+
+        assertEquals(3 * 40 + 39, board.wrappedCellOf(new Point(-u, 3 * u)));
+        assertEquals(7, board.wrappedCellOf(new Point(7 * u, 10 * u)));
+        assertEquals(new Point(39 * u, 3 * u), board.toPixel(3 * 40 + 39));
+    }
+}
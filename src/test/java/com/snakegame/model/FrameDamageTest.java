@@ -0,0 +1,90 @@
+package com.snakegame.model;
+
+import com.snakegame.testutil.SettingsGuard;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FrameDamage}.
+ */
+class FrameDamageTest extends SnakeTestBase {
+
+    private static final int U = GameConfig.UNIT_SIZE;
+
+    private static boolean covered(FrameDamage damage, Point cell) {
+        Rectangle r = new Rectangle(cell.x, cell.y, U, U);
+        return damage.regions().stream().anyMatch(d -> d.contains(r));
+    }
+
+    @Test
+    void between_coversHeadTailAppleAndHud_andLittleElse() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(3L, false);
+            state.setTickMs(100);
+            state.setSnake(new Snake(new Point(10 * U, 10 * U), 6, Direction.RIGHT));
+            state.getApple().setPosition(new Point(0, 20 * U));
+
+            FrameSnapshot previous = FrameSnapshot.captureFrom(state);
+            state.update();
+            FrameSnapshot current = FrameSnapshot.captureFrom(state);
+            FrameDamage damage = FrameDamage.between(previous, current);
+
+            assertFalse(damage.full());
+            assertTrue(covered(damage, previous.snakeBody().get(0)));
+            assertTrue(covered(damage, current.snakeBody().get(0)));
+            assertTrue(covered(damage, previous.snakeBody().get(5)));
+            assertTrue(covered(damage, current.applePosition()));
+            assertFalse(covered(damage, current.snakeBody().get(3)), "middle of the body is unchanged");
+            assertTrue(damage.regions().stream().anyMatch(r -> r.y == 0 && r.height == FrameDamage.HUD_BAND_HEIGHT));
+
+            long area = damage.regions().stream().mapToLong(r -> (long) r.width * r.height).sum();
+            assertTrue(area < (long) GameConfig.SCREEN_WIDTH * GameConfig.SCREEN_HEIGHT / 4, "area " + area);
+        }
+    }
+
+    @Test
+    void between_coversBothSidesOfAWrap() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(3L, false);
+            state.setTickMs(100);
+            state.setSnake(new Snake(new Point(GameConfig.SCREEN_WIDTH - U, 10 * U), 3, Direction.RIGHT));
+            state.getApple().setPosition(new Point(0, 20 * U));
+
+            FrameSnapshot previous = FrameSnapshot.captureFrom(state);
+            state.update();
+            FrameSnapshot current = FrameSnapshot.captureFrom(state);
+            FrameDamage damage = FrameDamage.between(previous, current);
+
+            assertFalse(damage.full());
+            assertTrue(covered(damage, previous.snakeBody().get(0)));
+            assertTrue(covered(damage, new Point(GameConfig.SCREEN_WIDTH, 10 * U)), "slides off the right edge");
+            assertTrue(covered(damage, new Point(0, 10 * U)), "arrives on the left edge");
+        }
+    }
+
+    @Test
+    void between_isFullForResetsGameOverAndNonConsecutiveFrames() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(3L, false);
+            state.setTickMs(100);
+            state.getApple().setPosition(new Point(0, 20 * U));
+            FrameSnapshot first = FrameSnapshot.captureFrom(state);
+
+            assertTrue(FrameDamage.between(first, first).full());
+
+            state.update();
+            state.update();
+            assertTrue(FrameDamage.between(first, FrameSnapshot.captureFrom(state)).full(), "skipped a tick");
+
+            FrameSnapshot beforeReset = FrameSnapshot.captureFrom(state);
+            state.addObstacle(new Point(0, 22 * U));
+            state.update();
+            assertTrue(FrameDamage.between(beforeReset, FrameSnapshot.captureFrom(state)).full(), "obstacles changed");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.snakegame.model;
+
+import com.snakegame.testutil.SettingsGuard;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FrameSnapshot}.
+ */
+class FrameSnapshotTest extends SnakeTestBase {
+
+    @Test
+    void captureFrom_copiesPointsSoLaterTicksDoNotLeakIntoTheFrame() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(7L, false);
+            state.setTickMs(100);
+            FrameSnapshot frame = FrameSnapshot.captureFrom(state);
+
+            Point head = new Point(state.getSnake().getHead());
+            Point apple = new Point(state.getApple().getPosition());
+            state.update();
+            state.getApple().setPosition(new Point(apple.x + GameConfig.UNIT_SIZE, apple.y));
+
+            assertEquals(head, frame.snakeBody().get(0));
+            assertEquals(apple, frame.applePosition());
+            assertEquals(0L, frame.tick());
+            assertThrows(UnsupportedOperationException.class, () -> frame.snakeBody().add(new Point()));
+        }
+    }
+
+    @Test
+    void captureFrom_previousFrame_continuesTheSnakeWithoutChangingEarlierFrames() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(7L, false);
+            Snake snake = state.getSnake();
+            Direction[] turns = {Direction.RIGHT, Direction.DOWN, Direction.LEFT, Direction.DOWN};
+            List<FrameSnapshot> frames = new ArrayList<>();
+            List<List<Point>> bodies = new ArrayList<>();
+            FrameSnapshot previous = FrameSnapshot.captureFrom(state);
+            for (int i = 0; i < 300; i++) {
+                snake.setDirection(turns[(i / 5) % turns.length]);
+                snake.move(i % 4 == 0);
+                previous = FrameSnapshot.captureFrom(state, previous);
+                frames.add(previous);
+                bodies.add(List.copyOf(snake.getBody()));
+                assertSame(previous.snakeBody(), FrameSnapshot.captureFrom(state, previous).snakeBody(),
+                        "no move, nothing to copy");
+            }
+            for (int i = 0; i < frames.size(); i++) assertEquals(bodies.get(i), frames.get(i).snakeBody());
+
+            state.setSnake(new Snake(new Point(0, 0), 3, Direction.RIGHT));
+            assertEquals(List.copyOf(state.getSnake().getBody()), FrameSnapshot.captureFrom(state, previous).snakeBody());
+            assertEquals(bodies.get(bodies.size() - 1), previous.snakeBody());
+        }
+    }
+
+    @Test
+    void secondsUntil_convertsRemainingTicksAndNeverGoesNegative() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(7L, false);
+            state.setTickMs(100);
+            FrameSnapshot frame = FrameSnapshot.captureFrom(state);
+
+            assertEquals(2L, frame.secondsUntil(frame.tick() + 25));
+            assertEquals(0L, frame.secondsUntil(frame.tick() - 5));
+        }
+    }
+
+    @Test
+    void interpolate_slidesHeadAndVacatedTail_andKeepsTheBodyInPlace() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            int u = GameConfig.UNIT_SIZE;
+            GameState state = new GameState(7L, false);
+            state.setTickMs(100);
+            state.setSnake(new Snake(new Point(5 * u, 5 * u), 3, Direction.RIGHT));
+            state.getApple().setPosition(new Point(0, u));
+
+            FrameSnapshot previous = FrameSnapshot.captureFrom(state);
+            state.update();
+            FrameSnapshot current = FrameSnapshot.captureFrom(state);
+
+            FrameSnapshot mid = FrameSnapshot.interpolate(previous, current, 0.5);
+            int half = (int) Math.round(u * 0.5);
+            List<Point> before = previous.snakeBody();
+            List<Point> after = current.snakeBody();
+            assertEquals(after.size() + 1, mid.snakeBody().size(), "vacated tail is still drawn");
+            assertEquals(new Point(before.get(0).x + half, before.get(0).y), mid.snakeBody().get(0));
+            for (int i = 1; i < after.size(); i++) assertEquals(after.get(i), mid.snakeBody().get(i));
+            Point tail = before.get(before.size() - 1);
+            assertEquals(new Point(tail.x + half, tail.y), mid.snakeBody().get(after.size()));
+            assertEquals(current.tick(), mid.tick());
+            assertEquals(current.applePosition(), mid.applePosition());
+
+            Set<Point> start = new HashSet<>(FrameSnapshot.interpolate(previous, current, 0.0).snakeBody());
+            assertEquals(new HashSet<>(before), start, "alpha 0 covers exactly the previous cells");
+            assertSame(current, FrameSnapshot.interpolate(previous, current, 1.0));
+        }
+    }
+
+    @Test
+    void interpolate_takesTheShortWayAcrossTheEdge_andSnapsOnJumps() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            int u = GameConfig.UNIT_SIZE;
+            GameState state = new GameState(7L, false);
+            state.setTickMs(100);
+            state.setSnake(new Snake(new Point(GameConfig.SCREEN_WIDTH - u, 0), 3, Direction.RIGHT));
+            state.getApple().setPosition(new Point(0, u));
+
+            FrameSnapshot previous = FrameSnapshot.captureFrom(state);
+            state.update();
+            FrameSnapshot current = FrameSnapshot.captureFrom(state);
+            assertEquals(0, current.snakeBody().get(0).x);
+
+            Point head = FrameSnapshot.interpolate(previous, current, 0.4).snakeBody().get(0);
+            assertEquals(GameConfig.SCREEN_WIDTH - u + 10, head.x, "slides off the right edge, not back across the board");
+
+            state.update();
+            FrameSnapshot twoTicksLater = FrameSnapshot.captureFrom(state);
+            assertSame(twoTicksLater, FrameSnapshot.interpolate(previous, twoTicksLater, 0.5));
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.snakegame.testutil.SettingsGuard;
 import org.junit.jupiter.api.Test;
 
 import java.awt.Point;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,4 +50,89 @@ class GameSnapshotTest extends SnakeTestBase {
             assertEquals(snap.appleVisibleDurationMs, restored.getApple().getVisibleDurationMs());
         }
     }
+
+    @Test
+    void restore_continuesTheSavedRunExactly() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameSettings.withAutosaveSuppressed(() -> {
+                GameSettings.setCurrentMode(GameMode.STANDARD);
+                GameSettings.setObstaclesEnabled(true);
+                GameSettings.setMovingObstaclesEnabled(true);
+                GameSettings.setMovingObstacleCount(1);
+                GameSettings.setMovingObstaclesAutoIncrement(true);
+            });
+            assertEquals(RngAlgorithm.CURRENT, GameSettings.snapshot().rngAlgorithm());
+
+            GameState original = new GameState(4L, false, GameSettings.snapshot());
+            original.setTickMs(100);
+            for (int i = 0; i < 40 && original.isRunning(); i++) feed(original, i);
+            assertTrue(original.isRunning());
+
+            GameSnapshot snap = GameSnapshot.captureFrom(original);
+            assertNotNull(snap.rngState);
+
+            GameState restored = new GameState(123L, false, GameSettings.snapshot());
+            restored.setTickMs(100);
+            restored.restore(snap);
+            assertEquals(original.getTick(), restored.getTick());
+            assertEquals(original.getElapsedSimTimeMs(), restored.getElapsedSimTimeMs());
+            assertArrayEquals(original.getFreeCellOrder(), restored.getFreeCellOrder());
+
+            for (int i = 40; i < 240 && original.isRunning(); i++) {
+                feed(original, i);
+                feed(restored, i);
+                assertEquals(original.isRunning(), restored.isRunning(), "tick " + i);
+                assertEquals(original.getScore(), restored.getScore(), "tick " + i);
+                assertEquals(original.getApple().getPosition(), restored.getApple().getPosition(), "tick " + i);
+                assertEquals(original.getApple().getType(), restored.getApple().getType(), "tick " + i);
+                assertEquals(List.copyOf(original.getSnake().getBody()), List.copyOf(restored.getSnake().getBody()));
+                assertEquals(original.getMovingObstacles().size(), restored.getMovingObstacles().size(), "tick " + i);
+            }
+        }
+    }
+
+    @Test
+    void restore_withStaleFreeCellOrder_resumesWithoutTheSavedSequence() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState original = new GameState(4L, false, GameSettings.snapshot());
+            original.setTickMs(100);
+            for (int i = 0; i < 20 && original.isRunning(); i++) feed(original, i);
+
+            GameSnapshot snap = GameSnapshot.captureFrom(original);
+            snap.freeCells = Arrays.copyOf(snap.freeCells, snap.freeCells.length - 1);
+
+            GameState restored = new GameState(123L, false, GameSettings.snapshot());
+            restored.setTickMs(100);
+            restored.restore(snap);
+
+            assertEquals(original.getTick(), restored.getTick());
+            assertEquals(original.getElapsedSimTimeMs(), restored.getElapsedSimTimeMs());
+            assertNotEquals(original.getRngState(), restored.getRngState());
+            assertNotEquals(snap.freeCells.length, restored.getFreeCellOrder().length);
+        }
+    }
+
+    @Test
+    void captureFrom_legacyRng_leavesExactResumeFieldsEmpty() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(42L, false, GameSettings.snapshot().withRngAlgorithm(RngAlgorithm.JDK_RANDOM));
+            state.update();
+
+            GameSnapshot snap = GameSnapshot.captureFrom(state);
+
+            assertNull(snap.rngState);
+            assertNull(snap.freeCells);
+            assertEquals(0, snap.tick);
+        }
+    }
+
+    /**
+     * Advances one tick, regularly placing the apple under the head so spawns draw from the RNG (often
+     * enough early on to auto-add a moving obstacle, then slower so the snake does not bite itself).
+     */
+    private static void feed(GameState state, int i) {
+        if (i < 30 ? i % 3 == 0 : i % 8 == 0) state.getApple().setPosition(new Point(state.getSnake().getHead()));
+        state.update();
+        state.consumeEvents();
+    }
 }
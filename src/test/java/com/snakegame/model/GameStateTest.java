@@ -10,13 +10,14 @@ import com.snakegame.testutil.SettingsGuard;
 import org.junit.jupiter.api.Test;
 
 import java.awt.Point;
+import java.lang.management.ManagementFactory;
 import java.awt.Rectangle;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * Unit tests for {@link GameState}.
@@ -30,23 +31,20 @@ class GameStateTest extends SnakeTestBase {
                                             boolean moving,
                                             int movingCount,
                                             boolean movingAuto) {
-        return new SettingsSnapshot(
-                20,
-                obstacles,
-                mode,
-                selectedMapId,
-                raceThreshold,
-                false,
-                false,
-                false,
-                "Test",
-                UUID.randomUUID(),
-                GameSettings.Theme.RETRO,
-                moving,
-                movingCount,
-                movingAuto,
-                false
-        );
+        return SettingsSnapshot.builder()
+                .obstaclesEnabled(obstacles)
+                .currentMode(mode)
+                .selectedMapId(selectedMapId)
+                .raceThreshold(raceThreshold)
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Test")
+                .playerId(UUID.randomUUID())
+                .movingObstaclesEnabled(moving)
+                .movingObstacleCount(movingCount)
+                .movingObstaclesAutoIncrement(movingAuto)
+                .build();
     }
 
     @Test
@@ -56,10 +54,8 @@ class GameStateTest extends SnakeTestBase {
             state.setTickMs(100);
 
             // Place head at far right edge so next move wraps.
-            Point head = state.getSnake().getHead();
-            head.x = GameConfig.SCREEN_WIDTH - GameConfig.UNIT_SIZE;
-            head.y = 0;
-            state.getSnake().setDirection(Direction.RIGHT);
+            Point head = new Point(GameConfig.SCREEN_WIDTH - GameConfig.UNIT_SIZE, 0);
+            state.setSnake(new Snake(head, 3, Direction.RIGHT));
 
             // Keep apple off the snake's row so it won't be eaten.
             state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
@@ -70,13 +66,42 @@ class GameStateTest extends SnakeTestBase {
         }
     }
 
+    @Test
+    void largeBoard_wrapsAtBoardEdgeAndKeepsObstaclesInside() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            BoardGeometry board = new BoardGeometry(256, 128);
+            GameState withObstacles = new GameState(7L, false,
+                    snapshot(GameMode.STANDARD, 1, 20, true, false, 0, false).withBoard(board));
+            Rectangle bounds = board.bounds();
+            for (Point obs : withObstacles.getObstacles()) {
+                assertTrue(bounds.contains(obs), "obstacle outside board: " + obs);
+            }
+
+            GameState state = new GameState(7L, false,
+                    snapshot(GameMode.STANDARD, 1, 20, false, false, 0, false).withBoard(board));
+            state.setTickMs(100);
+            assertEquals(board, state.getBoard());
+
+            // A head in the default board's last column must keep going on a wider board.
+            int u = GameConfig.UNIT_SIZE;
+            state.setSnake(new Snake(board, new Point(GameConfig.SCREEN_WIDTH - u, 0), 3, Direction.RIGHT));
+            state.getApple().setPosition(new Point(0, 5 * u));
+            state.update();
+            assertEquals(GameConfig.SCREEN_WIDTH, state.getSnake().getHead().x);
+
+            state.setSnake(new Snake(board, new Point(board.width() - u, 0), 3, Direction.RIGHT));
+            state.update();
+            assertEquals(new Point(0, 0), state.getSnake().getHead());
+        }
+    }
+
     @Test
     void update_emitsAppleEatenAndUpdatesScore() {
         try (SettingsGuard ignored = new SettingsGuard()) {
             GameState state = new GameState(0L, false, snapshot(GameMode.STANDARD, 1, 20, false, false, 0, false));
             state.setTickMs(100);
 
-            state.getApple().spawnNew(AppleType.NORMAL, Set.of());
+            state.getApple().spawnNew(AppleType.NORMAL, state.occupancy());
             state.getApple().setPosition(new Point(state.getSnake().getHead()));
 
             state.update();
@@ -93,8 +118,7 @@ class GameStateTest extends SnakeTestBase {
             GameState state = new GameState(0L, false, snapshot(GameMode.STANDARD, 1, 20, false, false, 0, false));
             state.setTickMs(100);
 
-            Set<Point> forbidden = new HashSet<>(state.getSnake().getBody());
-            state.getApple().spawnNew(AppleType.GOLDEN, forbidden);
+            state.getApple().spawnNew(AppleType.GOLDEN, state.occupancy());
             state.getApple().setPosition(new Point(state.getSnake().getHead()));
 
             state.update();
@@ -115,8 +139,7 @@ class GameStateTest extends SnakeTestBase {
             GameState state = new GameState(0L, false, snapshot(GameMode.STANDARD, 1, 20, false, false, 0, false));
             state.setTickMs(100);
 
-            Set<Point> forbidden = new HashSet<>(state.getSnake().getBody());
-            state.getApple().spawnNew(AppleType.GOLDEN, forbidden);
+            state.getApple().spawnNew(AppleType.GOLDEN, state.occupancy());
             state.getApple().setPosition(new Point(state.getSnake().getHead()));
             state.update();
 
@@ -139,8 +162,7 @@ class GameStateTest extends SnakeTestBase {
             GameState state = new GameState(0L, false, snapshot(GameMode.STANDARD, 1, 20, false, false, 0, false));
             state.setTickMs(GameConfig.BIG_VISIBLE_DURATION_MS); // => 1 tick visibility
 
-            Set<Point> forbidden = new HashSet<>(state.getSnake().getBody());
-            state.getApple().spawnNew(AppleType.BIG, forbidden);
+            state.getApple().spawnNew(AppleType.BIG, state.occupancy());
             state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE)); // not on head
 
             state.update();
@@ -148,6 +170,21 @@ class GameStateTest extends SnakeTestBase {
         }
     }
 
+    @Test
+    void update_withoutApple_spawnsOneOnceACellIsFree() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(0L, false, snapshot(GameMode.STANDARD, 1, 20, false, false, 0, false));
+            state.getApple().setPosition(null); // as if created on a full board
+
+            assertNull(FrameSnapshot.captureFrom(state).applePosition());
+            assertNull(GameSnapshot.captureFrom(state).applePos);
+
+            state.update();
+            assertTrue(state.isRunning());
+            assertTrue(state.getApple().isPresent());
+        }
+    }
+
     @Test
     void selfCollision_setsGameOverEvent() {
         try (SettingsGuard ignored = new SettingsGuard()) {
@@ -162,12 +199,13 @@ class GameStateTest extends SnakeTestBase {
                     new Point(75, 75),
                     new Point(75, 50)
             ), Direction.DOWN);
-            com.snakegame.testutil.Reflect.setField(state, "snake", snake);
+            state.setSnake(snake);
             state.getApple().setPosition(new Point(0, 0));
 
             state.update();
 
             assertFalse(state.isRunning());
+            assertEquals(DeathCause.SELF_COLLISION, state.getDeathCause());
             assertTrue(state.consumeEvents().stream().anyMatch(e -> e instanceof GameEvent.GameOver));
         }
     }
@@ -180,12 +218,13 @@ class GameStateTest extends SnakeTestBase {
 
             Point head = state.getSnake().getHead();
             Point willHit = new Point(head.x + GameConfig.UNIT_SIZE, head.y);
-            state.getObstacles().add(willHit);
+            state.addObstacle(willHit);
             state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
 
             state.update();
 
             assertFalse(state.isRunning());
+            assertEquals(DeathCause.OBSTACLE, state.getDeathCause());
             assertTrue(state.consumeEvents().stream().anyMatch(e -> e instanceof GameEvent.GameOver));
         }
     }
@@ -204,10 +243,33 @@ class GameStateTest extends SnakeTestBase {
 
             state.update();
             assertFalse(state.isRunning());
+            assertEquals(DeathCause.MOVING_OBSTACLE, state.getDeathCause());
             assertTrue(state.consumeEvents().stream().anyMatch(e -> e instanceof GameEvent.GameOver));
         }
     }
 
+    @Test
+    void obstaclesSnapshot_isSharedBetweenTicks_andReplacedWhenTheMapAdvances() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameSettings.withAutosaveSuppressed(() -> GameSettings.setCurrentMode(GameMode.RACE));
+
+            GameState state = new GameState(123L, false, snapshot(GameMode.RACE, 1, 1, false, false, 0, false));
+            state.setTickMs(100);
+            state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
+
+            List<Point> first = state.getObstaclesSnapshot();
+            assertEquals(state.getObstacles(), first);
+            state.update();
+            assertSame(first, state.getObstaclesSnapshot(), "unchanged obstacles keep their snapshot");
+
+            state.getApple().setPosition(new Point(state.getSnake().getHead()));
+            state.update();
+            assertEquals(2, state.getCurrentMapId());
+            assertNotSame(first, state.getObstaclesSnapshot());
+            assertEquals(state.getObstacles(), state.getObstaclesSnapshot());
+        }
+    }
+
     @Test
     void raceMode_advancesMapAndEmitsEvents() {
         try (SettingsGuard ignored = new SettingsGuard()) {
@@ -248,6 +310,139 @@ class GameStateTest extends SnakeTestBase {
         }
     }
 
+    @Test
+    void freeCellSpawns_keepAutoAddedObstaclesAwayFromHead() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            SettingsSnapshot ss = snapshot(GameMode.STANDARD, 1, 20, true, true, 0, true)
+                    .withSpawnAlgorithm(SpawnAlgorithm.FREE_CELL_INDEX);
+            for (long seed = 0; seed < 40; seed++) {
+                GameState state = new GameState(seed, false, ss);
+                state.setTickMs(100);
+                assertEquals(15, state.getObstacles().size());
+
+                for (int i = 0; i < GameConfig.MOVING_OBSTACLE_INCREMENT_APPLES && state.isRunning(); i++) {
+                    state.getApple().setPosition(new Point(state.getSnake().getHead()));
+                    state.update();
+                    state.consumeEvents();
+                }
+                if (!state.isRunning()) continue;
+
+                Point head = state.getSnake().getHead();
+                assertEquals(1, state.getMovingObstacles().size());
+                for (Point seg : state.getMovingObstacles().get(0).getSegments()) {
+                    boolean near = Math.abs(seg.x - head.x) < GameConfig.UNIT_SIZE * 5
+                            && Math.abs(seg.y - head.y) < GameConfig.UNIT_SIZE * 5;
+                    assertFalse(near, "seed " + seed + ": segment " + seg + " next to head " + head);
+                }
+            }
+        }
+    }
+
+    @Test
+    void copy_advancesExactlyLikeTheOriginal() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            SettingsSnapshot ss = snapshot(GameMode.STANDARD, 1, 20, false, true, 0, true)
+                    .withSpawnAlgorithm(SpawnAlgorithm.FREE_CELL_INDEX);
+            GameState original = new GameState(21L, true, ss);
+            original.setTickMs(100);
+            for (int i = 0; i < 30 && original.isRunning(); i++) feedEveryThirdTick(original, i);
+            assertTrue(original.isRunning());
+
+            List<Point> frozen = original.getObstaclesSnapshot();
+            GameState copy = original.copy();
+            assertSame(frozen, copy.getObstaclesSnapshot());
+
+            Direction[] turns = {Direction.UP, Direction.LEFT, Direction.DOWN, Direction.RIGHT};
+            for (int i = 30; i < 300 && original.isRunning(); i++) {
+                if (i % 11 == 0) {
+                    original.setDirection(turns[(i / 11) % 4]);
+                    copy.setDirection(turns[(i / 11) % 4]);
+                }
+                feedEveryThirdTick(original, i);
+                feedEveryThirdTick(copy, i);
+
+                assertEquals(original.getTick(), copy.getTick());
+                assertEquals(original.isRunning(), copy.isRunning(), "tick " + i);
+                assertEquals(original.getScore(), copy.getScore(), "tick " + i);
+                assertEquals(original.getSnake().getBody(), copy.getSnake().getBody(), "tick " + i);
+                assertEquals(original.getApple().getPosition(), copy.getApple().getPosition(), "tick " + i);
+                assertEquals(original.getApple().getType(), copy.getApple().getType(), "tick " + i);
+                assertEquals(original.getMovingObstacles().size(), copy.getMovingObstacles().size(), "tick " + i);
+                for (int m = 0; m < original.getMovingObstacles().size(); m++) {
+                    assertEquals(original.getMovingObstacles().get(m).getSegments(),
+                            copy.getMovingObstacles().get(m).getSegments(), "tick " + i);
+                }
+            }
+            assertNotSame(original.getSnake(), copy.getSnake());
+        }
+    }
+
+    @Test
+    void checkpoints_restoreExactlyLikeACopy() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            SettingsSnapshot ss = snapshot(GameMode.STANDARD, 1, 20, true, true, 0, true)
+                    .withSpawnAlgorithm(SpawnAlgorithm.FREE_CELL_INDEX);
+            GameState original = new GameState(23L, true, ss);
+            original.setTickMs(100);
+
+            RunCheckpoints checkpoints = new RunCheckpoints();
+            List<GameState> copies = new ArrayList<>();
+            // Enough checkpoints to span several full free-cell orders.
+            for (int i = 0; i < 200 && original.isRunning(); i++) {
+                if (i % 5 == 0) {
+                    checkpoints.add(original);
+                    copies.add(original.copy());
+                }
+                feedEveryThirdTick(original, i);
+            }
+            assertEquals(copies.size(), checkpoints.size());
+
+            for (int k = checkpoints.size() - 1; k >= 0; k--) {
+                GameState copy = copies.get(k);
+                GameState restored = checkpoints.restore(k);
+                assertEquals(copy.getTick(), restored.getTick());
+                assertArrayEquals(copy.getFreeCellOrder(), restored.getFreeCellOrder(), "checkpoint " + k);
+                assertEquals(copy.getObstacles(), restored.getObstacles());
+                for (int i = 0; i < 60 && copy.isRunning(); i++) {
+                    feedEveryThirdTick(copy, i);
+                    feedEveryThirdTick(restored, i);
+                    assertEquals(copy.isRunning(), restored.isRunning(), "checkpoint " + k + " tick " + i);
+                    assertEquals(copy.getScore(), restored.getScore());
+                    assertEquals(copy.getSnake().getBody(), restored.getSnake().getBody());
+                    assertEquals(copy.getApple().getPosition(), restored.getApple().getPosition());
+                    assertEquals(copy.getApple().getType(), restored.getApple().getType());
+                    assertEquals(copy.getMovingObstacles().size(), restored.getMovingObstacles().size());
+                    for (int m = 0; m < copy.getMovingObstacles().size(); m++) {
+                        assertEquals(copy.getMovingObstacles().get(m).getSegments(),
+                                restored.getMovingObstacles().get(m).getSegments());
+                    }
+                }
+            }
+        }
+    }
+
+    /** Advances one tick, placing the apple under the head every third tick so spawns draw from the RNG. */
+    private static void feedEveryThirdTick(GameState state, int i) {
+        if (i % 3 == 0) {
+            Point head = state.getSnake().getHead();
+            state.getApple().setPosition(new Point(head));
+        }
+        state.update();
+        state.consumeEvents();
+    }
+
+    @Test
+    void spawnAlgorithm_changesSeededLayoutOnlyWhenSelected() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            SettingsSnapshot ss = snapshot(GameMode.STANDARD, 1, 20, true, false, 0, false);
+            SettingsSnapshot legacy = ss.withSpawnAlgorithm(SpawnAlgorithm.REJECTION);
+
+            assertEquals(new GameState(11L, true, legacy).getObstacles(), new GameState(11L, true, legacy).getObstacles());
+            assertEquals(new GameState(11L, true, ss).getObstacles(), new GameState(11L, true, ss).getObstacles());
+            assertNotEquals(new GameState(11L, true, legacy).getObstacles(), new GameState(11L, true, ss).getObstacles());
+        }
+    }
+
     @Test
     void aiMode_doesNotInheritMapSelectObstacles() {
         try (SettingsGuard ignored = new SettingsGuard()) {
@@ -261,4 +456,53 @@ class GameStateTest extends SnakeTestBase {
             assertTrue(state.getObstacles().isEmpty());
         }
     }
+
+    @Test
+    void aiMode_usesSnapshotBaseModeRatherThanGlobalSettings() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            int mapIdWithObstacles = 5;
+            GameSettings.setAiBaseMode(GameMode.STANDARD);
+
+            SettingsSnapshot base = snapshot(GameMode.AI, mapIdWithObstacles, 20, false, false, 0, false);
+            SettingsSnapshot ss = base.toBuilder().aiBaseMode(GameMode.MAP_SELECT).build();
+
+            GameState state = new GameState(123L, false, ss);
+            assertEquals(MapManager.getMap(mapIdWithObstacles).getObstacles().size(), state.getObstacles().size());
+        }
+    }
+
+    @Test
+    void update_steadyStateTick_doesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(0L, false, snapshot(GameMode.STANDARD, 1, 20, false, true, 0, false));
+            state.setTickMs(100);
+
+            // Snake runs along row 5 forever; the apple and a horizontal moving obstacle stay on other rows.
+            state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
+            Rectangle area = new Rectangle(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+            state.getMovingObstacles().add(new MovingObstacle(
+                    new Point(0, GameConfig.UNIT_SIZE * 20), 4, false, GameConfig.MOVING_OBSTACLE_SPEED, area, new java.util.Random(1)));
+
+            int ticks = 5_000;
+            for (int i = 0; i < ticks; i++) {
+                state.update();
+                state.consumeEvents();
+            }
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < ticks; i++) {
+                state.update();
+                state.consumeEvents();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            assertTrue(state.isRunning());
+            // Any per-tick allocation would show up as tens of kilobytes over this many ticks.
+            assertTrue(allocated < 1024, "steady-state ticks allocated " + allocated + " bytes");
+        }
+    }
 }
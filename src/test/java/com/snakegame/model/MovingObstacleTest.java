@@ -56,4 +56,60 @@ class MovingObstacleTest extends SnakeTestBase {
         mo.update(); // moves to x=50, then bounce triggers (x+UNIT_SIZE > width)
         assertEquals(-GameConfig.UNIT_SIZE, mo.getDx());
     }
+
+    @Test
+    void update_keepsIndexInSyncWithSegments_forOverlappingAndDiagonalObstacles() {
+        OccupancyGrid grid = new OccupancyGrid(8, 6);
+        MovingObstacleIndex index = new MovingObstacleIndex(grid);
+        Rectangle area = new Rectangle(0, 0, 8 * GameConfig.UNIT_SIZE, 6 * GameConfig.UNIT_SIZE);
+
+        List<MovingObstacle> obstacles = List.of(
+                new MovingObstacle(new Point(0, 50), 3, false, GameConfig.UNIT_SIZE, area, new Random(1)),
+                new MovingObstacle(new Point(50, 50), 4, false, GameConfig.UNIT_SIZE, area, new Random(2)),
+                new MovingObstacle(new Point(75, 0), 2, true, GameConfig.UNIT_SIZE, area, new Random(3)),
+                // Not aligned with its velocity: takes the general update path.
+                MovingObstacle.fromSnapshot(new MovingObstacleSnapshot(
+                        List.of(new Point(25, 25), new Point(50, 25)), GameConfig.UNIT_SIZE, GameConfig.UNIT_SIZE), area)
+        );
+        for (MovingObstacle mo : obstacles) mo.attach(index);
+
+        for (int tick = 0; tick < 100; tick++) {
+            for (MovingObstacle mo : obstacles) mo.update();
+
+            int[] expected = new int[8 * 6];
+            for (MovingObstacle mo : obstacles) {
+                for (Point p : mo.getSegments()) {
+                    int cell = grid.indexOfPixel(p);
+                    if (cell >= 0) expected[cell]++;
+                }
+            }
+            for (int cell = 0; cell < expected.length; cell++) {
+                assertEquals(expected[cell], index.countAt(cell), "tick " + tick + " cell " + cell);
+                assertEquals(expected[cell] > 0, grid.isSet(OccupancyGrid.MOVING_OBSTACLE, cell));
+            }
+        }
+
+        for (MovingObstacle mo : obstacles) mo.detach();
+        for (int cell = 0; cell < 8 * 6; cell++) assertFalse(grid.isSet(OccupancyGrid.MOVING_OBSTACLE, cell));
+    }
+
+    @Test
+    void update_bouncesOnLeadingSegmentInBothDirections() {
+        Rectangle area = new Rectangle(0, 0, 100, 50); // 4x2 cells
+        MovingObstacle mo = MovingObstacle.fromSnapshot(new MovingObstacleSnapshot(
+                List.of(new Point(25, 0), new Point(50, 0)), GameConfig.UNIT_SIZE, 0), area);
+
+        mo.update(); // 50..75, still inside
+        assertEquals(GameConfig.UNIT_SIZE, mo.getDx());
+        mo.update(); // leading segment at x=100 overshoots the right edge
+        assertEquals(-GameConfig.UNIT_SIZE, mo.getDx());
+
+        mo.update(); // back to 50..75
+        mo.update(); // 25..50
+        mo.update(); // leading (first) segment at x=0
+        assertEquals(-GameConfig.UNIT_SIZE, mo.getDx());
+        mo.update(); // x=-25 overshoots the left edge
+        assertEquals(GameConfig.UNIT_SIZE, mo.getDx());
+        assertEquals(List.of(new Point(-25, 0), new Point(0, 0)), mo.getSegments());
+    }
 }
@@ -0,0 +1,88 @@
+package com.snakegame.model;
+
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Point;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OccupancyGrid}.
+ */
+class OccupancyGridTest extends SnakeTestBase {
+
+    @Test
+    void setAndClear_areTrackedPerLayer() {
+        OccupancyGrid grid = new OccupancyGrid(10, 7);
+        int idx = grid.indexOf(9, 6);
+
+        grid.set(OccupancyGrid.SNAKE, idx);
+        assertTrue(grid.isSet(OccupancyGrid.SNAKE, idx));
+        assertFalse(grid.isSet(OccupancyGrid.OBSTACLE, idx));
+        assertTrue(grid.isBlocked(idx));
+
+        grid.clear(OccupancyGrid.SNAKE, idx);
+        assertFalse(grid.isBlocked(idx));
+    }
+
+    @Test
+    void indexOfPixel_mapsUnitAlignedPointsAndRejectsOutOfBounds() {
+        OccupancyGrid grid = OccupancyGrid.forDefaultBoard();
+
+        assertEquals(grid.indexOf(3, 2), grid.indexOfPixel(new Point(3 * GameConfig.UNIT_SIZE, 2 * GameConfig.UNIT_SIZE)));
+        assertEquals(-1, grid.indexOfPixel(new Point(-GameConfig.UNIT_SIZE, 0)));
+        assertEquals(-1, grid.indexOfPixel(new Point(GameConfig.SCREEN_WIDTH, 0)));
+        assertFalse(grid.isBlocked(-1));
+    }
+
+    @Test
+    void clearLayer_leavesOtherLayersIntact() {
+        OccupancyGrid grid = new OccupancyGrid(8, 8);
+        grid.set(OccupancyGrid.OBSTACLE, 5);
+        grid.set(OccupancyGrid.MOVING_OBSTACLE, 5);
+
+        grid.clearLayer(OccupancyGrid.MOVING_OBSTACLE);
+
+        assertFalse(grid.isSet(OccupancyGrid.MOVING_OBSTACLE, 5));
+        assertTrue(grid.isSet(OccupancyGrid.OBSTACLE, 5));
+    }
+
+    @Test
+    void freeCells_trackUnionOfLayers() {
+        OccupancyGrid grid = new OccupancyGrid(8, 8);
+        assertEquals(64, grid.freeCount());
+
+        grid.set(OccupancyGrid.SNAKE, 5);
+        grid.set(OccupancyGrid.OBSTACLE, 5);
+        grid.set(OccupancyGrid.MOVING_OBSTACLE, 63);
+        assertEquals(62, grid.freeCount());
+
+        grid.clear(OccupancyGrid.SNAKE, 5);
+        assertEquals(62, grid.freeCount(), "still covered by the obstacle layer");
+
+        grid.clearLayer(OccupancyGrid.OBSTACLE);
+        grid.clearLayer(OccupancyGrid.MOVING_OBSTACLE);
+        assertEquals(64, grid.freeCount());
+    }
+
+    @Test
+    void randomFreeCell_onlyReturnsFreeCellsAndReportsFullBoard() {
+        OccupancyGrid grid = new OccupancyGrid(8, 8);
+        for (int i = 0; i < 64; i++) {
+            if (i != 17 && i != 42) grid.set(OccupancyGrid.OBSTACLE, i);
+        }
+
+        Random rng = new Random(3);
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 50; i++) seen.add(grid.randomFreeCell(rng));
+        assertEquals(Set.of(17, 42), seen);
+
+        grid.set(OccupancyGrid.SNAKE, 17);
+        grid.set(OccupancyGrid.SNAKE, 42);
+        assertEquals(-1, grid.randomFreeCell(rng));
+    }
+}
@@ -5,7 +5,6 @@ import org.junit.jupiter.api.Test;
 
 import java.awt.Point;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,10 +30,10 @@ class SnakeTest extends SnakeTestBase {
         Snake snake = new Snake(new Point(100, 100), 3, Direction.RIGHT);
         snake.move(false);
 
-        Deque<Point> body = snake.getBody();
+        List<Point> body = snake.getBody();
         assertEquals(3, body.size());
         assertEquals(new Point(125, 100), snake.getHead());
-        assertEquals(new Point(100, 100), body.toArray(new Point[0])[1]);
+        assertEquals(new Point(100, 100), body.get(1));
     }
 
     @Test
@@ -44,7 +43,38 @@ class SnakeTest extends SnakeTestBase {
 
         assertEquals(4, snake.getBody().size());
         assertEquals(new Point(125, 100), snake.getHead());
-        assertEquals(new Point(50, 100), snake.getBody().peekLast());
+        assertEquals(new Point(50, 100), snake.getBody().getLast());
+    }
+
+    @Test
+    void move_wrapsAroundPlayfieldEdges() {
+        Snake snake = new Snake(new Point(GameConfig.SCREEN_WIDTH - GameConfig.UNIT_SIZE, 0), 2, Direction.RIGHT);
+        snake.move(false);
+        assertEquals(new Point(0, 0), snake.getHead());
+
+        snake.setDirection(Direction.UP);
+        snake.move(false);
+        assertEquals(new Point(0, GameConfig.SCREEN_HEIGHT - GameConfig.UNIT_SIZE), snake.getHead());
+    }
+
+    @Test
+    void move_withGrow_keepsSegmentOrderPastInitialCapacity() {
+        Snake snake = new Snake(new Point(0, 0), 1, Direction.DOWN);
+        int moves = 200;
+        for (int i = 0; i < moves; i++) {
+            snake.setDirection(i % 2 == 0 ? Direction.DOWN : Direction.RIGHT);
+            snake.move(true);
+        }
+
+        assertEquals(moves + 1, snake.length());
+        assertEquals(new Point(0, 0), snake.getBody().getLast());
+        assertEquals(snake.getHead(), snake.getBody().get(0));
+    }
+
+    @Test
+    void getBody_isReadOnly() {
+        Snake snake = new Snake(new Point(100, 100), 3, Direction.RIGHT);
+        assertThrows(UnsupportedOperationException.class, () -> snake.getBody().add(new Point(0, 0)));
     }
 
     @Test
@@ -66,6 +96,7 @@ class SnakeTest extends SnakeTestBase {
         );
         Snake snake = Snake.fromBody(body, Direction.RIGHT);
         assertTrue(snake.isSelfColliding());
+        assertEquals(2, snake.occupancyAt(snake.getHeadCell()));
     }
 
     @Test
@@ -0,0 +1,56 @@
+package com.snakegame.model;
+
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SplitMix64Random}.
+ */
+class SplitMix64RandomTest extends SnakeTestBase {
+
+    @Test
+    void restoredState_continuesTheSameSequence() {
+        SplitMix64Random rng = new SplitMix64Random(42L);
+        for (int i = 0; i < 17; i++) rng.nextInt(24);
+        long saved = rng.state();
+
+        int[] expected = new int[50];
+        for (int i = 0; i < expected.length; i++) expected[i] = rng.nextInt(576);
+
+        SplitMix64Random resumed = new SplitMix64Random(7L);
+        resumed.setState(saved);
+        for (int i = 0; i < expected.length; i++) assertEquals(expected[i], resumed.nextInt(576), "draw " + i);
+    }
+
+    @Test
+    void seed_determinesTheSequence() {
+        Random a = RngAlgorithm.SPLITMIX64.create(3L);
+        Random b = RngAlgorithm.SPLITMIX64.create(3L);
+        Random c = RngAlgorithm.SPLITMIX64.create(4L);
+        long[] first = {a.nextLong(), a.nextLong()};
+        assertArrayEquals(first, new long[]{b.nextLong(), b.nextLong()});
+        assertNotEquals(first[0], c.nextLong());
+
+        a.setSeed(3L);
+        assertEquals(first[0], a.nextLong());
+    }
+
+    @Test
+    void boundedDraws_stayInRangeAndCoverIt() {
+        SplitMix64Random rng = new SplitMix64Random(1L);
+        int[] counts = new int[6];
+        for (int i = 0; i < 6000; i++) counts[rng.nextInt(6)]++;
+        for (int count : counts) assertTrue(count > 800 && count < 1200, "count " + count);
+    }
+
+    @Test
+    void rngAlgorithm_versionsRoundTrip() {
+        for (RngAlgorithm a : RngAlgorithm.values()) assertEquals(a, RngAlgorithm.fromVersion(a.version()));
+        assertThrows(IllegalArgumentException.class, () -> RngAlgorithm.fromVersion(99));
+        assertInstanceOf(SplitMix64Random.class, RngAlgorithm.SPLITMIX64.create(0L));
+    }
+}
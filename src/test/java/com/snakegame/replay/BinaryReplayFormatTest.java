@@ -0,0 +1,133 @@
+package com.snakegame.replay;
+
+import com.snakegame.config.GameSettings;
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.mode.GameMode;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.Direction;
+import com.snakegame.model.SpawnAlgorithm;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BinaryReplayFormat}.
+ */
+class BinaryReplayFormatTest extends SnakeTestBase {
+
+    private static ReplayData replay(List<ReplayEvent> events) {
+        ReplayData d = new ReplayData();
+        d.seed = -1234567890123L;
+        d.finalScore = 42;
+        d.startMapId = 3;
+        d.runSettingsSnapshot = SettingsSnapshot.builder()
+                .difficultyLevel(7)
+                .obstaclesEnabled(true)
+                .currentMode(GameMode.RACE)
+                .selectedMapId(3)
+                .raceThreshold(25)
+                .soundEnabled(false)
+                .showGrid(false)
+                .playerName("Tester")
+                .playerId(UUID.randomUUID())
+                .selectedTheme(GameSettings.Theme.values()[GameSettings.Theme.values().length - 1])
+                .movingObstaclesEnabled(true)
+                .movingObstacleCount(4)
+                .movingObstaclesAutoIncrement(true)
+                .board(new BoardGeometry(48, 32))
+                .spawnAlgorithm(SpawnAlgorithm.REJECTION)
+                .build();
+        d.events = events;
+        return d;
+    }
+
+    private static byte[] write(ReplayData d) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryReplayFormat.write(out, d, 1_700_000_000_000L);
+        return out.toByteArray();
+    }
+
+    private static ReplayData read(byte[] bytes) throws IOException {
+        return ReplayManager.read(new BufferedInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void roundTrip_preservesSettingsAndEvents() throws Exception {
+        List<ReplayEvent> events = List.of(
+                new ReplayEvent(0, Direction.UP),
+                new ReplayEvent(5, Direction.LEFT),
+                new ReplayEvent(5, Direction.DOWN),
+                new ReplayEvent(1_000_000, Direction.RIGHT));
+        ReplayData d = replay(events);
+
+        ReplayData r = read(write(d));
+
+        assertEquals(BinaryReplayFormat.VERSION, r.version);
+        assertEquals(d.seed, r.seed);
+        assertEquals(d.finalScore, r.finalScore);
+        assertEquals(d.startMapId, r.startMapId);
+        assertEquals(d.runSettingsSnapshot, r.runSettingsSnapshot);
+        assertEquals(events.size(), r.events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(events.get(i).tick, r.events.get(i).tick);
+            assertEquals(events.get(i).direction, r.events.get(i).direction);
+        }
+    }
+
+    @Test
+    void missingPlayerId_staysMissing() throws Exception {
+        ReplayData d = replay(List.of());
+        d.runSettingsSnapshot = d.runSettingsSnapshot.toBuilder().playerId(null).build();
+
+        assertNull(read(write(d)).runSettingsSnapshot.playerId());
+    }
+
+    @Test
+    void inputs_takeAboutOneByteEach() throws Exception {
+        Direction[] dirs = {Direction.UP, Direction.RIGHT, Direction.DOWN, Direction.LEFT};
+        List<ReplayEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) events.add(new ReplayEvent(i * 7L, dirs[i % 4]));
+        ReplayData d = replay(events);
+
+        byte[] binary = write(d);
+        StringWriter text = new StringWriter();
+        PropertiesReplayFormat.write(text, d, 0L);
+
+        assertTrue(binary.length < 200 + events.size(), "binary size " + binary.length);
+        assertTrue(binary.length * 5 < text.toString().getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void unknownVersionAndTruncatedFilesAreRejected() throws Exception {
+        byte[] bytes = write(replay(List.of(new ReplayEvent(3, Direction.LEFT))));
+
+        byte[] future = bytes.clone();
+        future[4] = (byte) (BinaryReplayFormat.VERSION + 1);
+        assertThrows(IOException.class, () -> read(future));
+
+        assertThrows(EOFException.class, () -> read(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test
+    void textReplaysStillLoad() throws Exception {
+        ReplayData d = replay(List.of(new ReplayEvent(2, Direction.DOWN), new ReplayEvent(9, Direction.RIGHT)));
+        StringWriter text = new StringWriter();
+        PropertiesReplayFormat.write(text, d, 0L);
+
+        ReplayData r = read(text.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(PropertiesReplayFormat.VERSION, r.version);
+        assertEquals(d.seed, r.seed);
+        assertEquals(d.runSettingsSnapshot.board(), r.runSettingsSnapshot.board());
+        assertEquals(2, r.events.size());
+        assertEquals(Direction.RIGHT, r.events.get(1).direction);
+    }
+}
@@ -1,8 +1,6 @@
 package com.snakegame.replay;
 
-import com.snakegame.config.GameSettings;
 import com.snakegame.config.SettingsSnapshot;
-import com.snakegame.mode.GameMode;
 import com.snakegame.model.Direction;
 import com.snakegame.model.GameState;
 import com.snakegame.testutil.SnakeTestBase;
@@ -21,23 +19,14 @@ import static org.junit.jupiter.api.Assertions.*;
 class ReplayControllerTest extends SnakeTestBase {
 
     private static SettingsSnapshot snapshot() {
-        return new SettingsSnapshot(
-                20,
-                false,
-                GameMode.STANDARD,
-                1,
-                20,
-                false,
-                false,
-                false,
-                "Replay",
-                UUID.randomUUID(),
-                GameSettings.Theme.RETRO,
-                false,
-                0,
-                false,
-                false
-        );
+        return SettingsSnapshot.builder()
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Replay")
+                .playerId(UUID.randomUUID())
+                .movingObstacleCount(0)
+                .build();
     }
 
     @Test
@@ -63,6 +52,31 @@ class ReplayControllerTest extends SnakeTestBase {
         }
     }
 
+    @Test
+    void seek_replacesStateAndContinuesFromThere() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            int baseTickMs = 100;
+            GameState state = new GameState(1L, true, snapshot());
+            state.setTickMs(baseTickMs);
+            List<ReplayEvent> events = List.of(new ReplayEvent(2, Direction.DOWN), new ReplayEvent(8, Direction.LEFT));
+            ReplayIndex index = ReplayIndex.build(state.copy(), baseTickMs, events, 4, 40);
+
+            AtomicInteger repaints = new AtomicInteger(0);
+            ReplayController controller = new ReplayController(state, baseTickMs, events, repaints::incrementAndGet);
+            controller.seek(index, 7);
+
+            assertNotSame(state, controller.getState());
+            assertEquals(7, controller.getState().getTick());
+            assertEquals(Direction.DOWN, controller.getState().getSnake().getDirection());
+            assertEquals(1, repaints.get());
+
+            controller.stepOnce();
+            controller.stepOnce();
+            assertEquals(9, controller.getState().getTick());
+            assertEquals(Direction.LEFT, controller.getState().getSnake().getDirection());
+        }
+    }
+
     @Test
     void speedMultiplier_affectsPlaybackDelayNotSimulationTickMs() {
         try (SettingsGuard ignored = new SettingsGuard()) {
@@ -77,4 +91,21 @@ class ReplayControllerTest extends SnakeTestBase {
             assertEquals(baseTickMs, state.getTickMs(), "Simulation tickMs stays deterministic");
         }
     }
+
+    @Test
+    void interruptedRecording_stopsAtTheTickItWasInterruptedAt() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            int baseTickMs = 100;
+            GameState state = new GameState(1L, true, snapshot());
+            state.setTickMs(baseTickMs);
+            List<ReplayEvent> events = List.of(new ReplayEvent(1, Direction.DOWN));
+            ReplayController controller = new ReplayController(state, baseTickMs, events, 3, () -> { });
+
+            for (int i = 0; i < 5; i++) controller.stepOnce();
+
+            assertEquals(3, controller.getState().getTick());
+            assertTrue(controller.getState().isRunning());
+            assertEquals(3, ReplayIndex.build(new GameState(1L, true, snapshot()), baseTickMs, events, 3).endTick());
+        }
+    }
 }
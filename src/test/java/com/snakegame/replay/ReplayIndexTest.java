@@ -0,0 +1,114 @@
+package com.snakegame.replay;
+
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.model.Direction;
+import com.snakegame.model.GameState;
+import com.snakegame.model.SpawnAlgorithm;
+import com.snakegame.testutil.SettingsGuard;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReplayIndex}.
+ */
+class ReplayIndexTest extends SnakeTestBase {
+
+    private static final int TICK_MS = 100;
+
+    private static GameState initialState() {
+        SettingsSnapshot ss = SettingsSnapshot.builder()
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Replay")
+                .playerId(UUID.randomUUID())
+                .movingObstaclesEnabled(true)
+                .movingObstacleCount(1)
+                .movingObstaclesAutoIncrement(true)
+                .build().withSpawnAlgorithm(SpawnAlgorithm.FREE_CELL_INDEX);
+        GameState state = new GameState(5L, true, ss);
+        state.setTickMs(TICK_MS);
+        return state;
+    }
+
+    private static List<ReplayEvent> zigZag() {
+        List<ReplayEvent> events = new ArrayList<>();
+        Direction[] turns = {Direction.UP, Direction.RIGHT, Direction.DOWN, Direction.RIGHT};
+        for (int i = 1; i <= 60; i++) events.add(new ReplayEvent(i * 7L, turns[i % 4]));
+        return events;
+    }
+
+    private static String describe(GameState s) {
+        return s.getTick() + " " + s.isRunning() + " " + s.getScore() + " " + s.getSnake().getBody()
+                + " " + s.getApple().getPosition() + " " + s.getApple().getType();
+    }
+
+    @Test
+    void seek_matchesPlayingFromTheStart() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            List<ReplayEvent> events = zigZag();
+            ReplayIndex index = ReplayIndex.build(initialState(), TICK_MS, events, 16, 500);
+
+            GameState linear = initialState();
+            int eventIndex = 0;
+            List<String> expected = new ArrayList<>();
+            expected.add(describe(linear));
+            while (linear.isRunning() && linear.getTick() < 500) {
+                eventIndex = ReplayIndex.step(linear, TICK_MS, events, eventIndex);
+                expected.add(describe(linear));
+            }
+            assertEquals(linear.getTick(), index.endTick());
+            assertEquals(linear.getElapsedSimTimeMs(), index.endElapsedMs());
+
+            for (long t : new long[]{index.endTick(), 0, 15, 16, 17, 33, index.endTick() / 2, index.endTick() - 1}) {
+                assertEquals(expected.get((int) t), describe(index.seek(t).state()), "seek to " + t);
+            }
+            // Keyframes are copied, never advanced.
+            assertEquals(expected.get(17), describe(index.seek(17).state()));
+        }
+    }
+
+    @Test
+    void seek_clampsToReplayLengthAndResumesInputs() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            List<ReplayEvent> events = zigZag();
+            ReplayIndex index = ReplayIndex.build(initialState(), TICK_MS, events, 16, 200);
+
+            assertEquals(0, index.seek(-5).state().getTick());
+            assertEquals(index.endTick(), index.seek(Long.MAX_VALUE).state().getTick());
+
+            ReplayIndex.Position at = index.seek(50);
+            assertEquals(7, at.eventIndex(), "inputs at ticks 7..49 were applied");
+
+            GameState linear = initialState();
+            int eventIndex = 0;
+            while (linear.getTick() < 60 && linear.isRunning()) {
+                eventIndex = ReplayIndex.step(linear, TICK_MS, events, eventIndex);
+            }
+            GameState resumed = at.state();
+            int resumedIndex = at.eventIndex();
+            while (resumed.getTick() < 60 && resumed.isRunning()) {
+                resumedIndex = ReplayIndex.step(resumed, TICK_MS, events, resumedIndex);
+            }
+            assertEquals(describe(linear), describe(resumed));
+            assertEquals(eventIndex, resumedIndex);
+        }
+    }
+
+    @Test
+    void build_keepsOneKeyframePerInterval() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayIndex index = ReplayIndex.build(initialState(), TICK_MS, List.of(), 10, 95);
+
+            assertEquals(95, index.endTick());
+            assertEquals(10, index.keyframeCount()); // ticks 0, 10, ..., 90
+            assertEquals(10, index.keyframeInterval());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.snakegame.replay;
+
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.model.Direction;
+import com.snakegame.testutil.SettingsGuard;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReplayJournal}.
+ */
+class ReplayJournalTest extends SnakeTestBase {
+
+    @TempDir
+    Path tmp;
+
+    @BeforeEach
+    void useTempReplayPaths() {
+        ReplayManager.setLastPath(tmp.resolve("last.bin").toString());
+        ReplayManager.setBestPath(tmp.resolve("best.bin").toString());
+    }
+
+    @AfterEach
+    void resetReplayPaths() {
+        ReplayManager.setLastPath(null);
+        ReplayManager.setBestPath(null);
+    }
+
+    private static ReplayData header(long seed) {
+        ReplayData d = new ReplayData();
+        d.seed = seed;
+        d.startMapId = 1;
+        d.runSettingsSnapshot = SettingsSnapshot.builder()
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Journal")
+                .playerId(UUID.randomUUID())
+                .movingObstacleCount(0)
+                .build();
+        return d;
+    }
+
+    private static String describe(List<ReplayEvent> events) {
+        StringBuilder sb = new StringBuilder();
+        for (ReplayEvent ev : events) sb.append(ev.tick).append(ev.direction).append(' ');
+        return sb.toString();
+    }
+
+    @Test
+    void seal_savesTheStreamedInputsAsLastAndBestReplay() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayJournal journal = ReplayManager.startRecording(header(9L));
+            journal.append(0, Direction.UP);
+            journal.append(3, Direction.LEFT);
+            journal.append(3, Direction.DOWN);
+            journal.append(1_000_000, Direction.RIGHT);
+            journal.append(5, Direction.UP); // out of order: kept at the previous tick
+            assertEquals(5, journal.eventCount());
+
+            journal.seal(12, 1200).get(5, TimeUnit.SECONDS);
+            journal.append(2_000_000, Direction.LEFT); // ignored once sealed
+
+            ReplayData last = ReplayManager.loadLast().orElseThrow();
+            assertEquals(9L, last.seed);
+            assertEquals(12, last.finalScore);
+            assertEquals(1, last.startMapId);
+            assertEquals(BinaryReplayFormat.VERSION, last.version);
+            assertEquals("0UP 3LEFT 3DOWN 1000000RIGHT 1000000UP ", describe(last.events));
+            assertEquals(12, ReplayManager.loadBest().orElseThrow().finalScore);
+            assertFalse(Files.exists(ReplayManager.journalPath()), "journal is deleted once sealed");
+
+            ReplayJournal lower = ReplayManager.startRecording(header(10L));
+            lower.append(4, Direction.DOWN);
+            lower.seal(7, 700).get(5, TimeUnit.SECONDS);
+
+            assertEquals(10L, ReplayManager.loadLast().orElseThrow().seed);
+            assertEquals(9L, ReplayManager.loadBest().orElseThrow().seed, "lower score keeps the best replay");
+
+            List<ReplayLibrary.Entry> library = ReplayManager.library().entries();
+            assertEquals(List.of(9L, 10L), library.stream().map(ReplayLibrary.Entry::seed).toList());
+            assertEquals(List.of(1200L, 700L), library.stream().map(ReplayLibrary.Entry::durationMs).toList());
+            assertEquals("0UP 3LEFT 3DOWN 1000000RIGHT 1000000UP ",
+                    describe(ReplayManager.load(library.get(0)).orElseThrow().events));
+        }
+    }
+
+    @Test
+    void stalledWriter_holdsBackTheRecordingThreadInsteadOfQueueingWithoutBound() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayJournal journal = ReplayManager.startRecording(header(11L));
+            CountDownLatch stalled = new CountDownLatch(1);
+            ReplayJournal.onWriter(() -> stalled.await(30, TimeUnit.SECONDS));
+
+            int inputs = (ReplayJournal.BLOCKS + 1) * ReplayJournal.BLOCK_RECORDS;
+            Thread recorder = new Thread(() -> {
+                for (int i = 0; i < inputs; i++) journal.append(i, i % 2 == 0 ? Direction.UP : Direction.LEFT);
+            });
+            recorder.start();
+            recorder.join(500);
+            assertTrue(recorder.isAlive(), "recording waits once every block is queued");
+            assertTrue(journal.eventCount() < inputs);
+
+            stalled.countDown();
+            recorder.join(5_000);
+            assertFalse(recorder.isAlive());
+            journal.seal(1, 100).get(5, TimeUnit.SECONDS);
+
+            List<ReplayEvent> events = ReplayManager.loadLast().orElseThrow().events;
+            assertEquals(inputs, events.size());
+            assertEquals(inputs - 1, events.get(inputs - 1).tick);
+        }
+    }
+
+    @Test
+    void failedStart_savesNothingAndLeavesNoJournal() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayData broken = header(3L);
+            broken.runSettingsSnapshot = null;
+
+            ReplayJournal journal = ReplayManager.startRecording(broken);
+            journal.append(1, Direction.UP);
+            journal.seal(5, 100).get(5, TimeUnit.SECONDS);
+
+            assertTrue(ReplayManager.loadLast().isEmpty());
+            assertFalse(Files.exists(ReplayManager.journalPath()));
+        }
+    }
+
+    @Test
+    void marks_areReadBackOnRecoveryAndDroppedOnSeal() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayJournal journal = ReplayManager.startRecording(header(6L));
+            journal.append(10, Direction.UP);
+            journal.mark(20);
+            journal.mark(30); // within the mark interval: not written
+            journal.mark(40);
+            ReplayJournal.onWriter(() -> null).get(5, TimeUnit.SECONDS);
+
+            ReplayData live = ReplayJournal.recover(ReplayManager.journalPath()).orElseThrow();
+            assertEquals("10UP ", describe(live.events));
+            assertEquals(40, live.interruptedAtTick);
+
+            journal.seal(3, 400).get(5, TimeUnit.SECONDS);
+            ReplayData last = ReplayManager.loadLast().orElseThrow();
+            assertEquals("10UP ", describe(last.events));
+            assertFalse(last.isInterrupted());
+        }
+    }
+
+    @Test
+    void recoverInterruptedRun_stopsAtTheLastMarkAndNeverSavesABest() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path journal = ReplayManager.journalPath();
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(journal))) {
+                BinaryReplayFormat.writeHeader(out, header(4L), 0L);
+                BinaryReplayFormat.writeVarLong(out, ReplayJournal.inputRecord(2, Direction.UP));
+                BinaryReplayFormat.writeVarLong(out, ReplayJournal.inputRecord(6, Direction.LEFT));
+                BinaryReplayFormat.writeVarLong(out, ReplayJournal.markRecord(32));
+                out.writeByte(0x80); // record cut short by the crash
+            }
+
+            assertTrue(ReplayManager.recoverInterruptedRun().get(30, TimeUnit.SECONDS));
+
+            ReplayData last = ReplayManager.loadLast().orElseThrow();
+            assertEquals(4L, last.seed);
+            assertEquals("2UP 8LEFT ", describe(last.events));
+            assertEquals(32, last.interruptedAtTick);
+            ReplayVerifier.Result replayed = ReplayVerifier.verify(ReplayManager.lastPath(), last);
+            assertEquals(32, replayed.ticks(), "replaying stops where the run was interrupted");
+            assertTrue(replayed.matches());
+
+            List<ReplayLibrary.Entry> library = ReplayManager.library().entries();
+            assertEquals(1, library.size());
+            assertTrue(library.get(0).interrupted());
+            assertEquals(-1, ReplayManager.library().bestScore());
+            assertFalse(ReplayManager.hasBest(), "an interrupted run is never the best replay");
+
+            assertFalse(Files.exists(journal));
+            assertFalse(ReplayManager.recoverInterruptedRun().get(5, TimeUnit.SECONDS));
+        }
+    }
+}
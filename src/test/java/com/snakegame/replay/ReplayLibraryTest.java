@@ -0,0 +1,138 @@
+package com.snakegame.replay;
+
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.mode.GameMode;
+import com.snakegame.model.Direction;
+import com.snakegame.testutil.SettingsGuard;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReplayLibrary}.
+ */
+class ReplayLibraryTest extends SnakeTestBase {
+
+    @TempDir
+    Path tmp;
+
+    private static ReplayData replay(long seed, int score, GameMode mode) {
+        ReplayData d = new ReplayData();
+        d.seed = seed;
+        d.finalScore = score;
+        d.startMapId = 2;
+        d.runSettingsSnapshot = SettingsSnapshot.builder()
+                .currentMode(mode)
+                .selectedMapId(2)
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Library")
+                .playerId(UUID.randomUUID())
+                .movingObstacleCount(0)
+                .build();
+        d.events.add(new ReplayEvent(seed, Direction.UP));
+        return d;
+    }
+
+    @Test
+    void add_indexesReplaysAndReopensFromTheIndexAlone() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayLibrary library = new ReplayLibrary(tmp);
+            assertFalse(library.exists());
+            assertEquals(-1, library.bestScore());
+
+            library.add(replay(1, 30, GameMode.STANDARD), 5_000);
+            library.add(replay(2, 70, GameMode.RACE), -1);
+            library.add(replay(3, 40, GameMode.MAP_SELECT), 9_000);
+            assertTrue(library.exists());
+            assertEquals(70, library.bestScore());
+
+            ReplayLibrary reopened = new ReplayLibrary(tmp);
+            List<ReplayLibrary.Entry> entries = reopened.entries();
+            assertEquals(library.entries(), entries);
+            assertEquals(List.of(1L, 2L, 3L), entries.stream().map(ReplayLibrary.Entry::id).toList());
+            assertEquals(GameMode.RACE, entries.get(1).mode());
+            assertEquals(-1, entries.get(1).durationMs());
+            assertEquals(9_000, entries.get(2).durationMs());
+            assertEquals(2, entries.get(2).startMapId());
+            assertEquals(70, reopened.bestScore());
+
+            ReplayData loaded = reopened.load(entries.get(2));
+            assertEquals(3L, loaded.seed);
+            assertEquals(40, loaded.finalScore);
+            assertEquals(GameMode.MAP_SELECT, loaded.runSettingsSnapshot.currentMode());
+            assertEquals(3L, loaded.events.get(0).tick);
+        }
+    }
+
+    @Test
+    void partialRecord_isIgnoredAndOverwrittenByTheNextSave() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayLibrary library = new ReplayLibrary(tmp);
+            library.add(replay(1, 10, GameMode.STANDARD), 1_000);
+            Path index = tmp.resolve(ReplayLibrary.INDEX_FILE);
+            long complete = Files.size(index);
+            Files.write(index, new byte[ReplayLibrary.RECORD_BYTES / 2], StandardOpenOption.APPEND);
+
+            ReplayLibrary reopened = new ReplayLibrary(tmp);
+            assertEquals(1, reopened.entries().size());
+
+            ReplayLibrary.Entry added = reopened.add(replay(2, 20, GameMode.STANDARD), 2_000);
+            assertEquals(complete + ReplayLibrary.RECORD_BYTES, Files.size(index));
+            assertEquals(2, new ReplayLibrary(tmp).entries().size());
+            assertEquals(2L, reopened.load(added).seed);
+        }
+    }
+
+    @Test
+    void interruptedRuns_areFlaggedAndDoNotCountAsBest() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayLibrary library = new ReplayLibrary(tmp);
+            library.add(replay(1, 30, GameMode.RACE), 1_000);
+            ReplayData interrupted = replay(2, 90, GameMode.RACE);
+            interrupted.interruptedAtTick = 50;
+            library.add(interrupted, 5_000);
+            assertEquals(30, library.bestScore());
+
+            List<ReplayLibrary.Entry> entries = new ReplayLibrary(tmp).entries();
+            assertEquals(List.of(false, true), entries.stream().map(ReplayLibrary.Entry::interrupted).toList());
+            assertEquals(GameMode.RACE, entries.get(1).mode());
+            assertEquals(30, new ReplayLibrary(tmp).bestScore());
+            assertEquals(50, library.load(entries.get(1)).interruptedAtTick);
+        }
+    }
+
+    @Test
+    void corruptedHeader_isRewrittenByTheNextSave() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path index = tmp.resolve(ReplayLibrary.INDEX_FILE);
+            Files.write(index, new byte[]{'S', 'N'});
+
+            ReplayLibrary library = new ReplayLibrary(tmp);
+            assertTrue(library.entries().isEmpty());
+            library.add(replay(1, 10, GameMode.STANDARD), 1_000);
+            library.add(replay(2, 20, GameMode.STANDARD), 2_000);
+
+            ReplayLibrary reopened = new ReplayLibrary(tmp);
+            assertEquals(List.of(1L, 2L), reopened.entries().stream().map(ReplayLibrary.Entry::seed).toList());
+            assertEquals(20, reopened.bestScore());
+
+            Files.write(index, new byte[]{'X', 'X', 'X', 'X', 9});
+            ReplayLibrary unrecognized = new ReplayLibrary(tmp);
+            assertTrue(unrecognized.entries().isEmpty());
+            unrecognized.add(replay(3, 30, GameMode.STANDARD), 3_000);
+            List<ReplayLibrary.Entry> entries = new ReplayLibrary(tmp).entries();
+            assertEquals(1, entries.size());
+            assertEquals(3L, unrecognized.load(entries.get(0)).seed);
+        }
+    }
+}
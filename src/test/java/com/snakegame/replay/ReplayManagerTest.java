@@ -3,13 +3,18 @@ package com.snakegame.replay;
 import com.snakegame.config.GameSettings;
 import com.snakegame.config.SettingsSnapshot;
 import com.snakegame.mode.GameMode;
+import com.snakegame.model.BoardGeometry;
 import com.snakegame.model.Direction;
+import com.snakegame.model.SpawnAlgorithm;
 import com.snakegame.testutil.SnakeTestBase;
 import com.snakegame.testutil.SettingsGuard;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
@@ -32,27 +37,22 @@ class ReplayManagerTest extends SnakeTestBase {
     }
 
     private static SettingsSnapshot settingsSnapshot() {
-        return new SettingsSnapshot(
-                20,
-                false,
-                GameMode.STANDARD,
-                1,
-                20,
-                true,
-                true,
-                true,
-                "Tester",
-                UUID.randomUUID(),
-                GameSettings.Theme.RETRO,
-                false,
-                0,
-                false,
-                false
-        );
+        return SettingsSnapshot.builder()
+                .playerName("Tester")
+                .playerId(UUID.randomUUID())
+                .movingObstacleCount(0)
+                .build();
+    }
+
+    /** Writes a replay in the text format used before the binary one. */
+    private static void writeTextReplay(Path path, ReplayData d) throws Exception {
+        try (Writer w = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            PropertiesReplayFormat.write(w, d, 0L);
+        }
     }
 
     @Test
-    void saveLast_and_loadLast_roundTrip() throws Exception {
+    void saveRun_and_loadLast_roundTrip() throws Exception {
         try (SettingsGuard ignored = new SettingsGuard()) {
             Path lastPath = tmp.resolve("replay_last.txt");
             Path bestPath = tmp.resolve("replay_best.txt");
@@ -66,7 +66,7 @@ class ReplayManagerTest extends SnakeTestBase {
             d.startMapId = 1;
             d.events = List.of(new ReplayEvent(0, Direction.UP), new ReplayEvent(3, Direction.LEFT));
 
-            ReplayManager.saveLast(d);
+            ReplayManager.saveRun(d, -1);
             Optional<ReplayData> loaded = ReplayManager.loadLast();
             assertTrue(loaded.isPresent());
 
@@ -80,7 +80,80 @@ class ReplayManagerTest extends SnakeTestBase {
     }
 
     @Test
-    void saveBestIfHigher_onlyOverwritesWhenScoreImproves() throws Exception {
+    void aiBaseMode_isStoredWithReplaySettings() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayManager.setLastPath(tmp.resolve("replay_last.txt").toString());
+            GameSettings.setAiBaseMode(GameMode.STANDARD);
+
+            SettingsSnapshot base = settingsSnapshot();
+            ReplayData d = new ReplayData();
+            d.seed = 5L;
+            d.runSettingsSnapshot = base.toBuilder()
+                    .currentMode(GameMode.AI)
+                    .selectedMapId(3)
+                    .aiBaseMode(GameMode.MAP_SELECT)
+                    .build();
+            d.startMapId = 3;
+            d.events = List.of();
+
+            ReplayManager.saveRun(d, -1);
+
+            ReplayData r = ReplayManager.loadLast().orElseThrow();
+            assertEquals(GameMode.MAP_SELECT, r.runSettingsSnapshot.aiBaseMode());
+        }
+    }
+
+    @Test
+    void boardGeometry_roundTripsAndDefaultsForLegacyFiles() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path lastPath = tmp.resolve("replay_last.txt");
+            ReplayManager.setLastPath(lastPath.toString());
+
+            ReplayData d = new ReplayData();
+            d.seed = 9L;
+            d.runSettingsSnapshot = settingsSnapshot().withBoard(new BoardGeometry(48, 32));
+            d.startMapId = 1;
+            d.events = List.of();
+
+            ReplayManager.saveRun(d, -1);
+            assertEquals(new BoardGeometry(48, 32), ReplayManager.loadLast().orElseThrow().runSettingsSnapshot.board());
+
+            // Files written before board sizes existed have no "board" key.
+            writeTextReplay(lastPath, d);
+            List<String> legacy = Files.readAllLines(lastPath).stream()
+                    .filter(line -> !line.startsWith("board="))
+                    .toList();
+            Files.write(lastPath, legacy);
+            assertEquals(BoardGeometry.DEFAULT, ReplayManager.loadLast().orElseThrow().runSettingsSnapshot.board());
+        }
+    }
+
+    @Test
+    void spawnAlgorithm_roundTripsAndDefaultsToRejectionForLegacyFiles() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path lastPath = tmp.resolve("replay_last.txt");
+            ReplayManager.setLastPath(lastPath.toString());
+
+            ReplayData d = new ReplayData();
+            d.seed = 9L;
+            d.runSettingsSnapshot = settingsSnapshot();
+            d.startMapId = 1;
+            d.events = List.of();
+
+            ReplayManager.saveRun(d, -1);
+            assertEquals(SpawnAlgorithm.CURRENT, ReplayManager.loadLast().orElseThrow().runSettingsSnapshot.spawnAlgorithm());
+
+            writeTextReplay(lastPath, d);
+            List<String> legacy = Files.readAllLines(lastPath).stream()
+                    .filter(line -> !line.startsWith("spawnAlgorithm="))
+                    .toList();
+            Files.write(lastPath, legacy);
+            assertEquals(SpawnAlgorithm.REJECTION, ReplayManager.loadLast().orElseThrow().runSettingsSnapshot.spawnAlgorithm());
+        }
+    }
+
+    @Test
+    void saveRun_keepsEveryRunButOnlyOverwritesBestWhenScoreImproves() throws Exception {
         try (SettingsGuard ignored = new SettingsGuard()) {
             Path lastPath = tmp.resolve("replay_last.txt");
             Path bestPath = tmp.resolve("replay_best.txt");
@@ -93,7 +166,7 @@ class ReplayManagerTest extends SnakeTestBase {
             best.runSettingsSnapshot = settingsSnapshot();
             best.startMapId = 1;
 
-            ReplayManager.saveBestIfHigher(best);
+            ReplayManager.saveRun(best, -1);
             assertTrue(ReplayManager.hasBest());
 
             ReplayData worse = new ReplayData();
@@ -102,9 +175,53 @@ class ReplayManagerTest extends SnakeTestBase {
             worse.runSettingsSnapshot = settingsSnapshot();
             worse.startMapId = 1;
 
-            ReplayManager.saveBestIfHigher(worse);
+            ReplayManager.saveRun(worse, -1);
             ReplayData loaded = ReplayManager.loadBest().orElseThrow();
             assertEquals(10, loaded.finalScore);
+            assertEquals(2L, ReplayManager.loadLast().orElseThrow().seed);
+            assertEquals(List.of(1L, 2L), ReplayManager.library().entries().stream().map(ReplayLibrary.Entry::seed).toList());
+        }
+    }
+
+    @Test
+    void bestScoreChecks_readTheLibraryIndexAfterImportingTheStoredBest() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path bestPath = tmp.resolve("replay_best.txt");
+            ReplayManager.setLastPath(tmp.resolve("replay_last.txt").toString());
+            ReplayManager.setBestPath(bestPath.toString());
+
+            ReplayData legacyBest = new ReplayData();
+            legacyBest.seed = 1L;
+            legacyBest.finalScore = 50;
+            legacyBest.runSettingsSnapshot = settingsSnapshot();
+            legacyBest.startMapId = 1;
+            writeTextReplay(bestPath, legacyBest);
+
+            ReplayData run = new ReplayData();
+            run.seed = 2L;
+            run.finalScore = 20;
+            run.runSettingsSnapshot = settingsSnapshot();
+            run.startMapId = 1;
+            ReplayManager.saveRun(run, 3_000);
+
+            List<ReplayLibrary.Entry> entries = ReplayManager.library().entries();
+            assertEquals(List.of(50, 20), entries.stream().map(ReplayLibrary.Entry::finalScore).toList());
+            assertEquals(3_000, entries.get(1).durationMs());
+            assertEquals(2L, ReplayManager.loadLast().orElseThrow().seed);
+            assertEquals(1L, ReplayManager.loadBest().orElseThrow().seed);
+
+            // The best replay is no longer read for the check, only the index.
+            Files.writeString(bestPath, "not a replay", StandardCharsets.UTF_8);
+            run.finalScore = 40;
+            ReplayManager.saveRun(run, 3_500);
+            assertEquals("not a replay", Files.readString(bestPath, StandardCharsets.UTF_8));
+
+            run.finalScore = 60;
+            ReplayManager.saveRun(run, 4_000);
+            assertEquals(60, ReplayManager.loadBest().orElseThrow().finalScore);
+            assertEquals(60, ReplayManager.library().bestScore());
+            assertEquals(List.of(50, 20, 40, 60), ReplayManager.library().entries().stream().map(ReplayLibrary.Entry::finalScore).toList());
+            assertEquals(60, ReplayManager.load(ReplayManager.library().entries().get(3)).orElseThrow().finalScore);
         }
     }
 }
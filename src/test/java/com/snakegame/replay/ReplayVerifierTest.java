@@ -0,0 +1,169 @@
+package com.snakegame.replay;
+
+import com.snakegame.config.GameSettings;
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.model.Direction;
+import com.snakegame.model.GameState;
+import com.snakegame.testutil.SettingsGuard;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReplayVerifier}.
+ */
+class ReplayVerifierTest extends SnakeTestBase {
+
+    @TempDir
+    Path tmp;
+
+    /** Plays a short scripted run to its game over and returns it as a recording. */
+    private static ReplayData recordedRun(long seed) {
+        SettingsSnapshot ss = SettingsSnapshot.builder()
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Verifier")
+                .playerId(UUID.randomUUID())
+                .movingObstaclesEnabled(true)
+                .movingObstacleCount(1)
+                .movingObstaclesAutoIncrement(true)
+                .build();
+        List<ReplayEvent> events = new ArrayList<>();
+        Direction[] turns = {Direction.UP, Direction.RIGHT, Direction.DOWN, Direction.RIGHT};
+        for (int i = 1; i <= 40; i++) events.add(new ReplayEvent(i * 5L, turns[i % 4]));
+        // Then circle tightly until the snake runs into itself.
+        Direction[] circle = {Direction.UP, Direction.LEFT, Direction.DOWN, Direction.RIGHT};
+        for (int i = 0; i < 40; i++) events.add(new ReplayEvent(201L + i, circle[i % 4]));
+
+        int tickMs = GameSettings.speedDelayFromDifficultyLevel(ss.difficultyLevel());
+        GameState state = new GameState(seed, true, ss);
+        int eventIndex = 0;
+        while (state.isRunning() && state.getTick() < 50_000) {
+            eventIndex = ReplayIndex.step(state, tickMs, events, eventIndex);
+        }
+        assertFalse(state.isRunning(), "scripted run should end in a game over");
+
+        ReplayData data = new ReplayData();
+        data.seed = seed;
+        data.finalScore = state.getScore();
+        data.runSettingsSnapshot = ss;
+        data.startMapId = ss.selectedMapId();
+        data.events = events;
+        return data;
+    }
+
+    private static void save(Path path, ReplayData data) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            BinaryReplayFormat.write(out, data, 0L);
+        }
+    }
+
+    @Test
+    void verifyAll_reportsMatchesMismatchesAndUnreadableFiles() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path good = tmp.resolve("good.bin");
+            Path tampered = tmp.resolve("tampered.bin");
+            Path garbage = tmp.resolve("garbage.bin");
+            ReplayData data = recordedRun(5L);
+            save(good, data);
+            data.finalScore += 10;
+            save(tampered, data);
+            Files.writeString(garbage, "SNKR not really a replay", StandardCharsets.UTF_8);
+
+            ReplayVerifier.Report report = new ReplayVerifier(2).verifyAll(List.of(good, tampered, garbage));
+
+            List<ReplayVerifier.Result> results = report.results();
+            assertEquals(List.of(good, tampered, garbage), results.stream().map(ReplayVerifier.Result::file).toList());
+            assertTrue(results.get(0).matches());
+            assertTrue(results.get(0).ended());
+            assertTrue(results.get(0).ticks() > 0);
+
+            assertFalse(results.get(1).matches());
+            assertEquals(results.get(0).replayedScore(), results.get(1).replayedScore());
+            assertEquals(results.get(1).replayedScore() + 10, results.get(1).recordedScore());
+
+            assertFalse(results.get(2).matches());
+            assertNotNull(results.get(2).error());
+
+            assertEquals(List.of(results.get(1), results.get(2)), report.failures());
+            assertEquals(results.get(0).ticks() + results.get(1).ticks(), report.totalTicks());
+        }
+    }
+
+    @Test
+    void run_scansDirectoriesAndSetsExitCode() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path dir = Files.createDirectory(tmp.resolve("replays"));
+            for (long seed = 1; seed <= 3; seed++) save(dir.resolve("run" + seed + ".bin"), recordedRun(seed));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+            PrintStream o = new PrintStream(out, true, StandardCharsets.UTF_8);
+            PrintStream e = new PrintStream(err, true, StandardCharsets.UTF_8);
+
+            assertEquals(0, ReplayVerifier.run(new String[]{"--threads", "3", dir.toString()}, o, e));
+            assertTrue(out.toString(StandardCharsets.UTF_8).contains("3 replays, 0 failed"));
+
+            ReplayData bad = recordedRun(4L);
+            bad.finalScore -= 1;
+            save(dir.resolve("run4.bin"), bad);
+            out.reset();
+            assertEquals(1, ReplayVerifier.run(new String[]{"--quiet", dir.toString()}, o, e));
+            String report = out.toString(StandardCharsets.UTF_8);
+            assertTrue(report.contains("MISMATCH"));
+            assertFalse(report.contains("OK "));
+
+            assertEquals(2, ReplayVerifier.run(new String[]{"--threads", "0"}, o, e));
+        }
+    }
+
+    @Test
+    void run_checksEveryReplayInALibrary_andDefaultsToTheReplayLibrary() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            ReplayManager.setLastPath(tmp.resolve("last.bin").toString());
+            ReplayManager.setBestPath(tmp.resolve("best.bin").toString());
+            try {
+                ReplayLibrary library = ReplayManager.library();
+                for (long seed = 1; seed <= 3; seed++) library.add(recordedRun(seed), -1);
+                ReplayData bad = recordedRun(4L);
+                bad.finalScore += 1;
+                library.add(bad, -1);
+
+                ReplayVerifier.Report report = new ReplayVerifier(2).verifyLibrary(library);
+                assertEquals(List.of(1L, 2L, 3L, 4L), report.results().stream().map(ReplayVerifier.Result::libraryId).toList());
+                assertEquals(List.of(4L), report.failures().stream().map(ReplayVerifier.Result::libraryId).toList());
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                PrintStream o = new PrintStream(out, true, StandardCharsets.UTF_8);
+                PrintStream e = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+                assertEquals(1, ReplayVerifier.run(new String[]{library.directory().toString()}, o, e));
+                String listed = out.toString(StandardCharsets.UTF_8);
+                assertTrue(listed.contains("4 replays, 1 failed"), listed);
+                assertFalse(listed.contains("ERROR"), "the index is not read as a replay");
+                assertTrue(listed.contains("MISMATCH  " + library.directory().resolve(ReplayLibrary.PACK_FILE) + " #4"));
+
+                out.reset();
+                assertEquals(1, ReplayVerifier.run(new String[0], o, e));
+                assertTrue(out.toString(StandardCharsets.UTF_8).contains("4 replays, 1 failed"));
+            } finally {
+                ReplayManager.setLastPath(null);
+                ReplayManager.setBestPath(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.snakegame.sim;
+
+import com.snakegame.ai.AiMode;
+import com.snakegame.config.GameSettings;
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.controller.input.AiDirectionProvider;
+import com.snakegame.model.DeathCause;
+import com.snakegame.mode.GameMode;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.testutil.SnakeTestBase;
+import com.snakegame.testutil.SettingsGuard;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link GameFarm}.
+ */
+class GameFarmTest extends SnakeTestBase {
+
+    private static SettingsSnapshot snapshot() {
+        return SettingsSnapshot.builder()
+                .obstaclesEnabled(true)
+                .currentMode(GameMode.AI)
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Farm")
+                .playerId(UUID.randomUUID())
+                .movingObstaclesEnabled(true)
+                .movingObstacleCount(2)
+                .build();
+    }
+
+    @Test
+    void run_matchesSequentialResultsRegardlessOfGlobalSettings() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameSettings.withAutosaveSuppressed(() -> GameSettings.setMovingObstaclesEnabled(true));
+            SimulationRunner runner = new SimulationRunner(snapshot(), () -> new AiDirectionProvider(AiMode.SAFE), 300);
+            List<SimulationResult> expected = runner.run(0, 12);
+
+            // Globals disagree with the snapshot; concurrent runs must not observe them.
+            GameSettings.withAutosaveSuppressed(() -> {
+                GameSettings.setMovingObstaclesEnabled(false);
+                GameSettings.setAiBaseMode(GameMode.MAP_SELECT);
+            });
+
+            Map<Long, SimulationResult> bySeed = new ConcurrentHashMap<>();
+            GameFarm.Report report = new GameFarm(runner, 4).run(0, 12, r -> bySeed.put(r.seed(), r));
+
+            assertEquals(12, bySeed.size());
+            for (SimulationResult r : expected) assertEquals(r, bySeed.get(r.seed()));
+
+            FarmStats stats = report.stats();
+            assertEquals(12, stats.games());
+            assertEquals(expected.stream().mapToLong(SimulationResult::ticks).sum(), stats.totalTicks());
+            assertEquals(expected.stream().mapToLong(SimulationResult::score).sum(), stats.scoreHistogram().sum());
+            assertEquals(expected.stream().mapToLong(SimulationResult::snakeLength).sum(), stats.lengthHistogram().sum());
+            long deaths = 0;
+            for (DeathCause cause : DeathCause.values()) deaths += stats.deaths(cause);
+            assertEquals(12, deaths);
+            assertEquals(4, report.parallelism());
+        }
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveParallelism() {
+        SimulationRunner runner = new SimulationRunner(snapshot(), () -> state -> null, 10);
+        assertThrows(IllegalArgumentException.class, () -> new GameFarm(runner, 0));
+    }
+
+    @Test
+    void stats_lengthHistogramCoversTheRunsBoard() {
+        LongAdderHistogram small = new FarmStats(BoardGeometry.DEFAULT).lengthHistogram();
+        assertEquals(1, small.bucketWidth());
+        assertEquals(BoardGeometry.DEFAULT.cellCount() + 1, small.bucketCount());
+
+        BoardGeometry large = new BoardGeometry(1024, 1024);
+        LongAdderHistogram lengths = new FarmStats(large).lengthHistogram();
+        lengths.record(large.cellCount());
+        assertEquals(0, lengths.overflow());
+        assertTrue(lengths.bucketCount() <= 4096, "buckets " + lengths.bucketCount());
+    }
+
+    @Test
+    void commandLine_runsTheRequestedBoard() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream o = new PrintStream(out, true, StandardCharsets.UTF_8);
+        PrintStream e = new PrintStream(err, true, StandardCharsets.UTF_8);
+
+        assertEquals(0, GameFarm.run(new String[]{
+                "--board", "40x30", "--seeds", "3", "--threads", "2", "--max-ticks", "50", "--ai", "survival"}, o, e));
+        String summary = out.toString(StandardCharsets.UTF_8);
+        assertTrue(summary.startsWith("3 SURVIVAL games on 40x30:"), summary);
+
+        assertEquals(2, GameFarm.run(new String[]{"--board", "4x4"}, o, e));
+        assertEquals(2, GameFarm.run(new String[]{"--seeds"}, o, e));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Usage: GameFarm"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.snakegame.sim;
+
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LongAdderHistogram}.
+ */
+class LongAdderHistogramTest extends SnakeTestBase {
+
+    @Test
+    void record_placesValuesIntoBucketsAndOverflow() {
+        LongAdderHistogram h = new LongAdderHistogram(10, 3);
+
+        h.record(0);
+        h.record(9);
+        h.record(10);
+        h.record(29);
+        h.record(30);
+        h.record(-4);
+
+        assertEquals(3, h.bucket(0));
+        assertEquals(1, h.bucket(1));
+        assertEquals(1, h.bucket(2));
+        assertEquals(1, h.overflow());
+        assertEquals(6, h.count());
+        assertEquals(78, h.sum());
+        assertEquals(30, h.max());
+    }
+
+    @Test
+    void percentile_reportsBucketUpperBoundCappedAtMax() {
+        LongAdderHistogram h = new LongAdderHistogram(5, 10);
+        for (int v = 1; v <= 100; v++) h.record(v % 20);
+
+        assertEquals(4, h.percentile(25));
+        assertEquals(19, h.percentile(100));
+        assertEquals(0, new LongAdderHistogram(5, 10).percentile(50));
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new LongAdderHistogram(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LongAdderHistogram(1, 0));
+    }
+}
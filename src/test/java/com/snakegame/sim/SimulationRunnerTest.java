@@ -0,0 +1,121 @@
+package com.snakegame.sim;
+
+import com.snakegame.ai.AiMode;
+import com.snakegame.config.SettingsSnapshot;
+import com.snakegame.controller.input.AiDirectionProvider;
+import com.snakegame.controller.input.DirectionProvider;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.DeathCause;
+import com.snakegame.model.Direction;
+import com.snakegame.mode.GameMode;
+import com.snakegame.testutil.SnakeTestBase;
+import com.snakegame.testutil.SettingsGuard;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SimulationRunner}.
+ */
+class SimulationRunnerTest extends SnakeTestBase {
+
+    private static SettingsSnapshot snapshot(GameMode mode, boolean obstacles) {
+        return SettingsSnapshot.builder()
+                .obstaclesEnabled(obstacles)
+                .currentMode(mode)
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(false)
+                .playerName("Sim")
+                .playerId(UUID.randomUUID())
+                .movingObstacleCount(0)
+                .build();
+    }
+
+    @Test
+    void run_returnsOneResultPerSeedInOrder() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            SimulationRunner runner = new SimulationRunner(snapshot(GameMode.STANDARD, false), () -> state -> null, 50);
+
+            List<SimulationResult> results = runner.run(10, 15);
+
+            assertEquals(5, results.size());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(10 + i, results.get(i).seed());
+            }
+            assertTrue(runner.run(3, 3).isEmpty());
+        }
+    }
+
+    @Test
+    void runSeed_stopsAtTickLimitWhenSnakeSurvives() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            SimulationRunner runner = new SimulationRunner(snapshot(GameMode.STANDARD, false), () -> state -> null, 40);
+
+            SimulationResult result = runner.runSeed(1L);
+
+            assertEquals(40, result.ticks());
+            assertTrue(result.reachedTickLimit());
+            assertEquals(DeathCause.NONE, result.deathCause());
+        }
+    }
+
+    @Test
+    void runSeed_reportsSelfCollision() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            // Tight U-turn into the body: DOWN, LEFT, UP.
+            DirectionProvider uTurn = new DirectionProvider() {
+                private final Iterator<Direction> moves = List.of(Direction.DOWN, Direction.LEFT, Direction.UP).iterator();
+
+                @Override
+                public Direction nextDirection(com.snakegame.model.GameState state) {
+                    return moves.hasNext() ? moves.next() : null;
+                }
+            };
+            SimulationRunner runner = new SimulationRunner(snapshot(GameMode.STANDARD, false), () -> uTurn, 100);
+
+            SimulationResult result = runner.runSeed(2L);
+
+            assertEquals(DeathCause.SELF_COLLISION, result.deathCause());
+            assertEquals(3, result.ticks());
+            assertFalse(result.reachedTickLimit());
+        }
+    }
+
+    @Test
+    void runSeed_isDeterministicForSameSeedAndSettings() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            SettingsSnapshot ss = snapshot(GameMode.STANDARD, true);
+            SimulationRunner runner = new SimulationRunner(ss, () -> new AiDirectionProvider(AiMode.CHASE), 2_000);
+
+            List<SimulationResult> first = runner.run(0, 3);
+            List<SimulationResult> second = runner.run(0, 3);
+
+            assertEquals(first, second);
+            assertTrue(first.stream().anyMatch(r -> r.applesEaten() > 0));
+        }
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveTickLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimulationRunner(snapshot(GameMode.STANDARD, false), () -> state -> null, 0));
+    }
+
+    @Test
+    void runSeed_aiPlaysOnNonDefaultBoard() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            SettingsSnapshot settings = snapshot(GameMode.STANDARD, true).withBoard(new BoardGeometry(64, 40));
+            SimulationRunner runner = new SimulationRunner(settings, () -> new AiDirectionProvider(AiMode.SAFE), 2_000);
+
+            SimulationResult result = runner.runSeed(3L);
+
+            assertTrue(result.applesEaten() > 0, "AI should find apples on a larger board");
+            assertEquals(result, runner.runSeed(3L));
+        }
+    }
+}
@@ -41,23 +41,18 @@ class GameSaveManagerTest extends SnakeTestBase {
             Path savePath = tmp.resolve("savegame.txt");
             GameSaveManager.setFilePath(savePath.toString());
 
-            SettingsSnapshot ss = new SettingsSnapshot(
-                    20,
-                    true,
-                    GameMode.RACE,
-                    3,
-                    7,
-                    true,
-                    true,
-                    true,
-                    "Tester",
-                    UUID.randomUUID(),
-                    GameSettings.Theme.NEON,
-                    true,
-                    2,
-                    true,
-                    false
-            );
+            SettingsSnapshot ss = SettingsSnapshot.builder()
+                    .obstaclesEnabled(true)
+                    .currentMode(GameMode.RACE)
+                    .selectedMapId(3)
+                    .raceThreshold(7)
+                    .playerName("Tester")
+                    .playerId(UUID.randomUUID())
+                    .selectedTheme(GameSettings.Theme.NEON)
+                    .movingObstaclesEnabled(true)
+                    .movingObstacleCount(2)
+                    .movingObstaclesAutoIncrement(true)
+                    .build();
 
             GameSnapshot snap = new GameSnapshot();
             snap.settingsSnapshot = ss;
@@ -106,6 +101,49 @@ class GameSaveManagerTest extends SnakeTestBase {
         }
     }
 
+    @Test
+    void save_and_load_roundTripExactResumeFields() throws Exception {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            Path savePath = tmp.resolve("savegame.txt");
+            GameSaveManager.setFilePath(savePath.toString());
+
+            GameSnapshot snap = GameSnapshot.captureFrom(new GameState(5L, false, GameSettings.snapshot()));
+            snap.tick = 77;
+            snap.elapsedSimTimeMs = 7700;
+            snap.rngState = -123456789012345L;
+            snap.appleSpawnTick = 70L;
+            int[] freeCells = new int[5000];
+            for (int i = 0; i < freeCells.length; i++) freeCells[i] = i + 3;
+            freeCells[10] = 4999 + 3;
+            freeCells[4999] = 10 + 3;
+            freeCells[0] = 0;
+            snap.freeCells = freeCells;
+
+            GameSaveManager.save(snap);
+            GameSnapshot s = GameSaveManager.load().orElseThrow();
+
+            assertEquals(RngAlgorithm.CURRENT, s.settingsSnapshot.rngAlgorithm());
+            assertEquals(77, s.tick);
+            assertEquals(7700, s.elapsedSimTimeMs);
+            assertEquals(Long.valueOf(-123456789012345L), s.rngState);
+            assertEquals(Long.valueOf(70L), s.appleSpawnTick);
+            assertArrayEquals(freeCells, s.freeCells);
+            // Stored as runs of consecutive cells, not one number per cell.
+            assertTrue(Files.size(savePath) < 2048, "save size " + Files.size(savePath));
+
+            // Saves written before the RNG was selectable.
+            List<String> legacy = Files.readAllLines(savePath, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.startsWith("rngAlgorithm=") && !line.startsWith("rngState="))
+                    .toList();
+            Files.write(savePath, legacy, StandardCharsets.UTF_8);
+            GameSnapshot old = GameSaveManager.load().orElseThrow();
+
+            assertEquals(RngAlgorithm.JDK_RANDOM, old.settingsSnapshot.rngAlgorithm());
+            assertNull(old.rngState);
+            assertEquals(0, old.tick);
+        }
+    }
+
     @Test
     void load_whenCorrupted_clearsSaveAndReturnsEmpty() throws Exception {
         try (SettingsGuard ignored = new SettingsGuard()) {
@@ -136,23 +174,14 @@ class GameSaveManagerTest extends SnakeTestBase {
             GameSaveManager.setFilePath(savePath.toString());
 
             GameSnapshot snap = new GameSnapshot();
-            snap.settingsSnapshot = new SettingsSnapshot(
-                    20,
-                    false,
-                    GameMode.STANDARD,
-                    1,
-                    20,
-                    false,
-                    false,
-                    false,
-                    "Tester",
-                    UUID.randomUUID(),
-                    GameSettings.Theme.RETRO,
-                    false,
-                    0,
-                    false,
-                    false
-            );
+            snap.settingsSnapshot = SettingsSnapshot.builder()
+                    .soundEnabled(false)
+                    .musicEnabled(false)
+                    .showGrid(false)
+                    .playerName("Tester")
+                    .playerId(UUID.randomUUID())
+                    .movingObstacleCount(0)
+                    .build();
             snap.mode = snap.settingsSnapshot.currentMode();
             snap.selectedMapId = snap.settingsSnapshot.selectedMapId();
             snap.score = 42;
@@ -177,23 +206,14 @@ class GameSaveManagerTest extends SnakeTestBase {
             GameSaveManager.setFilePath(savePath.toString());
 
             GameSnapshot snap = new GameSnapshot();
-            snap.settingsSnapshot = new SettingsSnapshot(
-                    20,
-                    false,
-                    GameMode.STANDARD,
-                    1,
-                    20,
-                    false,
-                    false,
-                    false,
-                    "Tester",
-                    UUID.randomUUID(),
-                    GameSettings.Theme.RETRO,
-                    false,
-                    0,
-                    false,
-                    false
-            );
+            snap.settingsSnapshot = SettingsSnapshot.builder()
+                    .soundEnabled(false)
+                    .musicEnabled(false)
+                    .showGrid(false)
+                    .playerName("Tester")
+                    .playerId(UUID.randomUUID())
+                    .movingObstacleCount(0)
+                    .build();
             snap.mode = snap.settingsSnapshot.currentMode();
             snap.selectedMapId = snap.settingsSnapshot.selectedMapId();
             snap.score = 99;
@@ -68,23 +68,16 @@ class ProgressManagerTest extends SnakeTestBase {
 
             GameSettings.setDeveloperModeEnabled(false);
 
-            SettingsSnapshot ss = new SettingsSnapshot(
-                    20,
-                    false,
-                    GameMode.MAP_SELECT,
-                    88, // developer map id
-                    20,
-                    false,
-                    false,
-                    false,
-                    "Tester",
-                    UUID.randomUUID(),
-                    GameSettings.Theme.RETRO,
-                    false,
-                    0,
-                    false,
-                    false
-            );
+            SettingsSnapshot ss = SettingsSnapshot.builder()
+                    .currentMode(GameMode.MAP_SELECT)
+                    .selectedMapId(88) // developer map id
+                    .soundEnabled(false)
+                    .musicEnabled(false)
+                    .showGrid(false)
+                    .playerName("Tester")
+                    .playerId(UUID.randomUUID())
+                    .movingObstacleCount(0)
+                    .build();
             GameSnapshot snap = new GameSnapshot();
             snap.settingsSnapshot = ss;
             snap.mode = ss.currentMode();
@@ -107,23 +100,14 @@ class ProgressManagerTest extends SnakeTestBase {
 
             GameSettings.setDeveloperModeEnabled(false);
 
-            SettingsSnapshot ss = new SettingsSnapshot(
-                    20,
-                    false,
-                    GameMode.STANDARD,
-                    1,
-                    20,
-                    false,
-                    false,
-                    false,
-                    "Tester",
-                    UUID.randomUUID(),
-                    GameSettings.Theme.RETRO,
-                    false,
-                    0,
-                    false,
-                    false
-            );
+            SettingsSnapshot ss = SettingsSnapshot.builder()
+                    .soundEnabled(false)
+                    .musicEnabled(false)
+                    .showGrid(false)
+                    .playerName("Tester")
+                    .playerId(UUID.randomUUID())
+                    .movingObstacleCount(0)
+                    .build();
             GameSnapshot snap = new GameSnapshot();
             snap.settingsSnapshot = ss;
             snap.mode = ss.currentMode();
@@ -50,6 +50,25 @@ class ScoreManagerTest extends SnakeTestBase {
         assertEquals(0, ScoreManager.getHighScore());
     }
 
+    @Test
+    void setScoreFilePath_computesHighScoreFromHistoryOnce_skippingMalformedLines() throws Exception {
+        Path scoreFile = tmp.resolve("history.txt");
+        Files.write(scoreFile, java.util.List.of(
+                "2024-01-01 10:00 - Score: 12",
+                "garbage",
+                "2024-01-02 10:00 - Score: 40",
+                "2024-01-03 10:00 - Score: x"));
+
+        ScoreManager.setScoreFilePath(scoreFile.toString());
+        assertEquals(40, ScoreManager.getHighScore());
+
+        ScoreManager.addScore(25);
+        assertEquals(40, ScoreManager.getHighScore(), "lower scores leave the cached value alone");
+        ScoreManager.addScore(41);
+        assertEquals(41, ScoreManager.getHighScore());
+        ScoreManager.clearScores();
+    }
+
     @Test
     void recordFinishedRun_doesNothingForNullOrNonPositiveScores() throws Exception {
         Path scoreFile = tmp.resolve("scores.txt");
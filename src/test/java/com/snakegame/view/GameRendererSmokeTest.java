@@ -1,8 +1,6 @@
 package com.snakegame.view;
 
-import com.snakegame.config.GameSettings;
 import com.snakegame.config.SettingsSnapshot;
-import com.snakegame.mode.GameMode;
 import com.snakegame.model.GameState;
 import com.snakegame.testutil.SnakeTestBase;
 import com.snakegame.testutil.SettingsGuard;
@@ -20,23 +18,15 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 class GameRendererSmokeTest extends SnakeTestBase {
 
     private static SettingsSnapshot settings(boolean showGrid, boolean movingObstacles) {
-        return new SettingsSnapshot(
-                20,
-                false,
-                GameMode.STANDARD,
-                1,
-                20,
-                false,
-                false,
-                showGrid,
-                "Render",
-                UUID.randomUUID(),
-                GameSettings.Theme.RETRO,
-                movingObstacles,
-                0,
-                false,
-                false
-        );
+        return SettingsSnapshot.builder()
+                .soundEnabled(false)
+                .musicEnabled(false)
+                .showGrid(showGrid)
+                .playerName("Render")
+                .playerId(UUID.randomUUID())
+                .movingObstaclesEnabled(movingObstacles)
+                .movingObstacleCount(0)
+                .build();
     }
 
     @Test
@@ -0,0 +1,50 @@
+package com.snakegame.view;
+
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link HudLayer}.
+ */
+class HudLayerTest extends SnakeTestBase {
+
+    @Test
+    void widths_areMeasuredOnlyWhenTextOrRenderContextChanges() {
+        BoardGeometry board = BoardGeometry.DEFAULT;
+        HudLayer hud = new HudLayer();
+        BufferedImage img = new BufferedImage(board.width(), board.height(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        try {
+            hud.drawScore(g, board, 3, 40);
+            hud.drawScore(g, board, 3, 40);
+            assertEquals(1, hud.measurements(), "only the right-aligned high score is measured");
+
+            hud.drawScore(g, board, 4, 40);
+            assertEquals(1, hud.measurements(), "left-aligned score needs no width");
+            hud.drawScore(g, board, 5, 41);
+            assertEquals(2, hud.measurements());
+
+            for (int i = 0; i < 3; i++) {
+                hud.drawGameOver(g, board);
+                hud.drawSlowModeBanner(g, board, 7);
+                hud.drawUnlockMessage(g, board, "Map 2 unlocked!");
+            }
+            assertEquals(5, hud.measurements());
+            hud.drawSlowModeBanner(g, board, 6);
+            assertEquals(6, hud.measurements(), "countdown changed");
+
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            hud.drawGameOver(g, board);
+            assertEquals(7, hud.measurements(), "render context changed");
+        } finally {
+            g.dispose();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.snakegame.view;
+
+import com.snakegame.controller.PublishedFrames;
+import com.snakegame.model.FrameSnapshot;
+import com.snakegame.model.GameConfig;
+import com.snakegame.model.GameState;
+import com.snakegame.testutil.SettingsGuard;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JPanel;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RenderLoop}.
+ */
+class RenderLoopTest extends SnakeTestBase {
+
+    @Test
+    void refresh_repaintsWhileBlending_andSkipsOnceSettledUntilANewFrameArrives() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(1L);
+            state.setTickMs(100);
+            state.getApple().setPosition(new Point(0, GameConfig.UNIT_SIZE));
+            FrameSnapshot first = FrameSnapshot.captureFrom(state);
+            state.update();
+            FrameSnapshot second = FrameSnapshot.captureFrom(state);
+
+            AtomicInteger repaints = new AtomicInteger();
+            JPanel panel = countingPanel(repaints, new ArrayList<>());
+            AtomicReference<PublishedFrames> frames = new AtomicReference<>(new PublishedFrames(first, second, 0L));
+            RenderLoop loop = new RenderLoop(frames::get, panel, (r, board) -> r);
+            repaints.set(0);
+
+            assertTrue(loop.refresh(40_000_000L), "mid-blend");
+            assertEquals(1, repaints.get(), "first frame is painted in full");
+            assertTrue(loop.refresh(100_000_000L), "blend reaches the current frame");
+            assertFalse(loop.refresh(116_000_000L), "nothing new to show");
+            assertFalse(loop.refresh(132_000_000L));
+
+            frames.set(new PublishedFrames(second, second, 140_000_000L));
+            assertTrue(loop.refresh(148_000_000L), "new frame published");
+            assertFalse(loop.refresh(164_000_000L));
+        }
+    }
+
+    @Test
+    void refresh_paintsOnlyDamagedRegions_andFallsBackToFullRepaintAfterASkippedTick() {
+        try (SettingsGuard ignored = new SettingsGuard()) {
+            GameState state = new GameState(1L);
+            state.setTickMs(100);
+            state.getApple().setPosition(new Point(0, 20 * GameConfig.UNIT_SIZE));
+            FrameSnapshot f0 = FrameSnapshot.captureFrom(state);
+            state.update();
+            FrameSnapshot f1 = FrameSnapshot.captureFrom(state);
+            state.update();
+            FrameSnapshot f2 = FrameSnapshot.captureFrom(state);
+            state.update();
+            FrameSnapshot f3 = FrameSnapshot.captureFrom(state);
+            state.update();
+            FrameSnapshot f4 = FrameSnapshot.captureFrom(state);
+
+            AtomicInteger repaints = new AtomicInteger();
+            List<Rectangle> painted = new ArrayList<>();
+            List<FrameSnapshot> paintedFrames = new ArrayList<>();
+            AtomicReference<RenderLoop> loopRef = new AtomicReference<>();
+            JPanel panel = new JPanel() {
+                @Override
+                public void repaint(long tm, int x, int y, int width, int height) {
+                    repaints.incrementAndGet();
+                }
+
+                @Override
+                public void paintImmediately(int x, int y, int w, int h) {
+                    painted.add(new Rectangle(x, y, w, h));
+                    // Each region is painted a little later than the one before.
+                    paintedFrames.add(loopRef.get().frameAt(350_000_000L + 20_000_000L * painted.size()));
+                }
+            };
+            panel.setSize(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+            AtomicReference<PublishedFrames> frames = new AtomicReference<>(new PublishedFrames(f0, f1, 0L));
+            RenderLoop loop = new RenderLoop(frames::get, panel, (r, board) -> r);
+            loopRef.set(loop);
+            loop.refresh(200_000_000L);
+            repaints.set(0);
+
+            frames.set(new PublishedFrames(f1, f2, 300_000_000L));
+            assertTrue(loop.refresh(350_000_000L));
+            assertEquals(0, repaints.get(), "no full repaint for an ordinary tick");
+            assertFalse(painted.isEmpty());
+            long area = painted.stream().mapToLong(r -> (long) r.width * r.height).sum();
+            assertTrue(area < (long) GameConfig.SCREEN_WIDTH * GameConfig.SCREEN_HEIGHT / 4, "area " + area);
+            for (Rectangle a : painted) {
+                for (Rectangle b : painted) assertTrue(a == b || !a.intersects(b), "regions are merged");
+            }
+            assertTrue(painted.size() > 1, "head and tail are separate regions");
+            for (FrameSnapshot frame : paintedFrames) assertSame(paintedFrames.get(0), frame, "one blend per refresh");
+            assertNotSame(paintedFrames.get(0), loop.frameAt(350_000_000L), "pinned only while painting");
+
+            frames.set(new PublishedFrames(f3, f4, 400_000_000L));
+            assertTrue(loop.refresh(410_000_000L));
+            assertEquals(1, repaints.get(), "frame f3 was never painted");
+        }
+    }
+
+    private static JPanel countingPanel(AtomicInteger repaints, List<Rectangle> painted) {
+        return new JPanel() {
+            @Override
+            public void repaint(long tm, int x, int y, int width, int height) {
+                repaints.incrementAndGet();
+            }
+
+            @Override
+            public void paintImmediately(int x, int y, int w, int h) {
+                painted.add(new Rectangle(x, y, w, h));
+            }
+        };
+    }
+}
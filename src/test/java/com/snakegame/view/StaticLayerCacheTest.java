@@ -0,0 +1,104 @@
+package com.snakegame.view;
+
+import com.snakegame.config.GameSettings;
+import com.snakegame.model.BoardGeometry;
+import com.snakegame.model.GameConfig;
+import com.snakegame.testutil.SnakeTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StaticLayerCache}.
+ */
+class StaticLayerCacheTest extends SnakeTestBase {
+
+    private static final int U = GameConfig.UNIT_SIZE;
+
+    private static List<Point> obstacles(int count) {
+        List<Point> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) list.add(new Point((i % 20) * U, (i / 20) * U + 2 * U));
+        return List.copyOf(list);
+    }
+
+    private static int[] paint(int w, int h, Consumer<Graphics2D> drawing) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, w, h);
+            drawing.accept(g);
+        } finally {
+            g.dispose();
+        }
+        return img.getRGB(0, 0, w, h, null, 0, w);
+    }
+
+    @Test
+    void draw_matchesDirectDrawing_atOffsetAndScale() {
+        BoardGeometry board = BoardGeometry.DEFAULT;
+        List<Point> obs = new ArrayList<>(obstacles(60));
+        obs.add(new Point(board.width() - U, board.height() - U)); // outline on the far edges
+        StaticLayerCache cache = new StaticLayerCache();
+
+        for (double scale : new double[] {1.0, 1.5, 2.0}) {
+            double offset = scale == 1.5 ? 20.5 : 20.0;
+            int w = (int) (board.width() * scale) + 40;
+            int h = (int) (board.height() * scale) + 40;
+            int[] direct = paint(w, h, g -> {
+                g.translate(offset, offset);
+                g.scale(scale, scale);
+                GameRenderer.drawStaticLayer(g, board, obs, GameSettings.Theme.NEON, true);
+            });
+            int[] cached = paint(w, h, g -> {
+                g.translate(offset, offset);
+                g.scale(scale, scale);
+                cache.draw(g, board, obs, GameSettings.Theme.NEON, true);
+            });
+            assertArrayEquals(direct, cached, "scale " + scale);
+        }
+    }
+
+    @Test
+    void draw_reusesImageUntilObstaclesThemeGridOrScaleChangeOrItIsInvalidated() {
+        BoardGeometry board = BoardGeometry.DEFAULT;
+        List<Point> obs = obstacles(60);
+        StaticLayerCache cache = new StaticLayerCache();
+        BufferedImage target = new BufferedImage(board.width() * 2, board.height() * 2, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            cache.draw(g, board, obs, GameSettings.Theme.RETRO, true);
+            cache.draw(g, board, obs, GameSettings.Theme.RETRO, true);
+            assertEquals(1, cache.rebuilds(), "same layer is blitted from the cache");
+
+            cache.draw(g, board, obstacles(61), GameSettings.Theme.RETRO, true);
+            assertEquals(2, cache.rebuilds(), "map advanced");
+            List<Point> current = obstacles(61);
+            cache.draw(g, board, current, GameSettings.Theme.RETRO, true);
+            assertEquals(2, cache.rebuilds(), "equal obstacles in a new list");
+
+            cache.draw(g, board, current, GameSettings.Theme.NEON, true);
+            assertEquals(3, cache.rebuilds(), "theme changed");
+            cache.draw(g, board, current, GameSettings.Theme.NEON, false);
+            assertEquals(4, cache.rebuilds(), "grid toggled");
+
+            g.scale(2.0, 2.0);
+            cache.draw(g, board, current, GameSettings.Theme.NEON, false);
+            assertEquals(5, cache.rebuilds(), "window scaled");
+            cache.draw(g, board, current, GameSettings.Theme.NEON, false);
+            assertEquals(5, cache.rebuilds());
+
+            cache.invalidate();
+            cache.draw(g, board, current, GameSettings.Theme.NEON, false);
+            assertEquals(6, cache.rebuilds(), "invalidated explicitly");
+        } finally {
+            g.dispose();
+        }
+    }
+}